@@ -1,9 +1,10 @@
 import base64
+import json
 from io import BytesIO
 from typing import List, Dict, Any
 
-from fastapi import FastAPI, UploadFile, File, HTTPException
-from fastapi.responses import JSONResponse
+from fastapi import FastAPI, UploadFile, File, HTTPException, Query
+from fastapi.responses import JSONResponse, Response
 from PIL import Image
 from ultralytics import YOLO
 
@@ -28,13 +29,78 @@ def read_root():
     """API 상태 확인을 위한 기본 경로"""
     return {"message": "YOLOv11 K-Food Object Detection API is running!"}
 
+def _plot_jpeg(result) -> bytes:
+    """바운딩 박스와 라벨이 그려진 이미지를 JPEG 바이트로 반환합니다."""
+    # plot=True로 설정하여 결과를 이미지에 그립니다.
+    plotted_image = result.plot(
+        line_width=2,  # 바운딩 박스 두께
+        # font_size=1,       # 라벨 폰트 크기
+        conf=True,         # 확률(신뢰도) 표시
+        labels=True        # 라벨 표시
+    )
+
+    # NumPy 배열 (plotted_image)을 PIL Image로 변환
+    # OpenCV(BGR)로 변환된 경우를 고려하여 순서를 맞춥니다.
+    try:
+        # OpenCV를 사용하여 plot()이 BGR 포맷으로 출력했을 가능성을 고려하여 RGB로 변환합니다.
+        import cv2
+        plotted_image = cv2.cvtColor(plotted_image, cv2.COLOR_BGR2RGB)
+        plotted_image = Image.fromarray(plotted_image)
+    except ImportError:
+        # OpenCV가 없거나 이미 RGB인 경우
+        plotted_image = Image.fromarray(plotted_image)
+
+    # 바운딩 박스가 그려진 이미지를 JPEG로 저장 (Base64 인코딩은 json 모드에서만 수행)
+    buffered = BytesIO()
+    plotted_image.save(buffered, format="JPEG") # JPEG 또는 PNG 선택 가능
+    return buffered.getvalue()
+
+
+def _build_response_data(result) -> Dict[str, Any]:
+    """감지 결과에서 라벨, 신뢰도, 바운딩 박스를 추출합니다."""
+    detected_foods: List[Dict[str, Any]] = []
+    overall_confidence_sum = 0.0
+    num_detections = 0
+
+    # result.boxes는 감지된 모든 객체의 바운딩 박스 정보를 담고 있습니다.
+    for box in result.boxes:
+        # box.cls: 감지된 클래스 ID (tensor)
+        # box.conf: 감지된 객체의 신뢰도 (tensor)
+        # box.xyxy: 바운딩 박스 좌표 (x1, y1, x2, y2)
+
+        conf = float(box.conf.cpu().numpy()[0])
+        cls_id = int(box.cls.cpu().numpy()[0])
+        label = model.names[cls_id] # 클래스 ID를 라벨 이름으로 변환
+
+        overall_confidence_sum += conf
+        num_detections += 1
+
+        detected_foods.append({
+            "label": label,
+            "confidence": conf,  # 소수점 형태 (float)
+            "bounding_box": box.xyxy.cpu().numpy().tolist()[0] # [x1, y1, x2, y2]
+        })
+
+    # 전체 신뢰도 계산 (감지된 객체가 있을 경우 평균 신뢰도, 없으면 0.0)
+    overall_confidence = overall_confidence_sum / num_detections if num_detections > 0 else 0.0
+
+    return {
+        "detected_food_labels": [food["label"] for food in detected_foods],
+        "analysis_results": detected_foods,
+        "overall_average_confidence": overall_confidence
+    }
+
+
 # 모델 추론 API 엔드포인트
 @app.post("/predict")
 async def predict_kfood(
-    file: UploadFile = File(..., description="분석할 이미지 파일 (JPG, PNG 등)")
+    file: UploadFile = File(..., description="분석할 이미지 파일 (JPG, PNG 등)"),
+    response_format: str = Query("json", description="json: Base64 이미지 포함 JSON / binary: JPEG 본문 + 헤더의 감지 결과")
 ):
     """
     업로드된 이미지 파일에서 한국 음식을 감지하고 결과를 반환합니다.
+    response_format=binary 인 경우 Base64 인코딩 없이 JPEG 바이트를 그대로 본문으로 보내고,
+    감지 결과 JSON은 X-Detection-Result 헤더에 담습니다.
     """
     if not file.content_type.startswith('image/'):
         raise HTTPException(
@@ -51,67 +117,19 @@ async def predict_kfood(
         # imgsz는 학습 시 사용한 크기(640)를 사용합니다.
         results = model(image, imgsz=640, conf=0.5) # conf는 최소 신뢰도 설정 (예: 0.5)
 
-        # 3. 바운딩 박스와 라벨이 그려진 이미지 준비
-        # plot=True로 설정하여 결과를 이미지에 그립니다.
-        plotted_image = results[0].plot(
-            line_width=2,  # 바운딩 박스 두께
-            # font_size=1,       # 라벨 폰트 크기
-            conf=True,         # 확률(신뢰도) 표시
-            labels=True        # 라벨 표시
-        )
-        
-        # NumPy 배열 (plotted_image)을 PIL Image로 변환
-        # OpenCV(BGR)로 변환된 경우를 고려하여 순서를 맞춥니다.
-        try:
-            # OpenCV를 사용하여 plot()이 BGR 포맷으로 출력했을 가능성을 고려하여 RGB로 변환합니다.
-            import cv2
-            plotted_image = cv2.cvtColor(plotted_image, cv2.COLOR_BGR2RGB)
-            plotted_image = Image.fromarray(plotted_image)
-        except ImportError:
-            # OpenCV가 없거나 이미 RGB인 경우
-            plotted_image = Image.fromarray(plotted_image)
-
-
-        # 4. 바운딩 박스가 그려진 이미지를 Base64로 인코딩
-        buffered = BytesIO()
-        plotted_image.save(buffered, format="JPEG") # JPEG 또는 PNG 선택 가능
-        encoded_image = base64.b64encode(buffered.getvalue()).decode("utf-8")
-
-        # 5. 분석 결과 데이터 추출
-        detected_foods: List[Dict[str, Any]] = []
-        overall_confidence_sum = 0.0
-        num_detections = 0
-        
-        # results[0].boxes는 감지된 모든 객체의 바운딩 박스 정보를 담고 있습니다.
-        for box in results[0].boxes:
-            # box.cls: 감지된 클래스 ID (tensor)
-            # box.conf: 감지된 객체의 신뢰도 (tensor)
-            # box.xyxy: 바운딩 박스 좌표 (x1, y1, x2, y2)
-            
-            conf = float(box.conf.cpu().numpy()[0])
-            cls_id = int(box.cls.cpu().numpy()[0])
-            label = model.names[cls_id] # 클래스 ID를 라벨 이름으로 변환
-            
-            overall_confidence_sum += conf
-            num_detections += 1
-
-            detected_foods.append({
-                "label": label,
-                "confidence": conf,  # 소수점 형태 (float)
-                "bounding_box": box.xyxy.cpu().numpy().tolist()[0] # [x1, y1, x2, y2]
-            })
-
-        # 전체 신뢰도 계산 (감지된 객체가 있을 경우 평균 신뢰도, 없으면 0.0)
-        overall_confidence = overall_confidence_sum / num_detections if num_detections > 0 else 0.0
-
-        # 6. 최종 응답 데이터 구성
-        response_data = {
-            "image_with_boxes_base64": encoded_image,
-            "detected_food_labels": [food["label"] for food in detected_foods],
-            "analysis_results": detected_foods,
-            "overall_average_confidence": overall_confidence
-        }
-        
+        # 3~6. 바운딩 박스 이미지(JPEG)와 분석 결과 구성
+        image_jpeg = _plot_jpeg(results[0])
+        response_data = _build_response_data(results[0])
+
+        if response_format == "binary":
+            # 헤더 값은 ASCII만 허용되므로 ensure_ascii로 한글 라벨을 이스케이프합니다.
+            return Response(
+                content=image_jpeg,
+                media_type="image/jpeg",
+                headers={"X-Detection-Result": json.dumps(response_data, ensure_ascii=True)}
+            )
+
+        response_data["image_with_boxes_base64"] = base64.b64encode(image_jpeg).decode("utf-8")
         return JSONResponse(content=response_data)
 
     except Exception as e:
@@ -119,4 +137,58 @@ async def predict_kfood(
         raise HTTPException(
             status_code=500,
             detail=f"이미지 처리 중 서버 오류가 발생했습니다: {e}"
-        )
\ No newline at end of file
+        )
+
+
+# 배치 추론 API 엔드포인트
+@app.post("/predict/batch")
+async def predict_kfood_batch(
+    files: List[UploadFile] = File(..., description="분석할 이미지 파일 목록"),
+    response_format: str = Query("json", description="json: Base64 이미지 포함 JSON 목록 / binary: JPEG를 이어 붙인 본문 + 헤더의 감지 결과 목록")
+):
+    """
+    여러 이미지를 한 번의 YOLO 추론으로 처리합니다. (Spring 서버의 마이크로 배처가 사용)
+    응답은 요청한 파일 순서와 같은 순서의 결과 목록입니다.
+    response_format=binary 인 경우 Base64 인코딩 없이 JPEG 바이트를 순서대로 이어 붙여 본문으로 보내고,
+    감지 결과 목록은 X-Detection-Result 헤더에 담습니다. (각 결과의 image_length가 본문에서 차지하는 바이트 수)
+    """
+    for file in files:
+        if not file.content_type.startswith('image/'):
+            raise HTTPException(
+                status_code=400,
+                detail="잘못된 파일 형식입니다. 이미지 파일을 업로드해 주세요."
+            )
+
+    try:
+        images = [Image.open(BytesIO(await file.read())).convert("RGB") for file in files]
+
+        # 리스트를 넘기면 한 번의 배치 추론으로 처리됩니다.
+        results = model(images, imgsz=640, conf=0.5)
+
+        response_list = []
+        images_jpeg = []
+        for result in results:
+            response_data = _build_response_data(result)
+            image_jpeg = _plot_jpeg(result)
+            if response_format == "binary":
+                response_data["image_length"] = len(image_jpeg)
+                images_jpeg.append(image_jpeg)
+            else:
+                response_data["image_with_boxes_base64"] = base64.b64encode(image_jpeg).decode("utf-8")
+            response_list.append(response_data)
+
+        if response_format == "binary":
+            # 헤더 값은 ASCII만 허용되므로 ensure_ascii로 한글 라벨을 이스케이프합니다.
+            return Response(
+                content=b"".join(images_jpeg),
+                media_type="application/octet-stream",
+                headers={"X-Detection-Result": json.dumps(response_list, ensure_ascii=True)}
+            )
+        return JSONResponse(content=response_list)
+
+    except Exception as e:
+        print(f"Batch Prediction Error: {e}")
+        raise HTTPException(
+            status_code=500,
+            detail=f"이미지 처리 중 서버 오류가 발생했습니다: {e}"
+        )
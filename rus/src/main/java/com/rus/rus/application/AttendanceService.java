@@ -2,14 +2,18 @@ package com.rus.rus.application;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.rus.rus.application.event.AttendanceChecked;
+import com.rus.rus.application.event.LuxChanged;
 import com.rus.rus.common.ApiException;
 import com.rus.rus.controller.dto.res.AttendanceCheckResponseDto;
 import com.rus.rus.controller.dto.res.AttendanceResponseDto;
@@ -26,6 +30,7 @@ public class AttendanceService {
 
     private final WeeklyAttendanceRepository weeklyAttendanceRepository;
     private final UserProfileRepository userProfileRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final int WEEKLY_ATTENDANCE_BONUS_LUX = 100;
 
     /**
@@ -94,6 +99,14 @@ public class AttendanceService {
             isCompleted = true;
         }
 
+        if (!isAlreadyCheckedIn) {
+            LocalDateTime now = LocalDateTime.now();
+            eventPublisher.publishEvent(new AttendanceChecked(userId, isCompleted, now));
+            if (isCompleted) {
+                eventPublisher.publishEvent(new LuxChanged(userId, WEEKLY_ATTENDANCE_BONUS_LUX, now));
+            }
+        }
+
         // 5. 최종 응답 DTO를 빌드하여 반환합니다.
         return AttendanceCheckResponseDto.builder()
                 .completed(isCompleted)
@@ -146,7 +159,7 @@ public class AttendanceService {
     /**
      * 특정 요일의 출석 여부를 반환하는 헬퍼 메소드
      */
-    private boolean isAlreadyCheckedIn(WeeklyAttendance attendance, DayOfWeek day) {
+    static boolean isAlreadyCheckedIn(WeeklyAttendance attendance, DayOfWeek day) {
         return switch (day) {
             case MONDAY -> Boolean.TRUE.equals(attendance.getMon());
             case TUESDAY -> Boolean.TRUE.equals(attendance.getTue());
@@ -0,0 +1,214 @@
+package com.rus.rus.application;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rus.rus.domain.ChallengeUser;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository.ChallengeCount;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 챌린지 참여자 카운터
+ * - 챌린지(카테고리, 내용)별 오늘 참여자 수와 달성자(check=true) 수를 메모리 LongAdder로 보관하여,
+ *   챌린지 조회 API가 요청마다 challenge_users를 count하지 않도록 합니다.
+ * - 도전 수락/다음에/달성 체크는 커밋된 뒤에만 카운터에 반영합니다. (롤백된 변경은 반영하지 않음)
+ * - challenge_users는 서버 밖에서 매일 초기화·배정되므로, 주기적으로(reconcile-interval-ms) GROUP BY 집계로 다시 읽어
+ *   카운터를 교체합니다. 날짜가 바뀐 뒤 첫 조회와 처음 보는 챌린지는 바로 DB에서 읽습니다.
+ * - 보정 집계와 동시에 커밋된 변경은 한 번 더 세거나 빠질 수 있으며, 다음 보정에서 맞춰집니다.
+ * - 집계는 잠금 없이 새 카운터를 만든 뒤 참조를 교체(CAS)하여 공개하므로, 집계 중에도 조회는 기존 카운터로 바로 응답합니다.
+ *   날짜가 바뀐 직후 동시에 들어온 조회는 각자 집계할 수 있지만, 먼저 교체한 카운터 하나만 사용합니다.
+ */
+@Slf4j
+@Component
+public class ChallengeParticipantCounter {
+
+    private final ChallengeUserJdbcRepository challengeUserJdbcRepository;
+
+    private final AtomicReference<Counts> counts = new AtomicReference<>();
+
+    public ChallengeParticipantCounter(ChallengeUserJdbcRepository challengeUserJdbcRepository) {
+        this.challengeUserJdbcRepository = challengeUserJdbcRepository;
+    }
+
+    /**
+     * 오늘 챌린지를 달성한(check=true) 전체 참여자 수를 반환합니다.
+     */
+    public long completedCount() {
+        return current().completed.sum();
+    }
+
+    /**
+     * 같은 챌린지(카테고리, 내용)에 오늘 배정된 참여자 수를 반환합니다.
+     */
+    public long participantCount(Integer categoryId, String content) {
+        Counts current = current();
+        ChallengeKey key = new ChallengeKey(categoryId, content);
+        Entry entry = current.entries.get(key);
+        return (entry != null ? entry : load(current, key)).participants.sum();
+    }
+
+    /**
+     * 도전 수락: 이미 달성한 사용자가 다시 수락하면 달성 상태가 해제되므로 달성자 수를 줄입니다.
+     */
+    public void accepted(ChallengeUser challengeUser, Boolean previousCheck) {
+        if (Boolean.TRUE.equals(previousCheck)) {
+            change(challengeUser, 0, -1);
+        }
+    }
+
+    /**
+     * 달성 체크: 달성자 수를 늘립니다.
+     */
+    public void completed(ChallengeUser challengeUser) {
+        change(challengeUser, 0, 1);
+    }
+
+    /**
+     * 다음에(대상자 삭제): 참여자 수와, 달성한 상태였다면 달성자 수를 줄입니다.
+     */
+    public void postponed(ChallengeUser challengeUser) {
+        change(challengeUser, -1, Boolean.TRUE.equals(challengeUser.getCheck()) ? -1 : 0);
+    }
+
+    /**
+     * DB 집계로 카운터를 다시 만들어 교체합니다.
+     */
+    @Scheduled(fixedDelayString = "${challenge.counter.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        reload();
+    }
+
+    private Counts current() {
+        Counts current = counts.get();
+        if (current != null && current.day.equals(LocalDate.now())) {
+            return current;
+        }
+        // 다른 스레드가 먼저 교체했으면 그 카운터를 사용합니다.
+        Counts loaded = load();
+        return counts.compareAndSet(current, loaded) ? loaded : counts.get();
+    }
+
+    private void reload() {
+        Counts reloaded = load();
+        Counts previous = counts.getAndSet(reloaded);
+
+        if (previous != null && previous.day.equals(reloaded.day)) {
+            long drift = Math.abs(previous.completed.sum() - reloaded.completed.sum());
+            for (var entry : reloaded.entries.entrySet()) {
+                Entry before = previous.entries.get(entry.getKey());
+                if (before != null) {
+                    drift += Math.abs(before.participants.sum() - entry.getValue().participants.sum());
+                }
+            }
+            if (drift != 0) {
+                log.info("챌린지 참여자 카운터를 DB 집계로 보정했습니다. (차이 {})", drift);
+            }
+        }
+    }
+
+    /**
+     * 오늘 카운터를 DB 집계로 새로 만듭니다. 공개 전이므로 잠금 없이 채웁니다.
+     */
+    private Counts load() {
+        Counts loaded = new Counts(LocalDate.now());
+        for (ChallengeCount count : challengeUserJdbcRepository.countAllByChallenge(loaded.start(), loaded.end())) {
+            loaded.put(count);
+        }
+        return loaded;
+    }
+
+    private Entry load(Counts current, ChallengeKey key) {
+        ChallengeCount count = challengeUserJdbcRepository
+                .countByChallenge(key.categoryId(), key.content(), current.start(), current.end())
+                .orElseGet(() -> new ChallengeCount(key.categoryId(), key.content(), 0, 0));
+        return current.put(count);
+    }
+
+    private void change(ChallengeUser challengeUser, long participants, long completed) {
+        ChallengeKey key = new ChallengeKey(challengeUser.getChallengeCategoryId(), challengeUser.getChallengeContent());
+        LocalDateTime datetime = challengeUser.getDatetime();
+        Runnable apply = () -> {
+            Counts current = counts.get();
+            // 아직 읽지 않은 카운터는 다음 조회 때 커밋된 DB 값을 읽으므로 반영하지 않습니다.
+            Entry entry = current != null ? current.entries.get(key) : null;
+            if (entry == null) {
+                return;
+            }
+            if (participants != 0 && current.includes(datetime)) {
+                entry.participants.add(participants);
+            }
+            entry.completed.add(completed);
+            current.completed.add(completed);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private record ChallengeKey(Integer categoryId, String content) {
+    }
+
+    private static final class Entry {
+        private final LongAdder participants = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+    }
+
+    /**
+     * 하루치 카운터 (참여자 수는 day 하루 동안 배정된 행만 셉니다)
+     */
+    private static final class Counts {
+
+        private final LocalDate day;
+        private final ConcurrentHashMap<ChallengeKey, Entry> entries = new ConcurrentHashMap<>();
+        private final LongAdder completed = new LongAdder();
+
+        private Counts(LocalDate day) {
+            this.day = day;
+        }
+
+        private LocalDateTime start() {
+            return day.atStartOfDay();
+        }
+
+        private LocalDateTime end() {
+            return day.plusDays(1).atStartOfDay();
+        }
+
+        private boolean includes(LocalDateTime datetime) {
+            return datetime != null && !datetime.isBefore(start()) && !datetime.isAfter(end());
+        }
+
+        /**
+         * 집계 결과를 넣습니다. 이미 있으면 기존 항목을 그대로 반환합니다.
+         */
+        private Entry put(ChallengeCount count) {
+            Entry entry = new Entry();
+            entry.participants.add(count.participants());
+            entry.completed.add(count.completed());
+            Entry existing = entries.putIfAbsent(new ChallengeKey(count.categoryId(), count.content()), entry);
+            if (existing != null) {
+                return existing;
+            }
+            completed.add(count.completed());
+            return entry;
+        }
+    }
+}
@@ -8,7 +8,6 @@ import com.rus.rus.common.ApiException;
 import com.rus.rus.controller.dto.CategoryDto;
 import com.rus.rus.controller.dto.res.ChallengeResponseDto;
 import com.rus.rus.domain.RoutineChallenge;
-import com.rus.rus.infra.repository.ChallengeUserRepository;
 import com.rus.rus.infra.repository.RoutineChallengeRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -18,7 +17,7 @@ import lombok.RequiredArgsConstructor;
 public class ChallengeService {
 
   private final RoutineChallengeRepository routineChallengeRepository;
-  private final ChallengeUserRepository challengeUserRepository;
+  private final ChallengeParticipantCounter challengeParticipantCounter;
 
   /**
      * 현재 챌린지 미션의 정보와 오늘 완료한 참여자 수를 조회합니다.
@@ -31,9 +30,8 @@ public class ChallengeService {
       RoutineChallenge currentChallenge = routineChallengeRepository.findFirstBy()
               .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "챌린지 미션 정보가 존재하지 않습니다"));
 
-      // 2. 오늘 챌린지를 완료한(check=true) 참여자 수를 조회합니다.
-      // challenge_users 테이블은 매일 초기화되므로 날짜 조건 없이 count합니다.
-      long participantCount = challengeUserRepository.countByCheckIsTrue();
+      // 2. 오늘 챌린지를 완료한(check=true) 참여자 수를 카운터에서 읽습니다. (요청마다 count하지 않음)
+      long participantCount = challengeParticipantCounter.completedCount();
 
       // 3. 응답 DTO를 조립합니다.
       CategoryDto categoryDto = CategoryDto.builder()
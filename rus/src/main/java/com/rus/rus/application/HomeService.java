@@ -0,0 +1,123 @@
+package com.rus.rus.application;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.rus.rus.common.ApiException;
+import com.rus.rus.config.FanOutExecutor;
+import com.rus.rus.controller.dto.res.AttendanceResponseDto;
+import com.rus.rus.controller.dto.res.ChallengeStatusResponseDto;
+import com.rus.rus.controller.dto.res.HomeResponseDto;
+import com.rus.rus.controller.dto.res.PersonalRoutineResponseDto;
+import com.rus.rus.controller.dto.res.RecommendRoutineResponseDto;
+import com.rus.rus.controller.dto.res.StreakResponseDto;
+import com.rus.rus.controller.dto.res.UserSettingResponseDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 홈 화면 집계 서비스
+ * - 앱 실행 시 개별로 호출하던 개인 루틴, Sera 추천 루틴, 연속 달성, 출석부, 챌린지, 설정 조회를 한 번의 요청으로 묶습니다.
+ * - 각 항목은 기존 서비스 메소드(읽기 전용 트랜잭션)를 그대로 사용하고, FanOutExecutor로 동시에 실행합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class HomeService {
+
+    private static final String PERSONAL = "personal";
+    private static final String RECOMMEND = "recommend";
+    private static final String STREAK = "streak";
+    private static final String ATTENDANCE = "attendance";
+    private static final String CHALLENGE = "challenge";
+    private static final String SETTINGS = "settings";
+
+    private static final List<String> ALL_FIELDS = List.of(PERSONAL, RECOMMEND, STREAK, ATTENDANCE, CHALLENGE, SETTINGS);
+    private static final Duration HOME_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RoutineService routineService;
+    private final AttendanceService attendanceService;
+    private final UserService userService;
+    private final FanOutExecutor fanOutExecutor;
+
+    /**
+     * 홈 화면에 필요한 데이터를 선택한 항목만 동시에 조회하여 반환합니다.
+     *
+     * @param uid    사용자 고유 식별자
+     * @param fields 조회할 항목 (콤마 구분, 비어 있으면 전체)
+     * @return 선택한 항목만 채워진 {@link HomeResponseDto}
+     * @throws ApiException 알 수 없는 항목이 포함된 경우 400
+     */
+    public HomeResponseDto getHome(UUID uid, String fields) {
+        Set<String> selected = parseFields(fields);
+        String userId = uid.toString();
+
+        try (FanOutExecutor.Scope scope = fanOutExecutor.open(HOME_TIMEOUT)) {
+            Future<PersonalRoutineResponseDto> personal = forkIfSelected(scope, selected, PERSONAL,
+                    () -> routineService.getPersonalRoutines(userId));
+            Future<RecommendRoutineResponseDto> recommend = forkIfSelected(scope, selected, RECOMMEND,
+                    () -> routineService.getRecommendRoutines(userId));
+            Future<StreakResponseDto> streak = forkIfSelected(scope, selected, STREAK,
+                    () -> routineService.getStreak(userId));
+            Future<AttendanceResponseDto> attendance = forkIfSelected(scope, selected, ATTENDANCE,
+                    () -> attendanceService.getAttendanceStatus(uid));
+            Future<ChallengeStatusResponseDto> challenge = forkIfSelected(scope, selected, CHALLENGE,
+                    () -> routineService.getChallengeStatus(userId));
+            Future<UserSettingResponseDto> settings = forkIfSelected(scope, selected, SETTINGS,
+                    () -> userService.getUserSettingById(uid));
+
+            scope.join();
+
+            return HomeResponseDto.builder()
+                    .personal(resultOrNull(personal))
+                    .recommend(resultOrNull(recommend))
+                    .streak(resultOrNull(streak))
+                    .attendance(resultOrNull(attendance))
+                    .challenge(resultOrNull(challenge))
+                    .settings(resultOrNull(settings))
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "홈 화면 조회가 중단되었습니다.");
+        }
+    }
+
+    private Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return new LinkedHashSet<>(ALL_FIELDS);
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<String> unknown = selected.stream().filter(field -> !ALL_FIELDS.contains(field)).toList();
+        if (!unknown.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "알 수 없는 항목입니다: " + String.join(", ", unknown) + " (사용 가능: " + String.join(", ", ALL_FIELDS) + ")");
+        }
+        return selected;
+    }
+
+    /**
+     * 선택된 항목이면 DB 허가를 얻어 동시에 조회하고, 아니면 null을 반환합니다.
+     */
+    private <T> Future<T> forkIfSelected(FanOutExecutor.Scope scope, Set<String> selected, String field, Callable<T> read) {
+        if (!selected.contains(field)) {
+            return null;
+        }
+        return scope.fork(() -> scope.dbRead(read));
+    }
+
+    private <T> T resultOrNull(Future<T> future) {
+        return future != null ? future.resultNow() : null;
+    }
+}
@@ -0,0 +1,190 @@
+package com.rus.rus.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rus.rus.domain.IdempotencyRecord;
+import com.rus.rus.infra.repository.IdempotencyRecordRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key 응답 저장소
+ * - 처리가 끝난 응답(상태 코드, Content-Type, 본문)을 idempotency_record 테이블에 TTL 동안 보관하고,
+ *   최근 응답은 메모리 LRU 캐시에 두어 재시도 요청을 DB 조회 없이 재생합니다.
+ *   캐시는 항목 수(max-entries)와 본문 바이트 합계(max-bytes) 중 먼저 넘는 쪽에서 오래된 항목부터 내보냅니다.
+ * - 같은 키의 동시 요청은 키별로 한 요청만 실행합니다.
+ *   · 같은 서버: 진행 중인 요청의 Future를 기다린 뒤 저장된 응답을 재생합니다.
+ *   · 다른 서버: 처리 중(status = 0) 행의 INSERT 선점으로 판단하며, 선점하지 못하면 잠시 후 재시도하도록 응답합니다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    /** 접근 순서 기반 LRU (this로 동기화) */
+    private final LinkedHashMap<String, StoredResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /** entries에 올린 본문 바이트 합계 (this로 동기화) */
+    private long cachedBytes;
+
+    /** 이 서버에서 실행 중인 요청 (키별 잠금) */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.lock-timeout:2m}") Duration lockTimeout,
+            @Value("${idempotency.cache.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.cache.max-bytes:16777216}") long maxBytes) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 저장된 응답을 반환합니다. 없거나 처리 중이거나 만료되었으면 null을 반환합니다.
+     */
+    @Transactional(readOnly = true)
+    public StoredResponse find(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            StoredResponse cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt().isAfter(now)) {
+                    return cached;
+                }
+                uncache(key);
+            }
+        }
+
+        IdempotencyRecord record = idempotencyRecordRepository.findById(key).orElse(null);
+        if (record == null || record.getStatus() == 0 || !record.getExpiresAt().isAfter(now)) {
+            return null;
+        }
+        StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getStatus(),
+                record.getContentType(), record.getBody(), record.getExpiresAt());
+        cache(key, stored);
+        return stored;
+    }
+
+    /**
+     * 이 서버에서 키를 잠급니다.
+     *
+     * @return 잠갔으면 null, 이미 실행 중인 요청이 있으면 그 요청이 끝날 때 완료되는 Future
+     */
+    public CompletableFuture<Void> lock(String key, CompletableFuture<Void> mine) {
+        return inFlight.putIfAbsent(key, mine);
+    }
+
+    public void unlock(String key, CompletableFuture<Void> mine) {
+        inFlight.remove(key, mine);
+        mine.complete(null);
+    }
+
+    /**
+     * 처리 중 행을 넣어 서버 간에 키를 선점합니다. 잠금이 만료된 이전 선점은 먼저 지웁니다.
+     *
+     * @return 선점했으면 true
+     */
+    @Transactional
+    public boolean claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteIfExpired(key, now);
+        return idempotencyRecordRepository.claim(key, requestHash, now, now.plus(lockTimeout)) == 1;
+    }
+
+    /**
+     * 선점한 키에 응답을 저장하고 캐시에 올립니다.
+     * 본문이 너무 커서 저장하지 않는 응답은 body를 null로 넘겨 실행 완료 표시만 남깁니다.
+     */
+    @Transactional
+    public void complete(String key, String requestHash, int status, String contentType, byte[] body) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        idempotencyRecordRepository.complete(key, status, contentType, body, expiresAt);
+        cache(key, new StoredResponse(requestHash, status, contentType, body, expiresAt));
+    }
+
+    /**
+     * 응답을 저장하지 않고 선점을 해제합니다. 재시도하면 요청을 다시 실행합니다.
+     */
+    @Transactional
+    public void release(String key) {
+        idempotencyRecordRepository.release(key);
+    }
+
+    /**
+     * 보관 기간이 지난 응답과 잠금이 만료된 선점을 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("만료된 Idempotency-Key {}건을 삭제했습니다.", deleted);
+        }
+    }
+
+    /**
+     * 캐시에 올리고, 한도를 넘으면 가장 오래 쓰이지 않은 항목부터 내보냅니다.
+     * 한 건이 max-bytes보다 크면 캐시하지 않고 DB에서만 읽습니다.
+     */
+    private synchronized void cache(String key, StoredResponse stored) {
+        uncache(key);
+        if (stored.bodySize() > maxBytes) {
+            return;
+        }
+        entries.put(key, stored);
+        cachedBytes += stored.bodySize();
+
+        Iterator<StoredResponse> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || cachedBytes > maxBytes) {
+            cachedBytes -= eldest.next().bodySize();
+            eldest.remove();
+        }
+    }
+
+    private synchronized void uncache(String key) {
+        StoredResponse removed = entries.remove(key);
+        if (removed != null) {
+            cachedBytes -= removed.bodySize();
+        }
+    }
+
+    synchronized int cachedEntries() {
+        return entries.size();
+    }
+
+    synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * 재생할 응답 (body가 null이면 실행은 끝났지만 본문이 너무 커서 저장하지 않은 응답)
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body,
+            LocalDateTime expiresAt) {
+
+        public boolean bodyStored() {
+            return body != null;
+        }
+
+        int bodySize() {
+            return body != null ? body.length : 0;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.rus.rus.application;
+
+import com.rus.rus.application.kfood.KfoodDetector;
+import com.rus.rus.application.kfood.KfoodJob;
+import com.rus.rus.application.kfood.PreparedImage;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.common.RetryLaterException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * K-Food 감지 요청의 동시 실행 수와 대기열을 제한합니다.
+ * - 감지 서버로 동시에 나가는 요청은 kfood.jobs.concurrency 개로 제한되고, 나머지는 제한된 대기열에서 기다립니다.
+ *   감지기가 요구하는 최소 동시 요청 수(http-batch: max-size × max-in-flight)보다 작으면 그 값으로 늘립니다.
+ * - 대기열이 가득 차면 429와 Retry-After로 즉시 거절하여 서블릿 스레드가 감지 대기로 고갈되지 않도록 합니다.
+ * - 동기(/kfood/detect)와 비동기 작업(/kfood/jobs) 모두 같은 대기열을 사용합니다.
+ * - 감지기 호출은 세 경로(동기, 비동기 작업, 리액티브)가 함께 쓰는 concurrency개의 허가로 제한합니다.
+ *   리액티브(/kfood/detect/reactive) 요청은 스레드를 점유하지 않고 허가를 기다리며, 대기는 queue-capacity건까지만 허용합니다.
+ * - 비동기 작업의 결과는 result-ttl 동안 보관하되, 결과 이미지 바이트 합계가 max-result-bytes를 넘으면
+ *   먼저 끝난 작업부터 삭제합니다.
+ */
+@Slf4j
+@Service
+public class KfoodJobService {
+
+  /** 처리 시간 통계가 없을 때 사용하는 작업당 예상 처리 시간 */
+  private static final long DEFAULT_EXECUTION_MILLIS = 3000;
+
+  private final KfoodService kfoodService;
+  private final ThreadPoolExecutor executor;
+  private final int concurrency;
+  private final Duration resultTtl;
+  private final Duration detectTimeout;
+  private final int queueCapacity;
+  private final DetectorPermits detectorPermits;
+  private final long maxResultBytes;
+  private final Map<String, KfoodJob> jobs = new ConcurrentHashMap<>();
+  /** 끝난 순서대로 쌓인 작업 (만료·용량 초과 시 앞에서부터 삭제) */
+  private final Queue<KfoodJob> finished = new ConcurrentLinkedQueue<>();
+  private final AtomicLong retainedBytes = new AtomicLong();
+
+  private final Timer waitTimer;
+  private final Timer executionTimer;
+  private final Counter rejectedCounter;
+
+  public KfoodJobService(KfoodService kfoodService,
+      KfoodDetector detector,
+      MeterRegistry meterRegistry,
+      @Value("${kfood.jobs.concurrency:2}") int concurrency,
+      @Value("${kfood.jobs.queue-capacity:20}") int queueCapacity,
+      @Value("${kfood.jobs.result-ttl:10m}") Duration resultTtl,
+      @Value("${kfood.jobs.max-result-bytes:33554432}") long maxResultBytes,
+      @Value("${kfood.jobs.detect-timeout:130s}") Duration detectTimeout) {
+    this.kfoodService = kfoodService;
+    if (concurrency < detector.minConcurrency()) {
+      log.info("K-Food 감지기({})가 요구하는 동시 요청 수에 맞춰 kfood.jobs.concurrency를 {}에서 {}로 늘립니다.",
+          detector.getClass().getSimpleName(), concurrency, detector.minConcurrency());
+      concurrency = detector.minConcurrency();
+    }
+    this.concurrency = concurrency;
+    this.resultTtl = resultTtl;
+    this.detectTimeout = detectTimeout;
+    this.maxResultBytes = maxResultBytes;
+    this.queueCapacity = queueCapacity;
+    this.detectorPermits = new DetectorPermits(concurrency);
+
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "kfood-job-" + threadIndex.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder("kfood.jobs.queue.depth", executor, e -> e.getQueue().size())
+        .description("감지 서버 호출을 기다리는 요청 수")
+        .register(meterRegistry);
+    Gauge.builder("kfood.jobs.in.flight", detectorPermits, DetectorPermits::inUse)
+        .description("감지 서버로 전송 중인 요청 수")
+        .register(meterRegistry);
+    Gauge.builder("kfood.jobs.reactive.waiting", detectorPermits, DetectorPermits::queuedReactive)
+        .description("감지기 호출 허가를 기다리는 리액티브 요청 수")
+        .register(meterRegistry);
+    Gauge.builder("kfood.jobs.stored", jobs, Map::size)
+        .description("조회 가능한 비동기 작업 수")
+        .register(meterRegistry);
+    Gauge.builder("kfood.jobs.stored.bytes", retainedBytes, AtomicLong::get)
+        .description("보관 중인 비동기 작업 결과 이미지 바이트 수")
+        .register(meterRegistry);
+    this.waitTimer = Timer.builder("kfood.jobs.wait")
+        .description("대기열에서 기다린 시간")
+        .register(meterRegistry);
+    this.executionTimer = Timer.builder("kfood.jobs.execution")
+        .description("감지 처리 시간")
+        .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("kfood.jobs.rejected")
+        .description("대기열 초과로 거절된 요청 수")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * 감지 작업을 대기열에 등록하고 즉시 반환합니다.
+   *
+   * @param file 분석할 이미지 파일
+   * @return 등록된 작업 (상태: QUEUED)
+   */
+  public KfoodJob submit(MultipartFile file) {
+    // 요청이 끝나면 업로드 임시 파일이 삭제되므로 대기열에 넣기 전에 분리해 둡니다. (분리한 파일은 작업이 끝나면 삭제)
+    PreparedImage prepared = kfoodService.prepareDetached(file);
+    KfoodJob job = new KfoodJob(UUID.randomUUID().toString());
+    long enqueuedAt = System.nanoTime();
+
+    jobs.put(job.getId(), job);
+    try {
+      executor.execute(() -> {
+        waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        job.markRunning();
+        try {
+          job.complete(execute(prepared));
+        } catch (ApiException e) {
+          job.fail(e.getMessage());
+        } catch (Exception e) {
+          log.error("K-Food 비동기 작업 실패 ({}): {}", job.getId(), e.getMessage(), e);
+          job.fail("이미지 분석 중 오류가 발생했습니다.");
+        } finally {
+          kfoodService.discardDetached(prepared);
+          retain(job);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getId());
+      kfoodService.discardDetached(prepared);
+      throw rejected();
+    }
+    return job;
+  }
+
+  /**
+   * 작업 상태를 조회합니다.
+   *
+   * @param jobId 작업 ID
+   * @return 작업
+   */
+  public KfoodJob getJob(String jobId) {
+    KfoodJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new ApiException(HttpStatus.NOT_FOUND, "존재하지 않거나 만료된 작업입니다: " + jobId);
+    }
+    return job;
+  }
+
+  /**
+   * 같은 대기열을 거쳐 감지를 수행하고 결과를 기다립니다. (동기 API용)
+   * detect-timeout 안에 끝나지 않으면 작업을 취소(인터럽트)하여 작업 스레드를 돌려받고 504를 던집니다.
+   *
+   * @param file 분석할 이미지 파일
+   * @return 객체 감지 결과 DTO
+   */
+  public KfoodDetectionResponseDto detect(MultipartFile file) {
+    PreparedImage prepared = kfoodService.prepare(file);
+    long enqueuedAt = System.nanoTime();
+
+    Future<KfoodDetectionResponseDto> future;
+    try {
+      future = executor.submit(() -> {
+        waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        return execute(prepared);
+      });
+    } catch (RejectedExecutionException e) {
+      throw rejected();
+    }
+
+    try {
+      return future.get(detectTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      log.warn("K-Food 감지가 {} 안에 끝나지 않아 취소합니다.", detectTimeout);
+      throw new ApiException(HttpStatus.GATEWAY_TIMEOUT, "이미지 분석 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 분석이 중단되었습니다.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 분석 중 오류가 발생했습니다.");
+    }
+  }
+
+  /**
+   * 스레드를 점유하지 않고 감지를 수행합니다. (리액티브 API용)
+   * 감지기 호출 허가를 기다리는 리액티브 요청이 queue-capacity건을 넘으면 동기 API와 같이 429와 Retry-After로 거절합니다.
+   *
+   * @param file 분석할 이미지 파일
+   * @return 객체 감지 결과 DTO
+   */
+  public Mono<KfoodDetectionResponseDto> detectReactive(MultipartFile file) {
+    long enqueuedAt = System.nanoTime();
+    return Mono.usingWhen(
+        detectorPermits.acquireReactive(queueCapacity, this::rejected),
+        permit -> {
+          waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+          long startedAt = System.nanoTime();
+          return kfoodService.detectReactive(file)
+              .doFinally(signal -> executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        },
+        permit -> Mono.fromRunnable(permit::close));
+  }
+
+  /**
+   * 보관 기간이 지난 완료 작업을 정리합니다.
+   */
+  @Scheduled(fixedDelayString = "${kfood.jobs.cleanup-interval-ms:60000}")
+  public void removeExpiredJobs() {
+    Instant threshold = Instant.now().minus(resultTtl);
+    KfoodJob oldest;
+    while ((oldest = finished.peek()) != null && oldest.getFinishedAt().isBefore(threshold)) {
+      evict();
+    }
+  }
+
+  /**
+   * 끝난 작업을 보관 목록에 넣고, 결과 이미지 바이트 합계가 한도를 넘으면 먼저 끝난 작업부터 삭제합니다.
+   */
+  private void retain(KfoodJob job) {
+    finished.add(job);
+    retainedBytes.addAndGet(job.retainedBytes());
+    while (retainedBytes.get() > maxResultBytes) {
+      if (!evict()) {
+        break;
+      }
+    }
+  }
+
+  private boolean evict() {
+    KfoodJob oldest = finished.poll();
+    if (oldest == null) {
+      return false;
+    }
+    jobs.remove(oldest.getId());
+    retainedBytes.addAndGet(-oldest.retainedBytes());
+    return true;
+  }
+
+  int concurrency() {
+    return concurrency;
+  }
+
+  /**
+   * 작업 스레드에서 감지기 호출 허가를 얻어 감지를 수행합니다. (리액티브 요청이 허가를 쓰고 있으면 반환될 때까지 기다립니다)
+   */
+  private KfoodDetectionResponseDto execute(PreparedImage prepared) throws InterruptedException {
+    try (DetectorPermits.Permit permit = detectorPermits.acquire()) {
+      long startedAt = System.nanoTime();
+      try {
+        return kfoodService.detectPrepared(prepared);
+      } finally {
+        executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /**
+   * 대기 중인 요청이 모두 처리될 때까지의 예상 시간을 Retry-After로 안내합니다.
+   */
+  private RetryLaterException rejected() {
+    rejectedCounter.increment();
+    double mean = executionTimer.mean(TimeUnit.MILLISECONDS);
+    long perJobMillis = mean > 0 ? (long) mean : DEFAULT_EXECUTION_MILLIS;
+    long pending = executor.getQueue().size() + detectorPermits.inUse() + detectorPermits.waiting();
+    long retryAfterSeconds = (long) Math.ceil(pending * perJobMillis / (double) concurrency / 1000);
+    return new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+        "이미지 분석 요청이 많습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+  }
+
+  /**
+   * 감지기 호출 허가 (작업 스레드와 리액티브 요청이 공유)
+   * - 작업 스레드는 허가를 얻을 때까지 블로킹으로 기다리고, 리액티브 요청은 스레드 없이 대기 목록에서 기다립니다.
+   * - 반환된 허가는 먼저 기다린 쪽부터 넘겨받습니다.
+   */
+  static final class DetectorPermits {
+
+    private final int permits;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+    private int queuedReactive;
+
+    DetectorPermits(int permits) {
+      this.permits = permits;
+      this.available = permits;
+    }
+
+    /**
+     * 허가를 얻을 때까지 기다립니다. (작업 스레드용)
+     */
+    Permit acquire() throws InterruptedException {
+      CompletableFuture<Permit> granted = new CompletableFuture<>();
+      Waiter waiter = new Waiter(granted::complete, false);
+      offer(waiter, 0);
+      try {
+        return granted.get();
+      } catch (InterruptedException e) {
+        cancel(waiter);
+        throw e;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+
+    /**
+     * 허가가 생기면 발행하는 Mono를 반환합니다. (리액티브 요청용)
+     * 이미 maxQueued건의 리액티브 요청이 기다리고 있으면 onRejected의 예외로 끝납니다.
+     */
+    Mono<Permit> acquireReactive(int maxQueued, Supplier<? extends RuntimeException> onRejected) {
+      return Mono.create(sink -> {
+        Waiter waiter = new Waiter(sink::success, true);
+        if (!offer(waiter, maxQueued)) {
+          sink.error(onRejected.get());
+          return;
+        }
+        // 허가를 받기 전에 취소되면 대기 목록에서 빼고, 받은 뒤 전달 전에 취소되면 반환합니다.
+        sink.onCancel(() -> cancel(waiter));
+      });
+    }
+
+    synchronized int inUse() {
+      return permits - available;
+    }
+
+    synchronized int waiting() {
+      return waiters.size();
+    }
+
+    synchronized int queuedReactive() {
+      return queuedReactive;
+    }
+
+    private boolean offer(Waiter waiter, int maxQueued) {
+      synchronized (this) {
+        if (available == 0) {
+          if (waiter.reactive) {
+            if (queuedReactive >= maxQueued) {
+              return false;
+            }
+            queuedReactive++;
+          }
+          waiters.add(waiter);
+          return true;
+        }
+        available--;
+        waiter.permit = new Permit(this);
+      }
+      waiter.onGranted.accept(waiter.permit);
+      return true;
+    }
+
+    private void release() {
+      Waiter next;
+      synchronized (this) {
+        next = waiters.poll();
+        if (next == null) {
+          available++;
+          return;
+        }
+        if (next.reactive) {
+          queuedReactive--;
+        }
+        next.permit = new Permit(this);
+      }
+      next.onGranted.accept(next.permit);
+    }
+
+    private void cancel(Waiter waiter) {
+      Permit granted;
+      synchronized (this) {
+        if (waiters.remove(waiter)) {
+          if (waiter.reactive) {
+            queuedReactive--;
+          }
+          return;
+        }
+        granted = waiter.permit;
+      }
+      if (granted != null) {
+        granted.close();
+      }
+    }
+
+    private static final class Waiter {
+
+      private final Consumer<Permit> onGranted;
+      private final boolean reactive;
+      private Permit permit;
+
+      private Waiter(Consumer<Permit> onGranted, boolean reactive) {
+        this.onGranted = onGranted;
+        this.reactive = reactive;
+      }
+    }
+
+    /**
+     * 얻은 허가. close()는 여러 번 호출해도 한 번만 반환합니다.
+     */
+    static final class Permit implements AutoCloseable {
+
+      private final DetectorPermits owner;
+      private final AtomicBoolean released = new AtomicBoolean();
+
+      private Permit(DetectorPermits owner) {
+        this.owner = owner;
+      }
+
+      @Override
+      public void close() {
+        if (released.compareAndSet(false, true)) {
+          owner.release();
+        }
+      }
+    }
+  }
+}
@@ -1,97 +1,162 @@
 package com.rus.rus.application;
 
+import com.rus.rus.application.kfood.KfoodDetectionCache;
+import com.rus.rus.application.kfood.KfoodDetector;
+import com.rus.rus.application.kfood.KfoodImagePreprocessor;
+import com.rus.rus.application.kfood.PreparedImage;
 import com.rus.rus.common.ApiException;
 import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
 
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.netty.http.client.HttpClient;
+import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class KfoodService {
 
-  private final WebClient webClient;
-  private static final String PREDICT_PATH = "/predict";
-
-  public KfoodService(WebClient.Builder webClientBuilder,
-      @Value("${kfood.api.base-url}") String kfoodApiBaseUrl) {
-    // 대용량 파일 처리를 위한 타임아웃 설정
-    HttpClient httpClient = HttpClient.create()
-        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30000)
-        .responseTimeout(Duration.ofSeconds(120))
-        .doOnConnected(conn -> conn
-            .addHandlerLast(new ReadTimeoutHandler(120, TimeUnit.SECONDS))
-            .addHandlerLast(new WriteTimeoutHandler(120, TimeUnit.SECONDS)));
-
-    // 메모리 버퍼 크기 증가 (Base64 인코딩된 이미지 응답을 위해)
-    ExchangeStrategies strategies = ExchangeStrategies.builder()
-        .codecs(configurer -> configurer
-            .defaultCodecs()
-            .maxInMemorySize(50 * 1024 * 1024)) // 50MB
-        .build();
-
-    this.webClient = webClientBuilder
-        .baseUrl(kfoodApiBaseUrl)
-        .clientConnector(new ReactorClientHttpConnector(httpClient))
-        .exchangeStrategies(strategies)
-        .build();
-  }
+  private final KfoodDetector detector;
+  private final KfoodImagePreprocessor imagePreprocessor;
+  private final KfoodDetectionCache detectionCache;
 
   /**
-   * MultipartFile을 FastAPI 객체 탐지 서버로 전달하고 결과를 받아옵니다.
+   * MultipartFile의 한국 음식 객체 감지 결과를 받아옵니다.
+   * - 감지기는 kfood.detector 설정에 따라 FastAPI 감지 서버(http) 또는 JVM 내 ONNX Runtime(onnx)을 사용합니다.
+   * - 전송 전 모델 입력 크기로 축소/회전하여 전송량과 감지 서버의 디코딩 비용을 줄입니다.
+   * - 같은 이미지(정규화된 바이트 기준)의 결과는 캐시에서 반환하고, 동시 업로드는 한 번만 추론합니다.
+   * - 바운딩 박스 좌표는 원본 이미지 기준으로 변환하여 반환합니다.
    * 
    * @param file 클라이언트로부터 받은 이미지 파일
    * @return 객체 감지 결과 DTO
    */
   public KfoodDetectionResponseDto detectObjects(MultipartFile file) {
+    return detectPrepared(prepare(file));
+  }
+
+  /**
+   * 이미지를 전처리합니다. (EXIF 회전, 모델 입력 크기로 축소)
+   *
+   * @param file 클라이언트로부터 받은 이미지 파일
+   * @return 전처리된 이미지
+   */
+  public PreparedImage prepare(MultipartFile file) {
+    return imagePreprocessor.prepare(file);
+  }
+
+  /**
+   * 요청이 끝난 뒤에도 감지를 수행할 수 있도록 이미지를 전처리합니다.
+   * 업로드 임시 파일은 요청 종료 시 삭제되므로, 원본을 그대로 전달하는 경우 힙에 올리지 않고 별도 임시 파일로 복사해 둡니다.
+   * 복사한 파일은 감지가 끝난 뒤 discardDetached로 삭제해야 합니다.
+   *
+   * @param file 클라이언트로부터 받은 이미지 파일
+   * @return 업로드 파일과 분리된 전처리 이미지
+   */
+  public PreparedImage prepareDetached(MultipartFile file) {
+    PreparedImage prepared = imagePreprocessor.prepare(file);
+    if (prepared.getBody() instanceof ByteArrayResource) {
+      return prepared;
+    }
+    Path copy = null;
     try {
-      // 1. Multipart 요청 본문 구성
-      MultipartBodyBuilder builder = new MultipartBodyBuilder();
-      // key는 'file'로 설정하고, 이미지 파일의 리소스를 전송합니다.
-      builder.part("file", file.getResource())
-          .contentType(MediaType.IMAGE_JPEG);
+      copy = Files.createTempFile("kfood-job-", ".upload");
+      try (InputStream in = file.getInputStream()) {
+        Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return prepared.toBuilder()
+          .body(new FileSystemResource(copy))
+          .detachedFile(copy)
+          .build();
+    } catch (IOException e) {
+      deleteQuietly(copy);
+      throw new ApiException(HttpStatus.BAD_REQUEST, "이미지 파일을 읽을 수 없습니다.");
+    }
+  }
+
+  /**
+   * prepareDetached가 복사해 둔 임시 파일을 삭제합니다.
+   *
+   * @param prepared 분리된 전처리 이미지
+   */
+  public void discardDetached(PreparedImage prepared) {
+    deleteQuietly(prepared.getDetachedFile());
+  }
 
-      // 2. 외부 AI 서버 호출 (POST /predict)
-      return webClient.post()
-          .uri(PREDICT_PATH)
-          .contentType(MediaType.MULTIPART_FORM_DATA)
-          .body(BodyInserters.fromMultipartData(builder.build()))
-          .retrieve()
-          .bodyToMono(KfoodDetectionResponseDto.class)
-          .block(); // 동기적으로 결과를 기다립니다.
+  /**
+   * 전처리된 이미지의 감지 결과를 반환합니다.
+   * 캐시 조회 후 미스일 때만 감지기를 실행하고, 좌표는 원본 이미지 기준으로 변환합니다.
+   *
+   * @param prepared 전처리된 이미지
+   * @return 객체 감지 결과 DTO
+   */
+  public KfoodDetectionResponseDto detectPrepared(PreparedImage prepared) {
+    KfoodDetectionResponseDto result = detectionCache.getOrDetect(prepared, () -> detector.detect(prepared));
+    return imagePreprocessor.restoreOriginalCoordinates(result, prepared);
+  }
 
-    } catch (WebClientResponseException e) {
-      // 외부 서버에서 발생한 HTTP 오류 처리 (4xx, 5xx 상태 코드)
-      System.err.println("K-Food API HTTP 오류 (" + e.getStatusCode() + "): " + e.getResponseBodyAsString());
-      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
-          "K-Food 객체 감지 서비스 오류: " + e.getResponseBodyAsString());
-    } catch (Exception e) {
-      // 타임아웃 또는 연결 거부 오류 처리 (API 서버가 꺼져 있을 때)
-      String errorMessage = "이미지 처리 또는 서비스 접속 중 알 수 없는 오류가 발생했습니다: " + e.getMessage();
+  /**
+   * detectObjects의 논블로킹 버전입니다.
+   * 전처리는 전처리 스레드에서, 감지 서버 호출은 WebClient 이벤트 루프에서 진행되어
+   * 결과를 기다리는 동안 요청 스레드를 점유하지 않습니다.
+   *
+   * @param file 클라이언트로부터 받은 이미지 파일
+   * @return 객체 감지 결과 DTO
+   */
+  public Mono<KfoodDetectionResponseDto> detectReactive(MultipartFile file) {
+    return imagePreprocessor.prepareReactive(file)
+        .flatMap(prepared -> detectionCache
+            .getOrDetectReactive(prepared, () -> detector.detectReactive(prepared))
+            .map(result -> imagePreprocessor.restoreOriginalCoordinates(result, prepared)));
+  }
 
-      // 타임아웃 오류 (ResponseTimeoutException, ConnectTimeoutException 등) 또는 연결 거부 확인
-      if (e.getMessage().contains("timeout") || e.getMessage().contains("Connection refused")) {
-        errorMessage = "AI 서비스에 접속할 수 없거나 요청 시간이 초과되었습니다. 서버 상태를 확인하세요.";
-      }
+  /**
+   * 감지 결과를 multipart/mixed 응답 본문으로 구성합니다.
+   * - detections 파트: 감지 결과 JSON (이미지 제외, 이미지 크기는 포함)
+   * - image 파트: 바운딩 박스가 그려진 JPEG 바이너리
+   *
+   * @param result 객체 감지 결과
+   * @return multipart 응답 파트 목록
+   */
+  public MultiValueMap<String, HttpEntity<?>> toMultipartBody(KfoodDetectionResponseDto result) {
+    KfoodDetectionResponseDto detections = KfoodDetectionResponseDto.builder()
+        .imageWidth(result.getImageWidth())
+        .imageHeight(result.getImageHeight())
+        .detectedFoodLabels(result.getDetectedFoodLabels())
+        .analysisResults(result.getAnalysisResults())
+        .overallAverageConfidence(result.getOverallAverageConfidence())
+        .build();
 
-      System.err.println("K-Food API 호출 중 오류: " + e.getMessage());
-      // 서비스 이용 불가(503) 상태 코드로 즉시 응답
-      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, errorMessage);
+    MultipartBodyBuilder builder = new MultipartBodyBuilder();
+    builder.part("detections", detections, MediaType.APPLICATION_JSON);
+    if (result.getImageWithBoxes() != null) {
+      builder.part("image", result.getImageWithBoxes(), MediaType.IMAGE_JPEG);
+    }
+    return builder.build();
+  }
+
+  private static void deleteQuietly(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("K-Food 임시 파일 삭제 실패 ({}): {}", path, e.getMessage());
     }
   }
-}
\ No newline at end of file
+}
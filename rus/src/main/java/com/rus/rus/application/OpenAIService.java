@@ -3,18 +3,26 @@ package com.rus.rus.application;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.*;
+import com.rus.rus.application.ratelimit.LlmTokenQuota;
 import com.rus.rus.config.OpenAIConfig.OpenAIProps;
 import com.rus.rus.controller.dto.ChatMessageDto;
 import com.rus.rus.controller.dto.req.RoutineAddCustomRequestDto;
 import com.rus.rus.controller.dto.res.PersonalRoutineResponseDto;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.*;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,20 +31,57 @@ import java.util.stream.Collectors;
  * - 1턴: 사용자 메시지 보내기 → tool_calls 감지
  * - 서버 함수 실행 → tool outputs 메시지로 다시 전송
  * - 2턴: 최종 assistant 텍스트 받기
+ * - OpenAI 호출은 WebClient(논블로킹)로, 도구 실행(JPA)은 jpaScheduler에서 수행합니다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OpenAIService {
 
     private final OpenAIProps props;
-    private final OkHttpClient http;
+    private final WebClient webClient;
     private final RoutineService routineService;
     private final ObjectMapper mapper;
+    private final Scheduler jpaScheduler; // 도구 실행(JPA)은 이벤트 루프가 아닌 전용 스케줄러에서 실행
+    private final LlmTokenQuota llmTokenQuota;
 
     private static final String OPENAI_URL = "https://api.openai.com/v1/chat/completions";
+    private static final Duration OPENAI_TIMEOUT = Duration.ofSeconds(60);
+
+    public OpenAIService(OpenAIProps props,
+            WebClient.Builder webClientBuilder,
+            RoutineService routineService,
+            ObjectMapper mapper,
+            Scheduler jpaScheduler,
+            LlmTokenQuota llmTokenQuota) {
+        this.props = props;
+        this.llmTokenQuota = llmTokenQuota;
+        this.routineService = routineService;
+        this.mapper = mapper;
+        this.jpaScheduler = jpaScheduler;
+        this.webClient = webClientBuilder
+                .baseUrl(OPENAI_URL)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + props.getApiKey())
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
 
     public String getChatResponse(String uid, List<ChatMessageDto> messages) throws IOException {
+        try {
+            return getChatResponseReactive(uid, messages).block();
+        } catch (RuntimeException e) {
+            // block()은 checked 예외를 감싸서 던지므로 기존 시그니처대로 IOException을 꺼내 던집니다.
+            if (Exceptions.unwrap(e) instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * getChatResponse의 논블로킹 버전입니다.
+     * 응답과 도구 실행을 기다리는 동안 요청 스레드를 점유하지 않습니다.
+     */
+    public Mono<String> getChatResponseReactive(String uid, List<ChatMessageDto> messages) {
         // 1) 시스템 프롬프트
         ObjectNode system = msg("system", SYSTEM_PROMPT);
 
@@ -60,61 +105,75 @@ public class OpenAIService {
         body1.put("tool_choice", "auto");
         body1.put("temperature", 0.7);
 
-        JsonNode resp1 = callOpenAI(body1);
-        JsonNode choice1 = resp1.path("choices").get(0);
-        JsonNode msg1 = choice1.path("message");
-
-        // tool_calls 유무 확인
-        JsonNode toolCalls = msg1.path("tool_calls");
-        boolean hasTools = toolCalls.isArray() && toolCalls.size() > 0;
-
-        if (!hasTools) {
-            // 툴 호출 없이 바로 답변
-            String content = msg1.path("content").asText("");
-            log.info("OpenAI 일반 응답 반환");
-            return content;
-        }
-
-        // 4) tool_calls 실행 → 실제 서비스 호출 → tool 결과 메시지 준비
-        List<ObjectNode> toolResultMessages = new ArrayList<>();
-        for (JsonNode tc : toolCalls) {
-            String toolCallId = tc.path("id").asText();
-            String functionName = tc.path("function").path("name").asText();
-            String arguments = tc.path("function").path("arguments").asText("{}");
-
-            log.info("Tool Call 감지: {} args={}", functionName, arguments);
-
-            ObjectNode toolOutput = executeTool(uid, functionName, arguments);
-            // role=tool, tool_call_id 동일하게 세팅
-            ObjectNode toolMsg = mapper.createObjectNode();
-            toolMsg.put("role", "tool");
-            toolMsg.put("tool_call_id", toolCallId);
-            toolMsg.set("content", toolOutput);
-            toolResultMessages.add(toolMsg);
-        }
-
-        // 5) 2턴 요청: 직전 assistant 메시지 + tool 결과 메시지들 이어붙여서 재요청
-        ArrayNode reqMessages2 = mapper.createArrayNode();
-        reqMessages2.add(system);
-        history.forEach(reqMessages2::add);
-        reqMessages2.add((ObjectNode) msg1); // assistant(도구 호출 포함된) 메시지
-        toolResultMessages.forEach(reqMessages2::add);
+        return callOpenAI(uid, body1).flatMap(resp1 -> {
+            JsonNode choice1 = resp1.path("choices").get(0);
+            JsonNode msg1 = choice1.path("message");
 
-        ObjectNode body2 = mapper.createObjectNode();
-        body2.put("model", props.getModelName());
-        body2.set("messages", reqMessages2);
-        body2.put("temperature", 0.7);
+            // tool_calls 유무 확인
+            JsonNode toolCalls = msg1.path("tool_calls");
+            boolean hasTools = toolCalls.isArray() && toolCalls.size() > 0;
 
-        JsonNode resp2 = callOpenAI(body2);
-        JsonNode choice2 = resp2.path("choices").get(0);
-        String finalText = choice2.path("message").path("content").asText("");
+            if (!hasTools) {
+                // 툴 호출 없이 바로 답변
+                String content = msg1.path("content").asText("");
+                log.info("OpenAI 일반 응답 반환");
+                return Mono.just(content);
+            }
 
-        log.info("OpenAI 최종 응답 반환");
-        return finalText;
+            // 4) tool_calls 실행 → 실제 서비스 호출 → tool 결과 메시지 준비
+            //    (도구 간 순서 의존이 있을 수 있으므로 순차 실행)
+            return Flux.fromIterable(toolCalls)
+                    .concatMap(tc -> executeToolReactive(uid, tc))
+                    .collectList()
+                    .flatMap(toolResultMessages -> {
+                        // 5) 2턴 요청: 직전 assistant 메시지 + tool 결과 메시지들 이어붙여서 재요청
+                        ArrayNode reqMessages2 = mapper.createArrayNode();
+                        reqMessages2.add(system);
+                        history.forEach(reqMessages2::add);
+                        reqMessages2.add((ObjectNode) msg1); // assistant(도구 호출 포함된) 메시지
+                        toolResultMessages.forEach(reqMessages2::add);
+
+                        ObjectNode body2 = mapper.createObjectNode();
+                        body2.put("model", props.getModelName());
+                        body2.set("messages", reqMessages2);
+                        body2.put("temperature", 0.7);
+
+                        return callOpenAI(uid, body2);
+                    })
+                    .map(resp2 -> {
+                        JsonNode choice2 = resp2.path("choices").get(0);
+                        String finalText = choice2.path("message").path("content").asText("");
+
+                        log.info("OpenAI 최종 응답 반환");
+                        return finalText;
+                    });
+        });
     }
 
     // --------- 내부 구현 ---------
 
+    /**
+     * tool_call 하나를 jpaScheduler에서 실행하고 role=tool 메시지로 변환합니다.
+     */
+    private Mono<ObjectNode> executeToolReactive(String uid, JsonNode tc) {
+        String toolCallId = tc.path("id").asText();
+        String functionName = tc.path("function").path("name").asText();
+        String arguments = tc.path("function").path("arguments").asText("{}");
+
+        log.info("Tool Call 감지: {} args={}", functionName, arguments);
+
+        return Mono.fromCallable(() -> executeTool(uid, functionName, arguments))
+                .subscribeOn(jpaScheduler)
+                .map(toolOutput -> {
+                    // role=tool, tool_call_id 동일하게 세팅
+                    ObjectNode toolMsg = mapper.createObjectNode();
+                    toolMsg.put("role", "tool");
+                    toolMsg.put("tool_call_id", toolCallId);
+                    toolMsg.set("content", toolOutput);
+                    return toolMsg;
+                });
+    }
+
     private ObjectNode executeTool(String uid, String name, String argJson) {
         ObjectNode result = mapper.createObjectNode();
         try {
@@ -177,29 +236,22 @@ public class OpenAIService {
         }
     }
 
-    private JsonNode callOpenAI(ObjectNode body) throws IOException {
-        String json = body.toString();
-
-        // OkHttp 3.x와 4.x 모두와 호환되는 방식
-        MediaType JSON = okhttp3.MediaType.parse("application/json; charset=utf-8");
-        RequestBody requestBody = RequestBody.create(JSON, json);
-
-        Request request = new Request.Builder()
-                .url(OPENAI_URL)
-                .addHeader("Authorization", "Bearer " + props.getApiKey())
-                .addHeader("Content-Type", "application/json")
-                .post(requestBody)
-                .build();
-
-        try (Response res = http.newCall(request).execute()) {
-            if (!res.isSuccessful()) {
-                String msg = res.body() != null ? res.body().string() : ("HTTP " + res.code());
-                log.error("OpenAI API 오류: {}", msg);
-                throw new IOException("OpenAI API error: " + msg);
-            }
-            String raw = res.body().string();
-            return mapper.readTree(raw);
-        }
+    /**
+     * 응답의 토큰 사용량(usage.total_tokens)은 사용자의 하루 사용량에 더합니다.
+     */
+    private Mono<JsonNode> callOpenAI(String uid, ObjectNode body) {
+        return webClient.post()
+                .bodyValue(body.toString())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, res -> res.bodyToMono(String.class)
+                        .defaultIfEmpty("HTTP " + res.statusCode().value())
+                        .map(msg -> {
+                            log.error("OpenAI API 오류: {}", msg);
+                            return new IOException("OpenAI API error: " + msg);
+                        }))
+                .bodyToMono(JsonNode.class)
+                .timeout(OPENAI_TIMEOUT)
+                .doOnNext(resp -> llmTokenQuota.record(uid, resp.path("usage").path("total_tokens").asLong(0)));
     }
 
     private static ObjectNode msg(String role, String content) {
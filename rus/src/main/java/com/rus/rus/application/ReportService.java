@@ -1,6 +1,7 @@
 package com.rus.rus.application;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.rus.rus.application.ratelimit.LlmTokenQuota;
 import com.rus.rus.common.ApiException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -9,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -18,11 +20,14 @@ public class ReportService {
 
   private final WebClient webClient;
   private final String apiKey;
+  private final LlmTokenQuota llmTokenQuota;
 
   private static final String GEMINI_MODEL = "gemini-2.0-flash";
 
-  public ReportService(WebClient.Builder webClientBuilder, @Value("${gemini.api.key}") String apiKey) {
+  public ReportService(WebClient.Builder webClientBuilder, @Value("${gemini.api.key}") String apiKey,
+      LlmTokenQuota llmTokenQuota) {
     this.apiKey = apiKey;
+    this.llmTokenQuota = llmTokenQuota;
     this.webClient = webClientBuilder
         .baseUrl("https://generativelanguage.googleapis.com")
         .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -33,10 +38,22 @@ public class ReportService {
   /**
    * 사용자 데이터 요약을 기반으로 AI 피드백 및 추천 루틴을 생성합니다.
    * 
+   * @param uid             토큰 사용량을 기록할 사용자 ID
    * @param userDataSummary AI가 분석할 사용자 데이터 요약 텍스트
    * @return AI가 생성한 피드백 텍스트
    */
-  public String getFeedback(String userDataSummary) {
+  public String getFeedback(String uid, String userDataSummary) {
+    return getFeedbackReactive(uid, userDataSummary).block();
+  }
+
+  /**
+   * getFeedback의 논블로킹 버전입니다. Gemini 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+   *
+   * @param uid             토큰 사용량을 기록할 사용자 ID
+   * @param userDataSummary AI가 분석할 사용자 데이터 요약 텍스트
+   * @return AI가 생성한 피드백 텍스트
+   */
+  public Mono<String> getFeedbackReactive(String uid, String userDataSummary) {
     String prompt = """
             당신은 사용자의 건강 루틴 기록을 분석하고 동기를 부여하는 AI 건강 코치 'Sera'입니다. 당신의 역할은 데이터를 기반으로 통찰력 있는 피드백을 제공하고, 사용자가 더 나은 습관을 형성하도록 돕는 것입니다.
 
@@ -67,32 +84,34 @@ public class ReportService {
             Map.of("parts", List.of(
                 Map.of("text", prompt)))));
 
-    try {
-      JsonNode response = webClient.post()
-          .uri(uriBuilder -> uriBuilder
-              .path("/v1beta/models/" + GEMINI_MODEL + ":generateContent")
-              .build())
-          .bodyValue(requestBody)
-          .retrieve()
-          .bodyToMono(JsonNode.class)
-          .block();
-
-      if (response != null && response.has("candidates")) {
-        JsonNode textNode = response.get("candidates").get(0).get("content").get("parts").get(0).get("text");
-        return textNode.asText();
-      } else {
-        String errorResponse = (response != null) ? response.toString() : "빈 응답";
-        System.err.println("Gemini API 비정상 응답: " + errorResponse);
-        return "피드백을 생성하는 데 실패했습니다. 잠시 후 다시 시도해주세요.";
-      }
-
-    } catch (WebClientResponseException e) {
-      System.err.println("Gemini API HTTP 오류: " + e.getStatusCode() + " " + e.getResponseBodyAsString());
-      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
-          "AI 피드백 서비스에 문제가 발생했습니다. (HTTP 상태 코드: " + e.getStatusCode().value() + ")");
-    } catch (Exception e) {
-      System.err.println("Gemini API 호출 중 알 수 없는 오류: " + e.getMessage());
-      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 피드백 서비스에 접속할 수 없습니다.");
-    }
+    return webClient.post()
+        .uri(uriBuilder -> uriBuilder
+            .path("/v1beta/models/" + GEMINI_MODEL + ":generateContent")
+            .build())
+        .bodyValue(requestBody)
+        .retrieve()
+        .bodyToMono(JsonNode.class)
+        .doOnNext(response -> llmTokenQuota.record(uid,
+            response.path("usageMetadata").path("totalTokenCount").asLong(0)))
+        .map(response -> {
+          if (response.has("candidates")) {
+            JsonNode textNode = response.get("candidates").get(0).get("content").get("parts").get(0).get("text");
+            return textNode.asText();
+          } else {
+            System.err.println("Gemini API 비정상 응답: " + response);
+            return "피드백을 생성하는 데 실패했습니다. 잠시 후 다시 시도해주세요.";
+          }
+        })
+        .defaultIfEmpty("피드백을 생성하는 데 실패했습니다. 잠시 후 다시 시도해주세요.")
+        .onErrorMap(e -> {
+          if (e instanceof WebClientResponseException responseException) {
+            System.err.println("Gemini API HTTP 오류: " + responseException.getStatusCode() + " "
+                + responseException.getResponseBodyAsString());
+            return new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
+                "AI 피드백 서비스에 문제가 발생했습니다. (HTTP 상태 코드: " + responseException.getStatusCode().value() + ")");
+          }
+          System.err.println("Gemini API 호출 중 알 수 없는 오류: " + e.getMessage());
+          return new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 피드백 서비스에 접속할 수 없습니다.");
+        });
   }
-}
\ No newline at end of file
+}
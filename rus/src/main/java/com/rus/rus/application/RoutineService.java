@@ -6,10 +6,15 @@ import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import com.rus.rus.application.event.ChallengeCompleted;
+import com.rus.rus.application.event.LuxChanged;
+import com.rus.rus.application.event.RoutineCompleted;
+import com.rus.rus.application.event.RoutineUnchecked;
 import com.rus.rus.common.ApiException;
 import com.rus.rus.controller.dto.req.RoutineAddCustomRequestDto;
 import com.rus.rus.controller.dto.req.RoutineAddRequestDto;
 import com.rus.rus.controller.dto.req.RoutineUpdateRequestDto;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -46,6 +51,9 @@ public class RoutineService {
         private final ChallengeUserRepository challengeUserRepository;
         private final RecoveryMissionRepository recoveryMissionRepository;
         private final RecoveryMissionItemRepository recoveryMissionItemRepository;
+        private final UserAttainmentJdbcRepository userAttainmentJdbcRepository;
+        private final ChallengeParticipantCounter challengeParticipantCounter;
+        private final ApplicationEventPublisher eventPublisher;
 
         /**
          * (API-3.1) 추천 루틴 생성
@@ -61,7 +69,7 @@ public class RoutineService {
                                 .orElse(Collections.emptyList())
                                 .stream().filter(ALL_CATEGORIES::contains).distinct().toList();
 
-                List<Routine> all = routineRepository.findRoutinesByCategoryNames(ALL_CATEGORIES);
+                List<Routine> all = routineRepository.findAllByCategoryNamesWithCategoryFetchJoin(ALL_CATEGORIES);
                 Map<String, List<Routine>> byCat = all.stream()
                                 .collect(Collectors.groupingBy(r -> r.getCategory().getValue()));
 
@@ -152,7 +160,7 @@ public class RoutineService {
          */
         @Transactional(readOnly = true)
         public AllRoutinesResponseDto getAllRoutines() {
-                List<Routine> allRoutines = routineRepository.findAll();
+                List<Routine> allRoutines = routineRepository.findAllWithCategoryFetchJoin();
 
                 List<RoutineDto> dtoList = allRoutines.stream()
                                 .map(routine -> RoutineDto.builder()
@@ -290,16 +298,12 @@ public class RoutineService {
          */
         @Transactional(readOnly = true)
         public PersonalRoutineResponseDto getPersonalRoutines(String uid) {
-                List<UserRoutine> userRoutines = userRoutineRepository.findByUserProfile_Uid(uid);
+                List<UserRoutine> userRoutines = userRoutineRepository.findAllByUidWithCategoryFetchJoin(uid);
                 LocalDate today = LocalDate.now();
 
-                List<UserAttainment> todayAttainments = userAttainmentRepository
-                                .findByUserProfile_UidAndTimestampBetween(uid, today.atStartOfDay(),
-                                                today.plusDays(1).atStartOfDay());
-
-                Set<Integer> completedRoutineIds = todayAttainments.stream()
-                                .map(ua -> ua.getUserRoutine().getId())
-                                .collect(Collectors.toSet());
+                Set<Integer> completedRoutineIds = new HashSet<>(userAttainmentRepository
+                                .findRoutineIdsByUidAndTimestampBetween(uid, today.atStartOfDay(),
+                                                today.plusDays(1).atStartOfDay()));
 
                 List<PersonalRoutineItemDto> routineItems = userRoutines.stream()
                                 .map(userRoutine -> {
@@ -446,11 +450,16 @@ public class RoutineService {
                         UserProfile userProfile = userProfileRepository.findById(uid)
                                         .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
 
-                        int newLux = userProfile.getLux() - GENERAL_ROUTINE_LUX_BOUNS;
+                        int previousLux = userProfile.getLux();
+                        int newLux = previousLux - GENERAL_ROUTINE_LUX_BOUNS;
                         userProfile.setLux(Math.max(0, newLux)); // lux가 0 미만으로 내려가지 않도록 보장
                         userProfileRepository.save(userProfile);
 
                         userAttainmentRepository.delete(attainmentToCancel.get());
+
+                        LocalDateTime now = LocalDateTime.now();
+                        eventPublisher.publishEvent(new RoutineUnchecked(uid, List.of(routineId), now));
+                        eventPublisher.publishEvent(new LuxChanged(uid, userProfile.getLux() - previousLux, now));
                 }
         }
 
@@ -464,7 +473,7 @@ public class RoutineService {
         @Transactional(readOnly = true)
         public RecommendRoutineResponseDto getRecommendRoutines(String uid) {
                 // 1. routines_sera 테이블에서 해당 사용자의 추천 루틴을 모두 조회합니다.
-                List<RoutineSera> seraRoutines = routineSeraRepository.findByUserProfile_Uid(uid);
+                List<RoutineSera> seraRoutines = routineSeraRepository.findAllByUidWithCategoryFetchJoin(uid);
 
                 // 2. routines_sera_attainment 테이블에서 '오늘' 달성한 기록만 조회하기 위해 시간 범위를 설정합니다.
                 LocalDate today = LocalDate.now();
@@ -547,6 +556,8 @@ public class RoutineService {
 
                 userProfile.setLux(userProfile.getLux() + SERA_ROUTINE_LUX_BONUS);
                 userProfileRepository.save(userProfile);
+
+                eventPublisher.publishEvent(new LuxChanged(uid, SERA_ROUTINE_LUX_BONUS, attainment.getTimestamp()));
         }
 
         /**
@@ -558,9 +569,12 @@ public class RoutineService {
          */
         @Transactional(readOnly = true)
         public ChallengeStatusResponseDto getChallengeStatus(String uid) {
-                Optional<ChallengeUser> challengeUserOpt = challengeUserRepository.findById(uid);
+                // 챌린지 대상자와 카테고리를 한 번의 쿼리로 조회하고, 참여자 수는 카운터에서 읽습니다.
+                Optional<ChallengeUserRepository.ChallengeStatusSummary> summaryOpt = challengeUserRepository
+                                .findChallengeStatusSummary(uid);
 
-                if (challengeUserOpt.isEmpty()) {
+                if (summaryOpt.isEmpty() || summaryOpt.get().getCategoryId() == null
+                                || summaryOpt.get().getContent() == null) {
                         return ChallengeStatusResponseDto.builder()
                                         .challenge(null)
                                         .participants(0)
@@ -569,45 +583,28 @@ public class RoutineService {
                                         .build();
                 }
 
-                ChallengeUser challengeUser = challengeUserOpt.get();
+                ChallengeUserRepository.ChallengeStatusSummary summary = summaryOpt.get();
 
-                if (challengeUser.getChallengeCategoryId() == null || challengeUser.getChallengeContent() == null) {
-                        return ChallengeStatusResponseDto.builder()
-                                        .challenge(null)
-                                        .participants(0)
-                                        .isTarget(false)
-                                        .check(false)
-                                        .build();
+                if (summary.getCategoryValue() == null) {
+                        throw new IllegalArgumentException("카테고리를 찾을 수 없습니다.");
                 }
 
-                Category category = categoryRepository.findById(challengeUser.getChallengeCategoryId())
-                                .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을 수 없습니다."));
-
-                LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
-                LocalDateTime endOfDay = LocalDateTime.now().toLocalDate().plusDays(1).atStartOfDay();
-
-                int participants = challengeUserRepository
-                                .countByChallengeCategoryIdAndChallengeContentAndDatetimeBetween(
-                                                challengeUser.getChallengeCategoryId(),
-                                                challengeUser.getChallengeContent(),
-                                                startOfDay,
-                                                endOfDay);
-
                 CategoryDto categoryDto = CategoryDto.builder()
-                                .categoryId(category.getCategoryId())
-                                .value(category.getValue())
+                                .categoryId(summary.getCategoryId())
+                                .value(summary.getCategoryValue())
                                 .build();
 
                 ChallengeInfoDto challengeDto = ChallengeInfoDto.builder()
                                 .category(categoryDto)
-                                .content(challengeUser.getChallengeContent())
+                                .content(summary.getContent())
                                 .build();
 
                 return ChallengeStatusResponseDto.builder()
                                 .challenge(challengeDto)
-                                .participants(participants)
+                                .participants((int) challengeParticipantCounter.participantCount(
+                                                summary.getCategoryId(), summary.getContent()))
                                 .isTarget(true)
-                                .check(challengeUser.getCheck() != null)
+                                .check(summary.getChecked() != null)
                                 .build();
         }
 
@@ -624,8 +621,10 @@ public class RoutineService {
                 ChallengeUser challengeUser = challengeUserRepository.findById(uid)
                                 .orElseThrow(() -> new IllegalArgumentException("챌린지 대상자가 아닙니다."));
 
+                Boolean previousCheck = challengeUser.getCheck();
                 challengeUser.setCheck(false);
                 challengeUserRepository.save(challengeUser);
+                challengeParticipantCounter.accepted(challengeUser, previousCheck);
         }
 
         /**
@@ -642,6 +641,7 @@ public class RoutineService {
                                 .orElseThrow(() -> new IllegalArgumentException("챌린지 대상자가 아닙니다."));
 
                 challengeUserRepository.delete(challengeUser);
+                challengeParticipantCounter.postponed(challengeUser);
         }
 
         /**
@@ -667,6 +667,9 @@ public class RoutineService {
 
                 challengeUser.setCheck(true);
                 challengeUserRepository.save(challengeUser);
+                challengeParticipantCounter.completed(challengeUser);
+
+                eventPublisher.publishEvent(new ChallengeCompleted(uid, LocalDateTime.now()));
         }
 
         /**
@@ -704,7 +707,8 @@ public class RoutineService {
                 }
 
                 // 리커버리 미션 목록 조회
-                List<RecoveryMissionItem> missionItems = recoveryMissionItemRepository.findByRecoveryMission(recovery);
+                List<RecoveryMissionItem> missionItems = recoveryMissionItemRepository
+                                .findAllByRecoveryMissionWithRoutineFetchJoin(recovery);
 
                 List<RecoveryMissionDto> missionDtos = missionItems.stream()
                                 .map(item -> {
@@ -808,19 +812,21 @@ public class RoutineService {
          */
         @Transactional(readOnly = true)
         public StreakResponseDto getStreak(String uid) {
-                UserProfile userProfile = userProfileRepository.findById(uid)
+                LocalDate today = LocalDate.now();
+
+                // 프로필, 리커버리 미션, 오늘의 루틴/달성 수를 한 번의 쿼리로 조회합니다.
+                UserProfileRepository.StreakSummary summary = userProfileRepository
+                                .findStreakSummary(uid, today.atStartOfDay(), today.plusDays(1).atStartOfDay())
                                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
                 // 리커버리 상태 확인
-                Optional<RecoveryMission> recoveryOpt = recoveryMissionRepository.findByUid(uid);
                 RecoveryStatusDto recoveryStatus;
 
-                if (recoveryOpt.isPresent() && !LocalDate.now().isAfter(recoveryOpt.get().getDeadline())) {
-                        RecoveryMission recovery = recoveryOpt.get();
+                if (summary.getRecoveryDeadline() != null && !today.isAfter(summary.getRecoveryDeadline())) {
                         recoveryStatus = RecoveryStatusDto.builder()
                                         .available(true)
-                                        .deadline(recovery.getDeadline())
-                                        .originalStreak(recovery.getOriginalStreak())
+                                        .deadline(summary.getRecoveryDeadline())
+                                        .originalStreak(summary.getRecoveryOriginalStreak())
                                         .build();
                 } else {
                         recoveryStatus = RecoveryStatusDto.builder()
@@ -831,14 +837,8 @@ public class RoutineService {
                 }
 
                 // 오늘의 진행률 계산
-                List<UserRoutine> userRoutines = userRoutineRepository.findByUserProfile_Uid(uid);
-                LocalDate today = LocalDate.now();
-                List<UserAttainment> todayAttainments = userAttainmentRepository
-                                .findByUserProfile_UidAndTimestampBetween(uid, today.atStartOfDay(),
-                                                today.plusDays(1).atStartOfDay());
-
-                int totalRoutines = userRoutines.size();
-                int completedRoutines = todayAttainments.size();
+                int totalRoutines = summary.getTotalRoutines().intValue();
+                int completedRoutines = summary.getCompletedRoutines().intValue();
                 double completionRate = totalRoutines > 0 ? (completedRoutines * 100.0 / totalRoutines) : 0.0;
 
                 TodayProgressDto todayProgress = TodayProgressDto.builder()
@@ -848,8 +848,8 @@ public class RoutineService {
                                 .build();
 
                 return StreakResponseDto.builder()
-                                .currentStreak(userProfile.getStreak())
-                                .lastSuccessDate(userProfile.getLastStreakDate())
+                                .currentStreak(summary.getCurrentStreak())
+                                .lastSuccessDate(summary.getLastStreakDate())
                                 .recoveryStatus(recoveryStatus)
                                 .todayProgress(todayProgress)
                                 .build();
@@ -858,7 +858,7 @@ public class RoutineService {
         /**
          * (API-4.7) 사용자 루틴 - 달성 체크
          * 사용자의 일반 루틴을 달성 처리하고, 보상 lux를 지급합니다.
-         * 모든 루틴을 달성했을 경우, 연속 달성 일수(Streak)를 업데이트합니다.
+         * 모든 루틴을 달성했을 경우, 같은 트랜잭션에서 연속 달성 일수(Streak)를 업데이트합니다.
          *
          * @param uid       루틴을 달성한 사용자의 고유 식별자(UID)
          * @param routineId 달성한 루틴의 고유 ID
@@ -897,24 +897,127 @@ public class RoutineService {
                 userProfileRepository.save(userProfile);
 
                 // ⭐ 모든 루틴 완료 확인 및 스트릭 업데이트
-                updateStreakOnCompletion(uid);
+                updateStreakOnCompletion(uid, today);
+
+                eventPublisher.publishEvent(new RoutineCompleted(uid, List.of(routineId), attainment.getTimestamp()));
+                eventPublisher.publishEvent(new LuxChanged(uid, GENERAL_ROUTINE_LUX_BOUNS, attainment.getTimestamp()));
         }
 
         /**
-         * 사용자가 오늘의 모든 루틴을 완료했는지 확인하고, 조건에 따라 연속 달성 일수(Streak)를 업데이트하는 내부 메소드입니다.
+         * (API-4.7-1) 사용자 루틴 - 일괄 달성 체크
+         * 여러 개인 루틴을 한 번에 달성 처리합니다.
+         * 소유자 확인은 한 번의 IN 쿼리, 달성 기록은 한 번의 배치 INSERT, lux는 한 번의 UPDATE로 처리하고
+         * 연속 달성 일수(Streak)는 마지막에 한 번만 계산합니다. 오늘 이미 체크된 루틴은 건너뜁니다.
          *
-         * @param uid 검사할 사용자의 고유 식별자(UID)
+         * @param uid        루틴을 달성한 사용자의 고유 식별자(UID)
+         * @param routineIds 달성한 루틴의 고유 ID 목록
+         * @return 체크된 루틴과 건너뛴 루틴 목록이 담긴 {@link BulkAttainmentResponseDto} 객체
+         * @throws ApiException ID 목록이 비어 있거나(400), 루틴이 존재하지 않거나(404), 본인의 루틴이 아닐 경우(403) 발생
          */
-        private void updateStreakOnCompletion(String uid) {
-                List<UserRoutine> allRoutines = userRoutineRepository.findByUserProfile_Uid(uid);
+        @Transactional
+        public BulkAttainmentResponseDto checkRoutineAttainments(String uid, List<Integer> routineIds) {
+                Set<Integer> requestedIds = requireRoutineIds(routineIds);
+
+                Map<Integer, String> owners = userRoutineRepository.findOwnersByIdIn(requestedIds).stream()
+                                .collect(Collectors.toMap(UserRoutineRepository.RoutineOwner::getId,
+                                                UserRoutineRepository.RoutineOwner::getUid));
+                for (Integer routineId : requestedIds) {
+                        if (!owners.containsKey(routineId)) {
+                                throw new ApiException(HttpStatus.NOT_FOUND, "루틴을 찾을 수 없습니다: " + routineId);
+                        }
+                        if (!owners.get(routineId).equals(uid)) {
+                                throw new ApiException(HttpStatus.FORBIDDEN, "본인의 루틴만 체크할 수 있습니다: " + routineId);
+                        }
+                }
+
                 LocalDate today = LocalDate.now();
-                List<UserAttainment> todayAttainments = userAttainmentRepository
-                                .findByUserProfile_UidAndTimestampBetween(uid, today.atStartOfDay(),
-                                                today.plusDays(1).atStartOfDay());
+                Set<Integer> alreadyChecked = new HashSet<>(userAttainmentRepository
+                                .findRoutineIdsByUidAndTimestampBetween(uid, today.atStartOfDay(),
+                                                today.plusDays(1).atStartOfDay()));
 
-                Set<Integer> completedRoutineIds = todayAttainments.stream()
-                                .map(ua -> ua.getUserRoutine().getId())
-                                .collect(Collectors.toSet());
+                List<Integer> applied = requestedIds.stream().filter(id -> !alreadyChecked.contains(id)).toList();
+                List<Integer> skipped = requestedIds.stream().filter(alreadyChecked::contains).toList();
+
+                if (!applied.isEmpty()) {
+                        LocalDateTime now = LocalDateTime.now();
+                        userAttainmentJdbcRepository.batchInsert(uid, applied, now);
+                        userProfileRepository.increaseLux(uid, GENERAL_ROUTINE_LUX_BOUNS * applied.size());
+
+                        // 모든 루틴 완료 확인 및 스트릭 업데이트 (한 번만)
+                        updateStreakOnCompletion(uid, now.toLocalDate());
+
+                        eventPublisher.publishEvent(new RoutineCompleted(uid, applied, now));
+                        eventPublisher.publishEvent(new LuxChanged(uid, GENERAL_ROUTINE_LUX_BOUNS * applied.size(), now));
+                }
+
+                return BulkAttainmentResponseDto.builder()
+                                .applied(applied)
+                                .skipped(skipped)
+                                .luxDelta(GENERAL_ROUTINE_LUX_BOUNS * applied.size())
+                                .build();
+        }
+
+        /**
+         * (API-4.8-1) 사용자 루틴 - 일괄 체크 해제
+         * 여러 개인 루틴의 오늘 달성 기록을 한 번의 DELETE로 삭제하고, 지급되었던 lux를 한 번의 UPDATE로 회수합니다.
+         * 오늘 체크되지 않은 루틴은 건너뜁니다.
+         *
+         * @param uid        체크를 해제할 사용자의 고유 식별자(UID)
+         * @param routineIds 체크를 해제할 루틴의 고유 ID 목록
+         * @return 체크 해제된 루틴과 건너뛴 루틴 목록이 담긴 {@link BulkAttainmentResponseDto} 객체
+         * @throws ApiException ID 목록이 비어 있을 경우(400) 발생
+         */
+        @Transactional
+        public BulkAttainmentResponseDto uncheckRoutineAttainments(String uid, List<Integer> routineIds) {
+                Set<Integer> requestedIds = requireRoutineIds(routineIds);
+
+                LocalDate today = LocalDate.now();
+                LocalDateTime startOfDay = today.atStartOfDay();
+                LocalDateTime endOfDay = today.plusDays(1).atStartOfDay();
+
+                Set<Integer> checkedToday = new HashSet<>(userAttainmentRepository
+                                .findRoutineIdsByUidAndTimestampBetween(uid, startOfDay, endOfDay));
+
+                List<Integer> applied = requestedIds.stream().filter(checkedToday::contains).toList();
+                List<Integer> skipped = requestedIds.stream().filter(id -> !checkedToday.contains(id)).toList();
+
+                if (!applied.isEmpty()) {
+                        userAttainmentRepository.deleteByUidAndRoutineIdInAndTimestampBetween(uid, applied, startOfDay,
+                                        endOfDay);
+                        userProfileRepository.decreaseLux(uid, GENERAL_ROUTINE_LUX_BOUNS * applied.size());
+
+                        LocalDateTime now = LocalDateTime.now();
+                        eventPublisher.publishEvent(new RoutineUnchecked(uid, applied, now));
+                        eventPublisher.publishEvent(new LuxChanged(uid, -GENERAL_ROUTINE_LUX_BOUNS * applied.size(), now));
+                }
+
+                return BulkAttainmentResponseDto.builder()
+                                .applied(applied)
+                                .skipped(skipped)
+                                .luxDelta(-GENERAL_ROUTINE_LUX_BOUNS * applied.size())
+                                .build();
+        }
+
+        private Set<Integer> requireRoutineIds(List<Integer> routineIds) {
+                if (routineIds == null || routineIds.isEmpty() || routineIds.contains(null)) {
+                        throw new ApiException(HttpStatus.BAD_REQUEST, "루틴 ID 목록이 비어 있습니다.");
+                }
+                return new LinkedHashSet<>(routineIds);
+        }
+
+        /**
+         * 사용자가 해당 날짜의 모든 루틴을 완료했는지 확인하고, 조건에 따라 연속 달성 일수(Streak)를 업데이트합니다.
+         * 달성 체크와 같은 트랜잭션에서 호출되므로 커밋된 달성 기록과 스트릭이 항상 함께 반영됩니다.
+         * 이미 그 날짜로 갱신되었으면 아무것도 하지 않습니다. (체크 해제 후 다시 체크해도 1로 초기화되지 않음)
+         *
+         * @param uid   검사할 사용자의 고유 식별자(UID)
+         * @param today 루틴을 달성한 날짜
+         */
+        private void updateStreakOnCompletion(String uid, LocalDate today) {
+                List<UserRoutine> allRoutines = userRoutineRepository.findByUserProfile_Uid(uid);
+                Set<Integer> completedRoutineIds = new HashSet<>(userAttainmentRepository
+                                .findRoutineIdsByUidAndTimestampBetween(uid, today.atStartOfDay(),
+                                                today.plusDays(1).atStartOfDay()));
 
                 boolean allCompleted = allRoutines.stream()
                                 .allMatch(routine -> completedRoutineIds.contains(routine.getId()));
@@ -924,6 +1027,9 @@ public class RoutineService {
                                         .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
                         LocalDate lastStreakDate = userProfile.getLastStreakDate();
+                        if (lastStreakDate != null && !lastStreakDate.isBefore(today)) {
+                                return;
+                        }
 
                         // 어제 완료했으면 연속, 아니면 1부터 시작
                         if (lastStreakDate != null && lastStreakDate.equals(today.minusDays(1))) {
@@ -996,14 +1102,13 @@ public class RoutineService {
                 LocalDateTime startOfPeriod = oneWeekAgo.atStartOfDay();
                 LocalDateTime endOfPeriod = LocalDate.now().atTime(LocalTime.MAX);
 
-                List<UserAttainment> attainments = userAttainmentRepository
-                                .findByUserProfile_UidAndTimestampBetween(uid, startOfPeriod, endOfPeriod);
-
-                Map<Integer, Long> attainmentCountByRoutine = attainments.stream()
-                                .collect(Collectors.groupingBy(att -> att.getUserRoutine().getId(),
-                                                Collectors.counting()));
+                // 루틴별 달성 횟수는 DB에서 집계합니다.
+                Map<Integer, Long> attainmentCountByRoutine = userAttainmentRepository
+                                .countByUidAndTimestampBetweenGroupByRoutine(uid, startOfPeriod, endOfPeriod).stream()
+                                .collect(Collectors.toMap(UserAttainmentRepository.RoutineAttainmentCount::getRoutineId,
+                                                UserAttainmentRepository.RoutineAttainmentCount::getAttainmentCount));
 
-                List<UserRoutine> userRoutines = userRoutineRepository.findByUserProfile_Uid(uid);
+                List<UserRoutine> userRoutines = userRoutineRepository.findAllByUidWithCategoryFetchJoin(uid);
 
                 List<RoutinePerformanceItemDto> performanceItems = userRoutines.stream()
                                 .map(routine -> {
@@ -1,5 +1,6 @@
 package com.rus.rus.application;
 
+import com.rus.rus.application.event.PurchaseCompleted;
 import com.rus.rus.common.ApiException;
 import com.rus.rus.common.ErrorResponseDTO;
 import com.rus.rus.controller.dto.req.PurchaseRequestDto;
@@ -13,11 +14,13 @@ import com.rus.rus.infra.repository.ProductRepository;
 import com.rus.rus.infra.repository.PurchaseHistoryRepository;
 import com.rus.rus.infra.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +32,7 @@ public class ShopService {
   private final ProductRepository productRepository;
   private final UserProfileRepository userProfileRepository;
   private final PurchaseHistoryRepository purchaseHistoryRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * 등록된 모든 상품 목록을 조회합니다.
@@ -100,6 +104,8 @@ public class ShopService {
         .build(); // used, expired는 false가 기본값
 
     PurchaseHistory savedPurchase = purchaseHistoryRepository.save(newPurchase);
+    eventPublisher.publishEvent(new PurchaseCompleted(uid, product.getProductId(), savedPurchase.getPurchaseId(),
+        product.getPrice(), LocalDateTime.now()));
 
     // 6. 결과 반환
     return PurchaseResponseDto.from(savedPurchase, newPointTotal);
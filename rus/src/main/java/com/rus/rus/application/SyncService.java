@@ -0,0 +1,399 @@
+package com.rus.rus.application;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.req.SyncRequestDto;
+import com.rus.rus.controller.dto.res.SyncResponseDto;
+import com.rus.rus.domain.ProcessedSyncEvent;
+import com.rus.rus.domain.UserProfile;
+import com.rus.rus.domain.UserSleep;
+import com.rus.rus.domain.WeeklyAttendance;
+import com.rus.rus.infra.repository.ProcessedSyncEventJdbcRepository;
+import com.rus.rus.infra.repository.ProcessedSyncEventRepository;
+import com.rus.rus.infra.repository.UserAttainmentRepository;
+import com.rus.rus.infra.repository.UserProfileRepository;
+import com.rus.rus.infra.repository.UserRoutineRepository;
+import com.rus.rus.infra.repository.UserSleepRepository;
+import com.rus.rus.infra.repository.WeeklyAttendanceRepository;
+
+/**
+ * 오프라인 동기화 서비스
+ * - 연결이 끊긴 동안 클라이언트에 쌓인 이벤트(check, uncheck, sleep, attendance)를 한 번의 요청으로 받아
+ *   client_timestamp 순서로 하나의 트랜잭션 안에서 적용합니다.
+ * - event_id로 처리 여부를 기록(sync_processed_event)하므로, 같은 이벤트를 다시 보내도 한 번만 적용됩니다.
+ * - 이벤트를 하나씩 쓰지 않고 메모리에서 순서대로 접어(fold) 최종 변경분만 일괄로 씁니다.
+ *   · 루틴 체크/해제: 일괄 체크/해제(RoutineService)로 배치 INSERT/DELETE와 lux UPDATE 각 한 번
+ *   · 수면 기록: 날짜별 마지막 기록만 saveAll
+ *   · 출석: 한 번만 체크
+ * - 루틴 체크/해제와 출석은 오늘 발생한 이벤트만 적용합니다. (lux, 연속 달성 일수가 오늘 기준으로 계산되기 때문)
+ */
+@Service
+public class SyncService {
+
+    static final String CHECK = "check";
+    static final String UNCHECK = "uncheck";
+    static final String SLEEP = "sleep";
+    static final String ATTENDANCE = "attendance";
+
+    static final String APPLIED = "applied";
+    static final String SKIPPED = "skipped";
+    static final String REJECTED = "rejected";
+    static final String DUPLICATE = "duplicate";
+
+    private static final Set<String> TYPES = Set.of(CHECK, UNCHECK, SLEEP, ATTENDANCE);
+
+    private final RoutineService routineService;
+    private final AttendanceService attendanceService;
+    private final UserProfileRepository userProfileRepository;
+    private final UserRoutineRepository userRoutineRepository;
+    private final UserAttainmentRepository userAttainmentRepository;
+    private final UserSleepRepository userSleepRepository;
+    private final WeeklyAttendanceRepository weeklyAttendanceRepository;
+    private final ProcessedSyncEventRepository processedSyncEventRepository;
+    private final ProcessedSyncEventJdbcRepository processedSyncEventJdbcRepository;
+    private final int maxEvents;
+
+    public SyncService(RoutineService routineService, AttendanceService attendanceService,
+            UserProfileRepository userProfileRepository, UserRoutineRepository userRoutineRepository,
+            UserAttainmentRepository userAttainmentRepository, UserSleepRepository userSleepRepository,
+            WeeklyAttendanceRepository weeklyAttendanceRepository,
+            ProcessedSyncEventRepository processedSyncEventRepository,
+            ProcessedSyncEventJdbcRepository processedSyncEventJdbcRepository,
+            @Value("${sync.max-events:200}") int maxEvents) {
+        this.routineService = routineService;
+        this.attendanceService = attendanceService;
+        this.userProfileRepository = userProfileRepository;
+        this.userRoutineRepository = userRoutineRepository;
+        this.userAttainmentRepository = userAttainmentRepository;
+        this.userSleepRepository = userSleepRepository;
+        this.weeklyAttendanceRepository = weeklyAttendanceRepository;
+        this.processedSyncEventRepository = processedSyncEventRepository;
+        this.processedSyncEventJdbcRepository = processedSyncEventJdbcRepository;
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * 클라이언트 이벤트를 순서대로 적용하고, 이벤트별 결과와 동기화 후 서버 상태를 반환합니다.
+     *
+     * @param uid     사용자 고유 식별자
+     * @param request 오프라인 동안 쌓인 이벤트 목록
+     * @return 요청 순서대로의 이벤트별 결과와 서버 상태 요약
+     * @throws ApiException 요청 형식이 잘못된 경우(400), 사용자가 없는 경우(404),
+     *                      같은 이벤트가 동시에 처리된 경우(409) 발생
+     */
+    @Transactional
+    public SyncResponseDto sync(UUID uid, SyncRequestDto request) {
+        String userId = uid.toString();
+        List<SyncRequestDto.SyncEvent> events = validate(request);
+
+        UserProfile userProfile = userProfileRepository.findById(userId)
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
+
+        // 1. 이미 처리된 이벤트와 요청 안에서 중복된 이벤트를 제외합니다.
+        Map<String, SyncResponseDto.EventResult> results = new HashMap<>();
+        Set<String> processedIds = processedSyncEventRepository
+                .findAllByUidAndEventIdIn(userId, events.stream().map(SyncRequestDto.SyncEvent::getEventId).toList())
+                .stream()
+                .map(ProcessedSyncEvent::getEventId)
+                .collect(Collectors.toSet());
+
+        List<SyncRequestDto.SyncEvent> pending = new ArrayList<>();
+        Set<SyncRequestDto.SyncEvent> duplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> seenIds = new HashSet<>();
+        for (SyncRequestDto.SyncEvent event : events) {
+            if (processedIds.contains(event.getEventId()) || !seenIds.add(event.getEventId())) {
+                duplicates.add(event);
+            } else {
+                pending.add(event);
+            }
+        }
+
+        // 2. client_timestamp 순서로 적용합니다. (같은 시각이면 요청 순서)
+        pending.sort(Comparator.comparing(SyncRequestDto.SyncEvent::getClientTimestamp,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        LocalDate today = LocalDate.now();
+        for (SyncRequestDto.SyncEvent event : pending) {
+            String rejection = reject(event, today);
+            if (rejection != null) {
+                results.put(event.getEventId(), result(event, REJECTED, rejection));
+            }
+        }
+        List<SyncRequestDto.SyncEvent> accepted = pending.stream()
+                .filter(event -> !results.containsKey(event.getEventId()))
+                .toList();
+
+        applySleep(userProfile, accepted, results);
+        applyAttendance(uid, accepted, results);
+        applyRoutines(userId, accepted, results, today);
+
+        // 3. 이번에 처리한 이벤트를 기록합니다. 같은 이벤트가 동시에 처리되면 PK 충돌로 전체를 되돌립니다.
+        LocalDateTime processedAt = LocalDateTime.now();
+        List<ProcessedSyncEvent> processed = pending.stream()
+                .map(event -> ProcessedSyncEvent.builder()
+                        .uid(userId)
+                        .eventId(event.getEventId())
+                        .type(event.getType() != null ? event.getType() : "")
+                        .result(results.get(event.getEventId()).getResult())
+                        .processedAt(processedAt)
+                        .build())
+                .toList();
+        if (!processed.isEmpty()) {
+            try {
+                processedSyncEventJdbcRepository.batchInsert(processed);
+            } catch (DuplicateKeyException e) {
+                throw new ApiException(HttpStatus.CONFLICT, "같은 이벤트가 동시에 처리되고 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+        }
+
+        return SyncResponseDto.builder()
+                .results(events.stream()
+                        .map(event -> duplicates.contains(event)
+                                ? result(event, DUPLICATE, null)
+                                : results.get(event.getEventId()))
+                        .toList())
+                .state(digest(userId, today))
+                .build();
+    }
+
+    private List<SyncRequestDto.SyncEvent> validate(SyncRequestDto request) {
+        if (request == null || request.getEvents() == null || request.getEvents().isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "동기화할 이벤트가 없습니다.");
+        }
+        if (request.getEvents().size() > maxEvents) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "이벤트는 한 번에 최대 " + maxEvents + "개까지 보낼 수 있습니다.");
+        }
+        for (SyncRequestDto.SyncEvent event : request.getEvents()) {
+            if (event == null || event.getEventId() == null || event.getEventId().isBlank()) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "event_id는 비어 있을 수 없습니다.");
+            }
+        }
+        return request.getEvents();
+    }
+
+    /**
+     * 이벤트를 적용할 수 없는 사유를 반환합니다. 적용할 수 있으면 null을 반환합니다.
+     */
+    private String reject(SyncRequestDto.SyncEvent event, LocalDate today) {
+        if (event.getType() == null || !TYPES.contains(event.getType())) {
+            return "지원하지 않는 이벤트입니다: " + event.getType();
+        }
+        if (event.getClientTimestamp() == null) {
+            return "client_timestamp는 필수입니다.";
+        }
+        LocalDate eventDate = event.getClientTimestamp().toLocalDate();
+        if (eventDate.isAfter(today)) {
+            return "미래 시각의 이벤트는 적용할 수 없습니다.";
+        }
+        return switch (event.getType()) {
+            case CHECK, UNCHECK -> {
+                if (event.getRoutineId() == null) {
+                    yield "routine_id는 필수입니다.";
+                }
+                yield eventDate.isBefore(today) ? "오늘 이전의 루틴 체크는 적용할 수 없습니다." : null;
+            }
+            case ATTENDANCE -> eventDate.isBefore(today) ? "오늘 이전의 출석은 적용할 수 없습니다." : null;
+            default -> event.getStartTime() == null || event.getEndTime() == null
+                    ? "시작 시간과 종료 시간은 필수입니다."
+                    : null;
+        };
+    }
+
+    /**
+     * 수면 기록은 날짜(client_timestamp 기준)별 마지막 기록만 남기므로, 날짜별 마지막 이벤트만 씁니다.
+     * 기존 기록은 기간 조회 한 번으로 가져와 수정하고, 없는 날짜만 새로 만듭니다.
+     */
+    private void applySleep(UserProfile userProfile, List<SyncRequestDto.SyncEvent> events,
+            Map<String, SyncResponseDto.EventResult> results) {
+        Map<LocalDate, SyncRequestDto.SyncEvent> lastByDate = new LinkedHashMap<>();
+        for (SyncRequestDto.SyncEvent event : events) {
+            if (SLEEP.equals(event.getType())) {
+                lastByDate.put(event.getClientTimestamp().toLocalDate(), event);
+                results.put(event.getEventId(), result(event, APPLIED, null));
+            }
+        }
+        if (lastByDate.isEmpty()) {
+            return;
+        }
+
+        LocalDate from = lastByDate.keySet().stream().min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = lastByDate.keySet().stream().max(Comparator.naturalOrder()).orElseThrow();
+        // 같은 날짜에 기록이 여러 건이면 가장 최근 기록을 수정합니다. (recordSleep과 같은 기준)
+        Map<LocalDate, UserSleep> existing = userSleepRepository
+                .findAllByUserProfileUidAndTimestampBetween(userProfile.getUid(), from, to).stream()
+                .collect(Collectors.toMap(UserSleep::getTimestamp, Function.identity(),
+                        (a, b) -> a.getSleepLogId() > b.getSleepLogId() ? a : b));
+
+        List<UserSleep> toSave = new ArrayList<>();
+        lastByDate.forEach((date, event) -> {
+            int sleepDurationInSeconds = (int) Duration.between(event.getStartTime(), event.getEndTime()).getSeconds();
+            UserSleep userSleep = existing.get(date);
+            if (userSleep == null) {
+                userSleep = UserSleep.builder()
+                        .userProfile(userProfile)
+                        .timestamp(date)
+                        .build();
+            }
+            userSleep.setStartTime(event.getStartTime());
+            userSleep.setEndTime(event.getEndTime());
+            userSleep.setSleepDuration(sleepDurationInSeconds);
+            toSave.add(userSleep);
+        });
+        userSleepRepository.saveAll(toSave);
+    }
+
+    /**
+     * 오늘 출석 이벤트 중 첫 번째만 적용하고, 이미 출석한 경우와 나머지는 건너뜁니다.
+     */
+    private void applyAttendance(UUID uid, List<SyncRequestDto.SyncEvent> events,
+            Map<String, SyncResponseDto.EventResult> results) {
+        List<SyncRequestDto.SyncEvent> attendanceEvents = events.stream()
+                .filter(event -> ATTENDANCE.equals(event.getType()))
+                .toList();
+        if (attendanceEvents.isEmpty()) {
+            return;
+        }
+
+        WeeklyAttendance attendance = weeklyAttendanceRepository.findById(uid.toString()).orElse(null);
+        if (attendance == null) {
+            attendanceEvents.forEach(event -> results.put(event.getEventId(),
+                    result(event, REJECTED, "사용자의 출석부 정보를 찾을 수 없습니다.")));
+            return;
+        }
+
+        boolean attended = AttendanceService.isAlreadyCheckedIn(attendance, LocalDate.now().getDayOfWeek());
+        for (SyncRequestDto.SyncEvent event : attendanceEvents) {
+            if (attended) {
+                results.put(event.getEventId(), result(event, SKIPPED, null));
+            } else {
+                attendanceService.checkAttendance(uid);
+                attended = true;
+                results.put(event.getEventId(), result(event, APPLIED, null));
+            }
+        }
+    }
+
+    /**
+     * 루틴 체크/해제 이벤트를 오늘 체크 상태 위에서 순서대로 접은 뒤,
+     * 처음 상태와 달라진 루틴만 일괄 체크/해제합니다. (체크 후 해제처럼 상쇄된 이벤트는 쓰기가 없습니다)
+     */
+    private void applyRoutines(String uid, List<SyncRequestDto.SyncEvent> events,
+            Map<String, SyncResponseDto.EventResult> results, LocalDate today) {
+        List<SyncRequestDto.SyncEvent> routineEvents = events.stream()
+                .filter(event -> CHECK.equals(event.getType()) || UNCHECK.equals(event.getType()))
+                .toList();
+        if (routineEvents.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> routineIds = routineEvents.stream()
+                .map(SyncRequestDto.SyncEvent::getRoutineId)
+                .collect(Collectors.toSet());
+        Map<Integer, String> owners = userRoutineRepository.findOwnersByIdIn(routineIds).stream()
+                .collect(Collectors.toMap(UserRoutineRepository.RoutineOwner::getId,
+                        UserRoutineRepository.RoutineOwner::getUid));
+
+        Set<Integer> initial = new HashSet<>(userAttainmentRepository.findRoutineIdsByUidAndTimestampBetween(
+                uid, today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+        Set<Integer> checked = new HashSet<>(initial);
+
+        for (SyncRequestDto.SyncEvent event : routineEvents) {
+            Integer routineId = event.getRoutineId();
+            if (!owners.containsKey(routineId)) {
+                results.put(event.getEventId(), result(event, REJECTED, "루틴을 찾을 수 없습니다."));
+            } else if (!owners.get(routineId).equals(uid)) {
+                results.put(event.getEventId(), result(event, REJECTED, "본인의 루틴만 체크할 수 있습니다."));
+            } else if (CHECK.equals(event.getType())) {
+                results.put(event.getEventId(), result(event, checked.add(routineId) ? APPLIED : SKIPPED, null));
+            } else {
+                results.put(event.getEventId(), result(event, checked.remove(routineId) ? APPLIED : SKIPPED, null));
+            }
+        }
+
+        List<Integer> toUncheck = initial.stream().filter(id -> !checked.contains(id)).toList();
+        List<Integer> toCheck = checked.stream().filter(id -> !initial.contains(id)).toList();
+        if (!toUncheck.isEmpty()) {
+            routineService.uncheckRoutineAttainments(uid, toUncheck);
+        }
+        if (!toCheck.isEmpty()) {
+            routineService.checkRoutineAttainments(uid, toCheck);
+        }
+    }
+
+    /**
+     * 동기화 후 서버 상태를 요약합니다.
+     * digest는 "lux={lux};streak={streak};checked={오름차순 루틴 ID를 쉼표로 연결};attended={true|false}"의
+     * UTF-8 SHA-256 값(16진수 소문자)입니다.
+     */
+    private SyncResponseDto.StateDigest digest(String uid, LocalDate today) {
+        UserProfile userProfile = userProfileRepository.findById(uid)
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
+        List<Integer> checkedRoutineIds = new LinkedHashSet<>(userAttainmentRepository
+                .findRoutineIdsByUidAndTimestampBetween(uid, today.atStartOfDay(), today.plusDays(1).atStartOfDay()))
+                .stream()
+                .sorted()
+                .toList();
+        boolean attendedToday = weeklyAttendanceRepository.findById(uid)
+                .map(attendance -> AttendanceService.isAlreadyCheckedIn(attendance, today.getDayOfWeek()))
+                .orElse(false);
+
+        int lux = userProfile.getLux();
+        int streak = userProfile.getStreak() != null ? userProfile.getStreak() : 0;
+        String canonical = "lux=" + lux
+                + ";streak=" + streak
+                + ";checked=" + checkedRoutineIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+                + ";attended=" + attendedToday;
+
+        return SyncResponseDto.StateDigest.builder()
+                .lux(lux)
+                .streak(streak)
+                .checkedRoutineIds(checkedRoutineIds)
+                .attendedToday(attendedToday)
+                .digest(sha256(canonical))
+                .build();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "상태 요약 계산 중 오류가 발생했습니다.");
+        }
+    }
+
+    private static SyncResponseDto.EventResult result(SyncRequestDto.SyncEvent event, String result, String message) {
+        return SyncResponseDto.EventResult.builder()
+                .eventId(event.getEventId())
+                .result(result)
+                .message(message)
+                .build();
+    }
+}
@@ -1,26 +1,36 @@
 package com.rus.rus.application;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.rus.rus.application.event.LuxChanged;
+import com.rus.rus.application.event.ProfileChanged;
 import com.rus.rus.common.ApiException;
+import com.rus.rus.config.FanOutExecutor;
 import com.rus.rus.controller.dto.UserRankingItemDto;
 import com.rus.rus.controller.dto.req.EditProfileRequestDto;
 import com.rus.rus.controller.dto.req.EditSettingRequestDto;
@@ -41,11 +51,15 @@ import com.rus.rus.infra.repository.UserSettingRepository;
 import com.rus.rus.infra.repository.WeeklyAttendanceRepository;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+        private static final Duration DAILY_REPORT_TIMEOUT = Duration.ofSeconds(60);
+
         private final SupabaseAuthService supabaseAuthService;
         private final UserProfileRepository userProfileRepository;
         private final UserSettingRepository userSettingRepository;
@@ -54,6 +68,10 @@ public class UserService {
         private final UserRoutineRepository userRoutineRepository;
         private final UserAttainmentRepository userAttainmentRepository;
         private final ReportService reportService;
+        private final PlatformTransactionManager transactionManager;
+        private final Scheduler jpaScheduler;
+        private final FanOutExecutor fanOutExecutor;
+        private final ApplicationEventPublisher eventPublisher;
 
         /**
          * Supabase Authentication에 새 사용자를 생성하고,
@@ -63,11 +81,22 @@ public class UserService {
          * @param password 사용자의 비밀번호
          * @return 생성된 사용자의 UID: Mono<String>
          */
-        @Transactional
         public String signUpUser(String email, String password) {
                 // 1. Supabase Auth를 통해 사용자 생성 및 UID 반환
+                // (외부 호출을 기다리는 동안 DB 커넥션을 점유하지 않도록 트랜잭션 밖에서 호출합니다)
                 String uid = supabaseAuthService.createUser(email, password);
 
+                // 2~5. 초기 데이터 생성은 하나의 트랜잭션으로 처리합니다.
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> createInitialUserData(uid, email));
+
+                // 6. 생성된 UID 반환
+                return uid;
+        }
+
+        /**
+         * users_profile, users_setting, 출석 체크 테이블에 신규 사용자의 초기 데이터를 생성합니다.
+         */
+        private void createInitialUserData(String uid, String email) {
                 // 2. UserProfile 엔티티 생성 및 저장
                 // uid와 email을 설정하고, 나머지는 엔티티에 정의된 기본값 또는 @PrePersist로 자동 설정됩니다.
                 UserProfile userProfile = UserProfile.builder()
@@ -99,9 +128,6 @@ public class UserService {
                                 .userProfile(savedUserProfile) // @MapsId를 사용하므로 userProfile만 연결해주면 됩니다.
                                 .build();
                 weeklyAttendanceRepository.save(weeklyAttendance);
-
-                // 5. 생성된 UID 반환
-                return uid;
         }
 
         /**
@@ -110,6 +136,7 @@ public class UserService {
          * @param uid 사용자 고유 식별자
          * @return profile 테이블의 UID를 제외한 나머지 정보
          */
+        @Transactional(readOnly = true)
         public UserProfileResponseDto getUserProfileById(UUID uid) {
                 UserProfile profile = userProfileRepository.findById(uid.toString())
                                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "사용자 프로필 정보를 찾을 수 없습니다."));
@@ -123,8 +150,9 @@ public class UserService {
          * @param uid 사용자 고유 식별자
          * @return settings 테이블의 UID를 제외한 나머지 정보
          */
+        @Transactional(readOnly = true)
         public UserSettingResponseDto getUserSettingById(UUID uid) {
-                UserSetting userSetting = userSettingRepository.findById(uid.toString())
+                UserSetting userSetting = userSettingRepository.findByUidWithTitleFetchJoin(uid.toString())
                                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "사용자 프로필 정보를 찾을 수 없습니다."));
 
                 return UserSettingResponseDto.from(userSetting);
@@ -145,6 +173,8 @@ public class UserService {
                 userProfile.setGender(requestDto.getGender());
                 userProfile.setHeight(requestDto.getHeight());
                 userProfile.setWeight(requestDto.getWeight());
+
+                eventPublisher.publishEvent(new ProfileChanged(userProfile.getUid(), LocalDateTime.now()));
         }
 
         /**
@@ -163,6 +193,8 @@ public class UserService {
                 userSetting.setTitle(title);
                 userSetting.setBackgroundColor(requestDto.getBackgroundColor());
                 userSetting.setLumiImage(requestDto.getLumiImage());
+
+                eventPublisher.publishEvent(new ProfileChanged(userSetting.getUid(), LocalDateTime.now()));
         }
 
         /**
@@ -190,7 +222,7 @@ public class UserService {
                 userProfiles.sort(Comparator.comparingInt(UserProfile::getLux).reversed());
 
                 // 2. 모든 사용자 설정을 조회하여 Map으로 변환합니다 (빠른 조회를 위해).
-                Map<String, UserSetting> userSettingsMap = userSettingRepository.findAll().stream()
+                Map<String, UserSetting> userSettingsMap = userSettingRepository.findAllWithTitleFetchJoin().stream()
                                 .collect(Collectors.toMap(UserSetting::getUid, setting -> setting));
 
                 // 3. 정렬된 프로필과 설정 데이터를 결합하여 DTO 목록을 생성합니다.
@@ -214,9 +246,92 @@ public class UserService {
          */
         public Map<String, Object> getDailyReportData(UUID uid) {
                 String userId = uid.toString();
-                UserProfile userProfile = userProfileRepository.findById(userId)
+                LocalDate today = LocalDate.now();
+
+                // 서로 독립적인 조회는 각자의 읽기 전용 트랜잭션으로 동시에 실행하고,
+                // AI 피드백은 프로필과 7일 달성 기록이 조회되는 즉시(커넥션 반납 후) 다른 조회와 겹쳐서 요청합니다.
+                // (프로필이 없으면(404) 그 예외로 끝나도록 LLM을 호출하지 않습니다)
+                try (FanOutExecutor.Scope scope = fanOutExecutor.open(DAILY_REPORT_TIMEOUT)) {
+                        Future<UserProfile> userProfile = scope.fork(() -> scope.dbRead(
+                                        () -> readOnlyTransaction().execute(status -> findUserProfile(userId))));
+                        Future<List<UserRoutine>> allUserRoutines = scope.fork(() -> scope.dbRead(
+                                        () -> readOnlyTransaction().execute(status -> userRoutineRepository
+                                                        .findAllByUidWithCategoryFetchJoin(userId))));
+                        Future<List<Integer>> completedRoutineIds = scope.fork(() -> scope.dbRead(
+                                        () -> readOnlyTransaction().execute(status -> userAttainmentRepository
+                                                        .findRoutineIdsByUidAndTimestampBetween(userId,
+                                                                        today.atStartOfDay(), today.atTime(LocalTime.MAX)))));
+                        Future<List<UserAttainment>> attainmentsLast7Days = scope.fork(() -> scope.dbRead(
+                                        () -> readOnlyTransaction().execute(status -> findAttainmentsLast7Days(userId, today))));
+                        // AIService를 호출하여 피드백 받기
+                        Future<String> aiFeedback = scope.fork(() -> {
+                                userProfile.get();
+                                return reportService.getFeedback(userId, createSummaryForAI(attainmentsLast7Days.get()));
+                        });
+
+                        scope.join();
+
+                        return assembleDailyReportDraft(userProfile.resultNow(), allUserRoutines.resultNow(),
+                                        completedRoutineIds.resultNow(), attainmentsLast7Days.resultNow(), today)
+                                        .withFeedback(aiFeedback.resultNow());
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "리포트 생성이 중단되었습니다.");
+                }
+        }
+
+        /**
+         * getDailyReportData의 논블로킹 버전입니다.
+         * DB 조회는 읽기 전용 트랜잭션으로 jpaScheduler에서 끝내고, AI 피드백은 커넥션을 반납한 뒤 WebClient로 기다립니다.
+         *
+         * @param uid 사용자 고유 식별자
+         * @return HTML 템플릿에 전달될 데이터 맵
+         */
+        public Mono<Map<String, Object>> getDailyReportDataReactive(UUID uid) {
+                return Mono.fromCallable(() -> readOnlyTransaction().execute(status -> buildDailyReportDraft(uid)))
+                                .subscribeOn(jpaScheduler)
+                                .flatMap(draft -> reportService.getFeedbackReactive(uid.toString(), draft.summaryForAI())
+                                                .map(draft::withFeedback));
+        }
+
+        private TransactionTemplate readOnlyTransaction() {
+                TransactionTemplate template = new TransactionTemplate(transactionManager);
+                template.setReadOnly(true);
+                return template;
+        }
+
+        /**
+         * AI 피드백을 제외한 일일 리포트 데이터와 AI에게 전달할 요약을 만듭니다.
+         * 지연 로딩 연관(카테고리, 달성 루틴)은 Fetch Join으로 함께 조회합니다.
+         */
+        private DailyReportDraft buildDailyReportDraft(UUID uid) {
+                String userId = uid.toString();
+                LocalDate today = LocalDate.now();
+                return assembleDailyReportDraft(
+                                findUserProfile(userId),
+                                userRoutineRepository.findAllByUidWithCategoryFetchJoin(userId),
+                                userAttainmentRepository.findRoutineIdsByUidAndTimestampBetween(
+                                                userId, today.atStartOfDay(), today.atTime(LocalTime.MAX)),
+                                findAttainmentsLast7Days(userId, today),
+                                today);
+        }
+
+        private UserProfile findUserProfile(String userId) {
+                return userProfileRepository.findById(userId)
                                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
+        }
 
+        private List<UserAttainment> findAttainmentsLast7Days(String userId, LocalDate today) {
+                return userAttainmentRepository.findAllByUidAndTimestampBetweenWithRoutineFetchJoin(
+                                userId, today.minusDays(6).atStartOfDay(), today.atTime(LocalTime.MAX));
+        }
+
+        /**
+         * 조회한 데이터로 AI 피드백을 제외한 일일 리포트 데이터를 조립합니다. (DB를 사용하지 않습니다)
+         */
+        private DailyReportDraft assembleDailyReportDraft(UserProfile userProfile, List<UserRoutine> allUserRoutines,
+                        List<Integer> todayCompletedRoutineIds, List<UserAttainment> attainmentsLast7Days,
+                        LocalDate today) {
                 // 동적 인사말 생성
                 String userName = userProfile.getName() != null && !userProfile.getName().isEmpty()
                                 ? userProfile.getName()
@@ -225,22 +340,14 @@ public class UserService {
                 String fullGreeting = "🌤️ " + timeBasedGreeting + ", " + userName + "님!";
 
                 // 오늘의 루틴 달성 현황 데이터 생성
-                LocalDate today = LocalDate.now();
-                List<UserRoutine> allUserRoutines = userRoutineRepository.findByUserProfileUid(userId);
-                List<UserAttainment> todayAttainments = userAttainmentRepository
-                                .findByUserProfileUidAndTimestampBetween(
-                                                userId, today.atStartOfDay(), today.atTime(LocalTime.MAX));
-
                 int totalRoutines = allUserRoutines.size();
-                int completedRoutines = todayAttainments.size();
+                int completedRoutines = todayCompletedRoutineIds.size();
                 int completionRate = 0;
                 if (totalRoutines > 0) {
                         completionRate = (int) Math.round((double) completedRoutines / totalRoutines * 100);
                 }
 
-                Set<Integer> completedRoutineIds = todayAttainments.stream()
-                                .map(attainment -> attainment.getUserRoutine().getId())
-                                .collect(Collectors.toSet());
+                Set<Integer> completedRoutineIds = new HashSet<>(todayCompletedRoutineIds);
 
                 List<Map<String, Object>> routineStatusList = allUserRoutines.stream()
                                 .map(routine -> {
@@ -258,10 +365,6 @@ public class UserService {
                 // 7일간의 루틴 달성 기록 데이터 생성
                 LocalDate sevenDaysAgo = today.minusDays(6);
 
-                List<UserAttainment> attainmentsLast7Days = userAttainmentRepository
-                                .findByUserProfileUidAndTimestampBetween(
-                                                userId, sevenDaysAgo.atStartOfDay(), today.atTime(LocalTime.MAX));
-
                 Map<Integer, Map<LocalDate, LocalTime>> attainmentsByRoutine = attainmentsLast7Days.stream()
                                 .collect(Collectors.groupingBy(
                                                 att -> att.getUserRoutine().getId(),
@@ -315,18 +418,25 @@ public class UserService {
                 // AI에게 전달할 데이터 요약 텍스트 생성
                 String summaryForAI = createSummaryForAI(attainmentsLast7Days);
 
-                // AIService를 호출하여 피드백 받기
-                String aiFeedback = reportService.getFeedback(summaryForAI);
-
                 Map<String, Object> data = new HashMap<>();
                 data.put("greeting", fullGreeting);
                 data.put("completionRate", completionRate);
                 data.put("routineStatusList", routineStatusList);
                 data.put("chartDateLabels", chartDateLabels);
                 data.put("chartDatasets", chartDatasets);
-                data.put("aiFeedback", aiFeedback);
 
-                return data;
+                return new DailyReportDraft(data, summaryForAI);
+        }
+
+        /**
+         * AI 피드백을 받기 전의 일일 리포트 데이터
+         */
+        private record DailyReportDraft(Map<String, Object> data, String summaryForAI) {
+
+                Map<String, Object> withFeedback(String aiFeedback) {
+                        data.put("aiFeedback", aiFeedback);
+                        return data;
+                }
         }
 
         // 시간에 따라 다른 말을 반환하는 헬퍼 method
@@ -368,6 +478,8 @@ public class UserService {
                 // 기존 Lux에 250을 추가합니다.
                 userProfile.setLux(userProfile.getLux() + 250);
                 userProfileRepository.save(userProfile);
+
+                eventPublisher.publishEvent(new LuxChanged(userProfile.getUid(), 250, LocalDateTime.now()));
         }
 
         /**
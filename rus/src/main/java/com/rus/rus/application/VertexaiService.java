@@ -2,6 +2,7 @@ package com.rus.rus.application;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFuture;
 import com.google.cloud.vertexai.VertexAI;
 import com.google.cloud.vertexai.api.Content;
 import com.google.cloud.vertexai.api.FunctionCall;
@@ -14,6 +15,8 @@ import com.google.cloud.vertexai.generativeai.GenerativeModel;
 import com.google.cloud.vertexai.generativeai.ResponseHandler;
 import com.google.protobuf.Struct;
 import com.google.protobuf.Value;
+import com.rus.rus.application.ratelimit.LlmTokenQuota;
+import com.rus.rus.config.OutboundCallGuard;
 import com.rus.rus.controller.dto.ChatMessageDto;
 import com.rus.rus.controller.dto.req.RoutineAddCustomRequestDto;
 import com.rus.rus.controller.dto.req.RoutineUpdateRequestDto;
@@ -23,12 +26,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -41,12 +47,107 @@ public class VertexaiService {
   private final ObjectMapper objectMapper; // DTO -> JSON 변환에 사용
   private final VertexAI vertexAI;
   private final Tool functionCallingTool;
+  private final Scheduler jpaScheduler; // 루틴 조회/Function Call(JPA) 실행용 (리액티브 API)
+  private final OutboundCallGuard outboundCallGuard;
+  private final LlmTokenQuota llmTokenQuota;
 
   @org.springframework.beans.factory.annotation.Value("${gcp.gemini.model.name}")
   private String modelName;
 
   public String getChatResponse(String uid, List<ChatMessageDto> messages) throws IOException {
+    GenerativeModel dynamicModel = buildDynamicModel(uid);
+    ChatSession chatSession = dynamicModel.startChat();
+
+    List<Content> history = new ArrayList<>();
+    if (messages.size() > 1) {
+      history = messages.stream()
+          .limit(messages.size() - 1)
+          .map(this::convertDtoToContent)
+          .collect(Collectors.toList());
+      chatSession.setHistory(history);
+    }
+
+    String currentUserMessage = messages.get(messages.size() - 1).getText();
+
+    log.info("VertexAI 요청 전송: {}", currentUserMessage);
+    outboundCallGuard.check("Vertex AI");
+    GenerateContentResponse response = chatSession.sendMessage(currentUserMessage);
+    recordUsage(uid, response);
+    log.info("VertexAI 응답 수신");
+
+    // AI 응답의 *모든* Part를 확인하여 Function Call을 실행
+    List<Part> functionResponseParts = executeFunctionCalls(uid,
+        response.getCandidates(0).getContent().getPartsList());
+
+    // Function Call이 하나라도 있었는지 확인
+    if (!functionResponseParts.isEmpty()) {
+      // 수집된 모든 Function Response Part들을 담아서 AI에게 다시 전송
+      Content functionResponsesContent = Content.newBuilder().addAllParts(functionResponseParts).build();
+      log.info("{}개의 Function Response 전송", functionResponseParts.size());
+      outboundCallGuard.check("Vertex AI");
+      GenerateContentResponse finalResponse = chatSession.sendMessage(functionResponsesContent);
+      recordUsage(uid, finalResponse);
+      // AI의 최종 텍스트 응답 반환
+      return ResponseHandler.getText(finalResponse);
+    } else {
+      // Function Call이 없었다면, 원래 받은 응답에서 텍스트를 추출하여 반환
+      log.info("일반 텍스트 응답 반환");
+      return ResponseHandler.getText(response);
+    }
+  }
+
+  /**
+   * getChatResponse의 논블로킹 버전입니다.
+   * - Vertex AI 호출은 generateContentAsync로 보내고, 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+   * - 루틴 조회와 Function Call(JPA)은 jpaScheduler에서 실행합니다.
+   * - ChatSession은 동기 API이므로 대화 기록(이전 대화 + 현재 메시지 + 모델 응답 + Function Response)을 직접 구성합니다.
+   */
+  public Mono<String> getChatResponseReactive(String uid, List<ChatMessageDto> messages) {
+    return Mono.fromCallable(() -> buildDynamicModel(uid))
+        .subscribeOn(jpaScheduler)
+        .flatMap(dynamicModel -> {
+          List<Content> contents = messages.stream()
+              .limit(messages.size() - 1)
+              .map(this::convertDtoToContent)
+              .collect(Collectors.toList());
+          String currentUserMessage = messages.get(messages.size() - 1).getText();
+          contents.add(Content.newBuilder()
+              .setRole("user")
+              .addParts(Part.newBuilder().setText(currentUserMessage).build())
+              .build());
+
+          log.info("VertexAI 요청 전송: {}", currentUserMessage);
+          return generateContent(uid, dynamicModel, contents)
+              .flatMap(response -> {
+                log.info("VertexAI 응답 수신");
+                Content modelContent = response.getCandidates(0).getContent();
+
+                return Mono.fromCallable(() -> executeFunctionCalls(uid, modelContent.getPartsList()))
+                    .subscribeOn(jpaScheduler)
+                    .flatMap(functionResponseParts -> {
+                      if (functionResponseParts.isEmpty()) {
+                        log.info("일반 텍스트 응답 반환");
+                        return Mono.fromCallable(() -> ResponseHandler.getText(response));
+                      }
+
+                      log.info("{}개의 Function Response 전송", functionResponseParts.size());
+                      List<Content> nextContents = new ArrayList<>(contents);
+                      nextContents.add(modelContent);
+                      nextContents.add(Content.newBuilder()
+                          .setRole("user")
+                          .addAllParts(functionResponseParts)
+                          .build());
+                      return generateContent(uid, dynamicModel, nextContents)
+                          .map(ResponseHandler::getText);
+                    });
+              });
+        });
+  }
 
+  /**
+   * 사용자의 루틴 목록을 시스템 프롬프트에 포함한 모델을 생성합니다. (루틴 조회에 DB를 사용합니다)
+   */
+  private GenerativeModel buildDynamicModel(String uid) throws IOException {
     // 루틴 목록 사전 조회
     PersonalRoutineResponseDto routinesDto = routineService.getPersonalRoutines(uid);
     String routinesJson = objectMapper.writeValueAsString(routinesDto);
@@ -73,31 +174,51 @@ public class VertexaiService {
         .setSystemInstruction(dynamicSystemInstruction)
         .build();
 
-    ChatSession chatSession = dynamicModel.startChat();
-
-    List<Content> history = new ArrayList<>();
-    if (messages.size() > 1) {
-      history = messages.stream()
-          .limit(messages.size() - 1)
-          .map(this::convertDtoToContent)
-          .collect(Collectors.toList());
-      chatSession.setHistory(history);
-    }
+    return dynamicModel;
+  }
 
-    String currentUserMessage = messages.get(messages.size() - 1).getText();
+  /**
+   * generateContentAsync의 ApiFuture를 Mono로 변환합니다.
+   */
+  private Mono<GenerateContentResponse> generateContent(String uid, GenerativeModel model, List<Content> contents) {
+    return Mono.<GenerateContentResponse>create(sink -> {
+      ApiFuture<GenerateContentResponse> future;
+      try {
+        outboundCallGuard.check("Vertex AI");
+        future = model.generateContentAsync(contents);
+      } catch (IOException e) {
+        sink.error(e);
+        return;
+      }
+      sink.onCancel(() -> future.cancel(true));
+      future.addListener(() -> {
+        try {
+          sink.success(future.get());
+        } catch (ExecutionException e) {
+          sink.error(e.getCause());
+        } catch (Exception e) {
+          sink.error(e);
+        }
+      }, Runnable::run);
+    }).doOnNext(response -> recordUsage(uid, response));
+  }
 
-    log.info("VertexAI 요청 전송: {}", currentUserMessage);
-    GenerateContentResponse response = chatSession.sendMessage(currentUserMessage);
-    log.info("VertexAI 응답 수신");
+  /**
+   * 응답의 토큰 사용량(usageMetadata.totalTokenCount)을 사용자의 하루 사용량에 더합니다.
+   */
+  private void recordUsage(String uid, GenerateContentResponse response) {
+    llmTokenQuota.record(uid, response.getUsageMetadata().getTotalTokenCount());
+  }
 
-    // AI 응답의 *모든* Part를 확인
-    List<Part> responseParts = response.getCandidates(0).getContent().getPartsList();
+  /**
+   * AI 응답에 포함된 Function Call을 실행하고, 호출마다 하나의 Function Response Part를 반환합니다.
+   * Function Call이 없으면 빈 목록을 반환합니다.
+   */
+  private List<Part> executeFunctionCalls(String uid, List<Part> responseParts) {
     List<Part> functionResponseParts = new ArrayList<>(); // Function Response들을 담을 리스트
 
-    boolean hasFunctionCall = false;
     for (Part part : responseParts) {
       if (part.hasFunctionCall()) {
-        hasFunctionCall = true;
         FunctionCall functionCall = part.getFunctionCall();
         log.info("Function Call 감지: {}", functionCall.getName());
 
@@ -298,19 +419,7 @@ public class VertexaiService {
       // Function Call이 아닌 다른 Part(예: 일반 텍스트)는 무시하고 다음 Part 확인
     }
 
-    // Function Call이 하나라도 있었는지 확인
-    if (hasFunctionCall) {
-      // 수집된 모든 Function Response Part들을 담아서 AI에게 다시 전송
-      Content functionResponsesContent = Content.newBuilder().addAllParts(functionResponseParts).build();
-      log.info("{}개의 Function Response 전송", functionResponseParts.size());
-      GenerateContentResponse finalResponse = chatSession.sendMessage(functionResponsesContent);
-      // AI의 최종 텍스트 응답 반환
-      return ResponseHandler.getText(finalResponse);
-    } else {
-      // Function Call이 없었다면, 원래 받은 응답에서 텍스트를 추출하여 반환
-      log.info("일반 텍스트 응답 반환");
-      return ResponseHandler.getText(response);
-    }
+    return functionResponseParts;
   }
 
   /**
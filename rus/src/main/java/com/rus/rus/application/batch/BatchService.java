@@ -0,0 +1,323 @@
+package com.rus.rus.application.batch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.config.BeanIds;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.common.ErrorResponseDTO;
+import com.rus.rus.config.ConcurrencyLimitFilter;
+import com.rus.rus.config.FanOutExecutor;
+import com.rus.rus.controller.dto.req.BatchRequestDto;
+import com.rus.rus.controller.dto.res.BatchResponseDto;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 배치 API 서비스
+ * - 여러 하위 요청을 HTTP 재진입 없이 실행하고, 결과를 요청 순서대로 모아 반환합니다.
+ * - 하위 요청은 동시 처리 한도 필터(ConcurrencyLimitFilter)와 Spring Security 필터 체인(JWT 검증, 인가 규칙)을 거친 뒤
+ *   DispatcherServlet으로 전달되므로, 단건 호출과 같은 인증·인가·과부하 보호가 적용됩니다.
+ *   (Idempotency-Key는 배치 요청 단위로 처리하므로 하위 요청에는 전달하지 않습니다)
+ * - 하위 요청은 FanOutExecutor의 가상 스레드에서 동시에 실행하되, depends_on으로 지정한 요청이 끝난 뒤에 실행합니다.
+ *   의존한 요청이 실패(4xx/5xx)하면 해당 요청은 실행하지 않고 424(Failed Dependency)로 응답합니다.
+ * - 한 배치에서 동시에 실행하는 하위 요청은 max-parallel(기본: 커넥션 풀 크기)개로 제한하여 커넥션 풀을 넘지 않도록 합니다.
+ * - 비동기로 응답하는 API(Mono, SseEmitter 등 반환)는 하위 요청으로 실행할 수 없으므로 검증 단계에서 400으로 거절합니다.
+ */
+@Slf4j
+@Service
+public class BatchService {
+
+    private static final Set<String> ALLOWED_METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    private static final Duration BATCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DispatcherServlet dispatcherServlet;
+    private final List<Filter> filters;
+    private final FanOutExecutor fanOutExecutor;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+    private final int maxParallel;
+
+    @Autowired
+    public BatchService(DispatcherServlet dispatcherServlet, ConcurrencyLimitFilter concurrencyLimitFilter,
+            @Qualifier(BeanIds.SPRING_SECURITY_FILTER_CHAIN) Filter securityFilterChain,
+            FanOutExecutor fanOutExecutor, ObjectMapper objectMapper,
+            @Value("${batch.max-requests:20}") int maxRequests,
+            @Value("${batch.max-parallel:${spring.datasource.hikari.maximum-pool-size:10}}") int maxParallel) {
+        this(dispatcherServlet, List.of(concurrencyLimitFilter, securityFilterChain), fanOutExecutor, objectMapper,
+                maxRequests, maxParallel);
+    }
+
+    BatchService(DispatcherServlet dispatcherServlet, List<Filter> filters, FanOutExecutor fanOutExecutor,
+            ObjectMapper objectMapper, int maxRequests, int maxParallel) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.filters = filters;
+        this.fanOutExecutor = fanOutExecutor;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+        this.maxParallel = maxParallel;
+    }
+
+    /**
+     * 하위 요청들을 실행하고 요청 순서대로 결과를 반환합니다.
+     *
+     * @param batch         배치 요청
+     * @param batchRequest  배치 HTTP 요청 (헤더와 서버 정보를 하위 요청에 전달)
+     * @param batchResponse 배치 HTTP 응답 (하위 응답은 여기에 쓰지 않습니다)
+     * @return 하위 응답 목록
+     * @throws ApiException 배치 요청 형식이 잘못된 경우 400
+     */
+    public BatchResponseDto execute(BatchRequestDto batch, HttpServletRequest batchRequest,
+            HttpServletResponse batchResponse) {
+        HttpHeaders headers = copyHeaders(batchRequest);
+        validate(batch, headers, batchRequest);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        Map<String, Future<BatchResponseDto.SubResponse>> results = new LinkedHashMap<>();
+        Semaphore slots = new Semaphore(maxParallel);
+        try (FanOutExecutor.Scope scope = fanOutExecutor.open(BATCH_TIMEOUT)) {
+            for (BatchRequestDto.SubRequest subRequest : batch.getRequests()) {
+                List<Future<BatchResponseDto.SubResponse>> dependencies = dependsOn(subRequest).stream()
+                        .map(results::get)
+                        .toList();
+
+                results.put(subRequest.getId(), scope.fork(() -> {
+                    if (!awaitSucceeded(dependencies)) {
+                        return failure(subRequest.getId(), HttpStatus.FAILED_DEPENDENCY, "선행 요청이 실패하여 실행하지 않았습니다.");
+                    }
+                    // 선행 요청을 기다리는 동안에는 슬롯을 잡지 않습니다. (선행 요청이 슬롯을 얻지 못해 멈추지 않도록)
+                    slots.acquire();
+                    try {
+                        return dispatch(subRequest, headers, authentication, batchRequest, batchResponse);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "배치 요청 처리가 중단되었습니다.");
+        }
+
+        List<BatchResponseDto.SubResponse> responses = new ArrayList<>();
+        results.values().forEach(result -> responses.add(result.resultNow()));
+        return BatchResponseDto.builder().responses(responses).build();
+    }
+
+    private void validate(BatchRequestDto batch, HttpHeaders headers, HttpServletRequest batchRequest) {
+        if (batch == null || batch.getRequests() == null || batch.getRequests().isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "하위 요청이 없습니다.");
+        }
+        if (batch.getRequests().size() > maxRequests) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "하위 요청은 최대 " + maxRequests + "개까지 보낼 수 있습니다.");
+        }
+
+        Set<String> seenIds = new HashSet<>();
+        for (BatchRequestDto.SubRequest subRequest : batch.getRequests()) {
+            String id = subRequest.getId();
+            if (id == null || id.isBlank() || !seenIds.add(id)) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "하위 요청 id는 비어 있거나 중복될 수 없습니다: " + id);
+            }
+            if (subRequest.getMethod() == null || !ALLOWED_METHODS.contains(subRequest.getMethod().toUpperCase())) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "지원하지 않는 메소드입니다: " + subRequest.getMethod());
+            }
+            String path = subRequest.getPath();
+            if (path == null || !path.startsWith("/") || path.startsWith("//") || path.startsWith("/batch")) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "하위 요청 경로가 올바르지 않습니다: " + path);
+            }
+            if (isAsyncHandler(subRequest.getMethod().toUpperCase(), path, headers, batchRequest)) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "비동기로 응답하는 API는 배치로 호출할 수 없습니다: " + path);
+            }
+            for (String dependency : dependsOn(subRequest)) {
+                // 앞선 요청만 지정할 수 있으므로 순환 의존이 생기지 않습니다.
+                if (dependency.equals(id) || !seenIds.contains(dependency)) {
+                    throw new ApiException(HttpStatus.BAD_REQUEST,
+                            "depends_on에는 앞선 하위 요청의 id만 지정할 수 있습니다: " + dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * 하위 요청이 연결될 컨트롤러 메소드가 비동기 반환 타입(Mono, SseEmitter, DeferredResult 등)인지 확인합니다.
+     * 핸들러를 찾지 못하면(404, 405 등) false를 반환하여 실행 단계에서 원래 오류 응답을 돌려줍니다.
+     */
+    private boolean isAsyncHandler(String method, String path, HttpHeaders headers, HttpServletRequest batchRequest) {
+        List<HandlerMapping> handlerMappings = dispatcherServlet.getHandlerMappings();
+        if (handlerMappings == null) {
+            return false;
+        }
+        BatchServletRequest probe = new BatchServletRequest(batchRequest, headers, method, path, new byte[0]);
+        ServletRequestPathUtils.parseAndCache(probe);
+        for (HandlerMapping handlerMapping : handlerMappings) {
+            try {
+                HandlerExecutionChain chain = handlerMapping.getHandler(probe);
+                if (chain != null) {
+                    return chain.getHandler() instanceof HandlerMethod handlerMethod
+                            && isAsyncReturnType(ResolvableType.forMethodParameter(handlerMethod.getReturnType()));
+                }
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsyncReturnType(ResolvableType returnType) {
+        Class<?> type = returnType.resolve(Object.class);
+        if (ResponseEntity.class.isAssignableFrom(type)) {
+            type = returnType.getGeneric(0).resolve(Object.class);
+        }
+        return ReactiveAdapterRegistry.getSharedInstance().getAdapter(type) != null
+                || ResponseBodyEmitter.class.isAssignableFrom(type)
+                || StreamingResponseBody.class.isAssignableFrom(type)
+                || DeferredResult.class.isAssignableFrom(type)
+                || WebAsyncTask.class.isAssignableFrom(type)
+                || Callable.class.isAssignableFrom(type)
+                || CompletionStage.class.isAssignableFrom(type);
+    }
+
+    private static List<String> dependsOn(BatchRequestDto.SubRequest subRequest) {
+        return subRequest.getDependsOn() != null ? subRequest.getDependsOn() : Collections.emptyList();
+    }
+
+    private static boolean awaitSucceeded(List<Future<BatchResponseDto.SubResponse>> dependencies)
+            throws InterruptedException, ExecutionException {
+        for (Future<BatchResponseDto.SubResponse> dependency : dependencies) {
+            if (dependency.get().getStatus() >= 400) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 배치 요청의 헤더를 복사합니다. 하위 요청은 다른 스레드에서 실행되므로 원본 요청 객체의 헤더를 직접 읽지 않습니다.
+     */
+    private static HttpHeaders copyHeaders(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        Collections.list(request.getHeaderNames())
+                .forEach(name -> headers.addAll(name, Collections.list(request.getHeaders(name))));
+        return headers;
+    }
+
+    private BatchResponseDto.SubResponse dispatch(BatchRequestDto.SubRequest subRequest, HttpHeaders headers,
+            Authentication authentication, HttpServletRequest batchRequest, HttpServletResponse batchResponse) {
+        try {
+            byte[] body = subRequest.getBody() != null && !subRequest.getBody().isNull()
+                    ? objectMapper.writeValueAsBytes(subRequest.getBody())
+                    : new byte[0];
+            BatchServletRequest request = new BatchServletRequest(batchRequest, headers,
+                    subRequest.getMethod().toUpperCase(), subRequest.getPath(), body);
+            BatchServletResponse response = new BatchServletResponse(batchResponse);
+
+            // 배치 요청에서 검증한 인증 정보를 하위 요청 스레드에 설정합니다.
+            // (보안 필터 체인은 전달된 Authorization 헤더로 다시 인증하고 인가 규칙을 적용합니다)
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            try {
+                new SubRequestFilterChain().doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+
+            return BatchResponseDto.SubResponse.builder()
+                    .id(subRequest.getId())
+                    .status(response.getStatus())
+                    .body(readBody(response))
+                    .build();
+        } catch (Exception e) {
+            log.warn("배치 하위 요청 실패: {} {}", subRequest.getMethod(), subRequest.getPath(), e);
+            return failure(subRequest.getId(), HttpStatus.INTERNAL_SERVER_ERROR, "하위 요청 처리 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 하위 요청을 필터 목록 순서대로 통과시킨 뒤 DispatcherServlet으로 전달하는 필터 체인
+     */
+    private final class SubRequestFilterChain implements FilterChain {
+
+        private int position;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (position < filters.size()) {
+                filters.get(position++).doFilter(request, response, this);
+            } else {
+                dispatcherServlet.service(request, response);
+            }
+        }
+    }
+
+    private JsonNode readBody(BatchServletResponse response) {
+        byte[] body = response.getBody();
+        if (body.length == 0) {
+            return null;
+        }
+        String contentType = response.getContentType();
+        if (contentType != null && contentType.contains("json")) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (Exception e) {
+                // JSON으로 읽을 수 없으면 문자열로 반환합니다.
+            }
+        }
+        return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private BatchResponseDto.SubResponse failure(String id, HttpStatus status, String message) {
+        return BatchResponseDto.SubResponse.builder()
+                .id(id)
+                .status(status.value())
+                .body(objectMapper.valueToTree(new ErrorResponseDTO(status.value(), message)))
+                .build();
+    }
+}
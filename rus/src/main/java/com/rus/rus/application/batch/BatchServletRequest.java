@@ -0,0 +1,263 @@
+package com.rus.rus.application.batch;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.rus.rus.config.IdempotencyFilter;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * 배치의 하위 요청 하나를 나타내는 요청 객체
+ * - 메소드/경로/쿼리/본문/속성은 하위 요청 것을 사용하고, 헤더는 배치 요청 시점에 복사한 값을 사용합니다.
+ *   (Idempotency-Key는 배치 요청에만 적용되므로 제외합니다)
+ * - 속성(attribute)은 하위 요청마다 따로 보관하여 동시에 실행되는 하위 요청끼리 섞이지 않도록 합니다.
+ * - 비동기 처리(Mono 반환 API)는 지원하지 않습니다. (BatchService가 검증 단계에서 거절합니다)
+ */
+class BatchServletRequest extends HttpServletRequestWrapper {
+
+    private final String method;
+    private final String path;
+    private final String queryString;
+    private final Map<String, String[]> parameters;
+    private final byte[] body;
+    private final HttpHeaders headers;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    BatchServletRequest(HttpServletRequest batchRequest, HttpHeaders batchHeaders, String method, String pathWithQuery,
+            byte[] body) {
+        super(batchRequest);
+        this.method = method;
+
+        int queryIndex = pathWithQuery.indexOf('?');
+        this.path = queryIndex >= 0 ? pathWithQuery.substring(0, queryIndex) : pathWithQuery;
+        this.queryString = queryIndex >= 0 ? pathWithQuery.substring(queryIndex + 1) : null;
+        this.parameters = parseParameters(pathWithQuery);
+        this.body = body;
+
+        this.headers = new HttpHeaders();
+        this.headers.putAll(batchHeaders);
+        this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        this.headers.remove(HttpHeaders.CONTENT_TYPE);
+        this.headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        this.headers.remove(IdempotencyFilter.HEADER);
+        if (body.length > 0) {
+            this.headers.setContentType(MediaType.APPLICATION_JSON);
+            this.headers.setContentLength(body.length);
+        }
+    }
+
+    private static Map<String, String[]> parseParameters(String pathWithQuery) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        UriComponentsBuilder.fromUriString(pathWithQuery).build().getQueryParams()
+                .forEach((name, values) -> parameters.put(name, values.stream()
+                        .map(value -> value == null ? "" : URLDecoder.decode(value, StandardCharsets.UTF_8))
+                        .toArray(String[]::new)));
+        return parameters;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+        return url.append(getRequestURI());
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return Collections.enumeration(values != null ? values : List.of());
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return getHeader(name) != null ? headers.getFirstDate(name) : -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new IllegalStateException("배치 하위 요청의 본문은 비동기로 읽을 수 없습니다.");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("배치 하위 요청에서는 비동기 API를 호출할 수 없습니다.");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("배치 하위 요청에서는 비동기 API를 호출할 수 없습니다.");
+    }
+}
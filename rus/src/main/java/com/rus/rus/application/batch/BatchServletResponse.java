@@ -0,0 +1,243 @@
+package com.rus.rus.application.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * 배치의 하위 응답을 메모리에 담는 응답 객체
+ * - 상태 코드, 헤더, 본문을 모두 자체 보관하고 실제 배치 응답에는 아무것도 쓰지 않습니다.
+ */
+class BatchServletResponse extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final HttpHeaders headers = new HttpHeaders();
+    private int status = SC_OK;
+    private String characterEncoding = StandardCharsets.UTF_8.name();
+    private Locale locale = Locale.getDefault();
+    private PrintWriter writer;
+    private ServletOutputStream outputStream;
+
+    BatchServletResponse(HttpServletResponse batchResponse) {
+        super(batchResponse);
+    }
+
+    byte[] getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        this.status = sc;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        this.status = sc;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        this.status = sc;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        this.status = SC_FOUND;
+        headers.set(HttpHeaders.LOCATION, location);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        headers.set(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headers.add(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        headers.set(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        headers.add(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        headers.setDate(name, date);
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        headers.add(name, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return values != null ? values : List.of();
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.keySet();
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // 하위 응답의 쿠키는 전달하지 않습니다.
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (type != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, type);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (charset != null) {
+            this.characterEncoding = charset;
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // 본문 길이는 담긴 바이트 수로 판단합니다.
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // 본문 길이는 담긴 바이트 수로 판단합니다.
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new IllegalStateException("배치 하위 응답은 비동기로 쓸 수 없습니다.");
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(characterEncoding)));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // 전체 본문을 메모리에 담으므로 버퍼 크기는 사용하지 않습니다.
+    }
+
+    @Override
+    public int getBufferSize() {
+        return body.size();
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+    }
+
+    @Override
+    public void resetBuffer() {
+        body.reset();
+    }
+}
@@ -0,0 +1,148 @@
+package com.rus.rus.application.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 지연 시간 기울기(gradient) 기반 적응형 동시 처리 한도
+ * - 요청 완료마다 응답 시간을 모아, 일정 구간(window)이 끝나면 구간 평균(shortRtt)을 기준 지연(baselineRtt)과 비교해 한도를 조정합니다.
+ *   · gradient = clamp(tolerance × baselineRtt / shortRtt, 0.5, 1.0)
+ *   · newLimit = limit × gradient + √limit (여유분)
+ *   지연이 기준의 tolerance배 이내면 한도를 늘리고, 넘으면 비율만큼 줄입니다.
+ * - 기준 지연은 부하가 없을 때의 지연입니다. 더 짧은 구간 평균이 나오면 바로 내려가고, 올라갈 때는 지수 이동 평균으로 천천히 따라갑니다.
+ * - 한도의 절반도 쓰지 않은 구간(부하가 낮음)에서는 한도를 늘리지 않습니다.
+ * - 한도에 도달하면 tryAcquire()가 null을 반환하므로 호출 측이 대기 없이 바로 거절합니다.
+ * - 상태 변경은 모두 this로 동기화합니다. (요청당 짧은 임계 구역 2번)
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /** 구간 평균을 한도에 반영하는 비율 (급격한 변동 완화) */
+    private static final double SMOOTHING = 0.2;
+    /** 기준 지연이 올라갈 때 반영하는 비율 (약 100구간에 걸쳐 따라감) */
+    private static final double BASELINE_DECAY = 0.01;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier nanoClock;
+
+    private double limit;
+    private int inFlight;
+    private double baselineRtt;
+    private double lastShortRtt;
+
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+            long windowMillis, int minWindowSamples, LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.minWindowSamples = minWindowSamples;
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * 처리 슬롯 하나를 얻습니다.
+     *
+     * @return 한도에 도달했으면 null
+     */
+    public Permit tryAcquire() {
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            if (inFlight >= (int) limit) {
+                return null;
+            }
+            inFlight++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        }
+        return new Permit(now);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * 거절 응답의 Retry-After(초). 최근 구간 평균 지연만큼 기다리면 슬롯이 비었을 가능성이 높습니다.
+     */
+    public synchronized long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(lastShortRtt / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private synchronized void onComplete(long rtt, long now) {
+        inFlight--;
+        windowRttSum += rtt;
+        windowSamples++;
+        if (now - windowStart < windowNanos || windowSamples < minWindowSamples) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        lastShortRtt = shortRtt;
+        if (baselineRtt == 0 || shortRtt < baselineRtt) {
+            baselineRtt = shortRtt;
+        } else {
+            baselineRtt += (shortRtt - baselineRtt) * BASELINE_DECAY;
+        }
+
+        double gradient = Math.clamp(tolerance * baselineRtt / shortRtt, MIN_GRADIENT, 1.0);
+        boolean appLimited = windowMaxInFlight < limit / 2;
+        if (!(gradient == 1.0 && appLimited)) {
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            double previous = limit;
+            limit = Math.clamp(limit * (1 - SMOOTHING) + newLimit * SMOOTHING, minLimit, maxLimit);
+            if ((int) previous != (int) limit) {
+                log.debug("동시 처리 한도 조정 [{}] {} → {} (shortRtt={}ms, baselineRtt={}ms)", name, (int) previous,
+                        (int) limit, (long) (shortRtt / 1_000_000), (long) (baselineRtt / 1_000_000));
+            }
+        }
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+    }
+
+    /**
+     * 얻은 처리 슬롯. 요청이 끝나면 한 번만 release()합니다.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            long now = nanoClock.getAsLong();
+            onComplete(now - startNanos, now);
+        }
+    }
+}
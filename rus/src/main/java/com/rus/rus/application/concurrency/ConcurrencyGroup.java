@@ -0,0 +1,45 @@
+package com.rus.rus.application.concurrency;
+
+import org.springframework.util.AntPathMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 동시 처리 한도를 따로 두는 요청 그룹
+ * - AI: 외부 LLM/음식 인식 서버를 기다리는 요청. 응답이 수 초 걸리므로 DB 요청과 한도를 나눠, AI 지연이 DB 요청을 막지 않게 합니다.
+ * - DB: 그 외 요청. 커넥션 풀(Hikari) 대기로 지연이 늘어납니다.
+ * - 그룹마다 concurrency-limit.{name}.* 로 초기/최소/최대 한도를 설정합니다.
+ */
+public enum ConcurrencyGroup {
+
+    AI("ai", "/v1/openai/**", "/v1/vertexai/**", "/kfood/detect", "/kfood/detect/**", "/kfood/jobs",
+            "/users/report/**"),
+    DB("db");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String propertyName;
+    private final String[] paths;
+
+    ConcurrencyGroup(String propertyName, String... paths) {
+        this.propertyName = propertyName;
+        this.paths = paths;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * 요청 경로가 속한 그룹을 반환합니다. AI 경로가 아니면 DB입니다.
+     */
+    public static ConcurrencyGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : AI.paths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return AI;
+            }
+        }
+        return DB;
+    }
+}
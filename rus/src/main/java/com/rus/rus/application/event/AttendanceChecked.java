@@ -0,0 +1,9 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 출석 체크 (weeklyCompleted는 주간 개근 보너스 지급 여부)
+ */
+public record AttendanceChecked(String uid, boolean weeklyCompleted, LocalDateTime occurredAt) implements DomainEvent {
+}
@@ -0,0 +1,9 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오늘의 챌린지 미션 달성 (챌린지 참여자 수 변경)
+ */
+public record ChallengeCompleted(String uid, LocalDateTime occurredAt) implements DomainEvent {
+}
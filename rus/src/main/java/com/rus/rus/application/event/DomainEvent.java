@@ -0,0 +1,16 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도메인 이벤트
+ * - 서비스는 ApplicationEventPublisher로 발행하고, 트랜잭션이 커밋된 뒤에 DomainEventBus가 비동기로 소비자에게 전달합니다.
+ * - 같은 사용자(uid)의 이벤트는 발행 순서대로 처리됩니다.
+ */
+public sealed interface DomainEvent permits RoutineCompleted, RoutineUnchecked, LuxChanged, AttendanceChecked,
+        PurchaseCompleted, ProfileChanged, ChallengeCompleted {
+
+    String uid();
+
+    LocalDateTime occurredAt();
+}
@@ -0,0 +1,120 @@
+package com.rus.rus.application.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 프로세스 내 비동기 도메인 이벤트 버스
+ * - 트랜잭션 안에서 발행된 이벤트는 커밋된 뒤에만 받습니다. (롤백되면 버려짐, 트랜잭션 밖에서 발행하면 바로 받음)
+ * - 이벤트는 uid 해시로 고른 파티션의 크기 제한 큐에 넣고, 파티션마다 작업 스레드 하나가 최대 batch-size개씩 꺼내
+ *   모든 소비자에게 전달합니다. 파티션당 스레드가 하나이므로 같은 사용자의 이벤트는 발행 순서대로 처리됩니다.
+ * - 큐가 가득 차면 offer-timeout-ms 동안 기다린 뒤 이벤트를 버리고 경고를 남깁니다. (요청 스레드를 오래 막지 않음)
+ *   큐는 메모리에만 있으므로 프로세스가 비정상 종료되면 남은 이벤트도 사라집니다.
+ * - 따라서 유실되어도 되는 최선형(best-effort) 처리(실시간 푸시, 캐시 무효화 등)에만 사용합니다.
+ *   스트릭처럼 유실되면 복구할 수 없는 상태는 변경과 같은 트랜잭션에서 갱신하거나 아웃박스(OutboxConsumer)로 처리합니다.
+ * - 종료 시 큐에 남은 이벤트를 처리한 뒤 멈춥니다.
+ */
+@Slf4j
+@Component
+public class DomainEventBus {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final List<DomainEventConsumer> consumers;
+    private final List<BlockingQueue<DomainEvent>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    public DomainEventBus(List<DomainEventConsumer> consumers,
+            @Value("${domain-events.partitions:4}") int partitionCount,
+            @Value("${domain-events.queue-capacity:10000}") int queueCapacity,
+            @Value("${domain-events.batch-size:100}") int batchSize,
+            @Value("${domain-events.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.consumers = consumers;
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<DomainEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+            partitions.add(queue);
+            Thread worker = new Thread(() -> consumeLoop(queue), "domain-event-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * 커밋된 트랜잭션의 이벤트를 파티션 큐에 넣습니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        BlockingQueue<DomainEvent> queue = partitions.get(Math.floorMod(event.uid().hashCode(), partitions.size()));
+        try {
+            if (queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("도메인 이벤트 큐가 가득 차 이벤트를 버렸습니다. (누적 {}건) {}", dropped.incrementAndGet(), event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void consumeLoop(BlockingQueue<DomainEvent> queue) {
+        List<DomainEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                DomainEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<DomainEvent> batch) {
+        List<DomainEvent> events = List.copyOf(batch);
+        for (DomainEventConsumer consumer : consumers) {
+            try {
+                consumer.onEvents(events);
+            } catch (RuntimeException e) {
+                // 한 소비자의 실패가 다른 소비자나 다음 이벤트 처리를 막지 않도록 기록만 합니다.
+                log.error("도메인 이벤트 처리 실패 [{}]: {}건", consumer.getClass().getSimpleName(), events.size(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.rus.rus.application.event;
+
+import java.util.List;
+
+/**
+ * 도메인 이벤트 소비자
+ * - 빈으로 등록하면 DomainEventBus가 모든 이벤트를 묶음(batch)으로 전달합니다. 필요한 타입만 골라서 처리합니다.
+ * - 한 묶음에는 같은 파티션(uid 해시)의 이벤트만 발행 순서대로 들어 있습니다.
+ * - 요청 처리 흐름 밖(버스 작업 스레드)에서 실행되므로, DB를 쓰려면 직접 트랜잭션을 엽니다.
+ * - 이벤트가 유실될 수 있으므로, 빠지면 안 되는 처리는 OutboxConsumer로 작성합니다.
+ */
+public interface DomainEventConsumer {
+
+    void onEvents(List<DomainEvent> events);
+}
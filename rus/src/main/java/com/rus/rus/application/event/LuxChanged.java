@@ -0,0 +1,9 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * lux 변경 (delta는 증감량, 음수는 회수)
+ */
+public record LuxChanged(String uid, int delta, LocalDateTime occurredAt) implements DomainEvent {
+}
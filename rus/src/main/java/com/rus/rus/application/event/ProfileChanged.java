@@ -0,0 +1,9 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 프로필 또는 설정(칭호, 배경색, 캐릭터 이미지) 변경
+ */
+public record ProfileChanged(String uid, LocalDateTime occurredAt) implements DomainEvent {
+}
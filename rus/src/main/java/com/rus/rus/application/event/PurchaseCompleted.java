@@ -0,0 +1,10 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상점 상품 구매 (pointsSpent는 차감된 포인트)
+ */
+public record PurchaseCompleted(String uid, Integer productId, Long purchaseId, int pointsSpent,
+        LocalDateTime occurredAt) implements DomainEvent {
+}
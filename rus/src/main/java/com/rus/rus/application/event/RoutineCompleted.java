@@ -0,0 +1,10 @@
+package com.rus.rus.application.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 개인 루틴 달성 체크 (일괄 체크는 한 이벤트에 여러 루틴)
+ */
+public record RoutineCompleted(String uid, List<Integer> routineIds, LocalDateTime occurredAt) implements DomainEvent {
+}
@@ -0,0 +1,285 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 동시에 들어온 감지 요청을 모아 FastAPI 감지 서버의 배치 엔드포인트로 한 번에 보내는 감지기
+ * (kfood.detector=http-batch)
+ * - 첫 요청이 도착하면 최대 maxWait 동안 또는 maxBatchSize개가 찰 때까지 요청을 모읍니다.
+ * - CPU에서 YOLO는 배치 추론이 이미지당 비용이 훨씬 낮으므로, 부하가 높을수록 처리량이 늘어납니다.
+ * - 배치 결과는 요청 순서대로 각 호출자에게 돌려줍니다.
+ * - 단건 감지기와 같이 binary 모드로 호출하여 Base64 없이 결과를 받습니다.
+ *   (헤더: 감지 결과 JSON 목록과 각 이미지의 image_length, 본문: JPEG를 요청 순서대로 이어 붙인 바이트)
+ * - 배치가 채워지려면 max-size × max-in-flight개의 요청이 동시에 들어와야 하므로, 감지 대기열의 동시 실행 수를
+ *   그 이상으로 요구합니다. (minConcurrency)
+ * - 종료 시 아직 보내지 않은 요청은 응답 시간 초과까지 기다리지 않도록 바로 실패 처리합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kfood.detector", havingValue = "http-batch")
+public class BatchingHttpKfoodDetector implements KfoodDetector {
+
+  private static final String PREDICT_BATCH_PATH = "/predict/batch";
+  private static final String IMAGE_LENGTH_FIELD = "image_length";
+  private static final long RESULT_TIMEOUT_SECONDS = 130;
+
+  private final WebClient webClient;
+  private final ObjectMapper objectMapper;
+  private final int maxBatchSize;
+  private final long maxWaitNanos;
+  private final int minConcurrency;
+  private final BlockingQueue<PendingDetection> queue;
+  /** 동시에 감지 서버로 보내는 배치 수 제한 */
+  private final Semaphore inFlightBatches;
+  private final Thread dispatcher;
+  private volatile boolean running = true;
+
+  public BatchingHttpKfoodDetector(WebClient.Builder webClientBuilder,
+      ObjectMapper objectMapper,
+      @Value("${kfood.api.base-url}") String kfoodApiBaseUrl,
+      @Value("${kfood.api.max-response-size:20971520}") int maxResponseSize,
+      @Value("${kfood.batch.max-size:8}") int maxBatchSize,
+      @Value("${kfood.batch.max-wait-ms:5}") long maxWaitMillis,
+      @Value("${kfood.batch.max-in-flight:2}") int maxInFlightBatches,
+      @Value("${kfood.batch.queue-capacity:256}") int queueCapacity) {
+    // 배치 응답은 이미지 여러 장을 담으므로 배치 크기만큼 버퍼를 허용합니다.
+    this.webClient = HttpKfoodDetector.createWebClient(webClientBuilder, kfoodApiBaseUrl,
+        (int) Math.min(Integer.MAX_VALUE, (long) maxResponseSize * maxBatchSize));
+    this.objectMapper = objectMapper;
+    this.maxBatchSize = maxBatchSize;
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    this.minConcurrency = maxBatchSize * maxInFlightBatches;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.inFlightBatches = new Semaphore(maxInFlightBatches);
+
+    this.dispatcher = new Thread(this::dispatchLoop, "kfood-batch-dispatcher");
+    this.dispatcher.setDaemon(true);
+    this.dispatcher.start();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    dispatcher.interrupt();
+    failQueued();
+  }
+
+  @Override
+  public int minConcurrency() {
+    return minConcurrency;
+  }
+
+  @Override
+  public KfoodDetectionResponseDto detect(PreparedImage prepared) {
+    PendingDetection pending = new PendingDetection(prepared, new CompletableFuture<>());
+    if (!queue.offer(pending)) {
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 분석 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+    if (!running) {
+      failQueued();
+    }
+
+    try {
+      return pending.result().get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 분석이 중단되었습니다.");
+    } catch (TimeoutException e) {
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE,
+          "AI 서비스에 접속할 수 없거나 요청 시간이 초과되었습니다. 서버 상태를 확인하세요.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "K-Food 객체 감지 중 오류가 발생했습니다.");
+    }
+  }
+
+  /**
+   * 대기열에 등록한 뒤 배치 결과를 스레드 점유 없이 기다립니다.
+   */
+  @Override
+  public Mono<KfoodDetectionResponseDto> detectReactive(PreparedImage prepared) {
+    return Mono.defer(() -> {
+      PendingDetection pending = new PendingDetection(prepared, new CompletableFuture<>());
+      if (!queue.offer(pending)) {
+        return Mono.error(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 분석 요청이 많습니다. 잠시 후 다시 시도해주세요."));
+      }
+      if (!running) {
+        failQueued();
+      }
+      return Mono.fromFuture(pending.result())
+          .timeout(Duration.ofSeconds(RESULT_TIMEOUT_SECONDS), Mono.error(() -> new ApiException(
+              HttpStatus.SERVICE_UNAVAILABLE, "AI 서비스에 접속할 수 없거나 요청 시간이 초과되었습니다. 서버 상태를 확인하세요.")));
+    });
+  }
+
+  /**
+   * 대기열에서 요청을 모아 배치를 구성하고 전송합니다.
+   * 전송은 비동기로 진행되므로 응답을 기다리는 동안 다음 배치를 모을 수 있습니다.
+   */
+  private void dispatchLoop() {
+    while (running) {
+      List<PendingDetection> batch = new ArrayList<>(maxBatchSize);
+      try {
+        batch.add(queue.take());
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+          long remaining = deadline - System.nanoTime();
+          PendingDetection next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+
+        inFlightBatches.acquire();
+        send(batch);
+      } catch (InterruptedException e) {
+        // 모으던 중이거나 전송 자리를 기다리던 배치는 보내지 않고 실패 처리합니다.
+        Thread.currentThread().interrupt();
+        batch.forEach(pending -> pending.result().completeExceptionally(shuttingDown()));
+        return;
+      }
+    }
+  }
+
+  /**
+   * 종료 후 대기열에 남은 요청을 실패 처리합니다.
+   */
+  private void failQueued() {
+    PendingDetection pending;
+    while ((pending = queue.poll()) != null) {
+      pending.result().completeExceptionally(shuttingDown());
+    }
+  }
+
+  private static ApiException shuttingDown() {
+    return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "서버가 종료 중입니다. 잠시 후 다시 시도해주세요.");
+  }
+
+  private void send(List<PendingDetection> batch) {
+    MultipartBodyBuilder builder = new MultipartBodyBuilder();
+    for (PendingDetection pending : batch) {
+      PreparedImage prepared = pending.prepared();
+      builder.part("files", prepared.getBody())
+          .contentType(prepared.getContentType())
+          .filename(prepared.getFilename());
+    }
+
+    webClient.post()
+        .uri(uriBuilder -> uriBuilder.path(PREDICT_BATCH_PATH)
+            .queryParam("response_format", "binary")
+            .build())
+        .contentType(MediaType.MULTIPART_FORM_DATA)
+        .body(BodyInserters.fromMultipartData(builder.build()))
+        .retrieve()
+        .toEntity(byte[].class)
+        .map(this::toBatchResults)
+        .doFinally(signal -> inFlightBatches.release())
+        .subscribe(
+            results -> complete(batch, results),
+            error -> fail(batch, error));
+  }
+
+  /**
+   * binary 모드 배치 응답을 요청 순서대로의 DTO 목록으로 변환합니다.
+   * 본문을 각 결과의 image_length만큼 차례로 잘라 해당 결과의 이미지로 사용합니다.
+   */
+  private List<KfoodDetectionResponseDto> toBatchResults(ResponseEntity<byte[]> response) {
+    String detectionJson = response.getHeaders().getFirst(HttpKfoodDetector.DETECTION_RESULT_HEADER);
+    byte[] body = response.getBody() != null ? response.getBody() : new byte[0];
+    if (detectionJson == null) {
+      throw invalidResponse();
+    }
+
+    try {
+      JsonNode items = objectMapper.readTree(detectionJson);
+      if (!items.isArray()) {
+        throw invalidResponse();
+      }
+      List<KfoodDetectionResponseDto> results = new ArrayList<>(items.size());
+      int offset = 0;
+      for (JsonNode item : items) {
+        int length = item.path(IMAGE_LENGTH_FIELD).asInt(-1);
+        if (!(item instanceof ObjectNode fields) || length < 0 || length > body.length - offset) {
+          throw invalidResponse();
+        }
+        fields.remove(IMAGE_LENGTH_FIELD);
+        KfoodDetectionResponseDto result = objectMapper.treeToValue(fields, KfoodDetectionResponseDto.class);
+        result.setImageWithBoxes(length > 0 ? Arrays.copyOfRange(body, offset, offset + length) : null);
+        results.add(result);
+        offset += length;
+      }
+      return results;
+    } catch (JsonProcessingException e) {
+      throw invalidResponse();
+    }
+  }
+
+  private static ApiException invalidResponse() {
+    return new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "K-Food 객체 감지 서비스의 응답 형식이 올바르지 않습니다.");
+  }
+
+  private void complete(List<PendingDetection> batch, List<KfoodDetectionResponseDto> results) {
+    if (results == null || results.size() != batch.size()) {
+      fail(batch, new IllegalStateException("배치 응답 개수가 요청과 다릅니다."));
+      return;
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      batch.get(i).result().complete(results.get(i));
+    }
+  }
+
+  private void fail(List<PendingDetection> batch, Throwable error) {
+    ApiException exception;
+    if (error instanceof ApiException apiException) {
+      log.error("K-Food 배치 API 응답 처리 중 오류: {}", apiException.getMessage());
+      exception = apiException;
+    } else if (error instanceof WebClientResponseException e) {
+      log.error("K-Food 배치 API HTTP 오류 ({}): {}", e.getStatusCode(), e.getResponseBodyAsString());
+      exception = new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
+          "K-Food 객체 감지 서비스 오류: " + e.getResponseBodyAsString());
+    } else {
+      log.error("K-Food 배치 API 호출 중 오류: {}", error.getMessage());
+      exception = new ApiException(HttpStatus.SERVICE_UNAVAILABLE,
+          "AI 서비스에 접속할 수 없거나 요청 시간이 초과되었습니다. 서버 상태를 확인하세요.");
+    }
+    batch.forEach(pending -> pending.result().completeExceptionally(exception));
+  }
+
+  private record PendingDetection(PreparedImage prepared, CompletableFuture<KfoodDetectionResponseDto> result) {
+  }
+}
@@ -0,0 +1,159 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastAPI(YOLO) 감지 서버를 호출하는 감지기 (kfood.detector=http, 기본값)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kfood.detector", havingValue = "http", matchIfMissing = true)
+public class HttpKfoodDetector implements KfoodDetector {
+
+  private static final String PREDICT_PATH = "/predict";
+  /** FastAPI 서버가 감지 결과 JSON을 담아 보내는 응답 헤더 (binary 모드) */
+  static final String DETECTION_RESULT_HEADER = "X-Detection-Result";
+
+  private final WebClient webClient;
+  private final ObjectMapper objectMapper;
+
+  public HttpKfoodDetector(WebClient.Builder webClientBuilder,
+      ObjectMapper objectMapper,
+      @Value("${kfood.api.base-url}") String kfoodApiBaseUrl,
+      @Value("${kfood.api.max-response-size:20971520}") int maxResponseSize) {
+    this.objectMapper = objectMapper;
+    this.webClient = createWebClient(webClientBuilder, kfoodApiBaseUrl, maxResponseSize);
+  }
+
+  /**
+   * 감지 서버 호출용 WebClient를 생성합니다.
+   */
+  static WebClient createWebClient(WebClient.Builder webClientBuilder, String kfoodApiBaseUrl,
+      int maxResponseSize) {
+    // 대용량 파일 처리를 위한 타임아웃 설정
+    // 감지 결과 JSON은 헤더로 전달되므로 헤더 크기 제한을 늘립니다.
+    HttpClient httpClient = HttpClient.create()
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30000)
+        .responseTimeout(Duration.ofSeconds(120))
+        .httpResponseDecoder(spec -> spec.maxHeaderSize(64 * 1024))
+        .doOnConnected(conn -> conn
+            .addHandlerLast(new ReadTimeoutHandler(120, TimeUnit.SECONDS))
+            .addHandlerLast(new WriteTimeoutHandler(120, TimeUnit.SECONDS)));
+
+    // 응답 본문은 Base64가 아닌 JPEG 원본 바이트이므로 이미지 크기만큼만 버퍼를 허용합니다.
+    ExchangeStrategies strategies = ExchangeStrategies.builder()
+        .codecs(configurer -> configurer
+            .defaultCodecs()
+            .maxInMemorySize(maxResponseSize))
+        .build();
+
+    return webClientBuilder
+        .baseUrl(kfoodApiBaseUrl)
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .exchangeStrategies(strategies)
+        .build();
+  }
+
+  /**
+   * 전처리된 이미지를 FastAPI 서버에 binary 모드로 전송하여 감지 결과를 받습니다.
+   * Base64 인코딩/디코딩 없이 JPEG 바이트를 한 번만 보관합니다.
+   */
+  @Override
+  public KfoodDetectionResponseDto detect(PreparedImage prepared) {
+    return detectReactive(prepared).block(); // 동기적으로 결과를 기다립니다.
+  }
+
+  /**
+   * 감지 서버 호출을 논블로킹으로 수행합니다. 응답을 기다리는 동안 스레드를 점유하지 않습니다.
+   */
+  @Override
+  public Mono<KfoodDetectionResponseDto> detectReactive(PreparedImage prepared) {
+    // 1. Multipart 요청 본문 구성
+    MultipartBodyBuilder builder = new MultipartBodyBuilder();
+    // key는 'file'로 설정하고, 전처리된 이미지를 전송합니다.
+    builder.part("file", prepared.getBody())
+        .contentType(prepared.getContentType())
+        .filename(prepared.getFilename());
+
+    // 2. 외부 AI 서버 호출 (POST /predict?response_format=binary)
+    return webClient.post()
+        .uri(uriBuilder -> uriBuilder.path(PREDICT_PATH)
+            .queryParam("response_format", "binary")
+            .build())
+        .contentType(MediaType.MULTIPART_FORM_DATA)
+        .body(BodyInserters.fromMultipartData(builder.build()))
+        .retrieve()
+        .toEntity(byte[].class)
+        .map(this::toDetectionResult)
+        .onErrorMap(e -> !(e instanceof ApiException), this::toApiException);
+  }
+
+  /**
+   * 감지 서버 호출 중 발생한 오류를 클라이언트 응답용 ApiException으로 변환합니다.
+   */
+  private ApiException toApiException(Throwable e) {
+    if (e instanceof WebClientResponseException responseException) {
+      // 외부 서버에서 발생한 HTTP 오류 처리 (4xx, 5xx 상태 코드)
+      log.error("K-Food API HTTP 오류 ({}): {}", responseException.getStatusCode(),
+          responseException.getResponseBodyAsString());
+      return new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
+          "K-Food 객체 감지 서비스 오류: " + responseException.getResponseBodyAsString());
+    }
+
+    // 타임아웃 또는 연결 거부 오류 처리 (API 서버가 꺼져 있을 때)
+    String errorMessage = "이미지 처리 또는 서비스 접속 중 알 수 없는 오류가 발생했습니다: " + e.getMessage();
+
+    // 타임아웃 오류 (ResponseTimeoutException, ConnectTimeoutException 등) 또는 연결 거부 확인
+    if (e.getMessage() != null
+        && (e.getMessage().contains("timeout") || e.getMessage().contains("Connection refused"))) {
+      errorMessage = "AI 서비스에 접속할 수 없거나 요청 시간이 초과되었습니다. 서버 상태를 확인하세요.";
+    }
+
+    log.error("K-Food API 호출 중 오류: {}", e.getMessage());
+    // 서비스 이용 불가(503) 상태 코드로 즉시 응답
+    return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, errorMessage);
+  }
+
+  /**
+   * binary 모드 응답(헤더: 감지 결과 JSON, 본문: JPEG)을 DTO로 변환합니다.
+   */
+  private KfoodDetectionResponseDto toDetectionResult(ResponseEntity<byte[]> response) {
+    String detectionJson = response.getHeaders().getFirst(DETECTION_RESULT_HEADER);
+    if (detectionJson == null) {
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "K-Food 객체 감지 서비스의 응답 형식이 올바르지 않습니다.");
+    }
+
+    try {
+      KfoodDetectionResponseDto result = objectMapper.readValue(detectionJson, KfoodDetectionResponseDto.class);
+      result.setImageWithBoxes(response.getBody());
+      return result;
+    } catch (JsonProcessingException e) {
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "K-Food 객체 감지 서비스의 응답 형식이 올바르지 않습니다.");
+    }
+  }
+}
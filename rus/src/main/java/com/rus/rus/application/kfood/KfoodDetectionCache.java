@@ -0,0 +1,373 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * K-Food 감지 결과 캐시
+ * - 키: 전처리(정규화)된 이미지 바이트의 SHA-256
+ * - 메모리 계층: LRU, 선택적으로 dHash 해밍 거리로 유사 이미지도 적중 처리
+ *   항목마다 박스 이미지(JPEG)를 들고 있으므로 항목 수(max-entries)와 이미지 바이트 합계(max-bytes) 중
+ *   먼저 넘는 쪽에서 오래된 항목부터 내보냅니다.
+ *   유사 이미지 적중은 다른 업로드의 결과이므로 라벨과 신뢰도만 재사용하고, 바운딩 박스 좌표와 박스 이미지는 제외합니다.
+ * - 디스크 계층(선택): 키별 JSON 파일, 메모리에서 밀려난 결과를 재시작 후에도 재사용
+ * - 같은 이미지가 동시에 업로드되면 한 번만 추론하고 나머지 요청은 그 결과를 기다립니다.
+ *
+ * 캐시에는 전처리 이미지 좌표계의 결과가 저장되므로, 호출 측에서 원본 좌표로 변환해야 합니다.
+ */
+@Slf4j
+@Component
+public class KfoodDetectionCache {
+
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int maxEntries;
+  private final long maxBytes;
+  private final long ttlMillis;
+  private final boolean perceptualEnabled;
+  private final int perceptualMaxDistance;
+  private final Path diskDir;
+  private final int diskMaxEntries;
+
+  /** 접근 순서 기반 LRU (this로 동기화) */
+  private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  /** entries에 올린 박스 이미지 바이트 합계 (this로 동기화) */
+  private long cachedBytes;
+
+  /** 진행 중인 추론 (같은 키의 동시 요청을 하나로 합침) */
+  private final ConcurrentHashMap<String, CompletableFuture<KfoodDetectionResponseDto>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public KfoodDetectionCache(ObjectMapper objectMapper,
+      @Value("${kfood.cache.enabled:true}") boolean enabled,
+      @Value("${kfood.cache.max-entries:256}") int maxEntries,
+      @Value("${kfood.cache.max-bytes:67108864}") long maxBytes,
+      @Value("${kfood.cache.ttl:24h}") Duration ttl,
+      @Value("${kfood.cache.perceptual.enabled:false}") boolean perceptualEnabled,
+      @Value("${kfood.cache.perceptual.max-distance:4}") int perceptualMaxDistance,
+      @Value("${kfood.cache.disk.enabled:false}") boolean diskEnabled,
+      @Value("${kfood.cache.disk.dir:${java.io.tmpdir}/kfood-cache}") String diskDir,
+      @Value("${kfood.cache.disk.max-entries:5000}") int diskMaxEntries) {
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+    this.ttlMillis = ttl.toMillis();
+    this.perceptualEnabled = perceptualEnabled;
+    this.perceptualMaxDistance = perceptualMaxDistance;
+    this.diskMaxEntries = diskMaxEntries;
+    this.diskDir = diskEnabled ? Path.of(diskDir) : null;
+
+    if (this.diskDir != null) {
+      try {
+        Files.createDirectories(this.diskDir);
+      } catch (IOException e) {
+        throw new IllegalStateException("K-Food 캐시 디렉터리를 생성할 수 없습니다: " + diskDir, e);
+      }
+    }
+  }
+
+  /**
+   * 캐시된 감지 결과를 반환하거나, 없으면 detector로 추론한 뒤 저장합니다.
+   *
+   * @param prepared 전처리된 이미지
+   * @param detector 캐시 미스 시 실행할 추론 함수
+   * @return 감지 결과 (전처리 이미지 좌표계)
+   */
+  public KfoodDetectionResponseDto getOrDetect(PreparedImage prepared,
+      Supplier<KfoodDetectionResponseDto> detector) {
+    if (!enabled) {
+      return detector.get();
+    }
+
+    String key = contentHash(prepared);
+    KfoodDetectionResponseDto cached = lookup(key, prepared.getPerceptualHash());
+    if (cached != null) {
+      return cached;
+    }
+
+    CompletableFuture<KfoodDetectionResponseDto> mine = new CompletableFuture<>();
+    CompletableFuture<KfoodDetectionResponseDto> existing = inFlight.putIfAbsent(key, mine);
+    if (existing != null) {
+      return await(existing);
+    }
+
+    try {
+      KfoodDetectionResponseDto result = detector.get();
+      store(key, prepared.getPerceptualHash(), result);
+      mine.complete(result);
+      return result;
+    } catch (RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  /**
+   * getOrDetect의 논블로킹 버전입니다.
+   * 같은 이미지를 추론 중인 요청이 있으면 스레드를 점유하지 않고 그 결과를 구독합니다.
+   *
+   * @param prepared 전처리된 이미지
+   * @param detector 캐시 미스 시 실행할 추론
+   * @return 감지 결과 (전처리 이미지 좌표계)
+   */
+  public Mono<KfoodDetectionResponseDto> getOrDetectReactive(PreparedImage prepared,
+      Supplier<Mono<KfoodDetectionResponseDto>> detector) {
+    if (!enabled) {
+      return Mono.defer(detector);
+    }
+
+    return Mono.defer(() -> {
+      String key = contentHash(prepared);
+      KfoodDetectionResponseDto cached = lookup(key, prepared.getPerceptualHash());
+      if (cached != null) {
+        return Mono.just(cached);
+      }
+
+      CompletableFuture<KfoodDetectionResponseDto> mine = new CompletableFuture<>();
+      CompletableFuture<KfoodDetectionResponseDto> existing = inFlight.putIfAbsent(key, mine);
+      if (existing != null) {
+        // 먼저 시작한 요청이 취소되어도 그 추론은 취소하지 않습니다.
+        return Mono.fromFuture(existing, true);
+      }
+
+      return detector.get()
+          .doOnNext(result -> {
+            store(key, prepared.getPerceptualHash(), result);
+            mine.complete(result);
+          })
+          .doOnError(mine::completeExceptionally)
+          .doFinally(signal -> {
+            inFlight.remove(key, mine);
+            if (!mine.isDone()) {
+              mine.completeExceptionally(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 분석이 중단되었습니다."));
+            }
+          });
+    });
+  }
+
+  /**
+   * 만료된 디스크 캐시 파일을 정리하고, 최대 개수를 넘으면 오래된 파일부터 삭제합니다.
+   */
+  @Scheduled(fixedDelayString = "${kfood.cache.disk.cleanup-interval-ms:3600000}")
+  public void cleanUpDisk() {
+    if (diskDir == null) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    try (Stream<Path> files = Files.list(diskDir)) {
+      List<Path> sorted = files
+          .filter(path -> path.toString().endsWith(".json"))
+          .sorted(Comparator.comparingLong(this::lastModified).reversed())
+          .toList();
+      for (int i = 0; i < sorted.size(); i++) {
+        Path path = sorted.get(i);
+        if (i >= diskMaxEntries || now - lastModified(path) > ttlMillis) {
+          Files.deleteIfExists(path);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("K-Food 디스크 캐시 정리 실패: {}", e.getMessage());
+    }
+  }
+
+  private KfoodDetectionResponseDto lookup(String key, Long perceptualHash) {
+    long now = System.currentTimeMillis();
+    synchronized (this) {
+      CacheEntry entry = entries.get(key);
+      if (entry != null) {
+        if (now - entry.createdAt <= ttlMillis) {
+          return entry.result;
+        }
+        uncache(key);
+      }
+
+      if (perceptualEnabled && perceptualHash != null) {
+        for (CacheEntry candidate : entries.values()) {
+          if (candidate.perceptualHash != null
+              && now - candidate.createdAt <= ttlMillis
+              && Long.bitCount(candidate.perceptualHash ^ perceptualHash) <= perceptualMaxDistance) {
+            return labelsOnly(candidate.result);
+          }
+        }
+      }
+    }
+
+    KfoodDetectionResponseDto fromDisk = readFromDisk(key, now);
+    if (fromDisk != null) {
+      cache(key, new CacheEntry(fromDisk, perceptualHash, now));
+    }
+    return fromDisk;
+  }
+
+  /**
+   * 유사 이미지의 결과에서 현재 이미지에 맞지 않는 바운딩 박스 좌표와 박스 이미지를 뺀 결과를 만듭니다.
+   */
+  private static KfoodDetectionResponseDto labelsOnly(KfoodDetectionResponseDto result) {
+    List<Map<String, Object>> analysisResults = null;
+    if (result.getAnalysisResults() != null) {
+      analysisResults = new ArrayList<>(result.getAnalysisResults().size());
+      for (Map<String, Object> item : result.getAnalysisResults()) {
+        Map<String, Object> copy = new HashMap<>(item);
+        copy.remove("bounding_box");
+        analysisResults.add(copy);
+      }
+    }
+    return KfoodDetectionResponseDto.builder()
+        .detectedFoodLabels(result.getDetectedFoodLabels())
+        .analysisResults(analysisResults)
+        .overallAverageConfidence(result.getOverallAverageConfidence())
+        .build();
+  }
+
+  private void store(String key, Long perceptualHash, KfoodDetectionResponseDto result) {
+    cache(key, new CacheEntry(result, perceptualHash, System.currentTimeMillis()));
+    writeToDisk(key, result);
+  }
+
+  /**
+   * 메모리 계층에 올리고, 한도를 넘으면 가장 오래 쓰이지 않은 항목부터 내보냅니다.
+   * 한 건이 max-bytes보다 크면 메모리에 올리지 않습니다. (디스크 계층이 켜져 있으면 디스크에서만 읽습니다)
+   */
+  private synchronized void cache(String key, CacheEntry entry) {
+    uncache(key);
+    if (entry.bytes() > maxBytes) {
+      return;
+    }
+    entries.put(key, entry);
+    cachedBytes += entry.bytes();
+
+    Iterator<CacheEntry> eldest = entries.values().iterator();
+    while (entries.size() > maxEntries || cachedBytes > maxBytes) {
+      cachedBytes -= eldest.next().bytes();
+      eldest.remove();
+    }
+  }
+
+  private synchronized void uncache(String key) {
+    CacheEntry removed = entries.remove(key);
+    if (removed != null) {
+      cachedBytes -= removed.bytes();
+    }
+  }
+
+  synchronized int cachedEntries() {
+    return entries.size();
+  }
+
+  synchronized long cachedBytes() {
+    return cachedBytes;
+  }
+
+  private KfoodDetectionResponseDto readFromDisk(String key, long now) {
+    if (diskDir == null) {
+      return null;
+    }
+
+    Path path = diskDir.resolve(key + ".json");
+    if (!Files.exists(path) || now - lastModified(path) > ttlMillis) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(path.toFile(), KfoodDetectionResponseDto.class);
+    } catch (IOException e) {
+      log.warn("K-Food 디스크 캐시 읽기 실패 ({}): {}", key, e.getMessage());
+      return null;
+    }
+  }
+
+  private void writeToDisk(String key, KfoodDetectionResponseDto result) {
+    if (diskDir == null) {
+      return;
+    }
+
+    try {
+      // 임시 파일에 쓴 뒤 이동하여, 동시에 읽는 쪽이 쓰다 만 파일을 보지 않도록 합니다.
+      Path temp = Files.createTempFile(diskDir, key, ".tmp");
+      objectMapper.writeValue(temp.toFile(), result);
+      Files.move(temp, diskDir.resolve(key + ".json"),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("K-Food 디스크 캐시 쓰기 실패 ({}): {}", key, e.getMessage());
+    }
+  }
+
+  private String contentHash(PreparedImage prepared) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      if (prepared.getBody() instanceof ByteArrayResource bytes) {
+        digest.update(bytes.getByteArray());
+      } else {
+        // 전처리를 건너뛴 원본은 스트림으로 읽으며 해시를 계산합니다.
+        try (InputStream in = new DigestInputStream(prepared.getBody().getInputStream(), digest)) {
+          in.transferTo(OutputStream.nullOutputStream());
+        }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException | IOException e) {
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 해시 계산 중 오류가 발생했습니다.");
+    }
+  }
+
+  private KfoodDetectionResponseDto await(CompletableFuture<KfoodDetectionResponseDto> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private long lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException e) {
+      return 0L;
+    }
+  }
+
+  private record CacheEntry(KfoodDetectionResponseDto result, Long perceptualHash, long createdAt) {
+
+    long bytes() {
+      return result.getImageWithBoxes() != null ? result.getImageWithBoxes().length : 0;
+    }
+  }
+}
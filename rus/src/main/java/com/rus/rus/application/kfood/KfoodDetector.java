@@ -0,0 +1,32 @@
+package com.rus.rus.application.kfood;
+
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 전처리된 이미지에서 한국 음식 객체를 감지하는 감지기
+ * - 구현체는 kfood.detector 설정(http | http-batch | onnx)으로 선택합니다.
+ * - 반환하는 바운딩 박스 좌표는 전달받은 이미지 기준입니다.
+ */
+public interface KfoodDetector {
+
+  KfoodDetectionResponseDto detect(PreparedImage prepared);
+
+  /**
+   * 호출 스레드를 점유하지 않는 감지입니다. (리액티브 API용)
+   * 기본 구현은 detect를 boundedElastic 스케줄러에서 실행하며, 네트워크 호출 구현체는 재정의합니다.
+   */
+  default Mono<KfoodDetectionResponseDto> detectReactive(PreparedImage prepared) {
+    return Mono.fromCallable(() -> detect(prepared))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * 이 감지기가 제 성능을 내는 데 필요한 최소 동시 요청 수입니다.
+   * 감지 대기열(kfood.jobs.concurrency)은 이 값보다 작게 설정되어 있으면 이 값으로 늘립니다.
+   */
+  default int minConcurrency() {
+    return 1;
+  }
+}
@@ -0,0 +1,425 @@
+package com.rus.rus.application.kfood;
+
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * K-Food 감지 서버로 보내기 전 이미지를 전처리합니다.
+ * - 디코딩 → EXIF 회전 적용 → 모델 입력 크기(imgsz)로 축소 → JPEG 재인코딩
+ * - CPU 작업이므로 코어 수만큼의 고정 스레드와 제한된 대기열을 가진 전용 풀에서 실행합니다.
+ * - 감지 결과의 바운딩 박스 좌표는 원본 이미지 기준으로 되돌립니다.
+ */
+@Slf4j
+@Component
+public class KfoodImagePreprocessor {
+
+  private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+  private final boolean enabled;
+  private final int targetSize;
+  private final float jpegQuality;
+  private final ThreadPoolExecutor executor;
+
+  public KfoodImagePreprocessor(
+      @Value("${kfood.preprocess.enabled:true}") boolean enabled,
+      @Value("${kfood.preprocess.target-size:640}") int targetSize,
+      @Value("${kfood.preprocess.jpeg-quality:0.85}") float jpegQuality,
+      @Value("${kfood.preprocess.threads:0}") int threads,
+      @Value("${kfood.preprocess.queue-capacity:32}") int queueCapacity) {
+    this.enabled = enabled;
+    this.targetSize = targetSize;
+    this.jpegQuality = jpegQuality;
+
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "kfood-preprocess-" + threadIndex.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * 업로드된 이미지를 감지 서버 전송용으로 준비합니다.
+   * 디코딩할 수 없는 형식이거나 이미 충분히 작은 경우 원본을 그대로 전달합니다.
+   *
+   * @param file 클라이언트로부터 받은 이미지 파일
+   * @return 전송 준비가 끝난 이미지
+   */
+  public PreparedImage prepare(MultipartFile file) {
+    if (!enabled) {
+      return passthrough(file);
+    }
+
+    Future<PreparedImage> future;
+    try {
+      future = executor.submit(() -> resize(file));
+    } catch (RejectedExecutionException e) {
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리가 중단되었습니다.");
+    } catch (ExecutionException e) {
+      log.warn("이미지 전처리 실패, 원본을 그대로 전송합니다: {}", e.getCause().getMessage());
+      return passthrough(file);
+    }
+  }
+
+  /**
+   * prepare의 논블로킹 버전입니다. 전처리 스레드에서 완료되며 호출 스레드는 기다리지 않습니다.
+   *
+   * @param file 클라이언트로부터 받은 이미지 파일
+   * @return 전송 준비가 끝난 이미지
+   */
+  public Mono<PreparedImage> prepareReactive(MultipartFile file) {
+    if (!enabled) {
+      return Mono.fromSupplier(() -> passthrough(file));
+    }
+
+    return Mono.defer(() -> {
+      CompletableFuture<PreparedImage> future;
+      try {
+        future = CompletableFuture.supplyAsync(() -> {
+          try {
+            return resize(file);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }, executor);
+      } catch (RejectedExecutionException e) {
+        return Mono.error(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요."));
+      }
+
+      return Mono.fromFuture(future)
+          .onErrorResume(e -> {
+            log.warn("이미지 전처리 실패, 원본을 그대로 전송합니다: {}", e.getMessage());
+            return Mono.fromSupplier(() -> passthrough(file));
+          });
+    });
+  }
+
+  /**
+   * 전처리된 이미지 기준의 바운딩 박스 좌표를 원본 이미지 기준으로 변환합니다.
+   * 감지 결과는 캐시에서 공유될 수 있으므로 원본을 수정하지 않고 새 DTO를 반환합니다.
+   * 박스가 그려진 이미지는 축소된 크기 그대로이므로, 클라이언트가 박스를 겹쳐 그릴 수 있도록
+   * 그 크기(imageWidth/imageHeight)를 함께 반환합니다.
+   *
+   * @param result   감지 결과 (전처리 이미지 좌표)
+   * @param prepared 감지 서버로 전송했던 이미지 정보
+   * @return 원본 이미지 좌표로 변환된 감지 결과
+   */
+  public KfoodDetectionResponseDto restoreOriginalCoordinates(KfoodDetectionResponseDto result,
+      PreparedImage prepared) {
+    if (!prepared.isResized() || result.getAnalysisResults() == null) {
+      return result;
+    }
+
+    List<Map<String, Object>> restored = new ArrayList<>(result.getAnalysisResults().size());
+    for (Map<String, Object> item : result.getAnalysisResults()) {
+      Map<String, Object> copy = new HashMap<>(item);
+      Object box = item.get("bounding_box");
+      if (box instanceof List<?> coordinates && coordinates.size() == 4) {
+        List<Double> scaled = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+          double value = ((Number) coordinates.get(i)).doubleValue();
+          double scale = (i % 2 == 0) ? prepared.getScaleX() : prepared.getScaleY();
+          double limit = (i % 2 == 0) ? prepared.getOriginalWidth() : prepared.getOriginalHeight();
+          scaled.add(Math.min(limit, value * scale));
+        }
+        copy.put("bounding_box", scaled);
+      }
+      restored.add(copy);
+    }
+    return KfoodDetectionResponseDto.builder()
+        .imageWithBoxes(result.getImageWithBoxes())
+        .imageWidth((int) Math.round(prepared.getOriginalWidth() / prepared.getScaleX()))
+        .imageHeight((int) Math.round(prepared.getOriginalHeight() / prepared.getScaleY()))
+        .detectedFoodLabels(result.getDetectedFoodLabels())
+        .analysisResults(restored)
+        .overallAverageConfidence(result.getOverallAverageConfidence())
+        .build();
+  }
+
+  private PreparedImage passthrough(MultipartFile file) {
+    return PreparedImage.builder()
+        .body(file.getResource())
+        .contentType(resolveContentType(file))
+        .filename(file.getOriginalFilename() != null ? file.getOriginalFilename() : "image")
+        .build();
+  }
+
+  private PreparedImage resize(MultipartFile file) throws IOException {
+    int orientation;
+    try (InputStream in = file.getInputStream()) {
+      orientation = readExifOrientation(in);
+    }
+
+    try (ImageInputStream imageInput = ImageIO.createImageInputStream(file.getInputStream())) {
+      Iterator<ImageReader> readers = imageInput != null ? ImageIO.getImageReaders(imageInput) : null;
+      if (readers == null || !readers.hasNext()) {
+        return passthrough(file);
+      }
+
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(imageInput, true, true);
+        int rawWidth = reader.getWidth(0);
+        int rawHeight = reader.getHeight(0);
+        int longestSide = Math.max(rawWidth, rawHeight);
+
+        if (longestSide <= targetSize && orientation == 1) {
+          return passthrough(file);
+        }
+
+        // 디코딩 단계에서 서브샘플링하여 원본 해상도의 픽셀 버퍼를 만들지 않습니다.
+        ImageReadParam readParam = reader.getDefaultReadParam();
+        int subsampling = Math.max(1, longestSide / (targetSize * 2));
+        readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        BufferedImage decoded = reader.read(0, readParam);
+
+        BufferedImage resized = applyOrientation(scaleToFit(decoded, targetSize), orientation);
+
+        boolean swapAxes = orientation >= 5;
+        int originalWidth = swapAxes ? rawHeight : rawWidth;
+        int originalHeight = swapAxes ? rawWidth : rawHeight;
+
+        String baseName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "image";
+        return PreparedImage.builder()
+            .body(new ByteArrayResource(encodeJpeg(resized)))
+            .contentType(MediaType.IMAGE_JPEG)
+            .filename(baseName.replaceAll("\\.[^.]*$", "") + ".jpg")
+            .originalWidth(originalWidth)
+            .originalHeight(originalHeight)
+            .scaleX((double) originalWidth / resized.getWidth())
+            .scaleY((double) originalHeight / resized.getHeight())
+            .perceptualHash(differenceHash(resized))
+            .build();
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * 긴 변이 maxSize가 되도록 비율을 유지하여 축소합니다. (알파 채널은 JPEG를 위해 제거)
+   * 큰 배율로 한 번에 줄이면 품질이 떨어지므로 절반씩 단계적으로 줄입니다.
+   */
+  private BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+    double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+    int finalWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+    int finalHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+    BufferedImage current = source;
+    do {
+      int width = Math.max(finalWidth, current.getWidth() / 2);
+      int height = Math.max(finalHeight, current.getHeight() / 2);
+      BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D g = step.createGraphics();
+      try {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(current, 0, 0, width, height, null);
+      } finally {
+        g.dispose();
+      }
+      current = step;
+    } while (current.getWidth() != finalWidth || current.getHeight() != finalHeight);
+
+    return current;
+  }
+
+  /**
+   * EXIF Orientation 값(1~8)에 따라 이미지를 회전/반전합니다.
+   */
+  private BufferedImage applyOrientation(BufferedImage image, int orientation) {
+    if (orientation <= 1 || orientation > 8) {
+      return image;
+    }
+
+    int width = image.getWidth();
+    int height = image.getHeight();
+    boolean swapAxes = orientation >= 5;
+    AffineTransform transform = new AffineTransform();
+
+    switch (orientation) {
+      case 2 -> { transform.translate(width, 0); transform.scale(-1, 1); }
+      case 3 -> { transform.translate(width, height); transform.rotate(Math.PI); }
+      case 4 -> { transform.translate(0, height); transform.scale(1, -1); }
+      case 5 -> { transform.rotate(Math.PI / 2); transform.scale(1, -1); }
+      case 6 -> { transform.translate(height, 0); transform.rotate(Math.PI / 2); }
+      case 7 -> { transform.translate(height, width); transform.scale(-1, -1); transform.rotate(Math.PI / 2);
+        transform.scale(1, -1); }
+      case 8 -> { transform.translate(0, width); transform.rotate(3 * Math.PI / 2); }
+      default -> { }
+    }
+
+    BufferedImage rotated = new BufferedImage(swapAxes ? height : width, swapAxes ? width : height,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = rotated.createGraphics();
+    try {
+      g.drawImage(image, transform, null);
+    } finally {
+      g.dispose();
+    }
+    return rotated;
+  }
+
+  /**
+   * 9x8 흑백으로 축소한 뒤 가로로 인접한 픽셀의 밝기 대소를 비트로 기록한 64비트 dHash를 계산합니다.
+   * 재압축/미세한 크기 변화에는 거의 변하지 않아 유사 이미지 판별에 사용합니다.
+   */
+  private long differenceHash(BufferedImage image) {
+    BufferedImage gray = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+    Graphics2D g = gray.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.drawImage(image, 0, 0, 9, 8, null);
+    } finally {
+      g.dispose();
+    }
+
+    long hash = 0L;
+    for (int y = 0; y < 8; y++) {
+      for (int x = 0; x < 8; x++) {
+        int left = gray.getRaster().getSample(x, y, 0);
+        int right = gray.getRaster().getSample(x + 1, y, 0);
+        hash = (hash << 1) | (left > right ? 1L : 0L);
+      }
+    }
+    return hash;
+  }
+
+  private byte[] encodeJpeg(BufferedImage image) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(imageOutput);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(jpegQuality);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * JPEG의 APP1(Exif) 세그먼트에서 Orientation 값을 읽습니다.
+   * 헤더 영역만 읽으며, JPEG가 아니거나 값을 찾지 못하면 1(정방향)을 반환합니다.
+   */
+  static int readExifOrientation(InputStream in) {
+    try {
+      DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+      if (data.readUnsignedShort() != 0xFFD8) {
+        return 1;
+      }
+      while (true) {
+        int marker = data.readUnsignedShort();
+        if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+          return 1; // 이미지 데이터(SOS) 이전에 Exif가 없으면 정방향으로 간주
+        }
+        int length = data.readUnsignedShort() - 2;
+        if (marker == 0xFFE1 && length > 14) {
+          byte[] segment = new byte[length];
+          data.readFully(segment);
+          if (segment[0] == 'E' && segment[1] == 'x' && segment[2] == 'i' && segment[3] == 'f') {
+            return readTiffOrientation(segment, 6);
+          }
+        } else {
+          data.skipNBytes(length);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      return 1;
+    }
+  }
+
+  private static int readTiffOrientation(byte[] b, int tiffStart) {
+    boolean littleEndian = b[tiffStart] == 'I' && b[tiffStart + 1] == 'I';
+    int ifdOffset = tiffStart + readInt(b, tiffStart + 4, littleEndian);
+    int entryCount = readShort(b, ifdOffset, littleEndian);
+    for (int i = 0; i < entryCount; i++) {
+      int entry = ifdOffset + 2 + i * 12;
+      if (readShort(b, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+        return readShort(b, entry + 8, littleEndian);
+      }
+    }
+    return 1;
+  }
+
+  private static int readShort(byte[] b, int offset, boolean littleEndian) {
+    return littleEndian
+        ? (b[offset] & 0xFF) | (b[offset + 1] & 0xFF) << 8
+        : (b[offset] & 0xFF) << 8 | (b[offset + 1] & 0xFF);
+  }
+
+  private static int readInt(byte[] b, int offset, boolean littleEndian) {
+    return littleEndian
+        ? readShort(b, offset, true) | readShort(b, offset + 2, true) << 16
+        : readShort(b, offset, false) << 16 | readShort(b, offset + 2, false);
+  }
+
+  private static MediaType resolveContentType(MultipartFile file) {
+    try {
+      return file.getContentType() != null ? MediaType.parseMediaType(file.getContentType()) : MediaType.IMAGE_JPEG;
+    } catch (Exception e) {
+      return MediaType.IMAGE_JPEG;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.rus.rus.application.kfood;
+
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * K-Food 비동기 감지 작업
+ * - 작업 스레드가 상태를 갱신하고 조회 요청 스레드가 읽으므로 상태 필드는 volatile로 둡니다.
+ */
+@Getter
+public class KfoodJob {
+
+  public enum Status {
+    QUEUED, RUNNING, DONE, FAILED
+  }
+
+  private final String id;
+  private final Instant submittedAt = Instant.now();
+  private volatile Status status = Status.QUEUED;
+  private volatile Instant finishedAt;
+  private volatile KfoodDetectionResponseDto result;
+  private volatile String errorMessage;
+
+  public KfoodJob(String id) {
+    this.id = id;
+  }
+
+  public void markRunning() {
+    this.status = Status.RUNNING;
+  }
+
+  public void complete(KfoodDetectionResponseDto result) {
+    this.result = result;
+    this.finishedAt = Instant.now();
+    this.status = Status.DONE;
+  }
+
+  public void fail(String errorMessage) {
+    this.errorMessage = errorMessage;
+    this.finishedAt = Instant.now();
+    this.status = Status.FAILED;
+  }
+
+  public boolean isFinished() {
+    return status == Status.DONE || status == Status.FAILED;
+  }
+
+  /**
+   * 보관 중인 결과 이미지(바운딩 박스 JPEG)의 바이트 수
+   */
+  public long retainedBytes() {
+    KfoodDetectionResponseDto current = result;
+    return current != null && current.getImageWithBoxes() != null ? current.getImageWithBoxes().length : 0;
+  }
+}
@@ -0,0 +1,358 @@
+package com.rus.rus.application.kfood;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ONNX Runtime(CPU)으로 JVM 안에서 직접 추론하는 감지기 (kfood.detector=onnx)
+ * - best.pt를 ONNX로 내보낸 모델을 사용합니다. (yolo export model=best.pt format=onnx imgsz=640)
+ * - 입력 텐서는 미리 할당한 direct FloatBuffer를 재사용하여 요청마다 큰 버퍼를 만들지 않습니다.
+ * - 출력([1, 4 + 클래스 수, 후보 수])의 디코딩과 NMS를 Java에서 수행합니다.
+ * - FastAPI 감지 서버와 같은 형식의 결과와 바운딩 박스가 그려진 JPEG를 반환합니다.
+ * - onnxruntime 의존성은 기본 빌드에 포함되지 않으므로 -PkfoodOnnx로 빌드한 jar에서만 사용할 수 있습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kfood.detector", havingValue = "onnx")
+public class OnnxKfoodDetector implements KfoodDetector {
+
+  /** Ultralytics 모델 메타데이터의 클래스 이름 ("{0: 'bibimbap', 1: 'bulgogi'}") */
+  private static final Pattern NAMES_PATTERN = Pattern.compile("(\\d+)\\s*:\\s*['\"]([^'\"]*)['\"]");
+  private static final int LETTERBOX_FILL = 0x727272;
+  private static final int MAX_DETECTIONS = 300;
+
+  private final OrtEnvironment environment;
+  private final OrtSession session;
+  private final String inputName;
+  private final int inputSize;
+  private final float confidenceThreshold;
+  private final float iouThreshold;
+  private final float jpegQuality;
+  private final List<String> labels;
+
+  /** 추론 입력 버퍼 풀 (동시에 추론 가능한 요청 수만큼 미리 할당) */
+  private final BlockingQueue<InferenceBuffer> buffers;
+
+  public OnnxKfoodDetector(
+      @Value("${kfood.onnx.model-path}") String modelPath,
+      @Value("${kfood.onnx.input-size:640}") int inputSize,
+      @Value("${kfood.onnx.confidence-threshold:0.5}") float confidenceThreshold,
+      @Value("${kfood.onnx.iou-threshold:0.7}") float iouThreshold,
+      @Value("${kfood.onnx.intra-op-threads:0}") int intraOpThreads,
+      @Value("${kfood.onnx.buffer-pool-size:4}") int bufferPoolSize,
+      @Value("${kfood.onnx.labels:}") List<String> fallbackLabels,
+      @Value("${kfood.preprocess.jpeg-quality:0.85}") float jpegQuality) throws OrtException {
+    this.inputSize = inputSize;
+    this.confidenceThreshold = confidenceThreshold;
+    this.iouThreshold = iouThreshold;
+    this.jpegQuality = jpegQuality;
+
+    this.environment = OrtEnvironment.getEnvironment();
+    try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+      options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+      if (intraOpThreads > 0) {
+        options.setIntraOpNumThreads(intraOpThreads);
+      }
+      this.session = environment.createSession(modelPath, options);
+    }
+    this.inputName = session.getInputNames().iterator().next();
+    this.labels = resolveLabels(session.getMetadata().getCustomMetadata().get("names"), fallbackLabels);
+
+    this.buffers = new ArrayBlockingQueue<>(bufferPoolSize);
+    for (int i = 0; i < bufferPoolSize; i++) {
+      buffers.add(new InferenceBuffer(inputSize));
+    }
+    log.info("ONNX K-Food 감지 모델 로드 완료 - 경로: {}, 클래스 수: {}", modelPath, labels.size());
+  }
+
+  @PreDestroy
+  public void close() throws OrtException {
+    session.close();
+  }
+
+  @Override
+  public KfoodDetectionResponseDto detect(PreparedImage prepared) {
+    BufferedImage image;
+    try (InputStream in = prepared.getBody().getInputStream()) {
+      image = ImageIO.read(in);
+    } catch (IOException e) {
+      throw new ApiException(HttpStatus.BAD_REQUEST, "이미지 파일을 읽을 수 없습니다.");
+    }
+    if (image == null) {
+      throw new ApiException(HttpStatus.BAD_REQUEST, "지원하지 않는 이미지 형식입니다.");
+    }
+
+    List<Detection> detections = infer(image);
+
+    List<Map<String, Object>> analysisResults = new ArrayList<>(detections.size());
+    double confidenceSum = 0.0;
+    for (Detection detection : detections) {
+      Map<String, Object> item = new LinkedHashMap<>();
+      item.put("label", labelOf(detection.classId));
+      item.put("confidence", (double) detection.score);
+      item.put("bounding_box", List.of((double) detection.x1, (double) detection.y1,
+          (double) detection.x2, (double) detection.y2));
+      analysisResults.add(item);
+      confidenceSum += detection.score;
+    }
+
+    return KfoodDetectionResponseDto.builder()
+        .imageWithBoxes(drawDetections(image, detections))
+        .detectedFoodLabels(detections.stream().map(detection -> labelOf(detection.classId)).toList())
+        .analysisResults(analysisResults)
+        .overallAverageConfidence(detections.isEmpty() ? 0.0 : confidenceSum / detections.size())
+        .build();
+  }
+
+  private List<Detection> infer(BufferedImage image) {
+    InferenceBuffer buffer;
+    try {
+      buffer = buffers.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 분석이 중단되었습니다.");
+    }
+
+    try {
+      Letterbox letterbox = buffer.fill(image);
+      try (OnnxTensor input = OnnxTensor.createTensor(environment, buffer.input,
+          new long[] { 1, 3, inputSize, inputSize });
+          OrtSession.Result result = session.run(Map.of(inputName, input))) {
+        OnnxTensor output = (OnnxTensor) result.get(0);
+        long[] shape = ((TensorInfo) output.getInfo()).getShape();
+        return nonMaxSuppression(decode(output.getFloatBuffer(), (int) shape[1], (int) shape[2], letterbox,
+            image.getWidth(), image.getHeight()));
+      }
+    } catch (OrtException e) {
+      log.error("ONNX 추론 실패: {}", e.getMessage(), e);
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "K-Food 객체 감지 중 오류가 발생했습니다.");
+    } finally {
+      buffers.offer(buffer);
+    }
+  }
+
+  /**
+   * YOLO 출력(채널 우선: [cx, cy, w, h, 클래스별 점수...] × 후보 수)을 원본 이미지 좌표의 후보로 변환합니다.
+   */
+  private List<Detection> decode(FloatBuffer output, int channels, int candidates, Letterbox letterbox,
+      int imageWidth, int imageHeight) {
+    int classCount = channels - 4;
+    List<Detection> detections = new ArrayList<>();
+    for (int i = 0; i < candidates; i++) {
+      int bestClass = -1;
+      float bestScore = confidenceThreshold;
+      for (int c = 0; c < classCount; c++) {
+        float score = output.get((4 + c) * candidates + i);
+        if (score > bestScore) {
+          bestScore = score;
+          bestClass = c;
+        }
+      }
+      if (bestClass < 0) {
+        continue;
+      }
+
+      float cx = output.get(i);
+      float cy = output.get(candidates + i);
+      float w = output.get(2 * candidates + i);
+      float h = output.get(3 * candidates + i);
+      float x1 = clamp((cx - w / 2 - letterbox.padX) / letterbox.scale, imageWidth);
+      float y1 = clamp((cy - h / 2 - letterbox.padY) / letterbox.scale, imageHeight);
+      float x2 = clamp((cx + w / 2 - letterbox.padX) / letterbox.scale, imageWidth);
+      float y2 = clamp((cy + h / 2 - letterbox.padY) / letterbox.scale, imageHeight);
+      detections.add(new Detection(bestClass, bestScore, x1, y1, x2, y2));
+    }
+    return detections;
+  }
+
+  /**
+   * 클래스별 NMS: 점수가 높은 순으로 채택하고, 같은 클래스에서 IoU가 임계값을 넘는 후보는 제거합니다.
+   */
+  private List<Detection> nonMaxSuppression(List<Detection> candidates) {
+    candidates.sort(Comparator.comparingDouble((Detection detection) -> detection.score).reversed());
+    boolean[] suppressed = new boolean[candidates.size()];
+    List<Detection> kept = new ArrayList<>();
+
+    for (int i = 0; i < candidates.size() && kept.size() < MAX_DETECTIONS; i++) {
+      if (suppressed[i]) {
+        continue;
+      }
+      Detection current = candidates.get(i);
+      kept.add(current);
+      for (int j = i + 1; j < candidates.size(); j++) {
+        Detection other = candidates.get(j);
+        if (!suppressed[j] && other.classId == current.classId && current.iou(other) > iouThreshold) {
+          suppressed[j] = true;
+        }
+      }
+    }
+    return kept;
+  }
+
+  private byte[] drawDetections(BufferedImage image, List<Detection> detections) {
+    BufferedImage canvas = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = canvas.createGraphics();
+    try {
+      g.drawImage(image, 0, 0, null);
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g.setStroke(new BasicStroke(2));
+      for (Detection detection : detections) {
+        Color color = Color.getHSBColor((detection.classId * 0.13f) % 1f, 0.8f, 0.95f);
+        int x = Math.round(detection.x1);
+        int y = Math.round(detection.y1);
+        g.setColor(color);
+        g.drawRect(x, y, Math.round(detection.x2 - detection.x1), Math.round(detection.y2 - detection.y1));
+
+        String text = String.format("%s %.2f", labelOf(detection.classId), detection.score);
+        int textWidth = g.getFontMetrics().stringWidth(text) + 6;
+        int textHeight = g.getFontMetrics().getHeight();
+        int textY = Math.max(textHeight, y);
+        g.fillRect(x, textY - textHeight, textWidth, textHeight);
+        g.setColor(Color.WHITE);
+        g.drawString(text, x + 3, textY - g.getFontMetrics().getDescent());
+      }
+    } finally {
+      g.dispose();
+    }
+
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(imageOutput);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(jpegQuality);
+      writer.write(null, new IIOImage(canvas, null, null), param);
+    } catch (IOException e) {
+      throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "감지 결과 이미지 생성 중 오류가 발생했습니다.");
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+
+  private String labelOf(int classId) {
+    return classId < labels.size() ? labels.get(classId) : "class_" + classId;
+  }
+
+  private static float clamp(float value, int max) {
+    return Math.max(0f, Math.min(max, value));
+  }
+
+  private static List<String> resolveLabels(String namesMetadata, List<String> fallbackLabels) {
+    if (namesMetadata == null) {
+      return fallbackLabels;
+    }
+
+    Map<Integer, String> names = new HashMap<>();
+    Matcher matcher = NAMES_PATTERN.matcher(namesMetadata);
+    while (matcher.find()) {
+      names.put(Integer.parseInt(matcher.group(1)), matcher.group(2));
+    }
+    String[] ordered = new String[names.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1];
+    names.forEach((id, name) -> ordered[id] = name);
+    return Arrays.asList(ordered);
+  }
+
+  /**
+   * 요청 간 재사용하는 입력 버퍼
+   * - canvas: 레터박스(비율 유지 + 회색 여백)를 그리는 입력 크기의 RGB 이미지
+   * - input: NCHW float32 텐서용 direct 버퍼 (ONNX Runtime이 복사 없이 사용)
+   */
+  private static final class InferenceBuffer {
+    private final int size;
+    private final BufferedImage canvas;
+    private final int[] pixels;
+    private final FloatBuffer input;
+
+    private InferenceBuffer(int size) {
+      this.size = size;
+      this.canvas = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+      this.pixels = ((DataBufferInt) canvas.getRaster().getDataBuffer()).getData();
+      this.input = ByteBuffer.allocateDirect(3 * size * size * Float.BYTES)
+          .order(ByteOrder.nativeOrder())
+          .asFloatBuffer();
+    }
+
+    private Letterbox fill(BufferedImage image) {
+      float scale = Math.min((float) size / image.getWidth(), (float) size / image.getHeight());
+      int width = Math.round(image.getWidth() * scale);
+      int height = Math.round(image.getHeight() * scale);
+      int padX = (size - width) / 2;
+      int padY = (size - height) / 2;
+
+      Arrays.fill(pixels, LETTERBOX_FILL);
+      Graphics2D g = canvas.createGraphics();
+      try {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, padX, padY, width, height, null);
+      } finally {
+        g.dispose();
+      }
+
+      int plane = size * size;
+      for (int i = 0; i < plane; i++) {
+        int rgb = pixels[i];
+        input.put(i, ((rgb >> 16) & 0xFF) / 255f);
+        input.put(plane + i, ((rgb >> 8) & 0xFF) / 255f);
+        input.put(2 * plane + i, (rgb & 0xFF) / 255f);
+      }
+      input.rewind();
+      return new Letterbox(scale, padX, padY);
+    }
+  }
+
+  private record Letterbox(float scale, int padX, int padY) {
+  }
+
+  private record Detection(int classId, float score, float x1, float y1, float x2, float y2) {
+    float iou(Detection other) {
+      float interWidth = Math.max(0f, Math.min(x2, other.x2) - Math.max(x1, other.x1));
+      float interHeight = Math.max(0f, Math.min(y2, other.y2) - Math.max(y1, other.y1));
+      float intersection = interWidth * interHeight;
+      float union = (x2 - x1) * (y2 - y1) + (other.x2 - other.x1) * (other.y2 - other.y1) - intersection;
+      return union <= 0f ? 0f : intersection / union;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.rus.rus.application.kfood;
+
+import java.nio.file.Path;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 감지 서버로 전송할 준비가 끝난 이미지
+ * - 전처리(축소/회전)된 경우 body는 재인코딩된 JPEG이며, scaleX/scaleY로 원본 좌표를 복원합니다.
+ * - 전처리를 건너뛴 경우 body는 업로드 원본 Resource이고 배율은 1입니다.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class PreparedImage {
+
+  /** 감지 서버로 전송할 이미지 본문 */
+  private final Resource body;
+
+  /** 전송할 이미지의 Content-Type */
+  private final MediaType contentType;
+
+  /** multipart 파트에 사용할 파일명 */
+  private final String filename;
+
+  /** EXIF 회전이 반영된 원본 이미지 크기 (전처리를 건너뛴 경우 0) */
+  private final int originalWidth;
+  private final int originalHeight;
+
+  /** 전송 이미지 좌표 → 원본 이미지 좌표 배율 */
+  @Builder.Default
+  private final double scaleX = 1.0;
+  @Builder.Default
+  private final double scaleY = 1.0;
+
+  /** 축소된 이미지의 dHash (64비트, 전처리를 건너뛴 경우 null) */
+  private final Long perceptualHash;
+
+  /** 요청과 분리하기 위해 업로드 원본을 복사한 임시 파일 (감지가 끝나면 삭제, 분리하지 않았으면 null) */
+  private final Path detachedFile;
+
+  public boolean isResized() {
+    return scaleX != 1.0 || scaleY != 1.0;
+  }
+}
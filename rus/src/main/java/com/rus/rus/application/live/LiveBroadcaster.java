@@ -0,0 +1,377 @@
+package com.rus.rus.application.live;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.ChallengeParticipantCounter;
+import com.rus.rus.application.event.ChallengeCompleted;
+import com.rus.rus.application.event.DomainEvent;
+import com.rus.rus.application.event.DomainEventConsumer;
+import com.rus.rus.application.event.LuxChanged;
+import com.rus.rus.application.event.ProfileChanged;
+import com.rus.rus.common.RetryLaterException;
+import com.rus.rus.controller.dto.UserRankingItemDto;
+import com.rus.rus.controller.dto.res.LiveChallengeDto;
+import com.rus.rus.controller.dto.res.LiveRankingDeltaDto;
+import com.rus.rus.controller.dto.res.LiveSnapshotDto;
+import com.rus.rus.domain.UserProfile;
+import com.rus.rus.domain.UserSetting;
+import com.rus.rus.infra.repository.UserProfileRepository;
+import com.rus.rus.infra.repository.UserSettingRepository;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상위 랭킹과 챌린지 참여자 수 실시간 푸시 (SSE)
+ * - 구독하면 전체 상태(snapshot)를 한 번 받고, 이후에는 바뀐 부분만 받습니다. (ranking: 바뀐 순위, challenge: 참여자 수)
+ * - lux/프로필 변경과 챌린지 달성 도메인 이벤트는 변경 표시만 남기고, tick마다 표시된 항목만 다시 조회합니다.
+ *   한 tick 동안의 변경은 하나의 프레임으로 합쳐지므로 조회 수가 구독자 수·변경 수와 무관합니다.
+ * - 프레임은 tick마다 한 번만 직렬화하고 모든 구독자에게 같은 프레임을 보냅니다.
+ * - 다른 서버에서 일어난 변경이나 일일 초기화처럼 이벤트가 없는 변경은 full-refresh-ms마다 다시 조회하여 반영합니다.
+ * - 구독자가 없으면 조회하지 않습니다. 보낼 변경이 없으면 heartbeat-ms마다 주석 프레임으로 연결을 유지합니다.
+ * - DB 조회와 전송은 잠금 밖에서 합니다. 잠금 안에서는 이전 상태와 비교해 프레임을 만들고 구독자별 대기열에 넣기만 하며,
+ *   전송은 구독자마다 가상 스레드에서 순서대로 합니다. 전송이 실패하거나 max-pending-frames를 넘게 밀린 구독은 종료합니다.
+ */
+@Slf4j
+@Component
+public class LiveBroadcaster implements DomainEventConsumer {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+
+    private final UserProfileRepository userProfileRepository;
+    private final UserSettingRepository userSettingRepository;
+    private final ChallengeParticipantCounter challengeParticipantCounter;
+    private final ObjectMapper objectMapper;
+    private final Executor sender;
+    private final int topN;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final long heartbeatMillis;
+    private final long fullRefreshMillis;
+    private final int maxPendingFrames;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rankingDirty = new AtomicBoolean();
+    private final AtomicBoolean challengeDirty = new AtomicBoolean();
+
+    // 아래 상태는 lock으로 동기화합니다. (tick의 변경 프레임과 구독 시 스냅샷이 구독자 대기열에 섞이지 않도록)
+    // lock 안에서는 DB 조회나 전송을 하지 않습니다.
+    private final Object lock = new Object();
+    private List<UserRankingItemDto> rankings;
+    private long participant;
+    private long version;
+    private Set<DataWithMediaType> snapshotFrame;
+    private long lastRefreshAt;
+    private long lastSentAt;
+
+    @Autowired
+    public LiveBroadcaster(UserProfileRepository userProfileRepository, UserSettingRepository userSettingRepository,
+            ChallengeParticipantCounter challengeParticipantCounter, ObjectMapper objectMapper,
+            @Value("${live.ranking.top-n:10}") int topN,
+            @Value("${live.max-subscribers:1000}") int maxSubscribers,
+            @Value("${live.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+            @Value("${live.heartbeat-ms:15000}") long heartbeatMillis,
+            @Value("${live.full-refresh-ms:60000}") long fullRefreshMillis,
+            @Value("${live.max-pending-frames:16}") int maxPendingFrames) {
+        this(userProfileRepository, userSettingRepository, challengeParticipantCounter, objectMapper,
+                Executors.newVirtualThreadPerTaskExecutor(), topN, maxSubscribers, emitterTimeoutMillis,
+                heartbeatMillis, fullRefreshMillis, maxPendingFrames);
+    }
+
+    LiveBroadcaster(UserProfileRepository userProfileRepository, UserSettingRepository userSettingRepository,
+            ChallengeParticipantCounter challengeParticipantCounter, ObjectMapper objectMapper, Executor sender,
+            int topN, int maxSubscribers, long emitterTimeoutMillis, long heartbeatMillis, long fullRefreshMillis,
+            int maxPendingFrames) {
+        this.userProfileRepository = userProfileRepository;
+        this.userSettingRepository = userSettingRepository;
+        this.challengeParticipantCounter = challengeParticipantCounter;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.topN = topN;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.fullRefreshMillis = fullRefreshMillis;
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    /**
+     * 새 구독을 만들고 현재 스냅샷을 보냅니다.
+     *
+     * @throws RetryLaterException 구독자 수가 max-subscribers에 도달한 경우 503
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE, "실시간 구독자가 너무 많습니다. 잠시 후 다시 시도해주세요.", 30);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            if (rankings != null) {
+                join(subscriber);
+                return emitter;
+            }
+        }
+
+        // 처음 구독하면 잠금 밖에서 조회한 뒤 상태를 만듭니다. (그 사이 다른 구독이 만들었으면 그 상태를 사용)
+        List<UserRankingItemDto> latestRankings = loadTopRankings();
+        long latestParticipant = challengeParticipantCounter.completedCount();
+        synchronized (lock) {
+            if (rankings == null) {
+                refresh(latestRankings, latestParticipant, System.currentTimeMillis());
+            }
+            join(subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof LuxChanged || event instanceof ProfileChanged) {
+                rankingDirty.set(true);
+            } else if (event instanceof ChallengeCompleted) {
+                challengeDirty.set(true);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${live.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        boolean full;
+        synchronized (lock) {
+            if (subscribers.isEmpty()) {
+                // 구독자가 없는 동안의 변경은 추적하지 않고, 다음 구독 때 새로 조회합니다.
+                rankings = null;
+                snapshotFrame = null;
+                return;
+            }
+            full = now - lastRefreshAt >= fullRefreshMillis;
+        }
+
+        boolean ranking = rankingDirty.getAndSet(false) || full;
+        boolean challenge = challengeDirty.getAndSet(false) || full;
+        List<UserRankingItemDto> latestRankings = ranking ? loadTopRankings() : null;
+        Long latestParticipant = challenge ? challengeParticipantCounter.completedCount() : null;
+
+        synchronized (lock) {
+            if (rankings == null) {
+                return;
+            }
+            List<Set<DataWithMediaType>> frames = refresh(latestRankings, latestParticipant, now);
+            if (frames.isEmpty() && now - lastSentAt >= heartbeatMillis) {
+                frames = List.of(HEARTBEAT);
+            }
+            for (Set<DataWithMediaType> frame : frames) {
+                subscribers.forEach(subscriber -> subscriber.offer(frame));
+            }
+            if (!frames.isEmpty()) {
+                lastSentAt = now;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * lock 안에서 호출합니다. 스냅샷을 대기열에 넣은 뒤 구독자로 등록하므로, 이후의 변경 프레임은 항상 스냅샷 뒤에 전송됩니다.
+     */
+    private void join(Subscriber subscriber) {
+        subscriber.offer(snapshotFrame);
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * lock 안에서 호출합니다. 새로 조회한 값(null이면 조회하지 않은 항목)을 이전 상태와 비교하고, 보낼 변경 프레임을 반환합니다.
+     * 처음 조회하면 변경 프레임 없이 스냅샷만 만듭니다.
+     */
+    private List<Set<DataWithMediaType>> refresh(List<UserRankingItemDto> latestRankings, Long latestParticipant,
+            long now) {
+        boolean initial = rankings == null;
+        List<Set<DataWithMediaType>> frames = new ArrayList<>();
+
+        if (latestRankings != null) {
+            if (!initial) {
+                List<LiveRankingDeltaDto.RankChange> changes = diff(rankings, latestRankings);
+                if (!changes.isEmpty() || latestRankings.size() != rankings.size()) {
+                    version++;
+                    frames.add(frame("ranking", LiveRankingDeltaDto.builder()
+                            .version(version)
+                            .size(latestRankings.size())
+                            .changes(changes)
+                            .build()));
+                }
+            }
+            rankings = latestRankings;
+        }
+
+        if (latestParticipant != null) {
+            if (!initial && latestParticipant != participant) {
+                frames.add(frame("challenge", LiveChallengeDto.builder().participant(latestParticipant).build()));
+            }
+            participant = latestParticipant;
+        }
+
+        if (initial || !frames.isEmpty()) {
+            snapshotFrame = frame("snapshot", LiveSnapshotDto.builder()
+                    .version(version)
+                    .rankings(rankings)
+                    .participant(participant)
+                    .build());
+        }
+        if ((latestRankings != null && latestParticipant != null) || initial) {
+            lastRefreshAt = now;
+        }
+        return frames;
+    }
+
+    private List<UserRankingItemDto> loadTopRankings() {
+        List<UserProfile> profiles = userProfileRepository.findAllByOrderByLuxDescUidAsc(PageRequest.of(0, topN));
+        Map<String, UserSetting> settings = userSettingRepository
+                .findAllByUidInWithTitleFetchJoin(profiles.stream().map(UserProfile::getUid).toList()).stream()
+                .collect(Collectors.toMap(UserSetting::getUid, Function.identity()));
+        return profiles.stream()
+                .filter(profile -> settings.containsKey(profile.getUid()))
+                .map(profile -> UserRankingItemDto.from(profile, settings.get(profile.getUid())))
+                .toList();
+    }
+
+    private static List<LiveRankingDeltaDto.RankChange> diff(List<UserRankingItemDto> previous,
+            List<UserRankingItemDto> latest) {
+        List<LiveRankingDeltaDto.RankChange> changes = new ArrayList<>();
+        for (int i = 0; i < latest.size(); i++) {
+            if (i >= previous.size() || !sameItem(previous.get(i), latest.get(i))) {
+                changes.add(LiveRankingDeltaDto.RankChange.builder().rank(i + 1).item(latest.get(i)).build());
+            }
+        }
+        return changes;
+    }
+
+    private static boolean sameItem(UserRankingItemDto a, UserRankingItemDto b) {
+        return Objects.equals(a.getName(), b.getName())
+                && a.getLevel() == b.getLevel()
+                && a.getLux() == b.getLux()
+                && Objects.equals(a.getLumiImage(), b.getLumiImage())
+                && Objects.equals(a.getTitle() != null ? a.getTitle().getTitleId() : null,
+                        b.getTitle() != null ? b.getTitle().getTitleId() : null);
+    }
+
+    /**
+     * 이벤트를 한 번만 직렬화해 모든 구독자에게 그대로 보낼 프레임을 만듭니다.
+     */
+    private Set<DataWithMediaType> frame(String name, Object data) {
+        try {
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(data)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("실시간 프레임을 직렬화할 수 없습니다: " + name, e);
+        }
+    }
+
+    /**
+     * 구독 하나의 전송 대기열
+     * - offer는 대기열에 넣기만 하고, 전송은 sender 스레드 하나가 대기열 순서대로 합니다. (동시에 두 스레드가 보내지 않음)
+     * - 대기열이 max-pending-frames를 넘으면 전송이 느린 구독으로 보고 종료합니다.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingFrames) {
+                log.debug("전송이 밀린 실시간 구독을 종료합니다.");
+                close(null);
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> frame;
+                while (!closed.get() && (frame = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(frame);
+                    } catch (IOException | IllegalStateException e) {
+                        close(e);
+                    }
+                }
+                draining.set(false);
+                // 내려놓은 직후 들어온 프레임은 여기서 이어서 보냅니다.
+            } while (!closed.get() && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * 목록에서 바로 제거하고, 전송 중인 스레드와 경합하지 않도록 종료는 sender 스레드에서 합니다.
+         */
+        private void close(Throwable error) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            pending.clear();
+            sender.execute(() -> {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                } else {
+                    emitter.complete();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.rus.rus.application.outbox;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 받는 하위 소비자 (푸시, 분석, 캐시 무효화 등)
+ * - 빈으로 등록하면 OutboxRelay가 사용자별로 묶은 메세지 목록을 전달합니다.
+ * - 예외를 던지면 그 묶음 전체가 다음 릴레이에서 다시 전달되므로(at-least-once), 중복 전달에 안전하게 작성합니다.
+ */
+public interface OutboxConsumer {
+
+    void onMessages(List<OutboxMessage> messages);
+}
@@ -0,0 +1,11 @@
+package com.rus.rus.application.outbox;
+
+import java.util.List;
+
+import com.rus.rus.application.event.DomainEvent;
+
+/**
+ * 릴레이가 한 묶음에서 꺼낸 한 사용자의 이벤트 (기록 순서)
+ */
+public record OutboxMessage(String uid, List<DomainEvent> events) {
+}
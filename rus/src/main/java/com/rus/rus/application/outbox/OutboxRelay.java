@@ -0,0 +1,169 @@
+package com.rus.rus.application.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.event.DomainEvent;
+import com.rus.rus.infra.repository.OutboxJdbcRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 아웃박스 릴레이
+ * - 주기적으로 아웃박스 행을 batch-size개씩 FOR UPDATE SKIP LOCKED로 잠가 꺼내고, 사용자별로 묶어(coalescing)
+ *   모든 OutboxConsumer에 전달한 뒤 같은 트랜잭션에서 삭제합니다.
+ * - 소비자가 실패하면 트랜잭션이 롤백되어 행이 남고 다음 주기에 다시 전달됩니다. (at-least-once)
+ * - 묶음이 가득 차면 backlog가 남은 것이므로 한 주기에 최대 max-batches-per-run 묶음까지 이어서 처리합니다.
+ * - 여러 서버에서 동시에 실행되면 서로 다른 행을 나눠 처리하므로, 사용자별 순서는 한 묶음 안에서만 보장됩니다.
+ * - 지표: outbox.relay.events(처리한 이벤트), outbox.relay.messages(묶은 메세지), outbox.relay.lag(기록→전달 지연),
+ *   outbox.relay.batch(묶음 처리 시간), outbox.relay.failures, outbox.backlog.age(남은 가장 오래된 행의 나이, 초)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = new HashMap<>();
+
+    static {
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            EVENT_TYPES.put(type.getSimpleName(), type.asSubclass(DomainEvent.class));
+        }
+    }
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final List<OutboxConsumer> consumers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter eventCounter;
+    private final Counter messageCounter;
+    private final Counter failureCounter;
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+    private final AtomicLong backlogAgeSeconds = new AtomicLong();
+
+    public OutboxRelay(OutboxJdbcRepository outboxJdbcRepository, List<OutboxConsumer> consumers,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.outboxJdbcRepository = outboxJdbcRepository;
+        this.consumers = consumers;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.eventCounter = Counter.builder("outbox.relay.events")
+                .description("릴레이가 전달한 아웃박스 이벤트 수")
+                .register(meterRegistry);
+        this.messageCounter = Counter.builder("outbox.relay.messages")
+                .description("사용자별로 묶어 전달한 메세지 수")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+                .description("소비자 오류로 롤백된 묶음 수")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("아웃박스 기록부터 전달까지 걸린 시간")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("한 묶음을 꺼내 전달하고 삭제하는 데 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog.age", backlogAgeSeconds, AtomicLong::get)
+                .description("전달되지 않은 가장 오래된 아웃박스 이벤트의 나이(초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer relayed = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+                if (relayed == null || relayed < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.error("아웃박스 릴레이 실패. 다음 주기에 다시 전달합니다.", e);
+        } finally {
+            LocalDateTime oldest = outboxJdbcRepository.findOldestCreatedAt();
+            backlogAgeSeconds.set(oldest != null
+                    ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds())
+                    : 0);
+        }
+    }
+
+    /**
+     * 한 묶음을 잠가 꺼내 전달하고 삭제합니다. (트랜잭션 안에서 실행)
+     *
+     * @return 꺼낸 행 수
+     */
+    private int relayBatch() {
+        List<OutboxJdbcRepository.OutboxRow> rows = outboxJdbcRepository.lockBatch(batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<DomainEvent>> byUser = new LinkedHashMap<>();
+        for (OutboxJdbcRepository.OutboxRow row : rows) {
+            DomainEvent event = deserialize(row);
+            if (event != null) {
+                byUser.computeIfAbsent(row.uid(), uid -> new ArrayList<>()).add(event);
+            }
+        }
+        List<OutboxMessage> messages = byUser.entrySet().stream()
+                .map(entry -> new OutboxMessage(entry.getKey(), List.copyOf(entry.getValue())))
+                .toList();
+
+        if (!messages.isEmpty()) {
+            for (OutboxConsumer consumer : consumers) {
+                consumer.onMessages(messages);
+            }
+        }
+        outboxJdbcRepository.deleteAllByIdIn(rows.stream().map(OutboxJdbcRepository.OutboxRow::id).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        rows.forEach(row -> lagTimer.record(Duration.between(row.createdAt(), now)));
+        eventCounter.increment(rows.size());
+        messageCounter.increment(messages.size());
+        return rows.size();
+    }
+
+    /**
+     * 알 수 없는 타입이나 읽을 수 없는 행은 경고를 남기고 건너뜁니다. (계속 재시도해도 성공할 수 없으므로 삭제)
+     */
+    private DomainEvent deserialize(OutboxJdbcRepository.OutboxRow row) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(row.type());
+        if (type == null) {
+            log.warn("알 수 없는 아웃박스 이벤트 타입입니다. id={}, type={}", row.id(), row.type());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.payload(), type);
+        } catch (JsonProcessingException e) {
+            log.warn("아웃박스 이벤트를 읽을 수 없습니다. id={}, type={}", row.id(), row.type(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rus.rus.application.outbox;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.event.DomainEvent;
+import com.rus.rus.infra.repository.OutboxJdbcRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 도메인 이벤트를 커밋 직전에 같은 트랜잭션으로 아웃박스 테이블에 기록합니다.
+ * - 변경이 커밋되면 이벤트도 반드시 남고(프로세스가 커밋 직후 종료되어도 유실되지 않음), 롤백되면 이벤트도 남지 않습니다.
+ * - 기록 실패는 예외로 전파되어 변경 트랜잭션도 롤백됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        try {
+            outboxJdbcRepository.insert(event.uid(), event.getClass().getSimpleName(),
+                    objectMapper.writeValueAsString(event), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("도메인 이벤트를 직렬화할 수 없습니다: " + event, e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rus.rus.application.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rus.rus.common.RetryLaterException;
+
+/**
+ * 사용자별 하루 LLM 토큰 사용량 제한
+ * - LLM 응답의 사용량(OpenAI usage.total_tokens, Gemini usageMetadata.totalTokenCount)을 사용자별로 합산합니다.
+ * - 오늘 사용량이 한도 이상이면 LLM을 호출하는 요청을 자정까지 429로 거절합니다.
+ *   (요청 전에는 사용할 토큰 수를 알 수 없으므로, 한도를 넘긴 요청 한 건은 허용됩니다)
+ * - 날짜가 바뀐 뒤 처음 기록할 때 0부터 다시 셉니다. 서버(인스턴스)별로 동작합니다.
+ */
+@Component
+public class LlmTokenQuota {
+
+    private final long dailyTokens;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, DailyUsage> usage = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LlmTokenQuota(@Value("${rate-limit.llm.daily-tokens:200000}") long dailyTokens) {
+        this(dailyTokens, Clock.systemDefaultZone());
+    }
+
+    LlmTokenQuota(long dailyTokens, Clock clock) {
+        this.dailyTokens = dailyTokens;
+        this.clock = clock;
+    }
+
+    /**
+     * 오늘 사용량이 한도 미만인지 확인합니다.
+     *
+     * @param uid 사용자 ID
+     * @throws RetryLaterException 한도를 모두 사용한 경우 429 (Retry-After: 자정까지 남은 초)
+     */
+    public void check(String uid) {
+        if (used(uid) >= dailyTokens) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            long untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toSeconds();
+            throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+                    "오늘 사용할 수 있는 AI 사용량을 모두 사용했습니다. 내일 다시 이용해주세요.", untilMidnight);
+        }
+    }
+
+    /**
+     * LLM 응답의 토큰 사용량을 더합니다.
+     *
+     * @param uid    사용자 ID
+     * @param tokens 응답에 포함된 전체 토큰 수
+     */
+    public void record(String uid, long tokens) {
+        if (uid == null || tokens <= 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        usage.compute(uid, (key, current) -> current == null || !current.day().equals(today)
+                ? new DailyUsage(today, tokens)
+                : new DailyUsage(today, current.tokens() + tokens));
+    }
+
+    /**
+     * 오늘 사용한 토큰 수를 반환합니다.
+     */
+    public long used(String uid) {
+        DailyUsage current = usage.get(uid);
+        return current != null && current.day().equals(LocalDate.now(clock)) ? current.tokens() : 0;
+    }
+
+    /**
+     * 지난 날짜의 사용량을 삭제합니다.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now(clock);
+        usage.values().removeIf(current -> current.day().isBefore(today));
+    }
+
+    private record DailyUsage(LocalDate day, long tokens) {
+    }
+}
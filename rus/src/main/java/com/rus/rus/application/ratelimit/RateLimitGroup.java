@@ -0,0 +1,53 @@
+package com.rus.rus.application.ratelimit;
+
+import org.springframework.util.AntPathMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 사용자별 요청 제한을 적용하는 엔드포인트 그룹
+ * - 그룹마다 토큰 버킷의 크기(capacity)와 분당 충전량(refill-per-minute)을 rate-limit.{name}.* 로 설정합니다.
+ * - llm인 그룹은 요청 전에 하루 LLM 토큰 사용량(LlmTokenQuota)도 확인합니다.
+ */
+public enum RateLimitGroup {
+
+    CHAT("chat", true, "/v1/openai/**", "/v1/vertexai/**"),
+    // 작업 결과 조회(/kfood/jobs/{jobId})는 제한하지 않습니다.
+    KFOOD("kfood", false, "/kfood/detect", "/kfood/detect/**", "/kfood/jobs"),
+    REPORT("report", true, "/users/report/**");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String propertyName;
+    private final boolean llm;
+    private final String[] paths;
+
+    RateLimitGroup(String propertyName, boolean llm, String... paths) {
+        this.propertyName = propertyName;
+        this.llm = llm;
+        this.paths = paths;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public boolean isLlm() {
+        return llm;
+    }
+
+    /**
+     * 요청 경로가 속한 그룹을 반환합니다. 제한 대상이 아니면 null을 반환합니다.
+     */
+    public static RateLimitGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitGroup group : values()) {
+            for (String pattern : group.paths) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+}
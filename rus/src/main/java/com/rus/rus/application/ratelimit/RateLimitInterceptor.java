@@ -0,0 +1,71 @@
+package com.rus.rus.application.ratelimit;
+
+import com.rus.rus.security.JwtUtil;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 비용이 큰 엔드포인트(chat, kfood, report)의 사용자별 요청 제한
+ * - 인증된 요청은 uid, 인증 없이 허용된 요청(K-Food 감지)은 IP를 키로 사용합니다.
+ *   IP는 nginx가 보낸 X-Forwarded-For로 복원한 클라이언트 주소입니다. (server.forward-headers-strategy=native)
+ * - 공개 경로는 JwtAuthenticationFilter를 거치지 않으므로, 유효한 Bearer 토큰을 함께 보낸 요청은 여기서 uid를 확인해
+ *   같은 IP(통신사 NAT 등) 뒤의 로그인 사용자끼리 버킷을 공유하지 않도록 합니다.
+ * - LLM을 호출하는 그룹은 하루 토큰 사용량을 먼저 확인합니다.
+ * - 거절은 RetryLaterException(429 + Retry-After)으로 GlobalExceptionHandler가 응답합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final UserRateLimiter userRateLimiter;
+    private final LlmTokenQuota llmTokenQuota;
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Mono 반환 API의 비동기 재디스패치는 최초 요청에서 이미 제한을 적용했습니다.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        RateLimitGroup group = RateLimitGroup.match(request);
+        if (group == null) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+
+        if (authenticated && group.isLlm()) {
+            llmTokenQuota.check(authentication.getName());
+        }
+        userRateLimiter.acquire(group, authenticated ? authentication.getName() : anonymousKey(request));
+        return true;
+    }
+
+    /**
+     * 인증 없이 허용된 요청의 제한 키
+     * - Bearer 토큰이 유효하면 uid를 사용합니다. (검증 결과는 JwtUtil이 exp까지 캐시)
+     * - 토큰이 없거나 유효하지 않으면 요청을 거절하지 않고 IP를 사용합니다.
+     */
+    private String anonymousKey(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            try {
+                return jwtUtil.getUidFromToken(authorizationHeader.substring(7));
+            } catch (Exception e) {
+                // 유효하지 않은 토큰은 비로그인 요청과 같게 취급합니다.
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
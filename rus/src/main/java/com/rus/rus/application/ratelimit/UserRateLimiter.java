@@ -0,0 +1,124 @@
+package com.rus.rus.application.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rus.rus.common.RetryLaterException;
+
+/**
+ * 사용자별 토큰 버킷 요청 제한
+ * - (그룹, 사용자)마다 버킷을 두고, 요청마다 토큰 1개를 소비합니다. 토큰이 없으면 429 + Retry-After(다음 토큰까지 남은 초)를 던집니다.
+ * - 충전은 타이머 없이 요청 시점에 마지막 충전 이후 경과 시간만큼 계산합니다. (lazy refill)
+ * - 버킷 갱신은 키 해시로 고른 잠금(lock striping)으로 보호하여, 다른 사용자끼리는 잠금 경합이 거의 없습니다.
+ * - 가득 찬 채로 오래 쓰이지 않은 버킷은 주기적으로 삭제합니다. (다시 만들어도 가득 찬 상태와 같음)
+ * - 서버(인스턴스)별로 동작합니다.
+ */
+@Component
+public class UserRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public UserRateLimiter(Environment environment) {
+        this(environment, System::nanoTime);
+    }
+
+    UserRateLimiter(Environment environment, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            String prefix = "rate-limit." + group.getPropertyName() + ".";
+            int capacity = environment.getProperty(prefix + "capacity", Integer.class, 10);
+            double refillPerMinute = environment.getProperty(prefix + "refill-per-minute", Double.class, 10.0);
+            limits.put(group, new Limit(capacity, refillPerMinute / TimeUnit.MINUTES.toNanos(1)));
+        }
+    }
+
+    /**
+     * 토큰 1개를 소비합니다.
+     *
+     * @param group 엔드포인트 그룹
+     * @param key   사용자 식별자 (uid, 비로그인 요청은 IP)
+     * @throws RetryLaterException 토큰이 없는 경우 429
+     */
+    public void acquire(RateLimitGroup group, String key) {
+        Limit limit = limits.get(group);
+        String bucketKey = group.getPropertyName() + ":" + key;
+        long now = nanoClock.getAsLong();
+
+        double missing;
+        synchronized (locks[Math.floorMod(bucketKey.hashCode(), STRIPES)]) {
+            Bucket bucket = buckets.computeIfAbsent(bucketKey, k -> new Bucket(limit, now));
+            bucket.refill(now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return;
+            }
+            missing = 1 - bucket.tokens;
+        }
+
+        long retryAfterSeconds = (long) Math.ceil(missing / limit.tokensPerNano() / TimeUnit.SECONDS.toNanos(1));
+        throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+                "요청이 너무 많습니다. " + retryAfterSeconds + "초 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+
+    /**
+     * 다시 가득 찼을 만큼 쓰이지 않은 버킷을 삭제합니다.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.forEach((bucketKey, bucket) -> {
+            synchronized (locks[Math.floorMod(bucketKey.hashCode(), STRIPES)]) {
+                bucket.refill(now);
+                if (bucket.tokens >= bucket.limit.capacity()) {
+                    buckets.remove(bucketKey, bucket);
+                }
+            }
+        });
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private record Limit(int capacity, double tokensPerNano) {
+    }
+
+    /** 잠금(stripe) 안에서만 읽고 씁니다. */
+    private static final class Bucket {
+        private final Limit limit;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(limit.capacity(), tokens + elapsed * limit.tokensPerNano());
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
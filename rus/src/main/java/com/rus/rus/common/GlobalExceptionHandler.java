@@ -1,5 +1,6 @@
 package com.rus.rus.common;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,6 +20,17 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, httpStatus);
   }
 
+  // 재시도 가능한 예외 (429/503 + Retry-After)
+  @ExceptionHandler(RetryLaterException.class)
+  public ResponseEntity<ErrorResponseDTO> handleRetryLaterException(RetryLaterException ex) {
+    HttpStatus httpStatus = ex.getStatus();
+    ErrorResponseDTO errorResponse = new ErrorResponseDTO(httpStatus.value(), ex.getMessage());
+
+    return ResponseEntity.status(httpStatus)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorResponse);
+  }
+
   // 예상치 못한 모든 예외에 대한 처리
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponseDTO> handleAllException(Exception ex) {
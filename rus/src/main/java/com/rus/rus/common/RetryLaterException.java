@@ -0,0 +1,20 @@
+package com.rus.rus.common;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+
+/**
+ * 처리 용량 초과 등으로 잠시 후 재시도해야 하는 경우의 예외
+ * - 응답에 Retry-After 헤더(초)를 함께 내려줍니다.
+ */
+@Getter
+public class RetryLaterException extends ApiException {
+    private final long retryAfterSeconds;
+
+    public RetryLaterException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(status, message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.rus.rus.config;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.rus.rus.application.concurrency.ConcurrencyGroup;
+import com.rus.rus.common.ErrorResponseDTO;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 적응형 동시 처리 한도 필터
+ * - 요청을 AI/DB 그룹으로 나누고, 그룹별 AdaptiveConcurrencyLimiter의 한도를 넘는 요청은 대기열에 쌓지 않고
+ *   바로 503 + Retry-After로 거절합니다. (과부하 시 긴 대기와 타임아웃 대신 빠른 실패)
+ * - 한도는 측정한 응답 시간이 부하가 없을 때의 기준보다 늘어나면 줄어들고, 다시 짧아지면 늘어납니다.
+ * - 인증(JWT 검증)보다 먼저 실행되어 과부하 시 인증 비용도 쓰지 않습니다.
+ * - Mono 반환 API는 비동기 처리가 끝날 때까지 슬롯을 점유합니다.
+ * - concurrency-limit.enabled=false 이면 동작하지 않습니다. 헬스 체크(/actuator/**)와 연결을 오래 유지하는
+ *   실시간 스트림(/live/**)은 제한하지 않습니다.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final Map<ConcurrencyGroup, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(ConcurrencyGroup.class);
+
+    @Autowired
+    public ConcurrencyLimitFilter(Environment environment, ObjectMapper objectMapper) {
+        this(environment, objectMapper, System::nanoTime);
+    }
+
+    ConcurrencyLimitFilter(Environment environment, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.enabled = environment.getProperty("concurrency-limit.enabled", Boolean.class, true);
+        this.objectMapper = objectMapper;
+        for (ConcurrencyGroup group : ConcurrencyGroup.values()) {
+            String prefix = "concurrency-limit." + group.getPropertyName() + ".";
+            limiters.put(group, new AdaptiveConcurrencyLimiter(group.getPropertyName(),
+                    environment.getProperty(prefix + "initial-limit", Integer.class, 20),
+                    environment.getProperty(prefix + "min-limit", Integer.class, 2),
+                    environment.getProperty(prefix + "max-limit", Integer.class, 200),
+                    environment.getProperty(prefix + "tolerance", Double.class, 2.0),
+                    environment.getProperty(prefix + "window-ms", Long.class, 1000L),
+                    environment.getProperty(prefix + "min-window-samples", Integer.class, 10),
+                    nanoClock));
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter limiter(ConcurrencyGroup group) {
+        return limiters.get(group);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || path.startsWith("/actuator/") || path.startsWith("/live/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(ConcurrencyGroup.match(request));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            reject(response, limiter.retryAfterSeconds());
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json; charset=UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(
+                new ErrorResponseDTO(status.value(), "요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요.")));
+    }
+
+    /**
+     * 비동기 처리가 끝나면(완료, 타임아웃, 오류 모두 onComplete가 호출됨) 슬롯을 반납합니다.
+     */
+    private record ReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.rus.rus.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.rus.rus.common.ApiException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 독립적인 조회를 동시에 실행하는 구조적 동시성(fan-out) 헬퍼
+ * - Java 21의 StructuredTaskScope는 preview API(--enable-preview)라서, 같은 규칙을 가상 스레드 executor로 구현합니다.
+ *   · 작업은 scope 안에서 fork하고 join에서 모두 끝날 때까지 기다립니다. (scope를 벗어난 작업은 남지 않습니다)
+ *   · 하나라도 실패하면 나머지 작업을 취소(인터럽트)하고 첫 번째 예외를 그대로 던집니다.
+ *   · scope 전체에 하나의 마감 시간을 두고, 넘기면 남은 작업을 취소하고 504를 던집니다.
+ * - DB 조회는 dbRead()로 감싸 커넥션 풀 크기만큼의 허가(permit)를 얻은 뒤 실행하므로,
+ *   동시 요청이 많아도 fan-out이 커넥션 풀을 넘어서 커넥션을 기다리며 쌓이지 않습니다.
+ */
+@Component
+public class FanOutExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore dbPermits;
+
+    public FanOutExecutor(@Value("${fan-out.db-permits:${spring.datasource.hikari.maximum-pool-size:10}}") int dbPermits) {
+        this.dbPermits = new Semaphore(dbPermits);
+    }
+
+    /**
+     * 마감 시간이 timeout인 scope를 엽니다. try-with-resources로 사용합니다.
+     */
+    public Scope open(Duration timeout) {
+        return new Scope(System.nanoTime() + timeout.toNanos());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * 작업을 가상 스레드에서 실행합니다. 결과는 join() 이후 Future.resultNow()로 꺼냅니다.
+         */
+        public <T> Future<T> fork(Callable<T> task) {
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Throwable e) {
+                    firstFailure.completeExceptionally(e);
+                    throw e;
+                }
+            });
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * DB 커넥션 허가를 얻은 뒤 task를 실행합니다. fork한 작업 안에서 DB를 사용하는 구간을 감쌉니다.
+         * 마감 시간까지 허가를 얻지 못하면 504를 던집니다.
+         */
+        public <T> T dbRead(Callable<T> task) throws Exception {
+            if (!dbPermits.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw deadlineExceeded();
+            }
+            try {
+                return task.call();
+            } finally {
+                dbPermits.release();
+            }
+        }
+
+        /**
+         * fork한 모든 작업이 끝날 때까지 기다립니다.
+         * 하나라도 실패하면 나머지를 취소하고 그 예외를 던지며, 마감 시간을 넘기면 모두 취소하고 504를 던집니다.
+         */
+        public void join() throws InterruptedException {
+            CompletableFuture<Void> allDone = CompletableFuture.runAsync(() -> {
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (Exception ignored) {
+                        // 실패는 firstFailure로 전달됩니다.
+                    }
+                }
+            }, executor);
+
+            try {
+                CompletableFuture.anyOf(firstFailure, allDone).get(remainingNanos(), TimeUnit.NANOSECONDS);
+                // 모든 작업이 끝난 시점과 실패가 겹쳐도 실패를 놓치지 않도록 한 번 더 확인합니다.
+                if (firstFailure.isCompletedExceptionally()) {
+                    throw new ExecutionException(firstFailure.exceptionNow());
+                }
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw deadlineExceeded();
+            } catch (ExecutionException e) {
+                cancelAll();
+                throw propagate(e.getCause());
+            } catch (InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        /**
+         * scope를 닫을 때 아직 실행 중인 작업이 있으면 취소합니다. (join 없이 빠져나온 경우)
+         */
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        private long remainingNanos() {
+            return Math.max(0, deadlineNanos - System.nanoTime());
+        }
+    }
+
+    private static ApiException deadlineExceeded() {
+        return new ApiException(HttpStatus.GATEWAY_TIMEOUT, "요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.rus.rus.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * WebClient(Reactor Netty) 커넥션 풀 설정
+ * - 기본 풀은 최대 커넥션이 (코어 수 × 2, 최소 16)개이고 대기 요청 수도 제한되어 있어,
+ *   가상 스레드로 수백 개의 요청이 동시에 block()하면 대기하거나 PoolAcquirePendingLimitException으로 실패합니다.
+ * - 전역 리소스로 등록되므로 주입받은 WebClient.Builder와 HttpClient.create()로 만든 클라이언트 모두에 적용됩니다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(
+            @Value("${http.client.max-connections:500}") int maxConnections,
+            @Value("${http.client.pending-acquire-timeout:45s}") Duration pendingAcquireTimeout) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setConnectionProviderSupplier(() -> createConnectionProvider(maxConnections, pendingAcquireTimeout));
+        return factory;
+    }
+
+    public static ConnectionProvider createConnectionProvider(int maxConnections, Duration pendingAcquireTimeout) {
+        return ConnectionProvider.builder("rus-http")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1) // 커넥션을 기다리는 요청 수는 제한하지 않고 타임아웃으로만 제한
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+    }
+}
@@ -0,0 +1,374 @@
+package com.rus.rus.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.IdempotencyService;
+import com.rus.rus.common.ErrorResponseDTO;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key 필터
+ * - 변경 요청(POST/PUT/PATCH/DELETE)에 Idempotency-Key 헤더가 있으면, 같은 사용자가 같은 경로로 같은 키를 다시 보냈을 때
+ *   서비스 로직을 다시 실행하지 않고 처음 응답을 그대로 재생합니다. (재생한 응답에는 Idempotent-Replayed: true)
+ * - 같은 키로 본문이 다른 요청을 보내면 422, 같은 키의 첫 요청이 다른 서버에서 아직 처리 중이면 409 + Retry-After로 응답합니다.
+ * - 5xx와 429(요청 제한) 응답은 저장하지 않으므로 재시도하면 다시 실행됩니다.
+ * - 본문이 max-body-size보다 큰 응답은 실행 완료 표시만 저장하고, 재시도하면 다시 실행하지 않고 409로 응답합니다.
+ * - 비교를 위해 본문을 메모리로 읽으므로, 본문이 max-request-size보다 크면 읽지 않고 413으로 응답합니다.
+ *   멀티파트 업로드는 메모리에 올리지 않고 파트별 이름, 파일명, 크기와 내용을 스트리밍으로 해시하여 비교합니다.
+ * - 인증 정보를 사용하므로 Spring Security 필터 체인 뒤에서 실행됩니다. (@Component 필터의 기본 순서)
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String CLAIM_ATTRIBUTE = IdempotencyFilter.class.getName() + ".claim";
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMillis;
+    private final int maxBodySize;
+    private final int maxRequestSize;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper,
+            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+            @Value("${idempotency.max-body-size:65536}") int maxBodySize,
+            @Value("${idempotency.max-request-size:1048576}") int maxRequestSize) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.maxBodySize = maxBodySize;
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    /**
+     * Mono 반환 API는 응답이 비동기 재디스패치에서 완성되므로, 재디스패치에서 응답을 저장합니다.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            Claim claim = (Claim) request.getAttribute(CLAIM_ATTRIBUTE);
+            ContentCachingResponseWrapper wrapper =
+                    WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            filterChain.doFilter(request, response);
+            if (claim != null && wrapper != null && !isAsyncStarted(request)) {
+                finish(claim, wrapper);
+            }
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " 헤더는 1~" + MAX_KEY_LENGTH + "자여야 합니다.", null);
+            return;
+        }
+
+        // 멀티파트 업로드는 파트 해시로, 폼 요청(컨테이너가 본문을 파라미터로 읽음)은 쿼리 문자열만으로 요청을 비교합니다.
+        String contentType = request.getContentType() != null ? request.getContentType().toLowerCase() : "";
+        boolean multipart = contentType.startsWith("multipart/");
+        boolean readBody = !multipart && !contentType.startsWith("application/x-www-form-urlencoded");
+        byte[] body = null;
+        byte[] partsDigest = null;
+        if (multipart) {
+            try {
+                partsDigest = digestParts(request);
+            } catch (IllegalStateException e) {
+                // 컨테이너가 업로드 크기 한도(spring.servlet.multipart.*)를 넘는 요청을 거절한 경우입니다.
+                writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "업로드 크기 한도를 초과했습니다.", null);
+                return;
+            }
+        } else if (readBody) {
+            // Content-Length가 없거나(chunked) 틀려도 한도 + 1바이트까지만 읽습니다.
+            body = request.getContentLengthLong() <= maxRequestSize
+                    ? request.getInputStream().readNBytes(maxRequestSize + 1)
+                    : null;
+            if (body == null || body.length > maxRequestSize) {
+                writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                        HEADER + " 요청의 본문은 " + maxRequestSize + "바이트 이하여야 합니다.", null);
+                return;
+            }
+        }
+        HttpServletRequest requestToUse = body != null ? new CachedBodyRequest(request, body) : request;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication != null ? authentication.getName() : "anonymous";
+        String key = sha256((principal + "\n" + request.getMethod() + "\n" + request.getRequestURI() + "\n"
+                + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        String requestHash = requestHash(request.getQueryString(), body != null ? body : partsDigest);
+
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        while (true) {
+            IdempotencyService.StoredResponse stored = idempotencyService.find(key);
+            if (stored != null) {
+                replay(stored, requestHash, response);
+                return;
+            }
+
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = idempotencyService.lock(key, mine);
+            if (running != null) {
+                // 같은 서버에서 같은 키의 요청이 실행 중이면 끝날 때까지 기다린 뒤 저장된 응답을 확인합니다.
+                if (!await(running, deadline)) {
+                    writeInProgress(response);
+                    return;
+                }
+                continue;
+            }
+
+            boolean async = false;
+            try {
+                if (!idempotencyService.claim(key, requestHash)) {
+                    // 다른 서버가 선점했거나, 조회와 선점 사이에 처리가 끝난 경우입니다.
+                    stored = idempotencyService.find(key);
+                    if (stored != null) {
+                        replay(stored, requestHash, response);
+                    } else {
+                        writeInProgress(response);
+                    }
+                    return;
+                }
+
+                Claim claim = new Claim(key, requestHash, mine);
+                ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+                try {
+                    filterChain.doFilter(requestToUse, wrapper);
+                } catch (IOException | ServletException | RuntimeException e) {
+                    idempotencyService.release(key);
+                    throw e;
+                }
+
+                if (isAsyncStarted(requestToUse)) {
+                    requestToUse.setAttribute(CLAIM_ATTRIBUTE, claim);
+                    async = true;
+                } else {
+                    finish(claim, wrapper);
+                }
+                return;
+            } finally {
+                if (!async) {
+                    idempotencyService.unlock(key, mine);
+                }
+            }
+        }
+    }
+
+    /**
+     * 응답을 저장(5xx, 429이면 선점 해제, 너무 크면 본문 없이 완료 표시)하고 실제 응답으로 내보냅니다.
+     */
+    private void finish(Claim claim, ContentCachingResponseWrapper wrapper) throws IOException {
+        try {
+            byte[] body = wrapper.getContentAsByteArray();
+            int status = wrapper.getStatus();
+            if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                idempotencyService.release(claim.key());
+            } else if (body.length > maxBodySize) {
+                // 선점을 해제하면 재시도가 변경을 다시 실행하므로, 본문 없이 실행 완료만 기록합니다.
+                idempotencyService.complete(claim.key(), claim.requestHash(), status, wrapper.getContentType(), null);
+            } else {
+                idempotencyService.complete(claim.key(), claim.requestHash(), status, wrapper.getContentType(), body);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 응답 저장 실패: {}", e.getMessage());
+            idempotencyService.release(claim.key());
+        } finally {
+            idempotencyService.unlock(claim.key(), claim.lock());
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyService.StoredResponse stored, String requestHash, HttpServletResponse response)
+            throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "같은 " + HEADER + "로 다른 요청을 보낼 수 없습니다.", null);
+            return;
+        }
+        if (!stored.bodyStored()) {
+            writeError(response, HttpStatus.CONFLICT,
+                    "이미 처리된 요청입니다. 응답이 커서 재생할 수 없으니 결과는 조회 API로 확인해주세요.", null);
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private boolean await(CompletableFuture<Void> running, long deadline) throws ServletException {
+        try {
+            running.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Idempotency-Key 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private void writeInProgress(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.CONFLICT, "같은 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요.", 1L);
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message, Long retryAfterSeconds)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json; charset=UTF-8");
+        if (retryAfterSeconds != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        response.getWriter().write(objectMapper.writeValueAsString(new ErrorResponseDTO(status.value(), message)));
+    }
+
+    private static String requestHash(String queryString, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((queryString != null ? queryString : "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            if (body != null) {
+                digest.update(body);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 멀티파트 파트(이름, 파일명, 크기, 내용)를 요청 순서대로 해시합니다.
+     * 파트 내용은 컨테이너가 저장한 임시 파일에서 스트리밍으로 읽으므로 업로드 전체를 메모리에 올리지 않습니다.
+     * (파싱한 파트는 컨테이너가 보관하므로 컨트롤러의 MultipartFile 바인딩에서 다시 사용됩니다)
+     */
+    private static byte[] digestParts(HttpServletRequest request) throws IOException, ServletException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Part part : request.getParts()) {
+                String fileName = part.getSubmittedFileName();
+                digest.update((part.getName() + "\n" + (fileName != null ? fileName : "") + "\n" + part.getSize() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = new DigestInputStream(part.getInputStream(), digest)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Claim(String key, String requestHash, CompletableFuture<Void> lock) {
+    }
+
+    /**
+     * 요청 비교를 위해 미리 읽은 본문을 컨트롤러가 다시 읽을 수 있도록 제공하는 요청 객체
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new IllegalStateException("Idempotency-Key 요청의 본문은 이미 읽어 두었으므로 비동기로 읽을 수 없습니다.");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -6,8 +6,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import okhttp3.OkHttpClient;
-
 @Configuration
 public class OpenAIConfig {
 
@@ -17,11 +15,6 @@ public class OpenAIConfig {
     @Value("${openai.model.name:gpt-4o-mini}")
     private String modelName;
 
-    @Bean
-    public OkHttpClient openAiHttpClient() {
-        return new OkHttpClient.Builder().build();
-    }
-
     @Bean
     public OpenAIProps openAIProps() {
         return new OpenAIProps(apiKey, modelName);
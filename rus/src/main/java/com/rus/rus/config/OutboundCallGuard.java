@@ -0,0 +1,63 @@
+package com.rus.rus.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 외부 HTTP 호출 중 DB 커넥션 점유 검사
+ * - 트랜잭션 안이거나 현재 스레드에 커넥션/EntityManager가 바인딩된 상태로 외부 API를 호출하면
+ *   응답을 기다리는 동안 커넥션 풀을 점유하므로 IllegalStateException으로 실패시킵니다.
+ * - db.outbound-call-guard.enabled=true 일 때만 동작합니다. (테스트 JVM에서는 build.gradle에서 켭니다)
+ * - 주입받은 WebClient.Builder로 만든 모든 WebClient에 필터로 적용되고, SDK 호출(Vertex AI)은 check()를 직접 호출합니다.
+ */
+@Component
+public class OutboundCallGuard implements WebClientCustomizer {
+
+    private final boolean enabled;
+
+    public OutboundCallGuard(@Value("${db.outbound-call-guard.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void customize(WebClient.Builder webClientBuilder) {
+        if (!enabled) {
+            return;
+        }
+        // 요청은 구독 시점(block()을 호출한 스레드)에 필터를 통과하므로 호출 스레드의 바인딩 상태를 검사합니다.
+        webClientBuilder.filter((request, next) -> holdsConnection()
+                ? Mono.error(violation(request.method() + " " + request.url()))
+                : next.exchange(request));
+    }
+
+    /**
+     * 외부 호출 직전에 DB 커넥션을 점유하고 있지 않은지 확인합니다.
+     *
+     * @param target 호출 대상 (오류 메세지용)
+     */
+    public void check(String target) {
+        if (enabled && holdsConnection()) {
+            throw violation(target);
+        }
+    }
+
+    static boolean holdsConnection() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return true;
+        }
+        return TransactionSynchronizationManager.getResourceMap().values().stream()
+                .anyMatch(resource -> resource instanceof ConnectionHolder || resource instanceof EntityManagerHolder);
+    }
+
+    private static IllegalStateException violation(String target) {
+        return new IllegalStateException(
+                "DB 커넥션(트랜잭션 또는 EntityManager)을 점유한 채 외부 호출을 시도했습니다: " + target);
+    }
+}
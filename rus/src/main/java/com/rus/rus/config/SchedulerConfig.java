@@ -0,0 +1,26 @@
+package com.rus.rus.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 리액티브 API에서 블로킹 코드(JPA)를 실행할 스케줄러 설정
+ * - JPA 호출은 커넥션 풀 크기 이상으로 동시에 실행해도 커넥션을 기다릴 뿐이므로,
+ *   스레드 수를 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size, 미설정 시 Hikari 기본 10)에 맞춘
+ *   전용 boundedElastic 스케줄러를 사용합니다.
+ * - 공용 Schedulers.boundedElastic()과 분리하여 다른 블로킹 작업이 DB 작업을 밀어내지 않도록 합니다.
+ */
+@Configuration
+public class SchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jpaScheduler(
+            @Value("${reactive.jpa-scheduler.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${reactive.jpa-scheduler.queue-capacity:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "jpa");
+    }
+}
@@ -0,0 +1,40 @@
+package com.rus.rus.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rus.rus.application.batch.BatchService;
+import com.rus.rus.controller.dto.req.BatchRequestDto;
+import com.rus.rus.controller.dto.res.BatchResponseDto;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * 배치 요청
+     * - 여러 API 호출(method, path, body)을 한 번의 요청으로 보내고, 요청 순서대로 각 응답(status, body)을 받습니다.
+     * - depends_on으로 지정한 하위 요청이 성공한 뒤에 실행되며, 나머지는 동시에 실행됩니다.
+     * - 각 하위 요청에도 같은 Authorization 헤더가 전달되며, 단건 호출과 같은 보안 필터(인증·인가)를 거칩니다.
+     * @param batch 하위 요청 목록
+     * @return 하위 응답 목록
+     */
+    @PostMapping
+    public ResponseEntity<BatchResponseDto> executeBatch(
+            @RequestBody BatchRequestDto batch,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        return ResponseEntity.ok(batchService.execute(batch, request, response));
+    }
+}
@@ -0,0 +1,50 @@
+package com.rus.rus.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rus.rus.application.HomeService;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.HomeResponseDto;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/home")
+@RequiredArgsConstructor
+public class HomeController {
+
+    private final HomeService homeService;
+
+    /**
+     * 홈 화면 데이터 반환
+     * - 개인 루틴, Sera 추천 루틴, 연속 달성, 출석부, 챌린지 상태, 설정을 한 번에 반환합니다.
+     * - fields로 필요한 항목만 선택할 수 있습니다. (예: ?fields=personal,streak)
+     * @param uid 사용자 uid
+     * @param fields 조회할 항목 (personal, recommend, streak, attendance, challenge, settings / 생략 시 전체)
+     * @param userDetails Authentication된 사용자의 정보가 저장
+     * @return 홈 화면 데이터
+     */
+    @GetMapping("/{uid}")
+    public ResponseEntity<HomeResponseDto> getHome(
+            @PathVariable("uid") UUID uid,
+            @RequestParam(value = "fields", required = false) String fields,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        UUID currentUserId = UUID.fromString(userDetails.getUsername());
+        if (!currentUserId.equals(uid)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, "본인 외 사용자의 정보는 열람할 수 없습니다");
+        }
+
+        return ResponseEntity.ok(homeService.getHome(uid, fields));
+    }
+}
@@ -1,15 +1,22 @@
 package com.rus.rus.controller;
 
+import com.rus.rus.application.KfoodJobService;
 import com.rus.rus.application.KfoodService;
+import com.rus.rus.application.kfood.KfoodJob;
 import com.rus.rus.common.ApiException;
 import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import com.rus.rus.controller.dto.res.KfoodJobResponseDto;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
 
 @Slf4j
 @RestController
@@ -17,32 +24,122 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class KfoodController {
 
+  private static final String FORMAT_JSON = "json";
+  private static final String FORMAT_MULTIPART = "multipart";
+
   private final KfoodService kfoodService;
+  private final KfoodJobService kfoodJobService;
 
   /**
    * 한국 음식 이미지 객체 감지 프록시 API
    * - 클라이언트로부터 받은 이미지를 FastAPI 객체 감지 서버로 전달하고, 결과를 반환합니다.
+   * - format=multipart 인 경우 감지 결과(JSON)와 이미지(JPEG)를 multipart/mixed의 별도 파트로 반환합니다.
+   * - 감지 대기열이 가득 차면 429와 Retry-After를 반환합니다.
    * 
-   * @param file 분석할 이미지 파일
-   * @return 객체 감지 서버의 응답 (JSON)
+   * @param file   분석할 이미지 파일
+   * @param format 응답 형식 (json: Base64 이미지 포함 JSON, multipart: JSON + JPEG 바이너리)
+   * @return 객체 감지 서버의 응답
    */
   @PostMapping("/detect")
-  public ResponseEntity<KfoodDetectionResponseDto> detectKfood(
-      @RequestParam("file") MultipartFile file) {
+  public ResponseEntity<?> detectKfood(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "format", defaultValue = FORMAT_JSON) String format) {
     if (file.isEmpty()) {
       throw new ApiException(HttpStatus.BAD_REQUEST, "분석할 이미지 파일이 없습니다.");
     }
+    if (!FORMAT_JSON.equals(format) && !FORMAT_MULTIPART.equals(format)) {
+      throw new ApiException(HttpStatus.BAD_REQUEST, "지원하지 않는 응답 형식입니다: " + format);
+    }
 
-    log.info("이미지 분석 요청 - 파일명: {}, 크기: {} bytes",
-        file.getOriginalFilename(), file.getSize());
+    log.info("이미지 분석 요청 - 파일명: {}, 크기: {} bytes, 형식: {}",
+        file.getOriginalFilename(), file.getSize(), format);
 
     try {
-      KfoodDetectionResponseDto response = kfoodService.detectObjects(file);
+      KfoodDetectionResponseDto response = kfoodJobService.detect(file);
       log.info("이미지 분석 성공 - 감지된 음식: {}", response.getDetectedFoodLabels());
+
+      if (FORMAT_MULTIPART.equals(format)) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.MULTIPART_MIXED)
+            .body(kfoodService.toMultipartBody(response));
+      }
       return ResponseEntity.ok(response);
     } catch (Exception e) {
       log.error("이미지 분석 실패: {}", e.getMessage(), e);
       throw e;
     }
   }
+
+  /**
+   * 한국 음식 이미지 객체 감지 프록시 API (논블로킹)
+   * - /kfood/detect 와 같은 결과를 반환하지만, 감지 서버 응답을 기다리는 동안 서블릿 스레드를 반환합니다.
+   * - /kfood/detect 와 같이 인증 없이 호출할 수 있습니다.
+   * - 감지기 호출 허가를 동기 API와 함께 쓰며, 허가를 기다리는 요청이 대기열 크기를 넘으면 429와 Retry-After를 반환합니다.
+   *
+   * @param file   분석할 이미지 파일
+   * @param format 응답 형식 (json: Base64 이미지 포함 JSON, multipart: JSON + JPEG 바이너리)
+   * @return 객체 감지 서버의 응답
+   */
+  @PostMapping("/detect/reactive")
+  public Mono<ResponseEntity<?>> detectKfoodReactive(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "format", defaultValue = FORMAT_JSON) String format) {
+    if (file.isEmpty()) {
+      throw new ApiException(HttpStatus.BAD_REQUEST, "분석할 이미지 파일이 없습니다.");
+    }
+    if (!FORMAT_JSON.equals(format) && !FORMAT_MULTIPART.equals(format)) {
+      throw new ApiException(HttpStatus.BAD_REQUEST, "지원하지 않는 응답 형식입니다: " + format);
+    }
+
+    log.info("이미지 분석 요청(reactive) - 파일명: {}, 크기: {} bytes, 형식: {}",
+        file.getOriginalFilename(), file.getSize(), format);
+
+    return kfoodJobService.detectReactive(file)
+        .<ResponseEntity<?>>map(response -> {
+          log.info("이미지 분석 성공 - 감지된 음식: {}", response.getDetectedFoodLabels());
+          if (FORMAT_MULTIPART.equals(format)) {
+            return ResponseEntity.ok()
+                .contentType(MediaType.MULTIPART_MIXED)
+                .body(kfoodService.toMultipartBody(response));
+          }
+          return ResponseEntity.ok(response);
+        })
+        .doOnError(e -> log.error("이미지 분석 실패: {}", e.getMessage(), e));
+  }
+
+  /**
+   * 한국 음식 이미지 객체 감지 작업 등록 API (비동기)
+   * - 이미지를 대기열에 등록하고 즉시 202와 작업 ID를 반환합니다.
+   * - 결과는 GET /kfood/jobs/{jobId} 로 조회합니다.
+   * - 감지 대기열이 가득 차면 429와 Retry-After를 반환합니다.
+   *
+   * @param file 분석할 이미지 파일
+   * @return 등록된 작업 정보
+   */
+  @PostMapping("/jobs")
+  public ResponseEntity<KfoodJobResponseDto> submitKfoodJob(@RequestParam("file") MultipartFile file) {
+    if (file.isEmpty()) {
+      throw new ApiException(HttpStatus.BAD_REQUEST, "분석할 이미지 파일이 없습니다.");
+    }
+
+    KfoodJob job = kfoodJobService.submit(file);
+    log.info("이미지 분석 작업 등록 - 작업 ID: {}, 파일명: {}, 크기: {} bytes",
+        job.getId(), file.getOriginalFilename(), file.getSize());
+
+    return ResponseEntity.accepted()
+        .location(URI.create("/kfood/jobs/" + job.getId()))
+        .body(KfoodJobResponseDto.from(job));
+  }
+
+  /**
+   * 한국 음식 이미지 객체 감지 작업 조회 API
+   * - 완료(DONE)된 경우 감지 결과를, 실패(FAILED)한 경우 오류 메세지를 함께 반환합니다.
+   *
+   * @param jobId 작업 ID
+   * @return 작업 상태 및 결과
+   */
+  @GetMapping("/jobs/{jobId}")
+  public ResponseEntity<KfoodJobResponseDto> getKfoodJob(@PathVariable String jobId) {
+    return ResponseEntity.ok(KfoodJobResponseDto.from(kfoodJobService.getJob(jobId)));
+  }
 }
@@ -0,0 +1,30 @@
+package com.rus.rus.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.rus.rus.application.live.LiveBroadcaster;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/live")
+@RequiredArgsConstructor
+public class LiveController {
+
+    private final LiveBroadcaster liveBroadcaster;
+
+    /**
+     * 상위 랭킹과 챌린지 참여자 수 실시간 스트림 (SSE)
+     * - 구독 직후 snapshot 이벤트로 전체 상태를 보내고, 이후 ranking(바뀐 순위)과 challenge(참여자 수) 이벤트로 변경분만 보냅니다.
+     * - /users/ranking, /routine/challenge 를 주기적으로 조회하는 대신 사용합니다.
+     * @return SSE 스트림
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return liveBroadcaster.subscribe();
+    }
+}
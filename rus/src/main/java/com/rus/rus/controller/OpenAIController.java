@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.util.UUID;
@@ -32,4 +33,18 @@ public class OpenAIController {
         ChatResponseDto resp = new ChatResponseDto(new ChatMessageDto("MODEL", aiText));
         return ResponseEntity.ok(resp);
     }
+
+    /**
+     * 챗봇 메시지 전송 및 응답 API (논블로킹)
+     * - OpenAI 응답을 기다리는 동안 서블릿 스레드를 반환합니다.
+     */
+    @PostMapping("/message/reactive")
+    public Mono<ResponseEntity<ChatResponseDto>> handleChatMessageReactive(
+            @RequestBody ChatRequestDto requestDto,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        UUID uid = UUID.fromString(userDetails.getUsername());
+        return openAIService.getChatResponseReactive(uid.toString(), requestDto.getMessages())
+                .map(aiText -> ResponseEntity.ok(new ChatResponseDto(new ChatMessageDto("MODEL", aiText))));
+    }
 }
@@ -184,6 +184,38 @@ public class RoutineController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    // ==================== 4-7-1. 사용자 루틴 - 일괄 달성 체크 ====================
+    @PostMapping("/personal/attainment/bulk/{uid}")
+    public ResponseEntity<BulkAttainmentResponseDto> checkAttainments(
+            @PathVariable String uid,
+            @RequestBody BulkAttainmentRequestDto request,
+            @RequestHeader("Authorization") String authHeader) {
+
+        String tokenUid = extractUidFromToken(authHeader);
+
+        if (!tokenUid.equals(uid)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, "해당 사용자의 루틴을 체크할 권한이 없습니다.");
+        }
+
+        return ResponseEntity.ok(routineService.checkRoutineAttainments(uid, request.getIds()));
+    }
+
+    // ==================== 4-8-1. 사용자 루틴 - 일괄 체크 해제 ====================
+    @DeleteMapping("/personal/attainment/bulk/{uid}")
+    public ResponseEntity<BulkAttainmentResponseDto> uncheckAttainments(
+            @PathVariable String uid,
+            @RequestParam List<Integer> ids,
+            @RequestHeader("Authorization") String authHeader) {
+
+        String tokenUid = extractUidFromToken(authHeader);
+
+        if (!tokenUid.equals(uid)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, "해당 사용자의 루틴을 체크 해제할 권한이 없습니다.");
+        }
+
+        return ResponseEntity.ok(routineService.uncheckRoutineAttainments(uid, ids));
+    }
+
     // ==================== 4-9. 요청 날짜 기준 사용자의 추천 루틴 정보 반환 ====================
     @GetMapping("/recommend/{uid}")
     public ResponseEntity<RecommendRoutineResponseDto> getRecommendRoutines(
@@ -292,6 +324,7 @@ public class RoutineController {
         String token = authHeader.substring(7); // "Bearer " 제거
 
         try {
+            // JwtAuthenticationFilter에서 이미 검증한 토큰이므로 서명 검증 없이 캐시에서 반환됩니다.
             return jwtUtil.getUidFromToken(token);
         } catch (Exception e) {
             throw new ApiException(HttpStatus.UNAUTHORIZED, "유효하지 않은 JWT 토큰입니다.");
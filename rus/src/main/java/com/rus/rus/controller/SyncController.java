@@ -0,0 +1,52 @@
+package com.rus.rus.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rus.rus.application.SyncService;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.req.SyncRequestDto;
+import com.rus.rus.controller.dto.res.SyncResponseDto;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * 오프라인 이벤트 동기화
+     * - 연결이 끊긴 동안 쌓인 이벤트(check, uncheck, sleep, attendance)를 한 번에 보내면
+     *   client_timestamp 순서로 하나의 트랜잭션에서 적용합니다.
+     * - 같은 event_id는 한 번만 적용되므로 응답을 받지 못했으면 같은 요청을 그대로 다시 보내면 됩니다.
+     * @param uid 사용자 uid
+     * @param request 이벤트 목록
+     * @param userDetails Authentication된 사용자의 정보가 저장
+     * @return 이벤트별 결과와 동기화 후 서버 상태 요약
+     */
+    @PostMapping("/{uid}")
+    public ResponseEntity<SyncResponseDto> sync(
+            @PathVariable("uid") UUID uid,
+            @RequestBody SyncRequestDto request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        UUID currentUserId = UUID.fromString(userDetails.getUsername());
+        if (!currentUserId.equals(uid)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, "본인의 기록만 동기화할 수 있습니다.");
+        }
+
+        return ResponseEntity.ok(syncService.sync(uid, request));
+    }
+}
@@ -33,6 +33,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @Controller
 @RequestMapping("/users")
@@ -242,6 +243,33 @@ public class UserController {
         return "daily-report";
     }
 
+    /**
+     * 일일 리포트 웹뷰 (논블로킹)
+     * - DB 조회 후 AI 피드백 응답을 기다리는 동안 서블릿 스레드와 DB 커넥션을 점유하지 않습니다.
+     *
+     * @param uid         조회할 사용자의 UID
+     * @param userDetails 인증된 사용자 정보
+     * @param model       View에 데이터를 전달할 Model 객체
+     * @return 렌더링할 Thymeleaf 템플릿의 이름
+     */
+    @GetMapping("/report/daily/{uid}/reactive")
+    public Mono<String> getDailyReportReactive(
+            @PathVariable("uid") UUID uid,
+            @AuthenticationPrincipal UserDetails userDetails,
+            Model model) {
+        // 본인의 데이터만 조회할 수 있도록 보안 검증
+        UUID currentUserId = UUID.fromString(userDetails.getUsername());
+        if (!currentUserId.equals(uid)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, "본인의 리포트만 조회할 수 있습니다.");
+        }
+
+        return userService.getDailyReportDataReactive(uid)
+                .map(reportData -> {
+                    model.addAllAttributes(reportData);
+                    return "daily-report";
+                });
+    }
+
     /**
      * [개발/테스트용] 사용자에게 임시 Lux를 추가합니다.
      * * @param uid 사용자 uid
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.util.UUID;
@@ -46,4 +47,23 @@ public class VertexaiController {
 
     return ResponseEntity.ok(response);
   }
+
+  /**
+   * 챗봇 메시지 전송 및 응답 API (논블로킹)
+   * - Vertex AI 응답을 기다리는 동안 서블릿 스레드를 반환합니다.
+   *
+   * @param requestDto 클라이언트가 보낸 전체 대화 기록
+   * @param uid        JWT 토큰에서 추출된 사용자 식별자
+   * @return AI의 최종 텍스트 응답
+   */
+  @PostMapping("/message/reactive")
+  public Mono<ResponseEntity<ChatResponseDto>> handleChatMessageReactive(
+      @RequestBody ChatRequestDto requestDto,
+      @AuthenticationPrincipal UserDetails userDetails) {
+    UUID uid = UUID.fromString(userDetails.getUsername());
+
+    return vertexaiService.getChatResponseReactive(uid.toString(), requestDto.getMessages())
+        .map(aiResponseText -> ResponseEntity.ok(new ChatResponseDto(
+            new ChatMessageDto("MODEL", aiResponseText))));
+  }
 }
@@ -0,0 +1,39 @@
+package com.rus.rus.controller.dto.req;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDto {
+
+  // 실행할 하위 요청 목록 (순서대로 응답에 담깁니다)
+  private List<SubRequest> requests;
+
+  @Getter
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class SubRequest {
+    // 응답과 dependsOn에서 하위 요청을 가리키는 ID
+    private String id;
+    // GET, POST, PUT, PATCH, DELETE
+    private String method;
+    // 쿼리 문자열을 포함한 경로 (예: /routine/streak/{uid})
+    private String path;
+    // 요청 본문 (JSON)
+    private JsonNode body;
+    // 먼저 성공해야 하는 하위 요청 ID 목록 (앞선 요청만 지정할 수 있습니다)
+    @JsonProperty("depends_on")
+    private List<String> dependsOn;
+  }
+}
@@ -0,0 +1,10 @@
+package com.rus.rus.controller.dto.req;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkAttainmentRequestDto {
+    private List<Integer> ids;
+}
@@ -0,0 +1,44 @@
+package com.rus.rus.controller.dto.req;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncRequestDto {
+
+  // 오프라인 동안 쌓인 이벤트 목록 (client_timestamp 순서로 적용됩니다)
+  private List<SyncEvent> events;
+
+  @Getter
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class SyncEvent {
+    // 클라이언트가 생성한 이벤트 ID (재전송 시 같은 값을 보내면 한 번만 적용됩니다)
+    @JsonProperty("event_id")
+    private String eventId;
+    // check, uncheck, sleep, attendance
+    private String type;
+    // 클라이언트에서 이벤트가 발생한 시각
+    @JsonProperty("client_timestamp")
+    private LocalDateTime clientTimestamp;
+    // check, uncheck: 개인 루틴 ID
+    @JsonProperty("routine_id")
+    private Integer routineId;
+    // sleep: 수면 시작/종료 시각
+    @JsonProperty("start_time")
+    private LocalDateTime startTime;
+    @JsonProperty("end_time")
+    private LocalDateTime endTime;
+  }
+}
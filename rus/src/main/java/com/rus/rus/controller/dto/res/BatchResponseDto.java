@@ -0,0 +1,27 @@
+package com.rus.rus.controller.dto.res;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BatchResponseDto {
+
+    // 요청 순서와 같은 순서의 하위 응답 목록
+    private List<SubResponse> responses;
+
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SubResponse {
+        private String id;
+        private Integer status;
+        // 응답 본문 (JSON이 아니면 문자열)
+        private JsonNode body;
+    }
+}
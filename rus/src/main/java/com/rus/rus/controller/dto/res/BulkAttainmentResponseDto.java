@@ -0,0 +1,17 @@
+package com.rus.rus.controller.dto.res;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BulkAttainmentResponseDto {
+    // 이번 요청으로 체크(또는 체크 해제)된 루틴 ID
+    private List<Integer> applied;
+    // 이미 체크되어 있었거나(체크) 체크되어 있지 않아(체크 해제) 건너뛴 루틴 ID
+    private List<Integer> skipped;
+    // 변경된 lux (체크 해제 시 음수)
+    private Integer luxDelta;
+}
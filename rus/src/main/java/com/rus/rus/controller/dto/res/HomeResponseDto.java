@@ -0,0 +1,27 @@
+package com.rus.rus.controller.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 홈 화면 집계 응답
+ * - fields로 선택하지 않은 항목은 응답에서 생략됩니다.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HomeResponseDto {
+    // /routine/personal/{uid}
+    private PersonalRoutineResponseDto personal;
+    // /routine/recommend/{uid}
+    private RecommendRoutineResponseDto recommend;
+    // /routine/streak/{uid}
+    private StreakResponseDto streak;
+    // /attendance/{uid}
+    private AttendanceResponseDto attendance;
+    // /routine/challenge/istarget/{uid}
+    private ChallengeStatusResponseDto challenge;
+    // /users/settings/{uid}
+    private UserSettingResponseDto settings;
+}
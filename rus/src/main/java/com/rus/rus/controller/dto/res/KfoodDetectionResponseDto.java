@@ -1,8 +1,11 @@
 package com.rus.rus.controller.dto.res;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
@@ -11,10 +14,31 @@ import java.util.Map;
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class KfoodDetectionResponseDto {
-  /** 바운딩 박스가 그려진 이미지의 Base64 인코딩 문자열 */
+  /**
+   * 바운딩 박스가 그려진 이미지 (JPEG 바이트)
+   * - 메모리에는 원본 바이트로만 보관하고, JSON 직렬화 시 Jackson이 Base64 문자열로 변환합니다.
+   * - multipart 응답에서는 이미지가 별도 파트로 전송되므로 null로 두어 JSON에서 제외합니다.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   @JsonProperty("image_with_boxes_base64")
-  private String imageWithBoxesBase64;
+  private byte[] imageWithBoxes;
+
+  /**
+   * 바운딩 박스가 그려진 이미지의 크기
+   * - 바운딩 박스 좌표는 원본 이미지 기준이고, 이미지는 축소된 채로 그려질 수 있습니다.
+   * - 이미지 위에 박스를 겹쳐 그릴 때는 좌표에 (imageWidth / 원본 너비) 배율을 곱해야 합니다.
+   * - 축소하지 않았으면 원본과 같은 좌표계이므로 null로 두어 JSON에서 제외합니다.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonProperty("image_width")
+  private Integer imageWidth;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonProperty("image_height")
+  private Integer imageHeight;
 
   /** 감지된 음식 라벨 목록 */
   @JsonProperty("detected_food_labels")
@@ -0,0 +1,28 @@
+package com.rus.rus.controller.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rus.rus.application.kfood.KfoodJob;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KfoodJobResponseDto {
+    private String jobId;
+    // QUEUED, RUNNING, DONE, FAILED
+    private String status;
+    // 완료(DONE)된 경우에만 포함
+    private KfoodDetectionResponseDto result;
+    // 실패(FAILED)한 경우에만 포함
+    private String errorMessage;
+
+    public static KfoodJobResponseDto from(KfoodJob job) {
+        return KfoodJobResponseDto.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .result(job.getResult())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.rus.rus.controller.dto.res;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 챌린지 참여자 수 변경 (SSE event: challenge)
+ */
+@Getter
+@Builder
+public class LiveChallengeDto {
+    private long participant;
+}
@@ -0,0 +1,28 @@
+package com.rus.rus.controller.dto.res;
+
+import java.util.List;
+
+import com.rus.rus.controller.dto.UserRankingItemDto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 상위 랭킹 변경분 (SSE event: ranking)
+ * - 클라이언트는 changes의 순위를 교체하고 목록을 size로 자릅니다.
+ * - version이 이전에 받은 값 + 1이 아니면 놓친 변경이 있으므로 다시 구독합니다.
+ */
+@Getter
+@Builder
+public class LiveRankingDeltaDto {
+    private long version;
+    private int size; // 변경 후 상위 목록 길이
+    private List<RankChange> changes;
+
+    @Getter
+    @Builder
+    public static class RankChange {
+        private int rank; // 1부터 시작
+        private UserRankingItemDto item;
+    }
+}
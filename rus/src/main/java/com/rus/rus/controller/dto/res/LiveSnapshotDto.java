@@ -0,0 +1,19 @@
+package com.rus.rus.controller.dto.res;
+
+import java.util.List;
+
+import com.rus.rus.controller.dto.UserRankingItemDto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 실시간 스트림 구독 직후 보내는 전체 상태 (SSE event: snapshot)
+ */
+@Getter
+@Builder
+public class LiveSnapshotDto {
+    private long version; // 랭킹 변경 순번 (ranking 이벤트의 version과 이어짐)
+    private List<UserRankingItemDto> rankings; // 상위 N명 (1위부터)
+    private long participant; // 오늘 챌린지를 완료한 참여자 수
+}
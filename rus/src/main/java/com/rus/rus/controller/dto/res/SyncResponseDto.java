@@ -0,0 +1,45 @@
+package com.rus.rus.controller.dto.res;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SyncResponseDto {
+
+    // 요청 순서와 같은 순서의 이벤트 처리 결과
+    private List<EventResult> results;
+    // 동기화 후 서버 상태 (클라이언트 로컬 상태와 비교하여 보정)
+    private StateDigest state;
+
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class EventResult {
+        @JsonProperty("event_id")
+        private String eventId;
+        // applied: 적용, skipped: 이미 같은 상태라 변경 없음, rejected: 적용 불가, duplicate: 이전에 처리된 이벤트
+        private String result;
+        // rejected인 경우 사유
+        private String message;
+    }
+
+    @Getter
+    @Builder
+    public static class StateDigest {
+        private Integer lux;
+        private Integer streak;
+        // 오늘 체크된 개인 루틴 ID (오름차순)
+        @JsonProperty("checked_routine_ids")
+        private List<Integer> checkedRoutineIds;
+        @JsonProperty("attended_today")
+        private Boolean attendedToday;
+        // 위 값들의 SHA-256 해시 (클라이언트가 같은 방식으로 계산한 값과 다르면 전체 상태를 다시 조회)
+        private String digest;
+    }
+}
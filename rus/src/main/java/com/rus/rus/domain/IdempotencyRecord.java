@@ -0,0 +1,38 @@
+package com.rus.rus.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_record")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey; // SHA-256(사용자, 메소드, 경로, Idempotency-Key 헤더)
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash; // 요청 본문/쿼리의 SHA-256 (같은 키로 다른 요청을 보냈는지 확인)
+
+    @Column(nullable = false)
+    private Integer status; // 응답 상태 코드 (0이면 처리 중)
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(length = 65536)
+    private byte[] body; // 응답 본문
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 처리 중이면 잠금 만료 시각, 완료되면 보관 만료 시각
+}
@@ -0,0 +1,32 @@
+package com.rus.rus.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // 기록 순서 (릴레이는 id 순으로 꺼냄)
+
+    @Column(nullable = false)
+    private String uid; // 이벤트 대상 사용자
+
+    @Column(nullable = false, length = 50)
+    private String type; // 도메인 이벤트 타입 (RoutineCompleted, LuxChanged 등)
+
+    @Column(nullable = false, length = 4000)
+    private String payload; // 도메인 이벤트 JSON
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt; // 기록 시각 (릴레이 지연 측정)
+}
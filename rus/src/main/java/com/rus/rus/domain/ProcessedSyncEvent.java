@@ -0,0 +1,36 @@
+package com.rus.rus.domain;
+
+import com.rus.rus.domain.idClass.ProcessedSyncEventId;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_processed_event")
+@IdClass(ProcessedSyncEventId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedSyncEvent {
+
+    @Id
+    @Column(name = "uid")
+    private String uid; // Composite PK 1, 이벤트를 보낸 사용자
+
+    @Id
+    @Column(name = "event_id")
+    private String eventId; // Composite PK 2, 클라이언트가 생성한 이벤트 ID
+
+    @Column(nullable = false)
+    private String type; // 이벤트 종류 (check, uncheck, sleep, attendance)
+
+    @Column(nullable = false)
+    private String result; // 처리 결과 (applied, skipped, rejected)
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt; // 서버 처리 시각
+}
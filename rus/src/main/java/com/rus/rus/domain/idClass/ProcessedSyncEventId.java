@@ -0,0 +1,15 @@
+package com.rus.rus.domain.idClass;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProcessedSyncEventId implements Serializable {
+    private String uid;
+    private String eventId;
+}
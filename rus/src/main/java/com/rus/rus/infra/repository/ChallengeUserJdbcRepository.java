@@ -0,0 +1,62 @@
+package com.rus.rus.infra.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 챌린지 참여자 집계 저장소
+ * - 챌린지(카테고리, 내용)별 기간 내 참여자 수와 달성자(check=true) 수를 GROUP BY 한 번으로 집계합니다.
+ * - 참여자 카운터 보정에 사용하며, 엔티티를 읽지 않고 집계 결과만 필요하므로 JdbcTemplate을 사용합니다.
+ * - 기간은 JVM 시간대 변환 없이 비교되도록 java.sql.Timestamp가 아닌 LocalDateTime 그대로 바인딩합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChallengeUserJdbcRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT challenge_category_id, challenge_content, " +
+            "       SUM(CASE WHEN datetime BETWEEN ? AND ? THEN 1 ELSE 0 END) AS participants, " +
+            "       SUM(CASE WHEN \"check\" = TRUE THEN 1 ELSE 0 END) AS completed " +
+            "FROM challenge_users ";
+    private static final String GROUP_BY_SQL = "GROUP BY challenge_category_id, challenge_content";
+
+    private static final RowMapper<ChallengeCount> ROW_MAPPER = (rs, rowNum) -> new ChallengeCount(
+            rs.getObject("challenge_category_id", Integer.class),
+            rs.getString("challenge_content"),
+            rs.getLong("participants"),
+            rs.getLong("completed"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 전체 챌린지별 집계를 조회합니다.
+     *
+     * @param start 참여자 집계 시작 시각
+     * @param end   참여자 집계 종료 시각
+     */
+    public List<ChallengeCount> countAllByChallenge(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(SELECT_SQL + GROUP_BY_SQL, ROW_MAPPER, start, end);
+    }
+
+    /**
+     * 한 챌린지의 집계를 조회합니다. 해당 챌린지 행이 없으면 빈 값을 반환합니다.
+     */
+    public Optional<ChallengeCount> countByChallenge(Integer categoryId, String content, LocalDateTime start,
+            LocalDateTime end) {
+        return jdbcTemplate.query(
+                SELECT_SQL + "WHERE challenge_category_id = ? AND challenge_content = ? " + GROUP_BY_SQL,
+                ROW_MAPPER, start, end, categoryId, content)
+                .stream()
+                .findFirst();
+    }
+
+    public record ChallengeCount(Integer categoryId, String content, long participants, long completed) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.rus.rus.infra.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.rus.rus.domain.ChallengeUser;
@@ -24,4 +26,31 @@ public interface ChallengeUserRepository extends JpaRepository<ChallengeUser, St
             LocalDateTime start,
             LocalDateTime end
     );
+
+    /**
+     * 챌린지 상태 조회(API-4.11)에 필요한 데이터를 한 번의 쿼리로 조회합니다.
+     * 챌린지 대상자와 챌린지 카테고리를 묶어 조회하며, 참여자 수는 ChallengeParticipantCounter에서 읽습니다.
+     *
+     * @param uid 사용자 ID
+     * @return 챌린지 상태 요약 (챌린지 대상자가 아니면 빈 값)
+     */
+    @Query(value = "SELECT cu.challenge_category_id AS \"categoryId\", c.value AS \"categoryValue\", " +
+            "       cu.challenge_content AS \"content\", cu.\"check\" AS \"checked\" " +
+            "FROM challenge_users cu " +
+            "LEFT JOIN categorys c ON c.category_id = cu.challenge_category_id " +
+            "WHERE cu.uid = :uid", nativeQuery = true)
+    Optional<ChallengeStatusSummary> findChallengeStatusSummary(@Param("uid") String uid);
+
+    /**
+     * 챌린지 상태 요약 프로젝션
+     */
+    interface ChallengeStatusSummary {
+        Integer getCategoryId();
+
+        String getCategoryValue();
+
+        String getContent();
+
+        Boolean getChecked();
+    }
 }
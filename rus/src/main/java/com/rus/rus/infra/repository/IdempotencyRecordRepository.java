@@ -0,0 +1,54 @@
+package com.rus.rus.infra.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rus.rus.domain.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * 처리 중(status = 0) 행을 넣어 키를 선점합니다. 이미 행이 있으면 아무것도 하지 않습니다.
+     * (INSERT 전에 SELECT하는 save() 대신 한 번의 INSERT로 선점 여부를 판단합니다)
+     *
+     * @return 선점했으면 1, 이미 다른 요청이 선점했거나 완료되었으면 0
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_record (idempotency_key, request_hash, status, created_at, expires_at) " +
+            "VALUES (:key, :requestHash, 0, :createdAt, :expiresAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash,
+            @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 선점한 키에 응답을 저장합니다.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, r.body = :body, " +
+            "r.expiresAt = :expiresAt WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("status") int status, @Param("contentType") String contentType,
+            @Param("body") byte[] body, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 처리 중인 키의 선점을 해제합니다. (응답을 저장하지 않는 경우)
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.status = 0")
+    int release(@Param("key") String key);
+
+    /**
+     * 만료된 키를 삭제합니다. (처리 중에 서버가 종료되어 남은 선점도 잠금 만료 후 삭제됩니다)
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
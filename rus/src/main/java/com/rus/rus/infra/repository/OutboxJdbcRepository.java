@@ -0,0 +1,65 @@
+package com.rus.rus.infra.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 아웃박스(outbox_event) 저장소
+ * - 도메인 이벤트는 변경과 같은 트랜잭션에서 INSERT하고, 릴레이는 FOR UPDATE SKIP LOCKED로 다른 릴레이가 잡지 않은 행만
+ *   id 순으로 잠가 꺼낸 뒤 같은 트랜잭션에서 삭제합니다. (여러 서버의 릴레이가 같은 행을 중복 처리하지 않음)
+ * - IDENTITY 키 INSERT와 잠금 조회를 JPA 없이 실행하기 위해 JdbcTemplate을 사용합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_event (uid, type, payload, created_at) VALUES (?, ?, ?, ?)";
+    private static final String LOCK_BATCH_SQL =
+            "SELECT id, uid, type, payload, created_at FROM outbox_event ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String OLDEST_SQL = "SELECT MIN(created_at) FROM outbox_event";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String uid, String type, String payload, LocalDateTime createdAt) {
+        jdbcTemplate.update(INSERT_SQL, uid, type, payload, Timestamp.valueOf(createdAt));
+    }
+
+    /**
+     * 다른 트랜잭션이 잠그지 않은 행을 id 순으로 최대 limit개 잠가 조회합니다. (트랜잭션 안에서 호출)
+     */
+    public List<OutboxRow> lockBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) -> new OutboxRow(
+                rs.getLong("id"),
+                rs.getString("uid"),
+                rs.getString("type"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toLocalDateTime()), limit);
+    }
+
+    public int deleteAllByIdIn(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("DELETE FROM outbox_event WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    /**
+     * 가장 오래 남아 있는 행의 기록 시각을 반환합니다. 비어 있으면 null을 반환합니다.
+     */
+    public LocalDateTime findOldestCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Timestamp.class);
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+
+    public record OutboxRow(long id, String uid, String type, String payload, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.rus.rus.infra.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.rus.rus.domain.ProcessedSyncEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 처리된 동기화 이벤트 일괄 저장소
+ * - PK를 클라이언트가 정하므로 JPA save는 INSERT 전에 행마다 SELECT(merge)를 실행합니다.
+ *   한 번의 동기화에서 처리한 이벤트는 모두 새 행이므로 JdbcTemplate.batchUpdate로 한 번에 저장합니다.
+ * - 같은 이벤트가 동시에 처리되면 PK 충돌(DuplicateKeyException)이 발생합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedSyncEventJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sync_processed_event (uid, event_id, type, result, processed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 처리된 이벤트를 일괄 저장합니다.
+     *
+     * @param events 처리된 이벤트 목록
+     */
+    public void batchInsert(List<ProcessedSyncEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getUid());
+            ps.setString(2, event.getEventId());
+            ps.setString(3, event.getType());
+            ps.setString(4, event.getResult());
+            ps.setTimestamp(5, Timestamp.valueOf(event.getProcessedAt()));
+        });
+    }
+}
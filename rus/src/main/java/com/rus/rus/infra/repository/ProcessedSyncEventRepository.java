@@ -0,0 +1,23 @@
+package com.rus.rus.infra.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.rus.rus.domain.ProcessedSyncEvent;
+import com.rus.rus.domain.idClass.ProcessedSyncEventId;
+
+@Repository
+public interface ProcessedSyncEventRepository extends JpaRepository<ProcessedSyncEvent, ProcessedSyncEventId> {
+
+    /**
+     * 사용자가 보낸 이벤트 중 이미 처리된 이벤트를 한 번에 조회합니다.
+     *
+     * @param uid      사용자 ID
+     * @param eventIds 클라이언트 이벤트 ID 목록
+     * @return 이미 처리된 이벤트 목록
+     */
+    List<ProcessedSyncEvent> findAllByUidAndEventIdIn(String uid, Collection<String> eventIds);
+}
@@ -3,6 +3,8 @@ package com.rus.rus.infra.repository;
 import com.rus.rus.domain.RecoveryMission;
 import com.rus.rus.domain.RecoveryMissionItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,5 +14,19 @@ import java.util.Optional;
 public interface RecoveryMissionItemRepository extends JpaRepository<RecoveryMissionItem, Long> {
     List<RecoveryMissionItem> findByRecoveryMission(RecoveryMission recoveryMission);
     Optional<RecoveryMissionItem> findByRecoveryMissionAndRoutine_Rid(RecoveryMission recoveryMission, Integer rid);
+
+    /**
+     * 리커버리 미션에 속한 모든 미션 항목을 조회합니다.
+     * 루틴(Routine)과 루틴의 카테고리(Category)를 Fetch Join 합니다.
+     *
+     * @param recoveryMission 리커버리 미션
+     * @return 미션 항목 리스트 (루틴, 카테고리 포함)
+     */
+    @Query("SELECT i FROM RecoveryMissionItem i " +
+            "JOIN FETCH i.routine r " +
+            "LEFT JOIN FETCH r.category " +
+            "WHERE i.recoveryMission = :recoveryMission")
+    List<RecoveryMissionItem> findAllByRecoveryMissionWithRoutineFetchJoin(
+            @Param("recoveryMission") RecoveryMission recoveryMission);
 }
 
@@ -13,10 +13,24 @@ import java.util.List;
 public interface RoutineRepository extends JpaRepository<Routine, Integer> {
     /**
      * 카테고리 이름 목록에 해당하는 모든 루틴을 조회합니다.
+     * 카테고리(Category)를 Fetch Join 합니다.
+     *
      * @param categoryNames 카테고리 이름 리스트 (e.g., ["sleep", "sunlight"])
-     * @return 해당하는 Routine 엔티티 리스트
+     * @return 해당하는 Routine 엔티티 리스트 (카테고리 포함)
      */
-    @Query("SELECT r FROM Routine r WHERE r.category.value IN :categoryNames")
-    List<Routine> findRoutinesByCategoryNames(@Param("categoryNames") List<String> categoryNames);
+    @Query("SELECT r FROM Routine r " +
+            "JOIN FETCH r.category c " +
+            "WHERE c.value IN :categoryNames")
+    List<Routine> findAllByCategoryNamesWithCategoryFetchJoin(@Param("categoryNames") List<String> categoryNames);
+
+    /**
+     * 모든 루틴을 조회합니다.
+     * 카테고리(Category)를 Fetch Join 합니다.
+     *
+     * @return 전체 Routine 엔티티 리스트 (카테고리 포함)
+     */
+    @Query("SELECT r FROM Routine r " +
+            "LEFT JOIN FETCH r.category")
+    List<Routine> findAllWithCategoryFetchJoin();
     List<Routine> findByRidIn(List<Integer> rids);
 }
@@ -2,6 +2,8 @@ package com.rus.rus.infra.repository;
 
 import com.rus.rus.domain.RoutineSera;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -11,4 +13,16 @@ public interface RoutineSeraRepository extends JpaRepository<RoutineSera, Intege
     //List<RoutineSera> findByUid(String uid);
     //Optional<RoutineSera> findById(Integer id);
     List<RoutineSera> findByUserProfile_Uid(String uid);
+
+    /**
+     * 사용자의 모든 Sera 추천 루틴을 조회합니다.
+     * 카테고리(Category)를 Fetch Join 합니다.
+     *
+     * @param uid 사용자 ID
+     * @return Sera 추천 루틴 리스트 (카테고리 포함)
+     */
+    @Query("SELECT rs FROM RoutineSera rs " +
+            "LEFT JOIN FETCH rs.category " +
+            "WHERE rs.userProfile.uid = :uid")
+    List<RoutineSera> findAllByUidWithCategoryFetchJoin(@Param("uid") String uid);
 }
@@ -0,0 +1,42 @@
+package com.rus.rus.infra.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 달성 기록 일괄 저장소
+ * - UserAttainment의 PK가 IDENTITY라 Hibernate는 INSERT를 JDBC 배치로 묶지 못하므로,
+ *   여러 건을 한 번에 저장할 때는 JdbcTemplate.batchUpdate로 하나의 배치 문장으로 보냅니다.
+ * - JPA 트랜잭션 안에서 호출하면 같은 커넥션(트랜잭션)을 사용합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserAttainmentJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users_attainment (uid, id, \"timestamp\") VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 개인 루틴 달성 기록을 일괄 저장합니다.
+     *
+     * @param uid        사용자 ID
+     * @param routineIds 달성한 개인 루틴 ID 목록
+     * @param timestamp  달성 시각
+     */
+    public void batchInsert(String uid, List<Integer> routineIds, LocalDateTime timestamp) {
+        Timestamp attainedAt = Timestamp.valueOf(timestamp);
+        jdbcTemplate.batchUpdate(INSERT_SQL, routineIds, routineIds.size(), (ps, routineId) -> {
+            ps.setString(1, uid);
+            ps.setInt(2, routineId);
+            ps.setTimestamp(3, attainedAt);
+        });
+    }
+}
@@ -1,9 +1,13 @@
 package com.rus.rus.infra.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.rus.rus.domain.UserAttainment;
 import org.springframework.stereotype.Repository;
@@ -11,6 +15,92 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface UserAttainmentRepository extends JpaRepository<UserAttainment, Long> {
     List<UserAttainment> findByUserProfileUidAndTimestampBetween(String uid, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 사용자의 기간 내 달성 기록을 조회합니다.
+     * 달성한 개인 루틴(UserRoutine)을 Fetch Join 합니다.
+     *
+     * @param uid   사용자 ID
+     * @param start 조회 시작 시각
+     * @param end   조회 종료 시각
+     * @return 달성 기록 리스트 (개인 루틴 포함)
+     */
+    @Query("SELECT ua FROM UserAttainment ua " +
+            "JOIN FETCH ua.userRoutine " +
+            "WHERE ua.userProfile.uid = :uid " +
+            "AND ua.timestamp BETWEEN :start AND :end")
+    List<UserAttainment> findAllByUidAndTimestampBetweenWithRoutineFetchJoin(
+            @Param("uid") String uid,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * 사용자가 기간 내 달성한 개인 루틴 ID 목록을 조회합니다.
+     * 달성 여부 판별에는 ID만 필요하므로 엔티티 대신 ID만 조회합니다.
+     *
+     * @param uid   사용자 ID
+     * @param start 조회 시작 시각
+     * @param end   조회 종료 시각
+     * @return 달성한 개인 루틴 ID 리스트
+     */
+    @Query("SELECT ua.userRoutine.id FROM UserAttainment ua " +
+            "WHERE ua.userProfile.uid = :uid " +
+            "AND ua.timestamp BETWEEN :start AND :end")
+    List<Integer> findRoutineIdsByUidAndTimestampBetween(
+            @Param("uid") String uid,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * 사용자의 기간 내 개인 루틴별 달성 횟수를 조회합니다.
+     *
+     * @param uid   사용자 ID
+     * @param start 조회 시작 시각
+     * @param end   조회 종료 시각
+     * @return 개인 루틴별 달성 횟수 리스트
+     */
+    @Query("SELECT ua.userRoutine.id AS routineId, COUNT(ua) AS attainmentCount FROM UserAttainment ua " +
+            "WHERE ua.userProfile.uid = :uid " +
+            "AND ua.timestamp BETWEEN :start AND :end " +
+            "GROUP BY ua.userRoutine.id")
+    List<RoutineAttainmentCount> countByUidAndTimestampBetweenGroupByRoutine(
+            @Param("uid") String uid,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * 개인 루틴별 달성 횟수 프로젝션
+     */
+    interface RoutineAttainmentCount {
+        Integer getRoutineId();
+
+        Long getAttainmentCount();
+    }
+
+    /**
+     * 사용자의 기간 내 달성 기록 중 지정한 개인 루틴의 기록을 한 번에 삭제합니다.
+     *
+     * @param uid        사용자 ID
+     * @param routineIds 개인 루틴 ID 목록
+     * @param start      삭제 대상 시작 시각
+     * @param end        삭제 대상 종료 시각
+     * @return 삭제된 기록 수
+     */
+    @Modifying
+    @Query("DELETE FROM UserAttainment ua " +
+            "WHERE ua.userProfile.uid = :uid " +
+            "AND ua.userRoutine.id IN :routineIds " +
+            "AND ua.timestamp BETWEEN :start AND :end")
+    int deleteByUidAndRoutineIdInAndTimestampBetween(
+            @Param("uid") String uid,
+            @Param("routineIds") Collection<Integer> routineIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
     List<UserAttainment> findByUserProfile_UidAndTimestampBetween(
             String uid,
             LocalDateTime start,
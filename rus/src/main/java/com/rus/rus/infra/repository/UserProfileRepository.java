@@ -1,9 +1,94 @@
 package com.rus.rus.infra.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.rus.rus.domain.UserProfile;
 
 public interface UserProfileRepository extends JpaRepository<UserProfile, String> {
 
+    /**
+     * 연속 달성 일수 조회(API-4.15)에 필요한 데이터를 한 번의 쿼리로 조회합니다.
+     * 프로필, 리커버리 미션, 전체 루틴 수, 기간 내 달성 수를 CTE로 묶어 DB 왕복을 한 번으로 줄입니다.
+     *
+     * @param uid   사용자 ID
+     * @param start 달성 집계 시작 시각
+     * @param end   달성 집계 종료 시각
+     * @return 연속 달성 요약 (사용자가 없으면 빈 값)
+     */
+    @Query(value = "WITH routine_count AS (" +
+            "    SELECT COUNT(*) AS total FROM users_routine WHERE uid = :uid" +
+            "), attainment_count AS (" +
+            "    SELECT COUNT(*) AS completed FROM users_attainment" +
+            "    WHERE uid = :uid AND \"timestamp\" BETWEEN :start AND :end" +
+            ") " +
+            "SELECT p.streak AS \"currentStreak\", p.last_streak_date AS \"lastStreakDate\", " +
+            "       rm.deadline AS \"recoveryDeadline\", rm.original_streak AS \"recoveryOriginalStreak\", " +
+            "       rc.total AS \"totalRoutines\", ac.completed AS \"completedRoutines\" " +
+            "FROM users_profile p " +
+            "LEFT JOIN recovery_missions rm ON rm.uid = p.uid " +
+            "CROSS JOIN routine_count rc " +
+            "CROSS JOIN attainment_count ac " +
+            "WHERE p.uid = :uid", nativeQuery = true)
+    Optional<StreakSummary> findStreakSummary(
+            @Param("uid") String uid,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * 사용자의 lux를 amount만큼 증가시킵니다. (조회 없이 한 번의 UPDATE)
+     *
+     * @param uid    사용자 ID
+     * @param amount 증가량
+     * @return 갱신된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserProfile p SET p.lux = p.lux + :amount WHERE p.uid = :uid")
+    int increaseLux(@Param("uid") String uid, @Param("amount") int amount);
+
+    /**
+     * 사용자의 lux를 amount만큼 감소시킵니다. 0 미만으로 내려가지 않습니다. (조회 없이 한 번의 UPDATE)
+     *
+     * @param uid    사용자 ID
+     * @param amount 감소량
+     * @return 갱신된 행 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserProfile p SET p.lux = CASE WHEN p.lux > :amount THEN p.lux - :amount ELSE 0 END " +
+            "WHERE p.uid = :uid")
+    int decreaseLux(@Param("uid") String uid, @Param("amount") int amount);
+
+    /**
+     * lux 상위 사용자를 조회합니다. (동점은 uid 순으로 고정)
+     *
+     * @param pageable 조회할 인원 (첫 페이지)
+     * @return lux 내림차순 프로필 목록
+     */
+    List<UserProfile> findAllByOrderByLuxDescUidAsc(Pageable pageable);
+
+    /**
+     * 연속 달성 요약 프로젝션
+     */
+    interface StreakSummary {
+        Integer getCurrentStreak();
+
+        LocalDate getLastStreakDate();
+
+        LocalDate getRecoveryDeadline();
+
+        Integer getRecoveryOriginalStreak();
+
+        Long getTotalRoutines();
+
+        Long getCompletedRoutines();
+    }
 }
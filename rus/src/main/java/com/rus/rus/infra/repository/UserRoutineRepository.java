@@ -1,12 +1,45 @@
 package com.rus.rus.infra.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.rus.rus.domain.UserRoutine;
 
 public interface UserRoutineRepository extends JpaRepository<UserRoutine, Integer> {
     List<UserRoutine> findByUserProfileUid(String uid);
     List<UserRoutine> findByUserProfile_Uid(String uid);
+
+    /**
+     * 사용자의 모든 개인 루틴을 조회합니다.
+     * 카테고리(Category)를 Fetch Join 합니다.
+     *
+     * @param uid 사용자 ID
+     * @return 개인 루틴 리스트 (카테고리 포함)
+     */
+    @Query("SELECT ur FROM UserRoutine ur " +
+            "LEFT JOIN FETCH ur.category " +
+            "WHERE ur.userProfile.uid = :uid")
+    List<UserRoutine> findAllByUidWithCategoryFetchJoin(@Param("uid") String uid);
+
+    /**
+     * 개인 루틴 ID 목록의 소유자를 한 번의 쿼리로 조회합니다. (존재하지 않는 ID는 결과에서 빠집니다)
+     *
+     * @param ids 개인 루틴 ID 목록
+     * @return 개인 루틴 ID와 소유자 UID 목록
+     */
+    @Query("SELECT ur.id AS id, ur.userProfile.uid AS uid FROM UserRoutine ur WHERE ur.id IN :ids")
+    List<RoutineOwner> findOwnersByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * 개인 루틴 소유자 프로젝션
+     */
+    interface RoutineOwner {
+        Integer getId();
+
+        String getUid();
+    }
 }
@@ -1,9 +1,48 @@
 package com.rus.rus.infra.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.rus.rus.domain.UserSetting;
 
 public interface UserSettingRepository extends JpaRepository<UserSetting, String>{
 
+    /**
+     * 사용자 UID로 설정을 조회합니다.
+     * 칭호(Title)를 Fetch Join 합니다.
+     *
+     * @param uid 사용자 ID
+     * @return 사용자 설정 (칭호 포함)
+     */
+    @Query("SELECT s FROM UserSetting s " +
+            "LEFT JOIN FETCH s.title " +
+            "WHERE s.uid = :uid")
+    Optional<UserSetting> findByUidWithTitleFetchJoin(@Param("uid") String uid);
+
+    /**
+     * 모든 사용자 설정을 조회합니다. (랭킹용)
+     * 칭호(Title)를 Fetch Join 합니다.
+     *
+     * @return 사용자 설정 리스트 (칭호 포함)
+     */
+    @Query("SELECT s FROM UserSetting s " +
+            "LEFT JOIN FETCH s.title")
+    List<UserSetting> findAllWithTitleFetchJoin();
+
+    /**
+     * 여러 사용자의 설정을 조회합니다. (상위 랭킹용)
+     * 칭호(Title)를 Fetch Join 합니다.
+     *
+     * @param uids 사용자 ID 목록
+     * @return 사용자 설정 리스트 (칭호 포함)
+     */
+    @Query("SELECT s FROM UserSetting s " +
+            "LEFT JOIN FETCH s.title " +
+            "WHERE s.uid IN :uids")
+    List<UserSetting> findAllByUidInWithTitleFetchJoin(@Param("uids") Collection<String> uids);
 }
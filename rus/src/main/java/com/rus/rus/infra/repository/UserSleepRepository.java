@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -18,8 +19,9 @@ public interface UserSleepRepository extends JpaRepository<UserSleep, Long> {
      *
      * @param uid  사용자 고유 식별자
      * @param date 조회할 날짜
-     * @return Optional<UserSleep>
+     * @return Optional<UserSleep> (응답 DTO에서 사용하는 사용자 프로필 포함)
      */
+    @EntityGraph(attributePaths = "userProfile")
     Optional<UserSleep> findTopByUserProfileUidAndTimestampOrderBySleepLogIdDesc(String uid, LocalDate date);
 
     /**
@@ -28,7 +30,8 @@ public interface UserSleepRepository extends JpaRepository<UserSleep, Long> {
      * @param uid       사용자 고유 식별자
      * @param startDate 조회 시작일
      * @param endDate   조회 종료일
-     * @return List<UserSleep>
+     * @return List<UserSleep> (응답 DTO에서 사용하는 사용자 프로필 포함)
      */
+    @EntityGraph(attributePaths = "userProfile")
     List<UserSleep> findAllByUserProfileUidAndTimestampBetween(String uid, LocalDate startDate, LocalDate endDate);
 }
\ No newline at end of file
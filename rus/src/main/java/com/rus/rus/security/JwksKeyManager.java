@@ -0,0 +1,168 @@
+package com.rus.rus.security;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.UrlJwkProvider;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.net.URL;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Supabase JWKS 공개키 관리
+ * - 애플리케이션 시작 시 키를 미리 받아 두고, 주기적으로 백그라운드에서 갱신합니다.
+ * - 키 목록은 불변 Map으로 만들어 AtomicReference로 통째로 교체하므로, 조회는 잠금 없이 수행됩니다.
+ * - 모르는 kid가 들어오면 즉시 갱신하되, 최소 간격(jwt.jwks.min-refresh-interval) 안에는 다시 요청하지 않습니다.
+ * - jwt.jwks.local-file이 지정되면 URL이 비어 있거나 조회에 실패할 때 로컬 JWKS 파일을 사용합니다. (오프라인 테스트용)
+ */
+@Slf4j
+@Component
+public class JwksKeyManager {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+
+    private final String jwksUrl;
+    private final String localFile;
+    private final long minRefreshIntervalMillis;
+
+    private final AtomicReference<Map<String, PublicKey>> keys = new AtomicReference<>(Map.of());
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long lastRefreshAttemptAt;
+
+    public JwksKeyManager(@Value("${supabase.jwks.url:}") String jwksUrl,
+                          @Value("${jwt.jwks.local-file:}") String localFile,
+                          @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.jwksUrl = jwksUrl;
+        this.localFile = localFile;
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+    }
+
+    /**
+     * 시작 시 키를 미리 받아 둡니다. 실패해도 애플리케이션은 시작되며, 첫 요청 또는 다음 주기에 다시 시도합니다.
+     */
+    @PostConstruct
+    public void prefetch() {
+        refresh();
+    }
+
+    /**
+     * 주기적으로 키 목록을 갱신합니다. (키 교체(rotation) 반영)
+     */
+    @Scheduled(initialDelayString = "${jwt.jwks.refresh-interval-ms:600000}",
+            fixedDelayString = "${jwt.jwks.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * kid에 해당하는 공개키를 반환합니다.
+     * 없으면 최소 갱신 간격이 지난 경우에 한해 키 목록을 다시 받아 한 번 더 찾습니다.
+     *
+     * @param kid 토큰 헤더의 Key ID
+     * @return 공개키
+     */
+    public PublicKey getKey(String kid) {
+        PublicKey key = keys.get().get(kid);
+        if (key != null) {
+            return key;
+        }
+
+        refreshIfAllowed();
+        key = keys.get().get(kid);
+        if (key == null) {
+            throw new IllegalStateException("JWKS에서 서명 키를 찾을 수 없습니다. kid=" + kid);
+        }
+        return key;
+    }
+
+    private void refreshIfAllowed() {
+        long attemptedAt = lastRefreshAttemptAt;
+        refreshLock.lock();
+        try {
+            // 잠금을 기다리는 동안 다른 스레드가 이미 갱신했다면 다시 요청하지 않습니다.
+            if (lastRefreshAttemptAt != attemptedAt
+                    || System.currentTimeMillis() - lastRefreshAttemptAt < minRefreshIntervalMillis) {
+                return;
+            }
+            refreshLocked();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refresh() {
+        refreshLock.lock();
+        try {
+            refreshLocked();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshLocked() {
+        lastRefreshAttemptAt = System.currentTimeMillis();
+        try {
+            List<Jwk> jwks = load();
+            Map<String, PublicKey> loaded = new HashMap<>();
+            for (Jwk jwk : jwks) {
+                try {
+                    loaded.put(jwk.getId(), jwk.getPublicKey());
+                } catch (Exception e) {
+                    log.warn("지원하지 않는 JWK를 건너뜁니다. kid={}, kty={}", jwk.getId(), jwk.getType());
+                }
+            }
+            if (loaded.isEmpty()) {
+                log.warn("JWKS 응답에 사용할 수 있는 키가 없어 기존 키를 유지합니다.");
+                return;
+            }
+            keys.set(Map.copyOf(loaded));
+            log.info("JWKS 키 갱신 완료 - 키 개수: {}", loaded.size());
+        } catch (Exception e) {
+            // 갱신에 실패하면 기존 키를 그대로 사용합니다.
+            log.warn("JWKS 키 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private List<Jwk> load() throws Exception {
+        if (StringUtils.hasText(jwksUrl)) {
+            try {
+                return new UrlJwkProvider(new URL(jwksUrl), CONNECT_TIMEOUT_MILLIS, READ_TIMEOUT_MILLIS).getAll();
+            } catch (Exception e) {
+                if (!StringUtils.hasText(localFile)) {
+                    throw e;
+                }
+                log.warn("JWKS URL 조회 실패, 로컬 파일을 사용합니다: {}", e.getMessage());
+            }
+        }
+        if (StringUtils.hasText(localFile)) {
+            return loadLocalFile();
+        }
+        throw new IllegalStateException("JWKS URL 또는 로컬 파일이 설정되지 않았습니다.");
+    }
+
+    private List<Jwk> loadLocalFile() throws Exception {
+        Map<String, List<Map<String, Object>>> document = new ObjectMapper()
+                .readValue(new File(localFile), new TypeReference<>() {
+                });
+        List<Jwk> jwks = new ArrayList<>();
+        for (Map<String, Object> values : document.getOrDefault("keys", List.of())) {
+            jwks.add(Jwk.fromValues(values));
+        }
+        return jwks;
+    }
+}
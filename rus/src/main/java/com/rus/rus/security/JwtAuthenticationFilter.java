@@ -23,6 +23,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
+    /**
+     * 인증이 필요 없는 경로는 토큰을 검증하지 않고 필터를 건너뜁니다.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicEndpoints.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -33,6 +41,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = null;
 
         // Authorization 헤더에서 Bearer 토큰 추출
+        // getUidFromToken이 서명과 만료를 함께 검증하므로 토큰은 한 번만 파싱합니다.
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
@@ -43,21 +52,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
-        // 토큰 유효성 검사 및 SecurityContext에 인증 정보 저장
+        // 검증된 토큰이면 SecurityContext에 인증 정보 저장
         if (uid != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt)) {
-                // UserDetails 객체 생성. 여기서는 UID를 username으로 사용
-                UserDetails userDetails = new User(uid, "", Collections.emptyList());
+            // UserDetails 객체 생성. 여기서는 UID를 username으로 사용
+            UserDetails userDetails = new User(uid, "", Collections.emptyList());
 
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // SecurityContext에 인증 정보 설정
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+            // SecurityContext에 인증 정보 설정
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
 
         filterChain.doFilter(request, response);
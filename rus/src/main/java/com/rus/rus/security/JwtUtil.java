@@ -1,69 +1,109 @@
 package com.rus.rus.security;
 
-import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
-import com.auth0.jwk.UrlJwkProvider;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class JwtUtil {
 
-    @Value("${supabase.jwks.url}")
-    private String jwksUrl;
-
-    // Supabase의 JWKS 엔드포인트에서 공개키를 가져와 토큰 서명을 검증하는 리졸버
-    // ✅ SigningKeyResolverAdapter를 직접 사용하도록 수정
-    private final SigningKeyResolver signingKeyResolver = new SigningKeyResolver() {
-        private JwkProvider provider;
+    private final JwksKeyManager jwksKeyManager;
 
+    // JWKS 키 관리자가 미리 받아 둔 공개키 중 토큰 헤더의 kid(Key ID)와 일치하는 키로 서명을 검증하는 리졸버
+    private final SigningKeyResolver signingKeyResolver = new SigningKeyResolverAdapter() {
         @Override
         public Key resolveSigningKey(JwsHeader jwsHeader, Claims claims) {
             try {
-                // JwkProvider를 한 번만 초기화합니다.
-                if (this.provider == null) {
-                    this.provider = new UrlJwkProvider(new URL(jwksUrl));
-                }
-                // 토큰 헤더에서 kid(Key ID)를 가져와서 일치하는 공개키를 JWKS 목록에서 찾습니다.
-                Jwk jwk = provider.get(jwsHeader.getKeyId());
-                return jwk.getPublicKey();
+                return jwksKeyManager.getKey(jwsHeader.getKeyId());
             } catch (Exception e) {
                 // 이 예외는 JwtExceptionFilter에서 처리됩니다.
                 throw new RuntimeException("서명 키를 가져오거나 검증하는 데 실패했습니다.", e);
             }
         }
-
-        @Override
-        public Key resolveSigningKey(JwsHeader jwsHeader, String plaintext) {
-            // 이 메서드는 사용하지 않으므로 기본 구현을 유지합니다.
-            return null;
-        }
     };
 
+    // 파서는 스레드 안전하므로 한 번만 생성하여 재사용합니다.
+    private final JwtParser jwtParser;
+
+    // 서명 검증을 통과한 토큰 캐시 (key: 토큰의 SHA-256, 토큰의 exp까지 유효, 접근 순서 기반 LRU)
+    private final int verifiedCacheMaxEntries;
+    private final Map<String, VerifiedToken> verifiedTokens;
+    private final Clock clock;
+
+    @Autowired
+    public JwtUtil(JwksKeyManager jwksKeyManager,
+                   @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
+        this(jwksKeyManager, verifiedCacheMaxEntries, Clock.systemUTC());
+    }
+
+    JwtUtil(JwksKeyManager jwksKeyManager, int verifiedCacheMaxEntries, Clock clock) {
+        this.jwksKeyManager = jwksKeyManager;
+        this.clock = clock;
+        this.verifiedCacheMaxEntries = verifiedCacheMaxEntries;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > JwtUtil.this.verifiedCacheMaxEntries;
+            }
+        };
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(signingKeyResolver)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+    }
+
     /**
      * 토큰에서 모든 Claim을 추출합니다.
      * 이 과정에서 signingKeyResolver를 통해 서명이 자동으로 검증됩니다.
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKeyResolver(signingKeyResolver)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     /**
      * 토큰에서 사용자 UID(sub 클레임)를 추출합니다.
+     * 이미 검증한 토큰은 만료(exp) 전까지 캐시에서 바로 반환하여 서명 검증을 반복하지 않습니다.
+     * 유효하지 않은 토큰이면 JwtException이 발생합니다.
      */
     public String getUidFromToken(String token) {
-        return getAllClaimsFromToken(token).getSubject();
+        String key = hash(token);
+        long now = clock.millis();
+
+        synchronized (verifiedTokens) {
+            VerifiedToken cached = verifiedTokens.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return cached.uid();
+                }
+                verifiedTokens.remove(key);
+            }
+        }
+
+        Claims claims = getAllClaimsFromToken(token);
+        Date expiration = claims.getExpiration();
+        // exp가 없는 토큰은 만료 시점을 알 수 없으므로 캐시하지 않습니다.
+        if (expiration != null && verifiedCacheMaxEntries > 0) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(key, new VerifiedToken(claims.getSubject(), expiration.getTime()));
+            }
+        }
+        return claims.getSubject();
     }
 
     /**
@@ -72,10 +112,22 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            getAllClaimsFromToken(token);
+            getUidFromToken(token);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String uid, long expiresAt) {
+    }
 }
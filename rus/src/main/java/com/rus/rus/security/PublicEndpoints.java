@@ -0,0 +1,45 @@
+package com.rus.rus.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * 인증 없이 접근 가능한 경로 목록
+ * - SecurityConfig의 permitAll 규칙과 JwtAuthenticationFilter의 필터 생략 조건이 같은 목록을 사용합니다.
+ * - JWT토큰이 필요 없는 API의 경우, 이곳에 추가해야 정상적으로 요청이 들어갑니다
+ */
+public final class PublicEndpoints {
+
+    public static final String[] PATHS = {
+            "/", "/api", "/error", "/favicon.ico", "/actuator/**",
+            "/auth/signup",
+            "/routine/recommend",
+            "/routine",
+            "/routine/challenge",
+            "/routine/collections",
+            "/routine/collections/**",
+            "/users/ranking",
+            "/shop/products",
+            "/shop/products/**",
+            "/kfood/detect",
+            "/kfood/detect/reactive",
+            "/kfood/jobs",
+            "/kfood/jobs/**",
+            "/live/stream"
+    };
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private PublicEndpoints() {
+    }
+
+    public static boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : PATHS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,6 +3,7 @@ package com.rus.rus.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rus.rus.common.ErrorResponseDTO;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
@@ -46,19 +47,11 @@ public class SecurityConfig {
 
         // 요청에 대한 인가 규칙 설정
         http.authorizeHttpRequests(auth -> {
-            auth.requestMatchers("/", "/api", "/error", "/favicon.ico", "/actuator/**").permitAll(); // 특정 경로는 인증 없이 허용
-
-            // JWT토큰이 필요 없는 API의 경우, 이곳에 추가해야 정상적으로 요청이 들어갑니다
-            auth.requestMatchers("/auth/signup",
-                    "/routine/recommend",
-                    "/routine",
-                    "/routine/challenge",
-                    "/routine/collections",
-                    "/routine/collections/**",
-                    "/users/ranking",
-                    "/shop/products",
-                    "/shop/products/**",
-                    "/kfood/detect").permitAll();
+            // 특정 경로는 인증 없이 허용 (목록은 PublicEndpoints에서 관리)
+            auth.requestMatchers(PublicEndpoints.PATHS).permitAll();
+            // Mono 반환 API의 비동기 재디스패치는 최초 요청에서 이미 인가되었으므로 허용
+            // (JWT 필터는 재디스패치에서 다시 실행되지 않아 SecurityContext가 비어 있습니다)
+            auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
 
             if (swaggerEnabled) {
                 // Swagger UI 및 API docs에 인증 없이 접근 허용
@@ -0,0 +1,171 @@
+package com.rus.rus.application;
+
+import com.rus.rus.domain.Category;
+import com.rus.rus.domain.ChallengeUser;
+import com.rus.rus.domain.UserProfile;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository;
+import com.rus.rus.infra.repository.UserAttainmentJdbcRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * 챌린지 참여자 카운터 검증
+ * - 도전 수락/달성 체크/다음에가 커밋된 경우에만 카운터에 반영되어 조회 시 DB 집계 없이 정확한 값을 주는지,
+ *   서비스를 거치지 않은 변경은 보정(reconcile)으로 맞춰지는지 확인합니다.
+ * - 보정 집계 중에도 조회가 기다리지 않고 기존 카운터로 응답하는지 확인합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:challenge-counter;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+		// 스케줄 보정이 테스트 중간에 카운터를 교체하지 않도록 합니다.
+		"challenge.counter.reconcile-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ RoutineService.class, ChallengeParticipantCounter.class, ChallengeUserJdbcRepository.class,
+		UserAttainmentJdbcRepository.class })
+// 커밋된 변경만 반영되는지 확인해야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChallengeParticipantCounterTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private RoutineService routineService;
+
+	@Autowired
+	private ChallengeParticipantCounter challengeParticipantCounter;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockitoSpyBean
+	private ChallengeUserJdbcRepository challengeUserJdbcRepository;
+
+	@MockitoBean
+	private SupabaseAuthService supabaseAuthService;
+
+	@MockitoBean
+	private ReportService reportService;
+
+	@MockitoBean
+	private Scheduler jpaScheduler;
+
+	@Test
+	void appliesCommittedChangesWithoutCountingPerRequest() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		Category category = tx.execute(status -> {
+			Category saved = Category.builder().value("수면").build();
+			em.persist(saved);
+			return saved;
+		});
+		List<String> uids = tx.execute(status -> List.of(
+				seedChallengeUser(category, "challenge"),
+				seedChallengeUser(category, "challenge"),
+				seedChallengeUser(category, "challenge"),
+				seedChallengeUser(category, "other")));
+		challengeParticipantCounter.reconcile();
+		clearInvocations(challengeUserJdbcRepository);
+
+		assertThat(routineService.getChallengeStatus(uids.get(0)).getParticipants()).isEqualTo(3);
+
+		routineService.acceptChallenge(uids.get(0));
+		routineService.acceptChallenge(uids.get(1));
+		routineService.completeChallengeAttainment(uids.get(0));
+		routineService.completeChallengeAttainment(uids.get(1));
+		assertThat(challengeParticipantCounter.completedCount()).isEqualTo(2);
+
+		// 롤백된 변경은 반영하지 않습니다.
+		tx.executeWithoutResult(status -> {
+			routineService.postponeChallenge(uids.get(2));
+			status.setRollbackOnly();
+		});
+		assertThat(routineService.getChallengeStatus(uids.get(2)).getParticipants()).isEqualTo(3);
+
+		// 달성한 사용자가 다음에를 누르면 참여자 수와 달성자 수가 함께 줄어듭니다.
+		routineService.postponeChallenge(uids.get(1));
+		assertThat(routineService.getChallengeStatus(uids.get(0)).getParticipants()).isEqualTo(2);
+		assertThat(routineService.getChallengeStatus(uids.get(3)).getParticipants()).isEqualTo(1);
+		assertThat(challengeParticipantCounter.completedCount()).isEqualTo(1);
+		verifyNoInteractions(challengeUserJdbcRepository);
+
+		// 서버 밖에서 배정된 대상자는 보정 후 반영됩니다.
+		tx.executeWithoutResult(status -> seedChallengeUser(category, "challenge"));
+		assertThat(routineService.getChallengeStatus(uids.get(0)).getParticipants()).isEqualTo(2);
+		challengeParticipantCounter.reconcile();
+		assertThat(routineService.getChallengeStatus(uids.get(0)).getParticipants()).isEqualTo(3);
+		assertThat(challengeParticipantCounter.completedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void servesCurrentCountsWhileReconcileIsQuerying() throws Exception {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		Category category = tx.execute(status -> {
+			Category saved = Category.builder().value("운동").build();
+			em.persist(saved);
+			return saved;
+		});
+		tx.executeWithoutResult(status -> seedChallengeUser(category, "reconcile"));
+		challengeParticipantCounter.reconcile();
+		assertThat(challengeParticipantCounter.participantCount(category.getCategoryId(), "reconcile")).isEqualTo(1);
+		tx.executeWithoutResult(status -> seedChallengeUser(category, "reconcile"));
+
+		CountDownLatch querying = new CountDownLatch(1);
+		CompletableFuture<Void> release = new CompletableFuture<>();
+		doAnswer(invocation -> {
+			querying.countDown();
+			release.join();
+			return invocation.callRealMethod();
+		}).when(challengeUserJdbcRepository).countAllByChallenge(any(), any());
+
+		CompletableFuture<Void> reconcile = CompletableFuture.runAsync(challengeParticipantCounter::reconcile);
+		try {
+			assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+			// 집계가 끝나지 않아도 기존 카운터로 바로 응답합니다.
+			assertThat(CompletableFuture
+					.supplyAsync(() -> challengeParticipantCounter.participantCount(category.getCategoryId(), "reconcile"))
+					.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+		} finally {
+			release.complete(null);
+		}
+		reconcile.get(5, TimeUnit.SECONDS);
+		assertThat(challengeParticipantCounter.participantCount(category.getCategoryId(), "reconcile")).isEqualTo(2);
+	}
+
+	private String seedChallengeUser(Category category, String content) {
+		String uid = UUID.randomUUID().toString();
+		UserProfile profile = UserProfile.builder().uid(uid).name("user-" + uid).build();
+		em.persist(profile);
+		em.persist(ChallengeUser.builder()
+				.userProfile(profile)
+				.datetime(LocalDateTime.now())
+				.challengeCategoryId(category.getCategoryId())
+				.challengeContent(content)
+				.build());
+		return uid;
+	}
+}
@@ -0,0 +1,54 @@
+package com.rus.rus.application;
+
+import com.rus.rus.infra.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Idempotency-Key 응답 메모리 캐시 한도 검증
+ * - 항목 수가 적어도 본문 바이트 합계가 max-bytes를 넘으면 오래 쓰이지 않은 항목부터 내보내는지 확인합니다.
+ */
+class IdempotencyServiceTest {
+
+	private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+	private final IdempotencyService service =
+			new IdempotencyService(repository, Duration.ofHours(1), Duration.ofMinutes(1), 100, 1000);
+
+	@Test
+	void evictsLeastRecentlyUsedResponsesByTotalBytes() {
+		when(repository.findById(anyString())).thenReturn(Optional.empty());
+
+		service.complete("a", "hash", 200, "application/json", new byte[400]);
+		service.complete("b", "hash", 200, "application/json", new byte[400]);
+		// a를 최근 사용으로 만든 뒤 c를 넣으면 b가 밀려납니다.
+		assertThat(service.find("a")).isNotNull();
+		service.complete("c", "hash", 200, "application/json", new byte[400]);
+
+		assertThat(service.cachedEntries()).isEqualTo(2);
+		assertThat(service.cachedBytes()).isEqualTo(800);
+		assertThat(service.find("a")).isNotNull();
+		assertThat(service.find("c")).isNotNull();
+		verify(repository, never()).findById("a");
+		// 밀려난 응답은 DB에서 읽습니다.
+		assertThat(service.find("b")).isNull();
+		verify(repository).findById("b");
+	}
+
+	@Test
+	void doesNotCacheResponseLargerThanLimit() {
+		service.complete("small", "hash", 200, "application/json", new byte[100]);
+		service.complete("large", "hash", 200, "application/json", new byte[1001]);
+
+		assertThat(service.cachedEntries()).isEqualTo(1);
+		assertThat(service.cachedBytes()).isEqualTo(100);
+	}
+}
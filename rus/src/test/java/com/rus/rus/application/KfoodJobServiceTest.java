@@ -0,0 +1,228 @@
+package com.rus.rus.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.kfood.KfoodDetectionCache;
+import com.rus.rus.application.kfood.KfoodDetector;
+import com.rus.rus.application.kfood.KfoodImagePreprocessor;
+import com.rus.rus.application.kfood.KfoodJob;
+import com.rus.rus.application.kfood.PreparedImage;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.common.RetryLaterException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockMultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * K-Food 감지 대기열 검증
+ * - 대기열이 가득 차면 429 + Retry-After로 거절하는지, 대기 중인 업로드는 힙이 아닌 임시 파일로 두고 끝나면 지우는지 확인합니다.
+ * - 비동기 작업 결과가 보관 기간과 바이트 한도에 따라 삭제되는지 확인합니다.
+ * - 동시 실행 수가 감지기가 요구하는 최소값(배치 감지기)보다 작으면 늘리는지 확인합니다.
+ * - 동기 감지가 제한 시간을 넘으면 작업을 취소하고 504를 던지는지 확인합니다.
+ * - 리액티브 요청이 작업 스레드와 같은 감지기 호출 허가를 쓰고, 대기는 queue-capacity건까지만 허용하는지 확인합니다.
+ */
+class KfoodJobServiceTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private final KfoodImagePreprocessor preprocessor = mock(KfoodImagePreprocessor.class);
+	private final KfoodDetector detector = mock(KfoodDetector.class);
+	private final KfoodService kfoodService = new KfoodService(detector, preprocessor,
+			new KfoodDetectionCache(new ObjectMapper(), false, 0, 0, Duration.ZERO, false, 0, false, null, 0));
+	private KfoodJobService service;
+
+	@BeforeEach
+	void setUp() {
+		// 전처리를 건너뛰어 업로드 원본을 그대로 보내는 경우입니다.
+		when(preprocessor.prepare(any())).thenAnswer(invocation -> {
+			MockMultipartFile file = invocation.getArgument(0);
+			return PreparedImage.builder().body(file.getResource()).filename(file.getOriginalFilename()).build();
+		});
+		when(preprocessor.prepareReactive(any())).thenAnswer(invocation -> {
+			MockMultipartFile file = invocation.getArgument(0);
+			return Mono.just(PreparedImage.builder().body(file.getResource()).filename(file.getOriginalFilename()).build());
+		});
+		when(preprocessor.restoreOriginalCoordinates(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void rejectsWithRetryAfterWhenQueueIsFullAndKeepsUploadOnDisk() {
+		CompletableFuture<Void> release = new CompletableFuture<>();
+		List<Path> detached = new CopyOnWriteArrayList<>();
+		when(detector.detect(any())).thenAnswer(invocation -> {
+			PreparedImage prepared = invocation.getArgument(0);
+			assertThat(prepared.getBody()).isInstanceOf(FileSystemResource.class);
+			assertThat(Files.readAllBytes(prepared.getDetachedFile())).containsExactly(1, 2, 3);
+			detached.add(prepared.getDetachedFile());
+			release.join();
+			return result(0);
+		});
+		service = new KfoodJobService(kfoodService, detector, new SimpleMeterRegistry(), 1, 1, Duration.ofMinutes(10), 1024, TIMEOUT);
+
+		KfoodJob running = service.submit(upload());
+		waitUntil(() -> running.getStatus() == KfoodJob.Status.RUNNING);
+		KfoodJob queued = service.submit(upload());
+
+		assertThatThrownBy(() -> service.submit(upload()))
+				.isInstanceOfSatisfying(RetryLaterException.class, e -> {
+					assertThat(e.getStatus().value()).isEqualTo(429);
+					// 대기 2건 × 기본 처리 시간 3초 / 동시 실행 1
+					assertThat(e.getRetryAfterSeconds()).isEqualTo(6);
+				});
+
+		release.complete(null);
+		waitUntil(queued::isFinished);
+		assertThat(queued.getStatus()).isEqualTo(KfoodJob.Status.DONE);
+		assertThat(detached).hasSize(2).noneMatch(Files::exists);
+	}
+
+	@Test
+	void removesJobsAfterTtlAndWhenResultBytesExceedLimit() throws Exception {
+		when(detector.detect(any())).thenReturn(result(600));
+		service = new KfoodJobService(kfoodService, detector, new SimpleMeterRegistry(), 1, 4, Duration.ofMillis(200), 1000, TIMEOUT);
+
+		KfoodJob first = service.submit(upload());
+		waitUntil(first::isFinished);
+		KfoodJob second = service.submit(upload());
+		waitUntil(second::isFinished);
+
+		// 결과 이미지 600 + 600바이트가 한도(1000)를 넘으므로 먼저 끝난 작업을 삭제합니다.
+		assertThatThrownBy(() -> service.getJob(first.getId())).isInstanceOf(ApiException.class);
+		assertThat(service.getJob(second.getId()).getResult().getImageWithBoxes()).hasSize(600);
+
+		// 보관 기간 전에는 남아 있고, 지나면 삭제합니다.
+		service.removeExpiredJobs();
+		assertThat(service.getJob(second.getId())).isSameAs(second);
+		Thread.sleep(300);
+		service.removeExpiredJobs();
+		assertThatThrownBy(() -> service.getJob(second.getId()))
+				.isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getStatus().value()).isEqualTo(404));
+	}
+
+	@Test
+	void raisesConcurrencyToWhatDetectorNeeds() {
+		when(detector.minConcurrency()).thenReturn(16);
+		service = new KfoodJobService(kfoodService, detector, new SimpleMeterRegistry(), 2, 20, Duration.ofMinutes(10),
+				1024, TIMEOUT);
+
+		assertThat(service.concurrency()).isEqualTo(16);
+	}
+
+	@Test
+	void cancelsSyncDetectionAfterTimeout() {
+		CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+		when(detector.detect(any())).thenAnswer(invocation -> {
+			try {
+				Thread.sleep(60_000);
+			} catch (InterruptedException e) {
+				interrupted.complete(true);
+			}
+			return result(0);
+		});
+		service = new KfoodJobService(kfoodService, detector, new SimpleMeterRegistry(), 1, 1, Duration.ofMinutes(10), 1024,
+				Duration.ofMillis(200));
+
+		assertThatThrownBy(() -> service.detect(upload()))
+				.isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getStatus().value()).isEqualTo(504));
+		// 멈춘 감지 호출을 인터럽트하여 작업 스레드와 감지기 허가를 돌려받습니다.
+		assertThat(interrupted.join()).isTrue();
+		when(detector.detect(any())).thenReturn(result(0));
+		assertThat(service.detect(upload()).getDetectedFoodLabels()).containsExactly("kimchi");
+	}
+
+	@Test
+	void reactiveRequestsShareDetectorPermitsWithJobs() {
+		CompletableFuture<Void> release = new CompletableFuture<>();
+		AtomicInteger calls = new AtomicInteger();
+		when(detector.detect(any())).thenAnswer(invocation -> {
+			calls.incrementAndGet();
+			release.join();
+			return result(0);
+		});
+		when(detector.detectReactive(any())).thenAnswer(invocation -> Mono.fromCallable(() -> {
+			calls.incrementAndGet();
+			return result(0);
+		}));
+		service = new KfoodJobService(kfoodService, detector, new SimpleMeterRegistry(), 1, 1, Duration.ofMinutes(10), 1024, TIMEOUT);
+
+		KfoodJob running = service.submit(upload());
+		waitUntil(() -> running.getStatus() == KfoodJob.Status.RUNNING);
+
+		// 작업이 허가를 쓰고 있으므로 리액티브 요청은 감지기를 호출하지 않고 기다립니다.
+		CompletableFuture<KfoodDetectionResponseDto> waiting = service.detectReactive(upload()).toFuture();
+		assertThat(waiting).isNotDone();
+		assertThat(calls).hasValue(1);
+
+		// 대기 한도(queue-capacity = 1)를 넘는 리액티브 요청은 429로 거절합니다.
+		assertThatThrownBy(() -> service.detectReactive(upload()).block())
+				.isInstanceOfSatisfying(RetryLaterException.class, e -> assertThat(e.getStatus().value()).isEqualTo(429));
+
+		release.complete(null);
+		assertThat(waiting.join().getDetectedFoodLabels()).containsExactly("kimchi");
+		assertThat(calls).hasValue(2);
+	}
+
+	@Test
+	void cancelledReactiveRequestGivesUpItsPlace() {
+		CompletableFuture<Void> release = new CompletableFuture<>();
+		when(detector.detect(any())).thenAnswer(invocation -> {
+			release.join();
+			return result(0);
+		});
+		when(detector.detectReactive(any())).thenReturn(Mono.fromCallable(() -> result(0)));
+		service = new KfoodJobService(kfoodService, detector, new SimpleMeterRegistry(), 1, 1, Duration.ofMinutes(10), 1024, TIMEOUT);
+
+		KfoodJob running = service.submit(upload());
+		waitUntil(() -> running.getStatus() == KfoodJob.Status.RUNNING);
+		service.detectReactive(upload()).subscribe().dispose();
+
+		// 취소된 요청은 대기 자리를 비우고, 허가가 반환되면 다음 요청이 받습니다.
+		CompletableFuture<KfoodDetectionResponseDto> next = service.detectReactive(upload()).toFuture();
+		release.complete(null);
+		assertThat(next.join().getDetectedFoodLabels()).containsExactly("kimchi");
+		assertThat(service.detectReactive(upload()).block().getDetectedFoodLabels()).containsExactly("kimchi");
+	}
+
+	private static void waitUntil(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("대기 시간 초과").isLessThan(deadline);
+			Thread.onSpinWait();
+		}
+	}
+
+	private static MockMultipartFile upload() {
+		return new MockMultipartFile("file", "food.jpg", "image/jpeg", new byte[] { 1, 2, 3 });
+	}
+
+	private static KfoodDetectionResponseDto result(int imageBytes) {
+		return KfoodDetectionResponseDto.builder()
+				.imageWithBoxes(imageBytes > 0 ? new byte[imageBytes] : null)
+				.detectedFoodLabels(List.of("kimchi"))
+				.build();
+	}
+}
@@ -0,0 +1,308 @@
+package com.rus.rus.application;
+
+import com.rus.rus.application.event.RoutineCompleted;
+import com.rus.rus.config.FanOutExecutor;
+import com.rus.rus.controller.dto.res.BulkAttainmentResponseDto;
+import com.rus.rus.controller.dto.res.ChallengeStatusResponseDto;
+import com.rus.rus.controller.dto.res.StreakResponseDto;
+import com.rus.rus.domain.*;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository;
+import com.rus.rus.infra.repository.UserAttainmentJdbcRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회 API의 쿼리 수 고정 여부 검증 (Hibernate Statistics)
+ * - 같은 API를 데이터 1건/20건인 사용자로 호출하여 실행된 SQL 수가 데이터 크기와 무관하게 같은지 확인합니다.
+ * - 지연 로딩이 루프 안에서 발생(N+1)하면 데이터 크기에 비례해 쿼리 수가 늘어나 실패합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		// value, timestamp 등 H2 예약어 컬럼을 그대로 사용하기 위해 식별자를 따옴표로 감싸고,
+		// 네이티브 쿼리의 소문자 식별자가 그대로 매칭되도록 H2를 PostgreSQL 모드(소문자)로 실행합니다.
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:query-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ RoutineService.class, StatisticsService.class, UserService.class, FanOutExecutor.class,
+		UserAttainmentJdbcRepository.class, ChallengeParticipantCounter.class, ChallengeUserJdbcRepository.class })
+@RecordApplicationEvents
+class QueryCountTest {
+
+	private static final int SMALL = 1;
+	private static final int LARGE = 20;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private RoutineService routineService;
+
+	@Autowired
+	private StatisticsService statisticsService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@MockitoBean
+	private SupabaseAuthService supabaseAuthService;
+
+	@MockitoBean
+	private ReportService reportService;
+
+	@MockitoBean
+	private Scheduler jpaScheduler;
+
+	private final AtomicInteger nextRid = new AtomicInteger(1);
+	private List<Category> categories;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		categories = new ArrayList<>();
+		for (String value : List.of("수면", "운동", "영양소", "햇빛", "사회적유대감")) {
+			Category category = Category.builder().value(value).build();
+			em.persist(category);
+			categories.add(category);
+		}
+	}
+
+	@Test
+	void personalRoutines() {
+		assertFixedQueryCount(2, uid -> routineService.getPersonalRoutines(uid));
+	}
+
+	@Test
+	void seraRecommendRoutines() {
+		assertFixedQueryCount(2, uid -> routineService.getRecommendRoutines(uid));
+	}
+
+	@Test
+	void recoveryStatus() {
+		assertFixedQueryCount(2, uid -> routineService.getRecoveryStatus(uid));
+	}
+
+	@Test
+	void routinePerformanceFeedback() {
+		assertFixedQueryCount(2, uid -> routineService.getRoutinePerformanceFeedback(uid));
+	}
+
+	@Test
+	void streak() {
+		assertFixedQueryCount(1, uid -> {
+			StreakResponseDto streak = routineService.getStreak(uid);
+			assertThat(streak.getRecoveryStatus().getAvailable()).isTrue();
+			assertThat(streak.getTodayProgress().getCompletedRoutines())
+					.isEqualTo(streak.getTodayProgress().getTotalRoutines());
+		});
+	}
+
+	@Test
+	void challengeStatus() {
+		assertFixedQueryCount(1, uid -> {
+			ChallengeStatusResponseDto status = routineService.getChallengeStatus(uid);
+			assertThat(status.getChallenge().getCategory().getValue()).isEqualTo("수면");
+			assertThat(status.getParticipants()).isEqualTo(2);
+		});
+	}
+
+	@Test
+	void bulkAttainmentCheck() {
+		// 이미 체크된 루틴 size건과 체크되지 않은 루틴 size건을 한 번에 체크합니다.
+		// (JdbcTemplate 배치 INSERT는 Hibernate 통계에 잡히지 않으므로 JPA 쿼리 수만 비교합니다)
+		String small = seedUser(SMALL);
+		String large = seedUser(LARGE);
+		List<Integer> smallIds = addUncheckedRoutines(small, SMALL);
+		List<Integer> largeIds = addUncheckedRoutines(large, LARGE);
+
+		BulkAttainmentResponseDto[] results = new BulkAttainmentResponseDto[2];
+		long smallCount = queryCount(() -> results[0] = routineService.checkRoutineAttainments(small, smallIds));
+		long largeCount = queryCount(() -> results[1] = routineService.checkRoutineAttainments(large, largeIds));
+
+		assertThat(largeCount).isEqualTo(smallCount);
+		assertThat(results[1].getApplied()).hasSize(LARGE);
+		assertThat(results[1].getSkipped()).hasSize(LARGE);
+		assertThat(results[1].getLuxDelta()).isEqualTo(5 * LARGE);
+
+		// 일괄 체크는 RoutineCompleted 이벤트 하나만 발행합니다.
+		assertThat(events.stream(RoutineCompleted.class).filter(event -> event.uid().equals(large)))
+				.singleElement()
+				.satisfies(event -> assertThat(event.routineIds()).hasSize(LARGE));
+
+		em.flush();
+		em.clear();
+		UserProfile profile = em.find(UserProfile.class, large);
+		assertThat(profile.getLux()).isEqualTo(5 * LARGE);
+		assertThat(profile.getStreak()).isEqualTo(1);
+	}
+
+	@Test
+	void routineStatistics() {
+		LocalDate today = LocalDate.now();
+		assertFixedQueryCount(2, uid -> statisticsService.getUserRoutineStatistics(
+				UUID.fromString(uid), today.minusDays(6), today));
+	}
+
+	@Test
+	void recommendedAndAllRoutines() {
+		// 추천 루틴은 카테고리별로 뽑을 만큼의 루틴이 있어야 하므로 LARGE부터 시작해 루틴 수를 늘립니다.
+		Runnable call = () -> {
+			routineService.getRecommendedRoutines(List.of("수면"));
+			routineService.getAllRoutines();
+		};
+		seedUser(LARGE);
+		long smallCount = queryCount(call);
+		seedUser(LARGE * 5);
+		long largeCount = queryCount(call);
+
+		assertThat(smallCount).isEqualTo(2);
+		assertThat(largeCount).isEqualTo(smallCount);
+	}
+
+	@Test
+	void userRankings() {
+		seedUser(SMALL);
+		long smallCount = queryCount(() -> userService.getUserRankings());
+		for (int i = 0; i < LARGE; i++) {
+			seedUser(SMALL);
+		}
+		long largeCount = queryCount(() -> userService.getUserRankings());
+
+		assertThat(smallCount).isEqualTo(2);
+		assertThat(largeCount).isEqualTo(smallCount);
+	}
+
+	/**
+	 * 데이터가 SMALL/LARGE건인 두 사용자로 같은 API를 호출하여 쿼리 수가 expected로 같은지 확인합니다.
+	 */
+	private void assertFixedQueryCount(long expected, Consumer<String> call) {
+		String small = seedUser(SMALL);
+		String large = seedUser(LARGE);
+
+		long smallCount = queryCount(() -> call.accept(small));
+		long largeCount = queryCount(() -> call.accept(large));
+
+		assertThat(smallCount).isEqualTo(expected);
+		assertThat(largeCount).isEqualTo(expected);
+	}
+
+	/**
+	 * 영속성 컨텍스트를 비운 뒤(캐시된 엔티티로 쿼리가 생략되지 않도록) 실행된 SQL 수를 반환합니다.
+	 */
+	private long queryCount(Runnable call) {
+		em.flush();
+		em.clear();
+		statistics.clear();
+		call.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	/**
+	 * 오늘 달성 기록이 없는 개인 루틴 size건을 추가하고, 기존 루틴을 포함한 전체 개인 루틴 ID를 반환합니다.
+	 */
+	private List<Integer> addUncheckedRoutines(String uid, int size) {
+		UserProfile profile = em.find(UserProfile.class, uid);
+		for (int i = 0; i < size; i++) {
+			em.persist(UserRoutine.builder()
+					.userProfile(profile)
+					.category(categories.get(i % categories.size()))
+					.content("unchecked-" + i)
+					.build());
+		}
+		em.flush();
+		return em.createQuery("SELECT ur.id FROM UserRoutine ur WHERE ur.userProfile.uid = :uid", Integer.class)
+				.setParameter("uid", uid)
+				.getResultList();
+	}
+
+	/**
+	 * 개인 루틴/오늘 달성 기록/Sera 추천 루틴/리커버리 미션/챌린지/설정을 size건씩 가진 사용자를 생성합니다.
+	 */
+	private String seedUser(int size) {
+		String uid = UUID.randomUUID().toString();
+		UserProfile profile = UserProfile.builder().uid(uid).name("user-" + uid).build();
+		em.persist(profile);
+
+		Title title = Title.builder().value("title-" + uid).build();
+		em.persist(title);
+		em.persist(UserSetting.builder().userProfile(profile).title(title).lumiImage(1).build());
+
+		RecoveryMission recovery = RecoveryMission.builder()
+				.uid(uid)
+				.deadline(LocalDate.now().plusDays(1))
+				.originalStreak(3)
+				.createdAt(LocalDateTime.now())
+				.build();
+		em.persist(recovery);
+
+		em.persist(ChallengeUser.builder()
+				.userProfile(profile)
+				.datetime(LocalDateTime.now())
+				.challengeCategoryId(categories.get(0).getCategoryId())
+				.challengeContent("challenge")
+				.build());
+
+		for (int i = 0; i < size; i++) {
+			Category category = categories.get(i % categories.size());
+
+			UserRoutine userRoutine = UserRoutine.builder()
+					.userProfile(profile)
+					.category(category)
+					.content("routine-" + i)
+					.build();
+			em.persist(userRoutine);
+			em.persist(UserAttainment.builder()
+					.userProfile(profile)
+					.userRoutine(userRoutine)
+					.timestamp(LocalDateTime.now())
+					.build());
+
+			em.persist(RoutineSera.builder()
+					.userProfile(profile)
+					.category(category)
+					.content("sera-" + i)
+					.build());
+
+			Routine routine = Routine.builder()
+					.rid(nextRid.getAndIncrement())
+					.category(category)
+					.content("mission-" + i)
+					.build();
+			em.persist(routine);
+			em.persist(RecoveryMissionItem.builder()
+					.recoveryMission(recovery)
+					.routine(routine)
+					.build());
+		}
+		return uid;
+	}
+}
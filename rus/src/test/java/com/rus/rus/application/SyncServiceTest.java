@@ -0,0 +1,154 @@
+package com.rus.rus.application;
+
+import com.rus.rus.config.FanOutExecutor;
+import com.rus.rus.controller.dto.req.SyncRequestDto;
+import com.rus.rus.controller.dto.res.SyncResponseDto;
+import com.rus.rus.domain.*;
+import com.rus.rus.infra.repository.ProcessedSyncEventJdbcRepository;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository;
+import com.rus.rus.infra.repository.UserAttainmentJdbcRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 오프라인 동기화 검증
+ * - 이벤트가 client_timestamp 순서로 접혀 최종 변경분만 적용되는지,
+ *   같은 요청을 다시 보내도 한 번만 적용되는지 확인합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:sync;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ SyncService.class, RoutineService.class, AttendanceService.class, FanOutExecutor.class,
+		UserAttainmentJdbcRepository.class, ProcessedSyncEventJdbcRepository.class, ChallengeParticipantCounter.class,
+		ChallengeUserJdbcRepository.class })
+class SyncServiceTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private SyncService syncService;
+
+	@MockitoBean
+	private SupabaseAuthService supabaseAuthService;
+
+	@MockitoBean
+	private ReportService reportService;
+
+	@MockitoBean
+	private Scheduler jpaScheduler;
+
+	private UUID uid;
+	private Integer first;
+	private Integer second;
+
+	@BeforeEach
+	void setUp() {
+		uid = UUID.randomUUID();
+		UserProfile profile = UserProfile.builder().uid(uid.toString()).name("user-" + uid).build();
+		em.persist(profile);
+		em.persist(WeeklyAttendance.builder().userProfile(profile).build());
+
+		Category category = Category.builder().value("수면").build();
+		em.persist(category);
+		UserRoutine firstRoutine = UserRoutine.builder().userProfile(profile).category(category).content("a").build();
+		UserRoutine secondRoutine = UserRoutine.builder().userProfile(profile).category(category).content("b").build();
+		em.persist(firstRoutine);
+		em.persist(secondRoutine);
+		em.flush();
+		first = firstRoutine.getId();
+		second = secondRoutine.getId();
+	}
+
+	@Test
+	void appliesEventsInClientOrderAndOnlyOnce() {
+		LocalDateTime now = LocalDateTime.now();
+		// 요청 순서와 달리 client_timestamp 순서는 check(first) → check(second) → uncheck(second) → check(second)
+		SyncRequestDto request = SyncRequestDto.builder().events(List.of(
+				routineEvent("e4", "check", second, now.minusSeconds(1)),
+				routineEvent("e1", "check", first, now.minusSeconds(4)),
+				routineEvent("e3", "uncheck", second, now.minusSeconds(2)),
+				routineEvent("e2", "check", second, now.minusSeconds(3)),
+				routineEvent("e5", "check", first, now),
+				SyncRequestDto.SyncEvent.builder().eventId("e6").type("attendance").clientTimestamp(now).build(),
+				routineEvent("e7", "check", first, now.minusDays(1))
+		)).build();
+
+		SyncResponseDto response = syncService.sync(uid, request);
+
+		assertThat(response.getResults()).extracting(SyncResponseDto.EventResult::getResult)
+				.containsExactly("applied", "applied", "applied", "applied", "skipped", "applied", "rejected");
+		assertThat(response.getState().getCheckedRoutineIds()).containsExactlyInAnyOrder(first, second);
+		assertThat(response.getState().getLux()).isEqualTo(10);
+		assertThat(response.getState().getStreak()).isEqualTo(1);
+		assertThat(response.getState().getAttendedToday()).isTrue();
+
+		// 응답을 받지 못한 클라이언트가 같은 요청을 다시 보내도 상태는 그대로입니다.
+		em.flush();
+		em.clear();
+		SyncResponseDto replay = syncService.sync(uid, request);
+
+		assertThat(replay.getResults()).extracting(SyncResponseDto.EventResult::getResult)
+				.containsOnly("duplicate");
+		assertThat(replay.getState().getDigest()).isEqualTo(response.getState().getDigest());
+	}
+
+	@Test
+	void keepsLastSleepRecordPerDate() {
+		LocalDate today = LocalDate.now();
+		SyncRequestDto request = SyncRequestDto.builder().events(List.of(
+				sleepEvent("s1", today.atTime(8, 0), today.minusDays(1).atTime(23, 0), today.atTime(7, 0)),
+				sleepEvent("s2", today.atTime(9, 0), today.minusDays(1).atTime(22, 0), today.atTime(7, 0)),
+				sleepEvent("s2", today.atTime(9, 0), today.minusDays(1).atTime(22, 0), today.atTime(7, 0))
+		)).build();
+
+		SyncResponseDto response = syncService.sync(uid, request);
+
+		assertThat(response.getResults()).extracting(SyncResponseDto.EventResult::getResult)
+				.containsExactly("applied", "applied", "duplicate");
+		em.flush();
+		List<UserSleep> sleeps = em.createQuery(
+				"SELECT s FROM UserSleep s WHERE s.userProfile.uid = :uid", UserSleep.class)
+				.setParameter("uid", uid.toString())
+				.getResultList();
+		assertThat(sleeps).hasSize(1);
+		assertThat(sleeps.get(0).getSleepDuration()).isEqualTo(9 * 60 * 60);
+	}
+
+	private static SyncRequestDto.SyncEvent routineEvent(String eventId, String type, Integer routineId,
+			LocalDateTime at) {
+		return SyncRequestDto.SyncEvent.builder()
+				.eventId(eventId)
+				.type(type)
+				.routineId(routineId)
+				.clientTimestamp(at)
+				.build();
+	}
+
+	private static SyncRequestDto.SyncEvent sleepEvent(String eventId, LocalDateTime at, LocalDateTime start,
+			LocalDateTime end) {
+		return SyncRequestDto.SyncEvent.builder()
+				.eventId(eventId)
+				.type("sleep")
+				.clientTimestamp(at)
+				.startTime(start)
+				.endTime(end)
+				.build();
+	}
+}
@@ -0,0 +1,262 @@
+package com.rus.rus.application.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.common.GlobalExceptionHandler;
+import com.rus.rus.config.FanOutExecutor;
+import com.rus.rus.controller.dto.req.BatchRequestDto;
+import com.rus.rus.controller.dto.res.BatchResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 배치 하위 요청이 HTTP 재진입 없이 보안 필터 체인과 DispatcherServlet으로 실행되는지 확인합니다.
+ */
+class BatchServiceTest {
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+	private static final AtomicInteger RUNNING = new AtomicInteger();
+	private static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+	private static final int MAX_PARALLEL = 2;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private AnnotationConfigWebApplicationContext context;
+	private FanOutExecutor fanOutExecutor;
+	private BatchService batchService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		context = new AnnotationConfigWebApplicationContext();
+		context.register(TestWebConfig.class);
+		context.setServletContext(new MockServletContext());
+		DispatcherServlet dispatcherServlet = new DispatcherServlet(context);
+		dispatcherServlet.init(new MockServletConfig());
+
+		fanOutExecutor = new FanOutExecutor(10);
+		batchService = new BatchService(dispatcherServlet, List.of(securityFilterChain()), fanOutExecutor, objectMapper,
+				20, MAX_PARALLEL);
+
+		COUNTER.set(0);
+		RUNNING.set(0);
+		MAX_RUNNING.set(0);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("user-1", null, List.of()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		fanOutExecutor.shutdown();
+		context.close();
+	}
+
+	@Test
+	void dispatchesSubRequestsWithBodyQueryAndAuthentication() {
+		BatchResponseDto response = execute(
+				sub("a", "GET", "/echo/7?q=%ED%95%9C", null),
+				sub("b", "POST", "/echo", objectMapper.valueToTree(Map.of("content", "물 마시기"))));
+
+		assertThat(response.getResponses()).extracting(BatchResponseDto.SubResponse::getId).containsExactly("a", "b");
+		BatchResponseDto.SubResponse get = response.getResponses().get(0);
+		assertThat(get.getStatus()).isEqualTo(200);
+		assertThat(get.getBody().get("id").asInt()).isEqualTo(7);
+		assertThat(get.getBody().get("q").asText()).isEqualTo("한");
+		assertThat(get.getBody().get("user").asText()).isEqualTo("user-1");
+		assertThat(get.getBody().get("authorization").asText()).isEqualTo("Bearer token");
+
+		BatchResponseDto.SubResponse post = response.getResponses().get(1);
+		assertThat(post.getStatus()).isEqualTo(201);
+		assertThat(post.getBody().get("content").asText()).isEqualTo("물 마시기");
+	}
+
+	@Test
+	void dependentRunsAfterItsDependencyAndIsSkippedWhenItFails() {
+		BatchResponseDto response = execute(
+				sub("increment", "POST", "/counter", null),
+				sub("read", "GET", "/counter", null, "increment"),
+				sub("fail", "GET", "/fail", null),
+				sub("skipped", "POST", "/counter", null, "fail"));
+
+		List<BatchResponseDto.SubResponse> responses = response.getResponses();
+		assertThat(responses.get(1).getBody().asInt()).isEqualTo(1);
+		assertThat(responses.get(2).getStatus()).isEqualTo(404);
+		assertThat(responses.get(2).getBody().get("message").asText()).isEqualTo("없음");
+		assertThat(responses.get(3).getStatus()).isEqualTo(HttpStatus.FAILED_DEPENDENCY.value());
+		assertThat(COUNTER.get()).isEqualTo(1);
+	}
+
+	@Test
+	void appliesSecurityAuthorizationRulesToSubRequests() {
+		BatchResponseDto response = execute(
+				sub("admin", "GET", "/admin/stats", null),
+				sub("user", "GET", "/counter", null));
+
+		assertThat(response.getResponses().get(0).getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+		assertThat(response.getResponses().get(1).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void limitsParallelSubRequestsAndDropsIdempotencyKey() {
+		BatchRequestDto.SubRequest[] requests = IntStream.range(0, 6)
+				.mapToObj(i -> sub("slow-" + i, "GET", "/slow", null))
+				.toArray(BatchRequestDto.SubRequest[]::new);
+
+		BatchResponseDto response = execute(requests);
+
+		assertThat(response.getResponses()).allSatisfy(sub -> {
+			assertThat(sub.getStatus()).isEqualTo(200);
+			assertThat(sub.getBody().asText()).isEqualTo("none");
+		});
+		assertThat(MAX_RUNNING.get()).isEqualTo(MAX_PARALLEL);
+	}
+
+	@Test
+	void rejectsForwardDependencyAndNestedBatch() {
+		assertThatThrownBy(() -> execute(sub("a", "GET", "/counter", null, "b"), sub("b", "GET", "/counter", null)))
+				.isInstanceOf(ApiException.class);
+		assertThatThrownBy(() -> execute(sub("a", "POST", "/batch", null)))
+				.isInstanceOf(ApiException.class);
+	}
+
+	@Test
+	void rejectsAsyncEndpointsDuringValidation() {
+		assertThatThrownBy(() -> execute(sub("a", "GET", "/counter", null), sub("b", "POST", "/reactive", null)))
+				.isInstanceOfSatisfying(ApiException.class, e -> {
+					assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+					assertThat(e.getMessage()).contains("/reactive");
+				});
+		assertThatThrownBy(() -> execute(sub("a", "GET", "/stream", null)))
+				.isInstanceOfSatisfying(ApiException.class,
+						e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+		// 검증에서 거절하므로 앞선 하위 요청도 실행하지 않습니다.
+		assertThat(COUNTER.get()).isZero();
+	}
+
+	private BatchResponseDto execute(BatchRequestDto.SubRequest... requests) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/batch");
+		request.addHeader("Authorization", "Bearer token");
+		request.addHeader("Idempotency-Key", "batch-key");
+		return batchService.execute(new BatchRequestDto(List.of(requests)), request, new MockHttpServletResponse());
+	}
+
+	private BatchRequestDto.SubRequest sub(String id, String method, String path, JsonNode body,
+			String... dependsOn) {
+		return new BatchRequestDto.SubRequest(id, method, path, body, List.of(dependsOn));
+	}
+
+	/**
+	 * /admin/** 는 ADMIN 권한, 나머지는 인증을 요구하는 보안 필터 체인
+	 */
+	private static FilterChainProxy securityFilterChain() {
+		RequestMatcherDelegatingAuthorizationManager authorizationManager = RequestMatcherDelegatingAuthorizationManager
+				.builder()
+				.add(request -> request.getRequestURI().startsWith("/admin/"),
+						AuthorityAuthorizationManager.hasRole("ADMIN"))
+				.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated())
+				.build();
+		return new FilterChainProxy(new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE,
+				new ExceptionTranslationFilter(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)),
+				new AuthorizationFilter(authorizationManager)));
+	}
+
+	@Configuration
+	@EnableWebMvc
+	@Import({ TestController.class, GlobalExceptionHandler.class })
+	static class TestWebConfig {
+	}
+
+	@RestController
+	static class TestController {
+
+		@GetMapping("/echo/{id}")
+		public Map<String, Object> echo(@PathVariable("id") int id, @RequestParam("q") String q,
+				@RequestHeader("Authorization") String authorization) {
+			return Map.of("id", id, "q", q, "authorization", authorization,
+					"user", SecurityContextHolder.getContext().getAuthentication().getName());
+		}
+
+		@PostMapping("/echo")
+		@ResponseStatus(HttpStatus.CREATED)
+		public Map<String, Object> echoBody(@RequestBody Map<String, Object> body) {
+			return body;
+		}
+
+		@PostMapping("/counter")
+		public int increment() throws InterruptedException {
+			Thread.sleep(100);
+			return COUNTER.incrementAndGet();
+		}
+
+		@GetMapping("/counter")
+		public int read() {
+			return COUNTER.get();
+		}
+
+		@GetMapping("/admin/stats")
+		public int adminStats() {
+			return COUNTER.get();
+		}
+
+		@GetMapping("/slow")
+		public String slow(@RequestHeader(value = "Idempotency-Key", defaultValue = "none") String idempotencyKey)
+				throws InterruptedException {
+			MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(100);
+			} finally {
+				RUNNING.decrementAndGet();
+			}
+			return idempotencyKey;
+		}
+
+		@PostMapping("/reactive")
+		public Mono<ResponseEntity<Integer>> reactive() {
+			return Mono.fromSupplier(() -> ResponseEntity.ok(COUNTER.incrementAndGet()));
+		}
+
+		@GetMapping("/stream")
+		public SseEmitter stream() {
+			return new SseEmitter();
+		}
+
+		@GetMapping("/fail")
+		public void fail() {
+			throw new ApiException(HttpStatus.NOT_FOUND, "없음");
+		}
+	}
+}
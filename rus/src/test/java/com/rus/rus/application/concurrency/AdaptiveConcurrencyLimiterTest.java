@@ -0,0 +1,94 @@
+package com.rus.rus.application.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 적응형 동시 처리 한도 검증
+ * - 한도를 넘는 요청은 바로 거절되고, 응답 시간이 기준보다 늘어나면 한도가 줄었다가 회복되면 다시 늘어나는지 확인합니다.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private AdaptiveConcurrencyLimiter limiter() {
+		return new AdaptiveConcurrencyLimiter("test", 10, 2, 100, 2.0, 1000, 10, now::get);
+	}
+
+	@Test
+	void rejectsImmediatelyWhenLimitIsReached() {
+		AdaptiveConcurrencyLimiter limiter = limiter();
+		List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			permits.add(limiter.tryAcquire());
+		}
+
+		assertThat(permits).doesNotContainNull();
+		assertThat(limiter.tryAcquire()).isNull();
+
+		permits.get(0).release();
+		permits.get(0).release();
+		assertThat(limiter.getInFlight()).isEqualTo(9);
+		assertThat(limiter.tryAcquire()).isNotNull();
+	}
+
+	@Test
+	void shrinksWhenLatencyRisesAboveBaselineAndRecovers() {
+		AdaptiveConcurrencyLimiter limiter = limiter();
+
+		// 부하 없는 상태: 한도까지 채워 10ms에 처리되면 한도가 늘어납니다.
+		for (int i = 0; i < 5; i++) {
+			runWindow(limiter, 10);
+		}
+		int grown = limiter.getLimit();
+		assertThat(grown).isGreaterThan(10);
+
+		// 응답 시간이 기준의 2배를 넘으면 한도가 줄어듭니다.
+		for (int i = 0; i < 10; i++) {
+			runWindow(limiter, 100);
+		}
+		int shrunk = limiter.getLimit();
+		assertThat(shrunk).isLessThan(grown);
+		assertThat(limiter.retryAfterSeconds()).isEqualTo(1);
+
+		// 다시 빨라지면 한도가 회복됩니다.
+		for (int i = 0; i < 10; i++) {
+			runWindow(limiter, 10);
+		}
+		assertThat(limiter.getLimit()).isGreaterThan(shrunk);
+	}
+
+	@Test
+	void doesNotGrowWhileMostlyIdle() {
+		AdaptiveConcurrencyLimiter limiter = limiter();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 10; j++) {
+				AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+				now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+				permit.release();
+			}
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	/**
+	 * 현재 한도만큼 동시에 요청을 받아 rttMillis 뒤에 모두 끝내고, 구간이 끝나도록 시간을 보냅니다.
+	 */
+	private void runWindow(AdaptiveConcurrencyLimiter limiter, long rttMillis) {
+		List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		AdaptiveConcurrencyLimiter.Permit permit;
+		while ((permit = limiter.tryAcquire()) != null) {
+			permits.add(permit);
+		}
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+		permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+	}
+}
@@ -0,0 +1,160 @@
+package com.rus.rus.application.event;
+
+import com.rus.rus.application.ChallengeParticipantCounter;
+import com.rus.rus.application.ReportService;
+import com.rus.rus.application.RoutineService;
+import com.rus.rus.application.SupabaseAuthService;
+import com.rus.rus.domain.Category;
+import com.rus.rus.domain.UserProfile;
+import com.rus.rus.domain.UserRoutine;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository;
+import com.rus.rus.infra.repository.UserAttainmentJdbcRepository;
+import com.rus.rus.infra.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 도메인 이벤트 버스 검증
+ * - 커밋된 트랜잭션의 이벤트만 요청 스레드 밖의 소비자에게 전달되는지(스트릭은 같은 트랜잭션에서 갱신),
+ *   같은 사용자의 이벤트가 발행 순서대로 묶음 단위로 전달되는지 확인합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:domain-event;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DomainEventBus.class, DomainEventBusTest.RecordingConsumer.class, RoutineService.class, UserAttainmentJdbcRepository.class,
+		ChallengeParticipantCounter.class, ChallengeUserJdbcRepository.class })
+// 커밋 후 처리를 확인해야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DomainEventBusTest {
+
+	static class RecordingConsumer implements DomainEventConsumer {
+
+		final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+		final List<String> threads = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onEvents(List<DomainEvent> batch) {
+			events.addAll(batch);
+			threads.add(Thread.currentThread().getName());
+		}
+	}
+
+	@Autowired
+	private RecordingConsumer recordingConsumer;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private RoutineService routineService;
+
+	@Autowired
+	private UserProfileRepository userProfileRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockitoBean
+	private SupabaseAuthService supabaseAuthService;
+
+	@MockitoBean
+	private ReportService reportService;
+
+	@MockitoBean
+	private Scheduler jpaScheduler;
+
+	@Test
+	void deliversOnlyCommittedEventsOffRequestThread() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		String uid = UUID.randomUUID().toString();
+		List<Integer> routineIds = tx.execute(status -> seedUser(uid));
+
+		// 롤백된 체크는 스트릭도 이벤트도 남기지 않습니다.
+		tx.executeWithoutResult(status -> {
+			routineService.checkRoutineAttainments(uid, routineIds);
+			status.setRollbackOnly();
+		});
+		assertThat(userProfileRepository.findById(uid).orElseThrow().getStreak()).isZero();
+
+		// 커밋된 체크는 커밋 시점에 스트릭이 이미 반영되어 있고, 이벤트는 요청 흐름 밖에서 전달됩니다.
+		tx.executeWithoutResult(status -> routineService.checkRoutineAttainments(uid, routineIds));
+		assertThat(userProfileRepository.findById(uid).orElseThrow().getStreak()).isEqualTo(1);
+		assertThat(userProfileRepository.findById(uid).orElseThrow().getLux()).isEqualTo(5 * routineIds.size());
+
+		await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(recordingConsumer.events)
+				.filteredOn(event -> event instanceof RoutineCompleted && event.uid().equals(uid))
+				.singleElement()
+				.satisfies(event -> assertThat(((RoutineCompleted) event).routineIds())
+						.containsExactlyElementsOf(routineIds)));
+		assertThat(recordingConsumer.threads).allMatch(name -> name.startsWith("domain-event-"));
+	}
+
+	@Test
+	void deliversEventsInOrderPerUserInBatches() throws Exception {
+		Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+		List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		DomainEventBus bus = new DomainEventBus(List.of(events -> {
+			batchSizes.add(events.size());
+			for (DomainEvent event : events) {
+				received.computeIfAbsent(event.uid(), k -> Collections.synchronizedList(new ArrayList<>()))
+						.add(((LuxChanged) event).delta());
+			}
+		}), 2, 10_000, 50, 50);
+
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 1000; i++) {
+			for (String uid : List.of("a", "b", "c")) {
+				bus.onDomainEvent(new LuxChanged(uid, i, now));
+			}
+		}
+		bus.shutdown();
+
+		List<Integer> expected = IntStream.range(0, 1000).boxed().toList();
+		assertThat(received).containsOnlyKeys("a", "b", "c");
+		received.values().forEach(deltas -> assertThat(deltas).containsExactlyElementsOf(expected));
+		assertThat(batchSizes).allMatch(size -> size <= 50);
+		assertThat(batchSizes.size()).isLessThan(3000);
+		assertThat(bus.getDroppedCount()).isZero();
+	}
+
+	private List<Integer> seedUser(String uid) {
+		UserProfile profile = UserProfile.builder().uid(uid).name("user-" + uid).build();
+		em.persist(profile);
+		Category category = Category.builder().value("수면").build();
+		em.persist(category);
+		List<Integer> ids = new ArrayList<>();
+		for (String content : List.of("a", "b")) {
+			UserRoutine routine = UserRoutine.builder().userProfile(profile).category(category).content(content).build();
+			em.persist(routine);
+			em.flush();
+			ids.add(routine.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,254 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 마이크로 배처 동작 확인 및 단건 호출 대비 처리량 비교
+ * - 감지 서버 대신 요청을 한 번에 하나씩 처리하는 로컬 스텁을 사용합니다.
+ * - 스텁의 추론 비용: 호출당 고정 20ms + 이미지당 2ms (CPU 배치 추론의 비용 구조를 단순화)
+ * - 종료 시 보내지 않은 요청이 응답 시간 초과까지 기다리지 않고 바로 실패하는지 확인합니다.
+ * - 배치 응답은 binary 모드(헤더의 결과 목록 + 이어 붙인 JPEG 본문)로 받아 각 요청에 자신의 이미지를 나눠 주는지 확인합니다.
+ */
+class BatchingHttpKfoodDetectorTest {
+
+	private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]+)\"");
+	private static final int CALLERS = 16;
+	private static final int REQUESTS = 64;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicInteger stubCalls = new AtomicInteger();
+	/** 배치 응답에서 마지막 결과의 image_length를 본문보다 길게 보냅니다. */
+	private volatile boolean truncateBatchBody;
+	/** 완료될 때까지 배치 응답을 보류합니다. (null이면 바로 응답) */
+	private volatile CompletableFuture<Void> batchGate;
+	private HttpServer stub;
+	private String baseUrl;
+
+	@BeforeEach
+	void startStub() throws IOException {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/predict/batch", this::handleBatch);
+		stub.createContext("/predict", this::handleSingle);
+		stub.start();
+		baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+	}
+
+	@AfterEach
+	void stopStub() {
+		stub.stop(0);
+	}
+
+	@Test
+	void batchesConcurrentRequestsAndFansOutResultsInOrder() throws Exception {
+		BatchingHttpKfoodDetector batching = new BatchingHttpKfoodDetector(WebClient.builder(), objectMapper, baseUrl,
+				20 * 1024 * 1024, 8, 5, 2, 256);
+		assertThat(batching.minConcurrency()).isEqualTo(16);
+		try {
+			double throughput = runConcurrently(batching);
+
+			assertThat(stubCalls.get()).isLessThan(REQUESTS);
+			System.out.printf("[http-batch] stub calls=%d, throughput=%.1f img/s%n", stubCalls.get(), throughput);
+		} finally {
+			batching.shutdown();
+		}
+	}
+
+	@Test
+	void failsUnsentRequestsImmediatelyOnShutdown() throws Exception {
+		batchGate = new CompletableFuture<>();
+		BatchingHttpKfoodDetector batching = new BatchingHttpKfoodDetector(WebClient.builder(), objectMapper, baseUrl,
+				20 * 1024 * 1024, 1, 0, 1, 256);
+		assertThat(batching.minConcurrency()).isEqualTo(1);
+		try {
+			// 첫 배치는 감지 서버에서 보류되고, 두 번째는 전송 자리를, 세 번째는 대기열에서 기다립니다.
+			CompletableFuture<KfoodDetectionResponseDto> sent = batching.detectReactive(image("sent")).toFuture();
+			while (stubCalls.get() == 0) {
+				Thread.onSpinWait();
+			}
+			CompletableFuture<KfoodDetectionResponseDto> waiting = batching.detectReactive(image("waiting")).toFuture();
+			CompletableFuture<KfoodDetectionResponseDto> queued = batching.detectReactive(image("queued")).toFuture();
+
+			long startedAt = System.nanoTime();
+			batching.shutdown();
+
+			for (CompletableFuture<KfoodDetectionResponseDto> future : List.of(waiting, queued)) {
+				assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+						.isInstanceOf(ExecutionException.class)
+						.hasCauseInstanceOf(ApiException.class);
+			}
+			assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(5));
+
+			// 이미 보낸 배치는 응답을 그대로 받습니다.
+			batchGate.complete(null);
+			assertThat(sent.get(5, TimeUnit.SECONDS).getDetectedFoodLabels()).containsExactly("sent");
+		} finally {
+			batchGate.complete(null);
+		}
+	}
+
+	@Test
+	void singleRequestDetectorThroughputBaseline() throws Exception {
+		HttpKfoodDetector single = new HttpKfoodDetector(WebClient.builder(), objectMapper, baseUrl, 20 * 1024 * 1024);
+
+		double throughput = runConcurrently(single);
+
+		assertThat(stubCalls.get()).isEqualTo(REQUESTS);
+		System.out.printf("[http] stub calls=%d, throughput=%.1f img/s%n", stubCalls.get(), throughput);
+	}
+
+	/**
+	 * CALLERS개의 스레드로 REQUESTS건을 감지하고, 각 요청이 자신의 결과를 받았는지 확인한 뒤 처리량을 반환합니다.
+	 */
+	private double runConcurrently(KfoodDetector detector) throws Exception {
+		// 커넥션/코덱 초기화 비용이 측정에 섞이지 않도록 한 번 호출한 뒤 시작합니다.
+		detector.detect(image("warmup.jpg"));
+		stubCalls.set(0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+		long start = System.nanoTime();
+		try {
+			List<Future<KfoodDetectionResponseDto>> futures = new ArrayList<>();
+			for (int i = 0; i < REQUESTS; i++) {
+				PreparedImage image = image("img-" + i + ".jpg");
+				futures.add(executor.submit(() -> detector.detect(image)));
+			}
+			for (int i = 0; i < REQUESTS; i++) {
+				KfoodDetectionResponseDto result = futures.get(i).get();
+				assertThat(result.getDetectedFoodLabels()).containsExactly("img-" + i + ".jpg");
+				assertThat(result.getImageWithBoxes()).isEqualTo(imageBytes("img-" + i + ".jpg"));
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return REQUESTS / ((System.nanoTime() - start) / 1e9);
+	}
+
+	@Test
+	void failsWholeBatchWhenBinaryResponseIsInconsistent() {
+		truncateBatchBody = true;
+		BatchingHttpKfoodDetector batching = new BatchingHttpKfoodDetector(WebClient.builder(), objectMapper, baseUrl,
+				20 * 1024 * 1024, 1, 0, 1, 256);
+		try {
+			assertThatThrownBy(() -> batching.detect(image("broken.jpg")))
+					.isInstanceOfSatisfying(ApiException.class, e -> {
+						assertThat(e.getStatus().value()).isEqualTo(500);
+						assertThat(e.getMessage()).contains("응답 형식");
+					});
+		} finally {
+			batching.shutdown();
+		}
+	}
+
+	private PreparedImage image(String filename) {
+		return PreparedImage.builder()
+				.body(new ByteArrayResource(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9 }))
+				.contentType(MediaType.IMAGE_JPEG)
+				.filename(filename)
+				.build();
+	}
+
+	private void handleBatch(HttpExchange exchange) throws IOException {
+		List<String> filenames = filenames(exchange);
+		if (batchGate != null) {
+			batchGate.join();
+		}
+		simulateInference(filenames.size());
+
+		assertThat(exchange.getRequestURI().getQuery()).isEqualTo("response_format=binary");
+		List<Map<String, Object>> results = new ArrayList<>();
+		ByteArrayOutputStream images = new ByteArrayOutputStream();
+		for (String filename : filenames) {
+			byte[] image = imageBytes(filename);
+			Map<String, Object> result = result(filename);
+			result.put("image_length", truncateBatchBody ? image.length + 1 : image.length);
+			results.add(result);
+			images.write(image);
+		}
+		exchange.getResponseHeaders().add("X-Detection-Result", objectMapper.writeValueAsString(results));
+		respond(exchange, images.toByteArray(), "application/octet-stream");
+	}
+
+	private void handleSingle(HttpExchange exchange) throws IOException {
+		List<String> filenames = filenames(exchange);
+		simulateInference(1);
+
+		exchange.getResponseHeaders().add("X-Detection-Result",
+				objectMapper.writeValueAsString(result(filenames.get(0))));
+		respond(exchange, imageBytes(filenames.get(0)), "image/jpeg");
+	}
+
+	private List<String> filenames(HttpExchange exchange) throws IOException {
+		stubCalls.incrementAndGet();
+		String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+		List<String> filenames = new ArrayList<>();
+		Matcher matcher = FILENAME.matcher(body);
+		while (matcher.find()) {
+			filenames.add(matcher.group(1));
+		}
+		return filenames;
+	}
+
+	/**
+	 * 스텁이 파일별로 돌려주는 결과 이미지 (요청마다 달라 다른 요청의 이미지를 받으면 드러납니다)
+	 */
+	private static byte[] imageBytes(String filename) {
+		return ("jpeg:" + filename).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private Map<String, Object> result(String label) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("detected_food_labels", List.of(label));
+		result.put("analysis_results", List.of(Map.of(
+				"label", label, "confidence", 0.9, "bounding_box", List.of(1.0, 2.0, 3.0, 4.0))));
+		result.put("overall_average_confidence", 0.9);
+		return result;
+	}
+
+	private void simulateInference(int images) {
+		try {
+			Thread.sleep(20 + 2L * images);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void respond(HttpExchange exchange, byte[] body, String contentType) throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", contentType);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+}
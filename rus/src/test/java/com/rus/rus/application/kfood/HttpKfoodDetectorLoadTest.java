@@ -0,0 +1,162 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.config.HttpClientConfig;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.HttpResources;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 감지 서버 호출을 동시에 처리할 때 블로킹(요청당 스레드)과 리액티브(Mono) 방식의 스레드 수/힙 사용량 비교
+ * - 블로킹: 서블릿 스레드처럼 요청마다 스레드 하나가 detect()에서 응답을 기다립니다.
+ * - 리액티브: detectReactive()를 한 번에 구독하고, 응답은 WebClient 이벤트 루프에서 처리됩니다.
+ */
+class HttpKfoodDetectorLoadTest {
+
+	private static final int CONCURRENT_CALLS = 400;
+	private static final long UPSTREAM_DELAY_MILLIS = 300;
+
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	private HttpServer slowUpstream;
+	private HttpKfoodDetector detector;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		slowUpstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		// 스텁은 가상 스레드로 처리하여 측정 대상 스레드 수에 포함되지 않도록 합니다.
+		slowUpstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		slowUpstream.createContext("/predict", exchange -> {
+			exchange.getRequestBody().readAllBytes();
+			try {
+				Thread.sleep(UPSTREAM_DELAY_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = { 1, 2, 3 };
+			exchange.getResponseHeaders().add("X-Detection-Result",
+					"{\"detected_food_labels\":[\"kimchi\"],\"analysis_results\":[],\"overall_average_confidence\":0.9}");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		slowUpstream.start();
+
+		// 운영 설정(HttpClientConfig)과 같은 전역 커넥션 풀을 사용합니다.
+		HttpResources.set(HttpClientConfig.createConnectionProvider(CONCURRENT_CALLS, Duration.ofSeconds(45)));
+		detector = new HttpKfoodDetector(WebClient.builder(), new ObjectMapper(),
+				"http://127.0.0.1:" + slowUpstream.getAddress().getPort(), 20 * 1024 * 1024);
+	}
+
+	@AfterEach
+	void tearDown() {
+		slowUpstream.stop(0);
+		HttpResources.disposeLoopsAndConnections();
+	}
+
+	@Test
+	void reactiveDetectionHoldsFarFewerThreadsThanThreadPerRequest() throws Exception {
+		// 커넥션 생성 비용이 한쪽에만 포함되지 않도록 풀을 미리 채웁니다.
+		runReactive();
+
+		Result blocking = measure(this::runBlocking);
+		Result reactive = measure(this::runReactive);
+
+		System.out.printf("[kfood-detect] %d calls x %dms: blocking threads=+%d heap=+%.1fMB %.0fms, "
+				+ "reactive threads=+%d heap=+%.1fMB %.0fms%n",
+				CONCURRENT_CALLS, UPSTREAM_DELAY_MILLIS,
+				blocking.extraThreads(), blocking.extraHeapMb(), blocking.millis(),
+				reactive.extraThreads(), reactive.extraHeapMb(), reactive.millis());
+
+		assertThat(reactive.extraThreads()).isLessThan(blocking.extraThreads());
+	}
+
+	private List<KfoodDetectionResponseDto> runBlocking() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLS);
+		try {
+			List<Future<KfoodDetectionResponseDto>> futures = new ArrayList<>();
+			for (int i = 0; i < CONCURRENT_CALLS; i++) {
+				PreparedImage image = image("img-" + i + ".jpg");
+				futures.add(executor.submit(() -> detector.detect(image)));
+			}
+			List<KfoodDetectionResponseDto> results = new ArrayList<>();
+			for (Future<KfoodDetectionResponseDto> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private List<KfoodDetectionResponseDto> runReactive() {
+		return Flux.range(0, CONCURRENT_CALLS)
+				.flatMap(i -> detector.detectReactive(image("img-" + i + ".jpg")), CONCURRENT_CALLS)
+				.collectList()
+				.block();
+	}
+
+	/**
+	 * 실행 중 증가한 최대 스레드 수와 최대 힙 사용량(10ms 간격 샘플링)을 측정합니다.
+	 */
+	private Result measure(Callable<List<KfoodDetectionResponseDto>> run) throws Exception {
+		System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+		AtomicLong peakHeap = new AtomicLong(baselineHeap);
+
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		int baselineThreads = threadMXBean.getThreadCount() + 1; // 샘플러 스레드 포함
+		sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max),
+				0, 10, TimeUnit.MILLISECONDS);
+		threadMXBean.resetPeakThreadCount();
+
+		long start = System.nanoTime();
+		try {
+			List<KfoodDetectionResponseDto> results = run.call();
+			assertThat(results).hasSize(CONCURRENT_CALLS)
+					.allSatisfy(result -> assertThat(result.getDetectedFoodLabels()).containsExactly("kimchi"));
+		} finally {
+			sampler.shutdownNow();
+		}
+		double millis = (System.nanoTime() - start) / 1e6;
+
+		return new Result(threadMXBean.getPeakThreadCount() - baselineThreads,
+				(peakHeap.get() - baselineHeap) / 1024.0 / 1024.0, millis);
+	}
+
+	private PreparedImage image(String filename) {
+		return PreparedImage.builder()
+				.body(new ByteArrayResource(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9 }))
+				.contentType(MediaType.IMAGE_JPEG)
+				.filename(filename)
+				.build();
+	}
+
+	private record Result(int extraThreads, double extraHeapMb, double millis) {
+	}
+}
@@ -0,0 +1,156 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.common.ApiException;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 감지 서버 binary 모드 응답(X-Detection-Result 헤더 + JPEG 본문) 변환과 오류 응답 처리 검증
+ * - 감지 서버 대신 응답을 지정할 수 있는 로컬 스텁을 사용합니다.
+ */
+class HttpKfoodDetectorTest {
+
+	private static final byte[] JPEG = { (byte) 0xFF, (byte) 0xD8, 1, 2, 3, (byte) 0xFF, (byte) 0xD9 };
+	private static final String DETECTION_JSON = "{\"detected_food_labels\":[\"\\uae40\\uce58\"],"
+			+ "\"analysis_results\":[{\"label\":\"\\uae40\\uce58\",\"confidence\":0.9,\"bounding_box\":[1.0,2.0,3.0,4.0]}],"
+			+ "\"overall_average_confidence\":0.9}";
+
+	private HttpServer stub;
+	private volatile StubResponse stubResponse;
+	private volatile String requestQuery;
+	private volatile String requestBody;
+
+	@BeforeEach
+	void startStub() throws IOException {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/predict", this::handle);
+		stub.start();
+	}
+
+	@AfterEach
+	void stopStub() {
+		stub.stop(0);
+	}
+
+	@Test
+	void decodesDetectionHeaderAndBinaryImage() {
+		stubResponse = new StubResponse(200, DETECTION_JSON, JPEG);
+
+		KfoodDetectionResponseDto result = detector().detect(image());
+
+		assertThat(requestQuery).isEqualTo("response_format=binary");
+		assertThat(requestBody).contains("name=\"file\"").contains("filename=\"food.jpg\"");
+		// 헤더의 ASCII 이스케이프된 한글 라벨을 복원하고, 본문은 Base64 없이 그대로 이미지로 사용합니다.
+		assertThat(result.getDetectedFoodLabels()).containsExactly("김치");
+		assertThat(result.getAnalysisResults()).singleElement()
+				.satisfies(box -> assertThat(box.get("bounding_box")).isEqualTo(List.of(1.0, 2.0, 3.0, 4.0)));
+		assertThat(result.getOverallAverageConfidence()).isEqualTo(0.9);
+		assertThat(result.getImageWithBoxes()).containsExactly(JPEG);
+	}
+
+	@Test
+	void reactiveCallDecodesTheSameResponse() {
+		stubResponse = new StubResponse(200, DETECTION_JSON, JPEG);
+
+		KfoodDetectionResponseDto result = detector().detectReactive(image()).block();
+
+		assertThat(result.getDetectedFoodLabels()).containsExactly("김치");
+		assertThat(result.getImageWithBoxes()).containsExactly(JPEG);
+	}
+
+	@Test
+	void rejectsResponseWithoutDetectionHeader() {
+		stubResponse = new StubResponse(200, null, JPEG);
+
+		assertThatThrownBy(() -> detector().detect(image()))
+				.isInstanceOfSatisfying(ApiException.class, e -> {
+					assertThat(e.getStatus().value()).isEqualTo(500);
+					assertThat(e.getMessage()).contains("응답 형식");
+				});
+	}
+
+	@Test
+	void rejectsMalformedDetectionHeader() {
+		stubResponse = new StubResponse(200, "{not-json", JPEG);
+
+		assertThatThrownBy(() -> detector().detect(image()))
+				.isInstanceOfSatisfying(ApiException.class, e -> {
+					assertThat(e.getStatus().value()).isEqualTo(500);
+					assertThat(e.getMessage()).contains("응답 형식");
+				});
+	}
+
+	@Test
+	void mapsUpstreamHttpErrorWithItsBody() {
+		stubResponse = new StubResponse(400, null,
+				"{\"detail\":\"invalid image\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> detector().detect(image()))
+				.isInstanceOfSatisfying(ApiException.class, e -> {
+					assertThat(e.getStatus().value()).isEqualTo(500);
+					assertThat(e.getMessage()).contains("invalid image");
+				});
+	}
+
+	@Test
+	void mapsUnreachableServerToServiceUnavailable() throws IOException {
+		int closedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			closedPort = socket.getLocalPort();
+		}
+		HttpKfoodDetector unreachable = new HttpKfoodDetector(WebClient.builder(), new ObjectMapper(),
+				"http://127.0.0.1:" + closedPort, 1024 * 1024);
+
+		assertThatThrownBy(() -> unreachable.detect(image()))
+				.isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getStatus().value()).isEqualTo(503));
+	}
+
+	private HttpKfoodDetector detector() {
+		return new HttpKfoodDetector(WebClient.builder(), new ObjectMapper(),
+				"http://127.0.0.1:" + stub.getAddress().getPort(), 1024 * 1024);
+	}
+
+	private static PreparedImage image() {
+		return PreparedImage.builder()
+				.body(new ByteArrayResource(JPEG))
+				.contentType(MediaType.IMAGE_JPEG)
+				.filename("food.jpg")
+				.build();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requestQuery = exchange.getRequestURI().getQuery();
+		requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+
+		StubResponse response = stubResponse;
+		if (response.detectionHeader() != null) {
+			exchange.getResponseHeaders().add("X-Detection-Result", response.detectionHeader());
+		}
+		exchange.getResponseHeaders().add("Content-Type", response.status() == 200 ? "image/jpeg" : "application/json");
+		exchange.sendResponseHeaders(response.status(), response.body().length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(response.body());
+		}
+	}
+
+	private record StubResponse(int status, String detectionHeader, byte[] body) {
+	}
+}
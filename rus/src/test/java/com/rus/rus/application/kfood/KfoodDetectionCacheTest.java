@@ -0,0 +1,167 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * K-Food 감지 결과 캐시 검증
+ * - 메모리 LRU(항목 수와 이미지 바이트 한도), 같은 이미지의 동시 추론 합치기, 디스크 계층(재시작 후 재사용, 정리)을 확인합니다.
+ * - dHash 유사 이미지 적중은 라벨만 재사용하고 다른 업로드의 바운딩 박스와 박스 이미지는 돌려주지 않는지 확인합니다.
+ */
+class KfoodDetectionCacheTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicInteger detections = new AtomicInteger();
+
+	@TempDir
+	private Path diskDir;
+
+	@Test
+	void evictsLeastRecentlyUsedEntry() {
+		KfoodDetectionCache cache = cache(2, false, false);
+
+		cache.getOrDetect(image(1, null), this::detect);
+		cache.getOrDetect(image(2, null), this::detect);
+		// 1을 최근 사용으로 만든 뒤 3을 넣으면 2가 밀려납니다.
+		cache.getOrDetect(image(1, null), this::detect);
+		cache.getOrDetect(image(3, null), this::detect);
+		assertThat(detections).hasValue(3);
+
+		cache.getOrDetect(image(1, null), this::detect);
+		assertThat(detections).hasValue(3);
+		cache.getOrDetect(image(2, null), this::detect);
+		assertThat(detections).hasValue(4);
+	}
+
+	@Test
+	void evictsByTotalImageBytes() {
+		// 항목 수는 넉넉하지만 이미지 3바이트짜리 결과 두 건까지만 담을 수 있습니다.
+		KfoodDetectionCache cache = cache(16, 7, false, false);
+
+		cache.getOrDetect(image(1, null), this::detect);
+		cache.getOrDetect(image(2, null), this::detect);
+		assertThat(cache.cachedBytes()).isEqualTo(6);
+		cache.getOrDetect(image(3, null), this::detect);
+
+		assertThat(cache.cachedEntries()).isEqualTo(2);
+		assertThat(cache.cachedBytes()).isEqualTo(6);
+		cache.getOrDetect(image(1, null), this::detect);
+		assertThat(detections).hasValue(4);
+	}
+
+	@Test
+	void runsConcurrentDetectionsOfSameImageOnce() throws Exception {
+		KfoodDetectionCache cache = cache(16, false, false);
+		CompletableFuture<Void> release = new CompletableFuture<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<KfoodDetectionResponseDto>> results = Stream.generate(() -> executor.submit(
+					() -> cache.getOrDetect(image(1, null), () -> {
+						release.join();
+						return detect();
+					})))
+					.limit(4)
+					.toList();
+			Thread.sleep(200);
+			release.complete(null);
+
+			for (Future<KfoodDetectionResponseDto> result : results) {
+				assertThat(result.get().getDetectedFoodLabels()).containsExactly("kimchi");
+			}
+			assertThat(detections).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void reusesDiskEntriesAfterRestartAndCleansUpExpiredFiles() throws Exception {
+		cache(16, false, true).getOrDetect(image(1, null), this::detect);
+		cache(16, false, true).getOrDetect(image(2, null), this::detect);
+		assertThat(detections).hasValue(2);
+
+		// 새 인스턴스(재시작)는 메모리가 비어 있어도 디스크에서 읽습니다.
+		KfoodDetectionCache restarted = cache(16, false, true);
+		KfoodDetectionResponseDto fromDisk = restarted.getOrDetect(image(1, null), this::detect);
+		assertThat(detections).hasValue(2);
+		assertThat(fromDisk.getImageWithBoxes()).containsExactly(1, 2, 3);
+		assertThat(fromDisk.getAnalysisResults().get(0)).containsKey("bounding_box");
+
+		// 보관 기간이 지난 파일은 정리합니다.
+		try (Stream<Path> files = Files.list(diskDir)) {
+			Path first = files.findFirst().orElseThrow();
+			Files.setLastModifiedTime(first, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+		}
+		restarted.cleanUpDisk();
+		try (Stream<Path> files = Files.list(diskDir)) {
+			assertThat(files.count()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void reusesOnlyLabelsForPerceptuallySimilarImage() {
+		KfoodDetectionCache cache = cache(16, true, false);
+		cache.getOrDetect(image(1, 0b1111L), this::detect);
+
+		// 바이트는 다르지만 dHash가 1비트만 다른 이미지
+		KfoodDetectionResponseDto similar = cache.getOrDetect(image(2, 0b1110L), this::detect);
+
+		assertThat(detections).hasValue(1);
+		assertThat(similar.getDetectedFoodLabels()).containsExactly("kimchi");
+		assertThat(similar.getImageWithBoxes()).isNull();
+		assertThat(similar.getAnalysisResults()).singleElement()
+				.satisfies(item -> assertThat(item).containsEntry("label", "kimchi").doesNotContainKey("bounding_box"));
+
+		// 같은 이미지는 그대로 전체 결과를 반환합니다.
+		assertThat(cache.getOrDetect(image(1, 0b1111L), this::detect).getImageWithBoxes()).isNotNull();
+	}
+
+	private KfoodDetectionCache cache(int maxEntries, boolean perceptual, boolean disk) {
+		return cache(maxEntries, Long.MAX_VALUE, perceptual, disk);
+	}
+
+	private KfoodDetectionCache cache(int maxEntries, long maxBytes, boolean perceptual, boolean disk) {
+		return new KfoodDetectionCache(objectMapper, true, maxEntries, maxBytes, Duration.ofDays(1), perceptual, 4, disk,
+				diskDir.toString(), 100);
+	}
+
+	private KfoodDetectionResponseDto detect() {
+		detections.incrementAndGet();
+		return KfoodDetectionResponseDto.builder()
+				.imageWithBoxes(new byte[] { 1, 2, 3 })
+				.detectedFoodLabels(List.of("kimchi"))
+				.analysisResults(List.of(Map.of("label", "kimchi", "confidence", 0.9,
+						"bounding_box", List.of(1.0, 2.0, 3.0, 4.0))))
+				.overallAverageConfidence(0.9)
+				.build();
+	}
+
+	private static PreparedImage image(int content, Long perceptualHash) {
+		return PreparedImage.builder()
+				.body(new ByteArrayResource(new byte[] { (byte) content }))
+				.contentType(MediaType.IMAGE_JPEG)
+				.filename("food.jpg")
+				.perceptualHash(perceptualHash)
+				.build();
+	}
+}
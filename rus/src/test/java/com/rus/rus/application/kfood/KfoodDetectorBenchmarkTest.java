@@ -0,0 +1,111 @@
+package com.rus.rus.application.kfood;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * HTTP 감지 서버와 ONNX Runtime 감지기의 지연 시간/처리량 비교
+ * - 모델과 감지 서버가 필요하므로 -Dkfood.benchmark.images 를 지정한 경우에만 실행됩니다.
+ *
+ * ./gradlew test --tests '*KfoodDetectorBenchmarkTest' \
+ *   -Dkfood.benchmark.images=/path/to/images \
+ *   -Dkfood.benchmark.model=/path/to/best.onnx \
+ *   -Dkfood.benchmark.base-url=http://localhost:8000
+ */
+@EnabledIfSystemProperty(named = "kfood.benchmark.images", matches = ".+")
+class KfoodDetectorBenchmarkTest {
+
+	private static final int WARMUP = 5;
+	private static final int ITERATIONS = Integer.getInteger("kfood.benchmark.iterations", 50);
+	private static final int CONCURRENCY = Integer.getInteger("kfood.benchmark.concurrency", 4);
+
+	@Test
+	void compareHttpAndOnnxDetectors() throws Exception {
+		List<PreparedImage> images = loadImages(Path.of(System.getProperty("kfood.benchmark.images")));
+
+		KfoodDetector http = new HttpKfoodDetector(WebClient.builder(), new ObjectMapper(),
+				System.getProperty("kfood.benchmark.base-url", "http://localhost:8000"), 20 * 1024 * 1024);
+		run("http", http, images);
+
+		String model = System.getProperty("kfood.benchmark.model");
+		if (model != null) {
+			OnnxKfoodDetector onnx = new OnnxKfoodDetector(model, 640, 0.5f, 0.7f, 0, CONCURRENCY, List.of(), 0.85f);
+			try {
+				run("onnx", onnx, images);
+			} finally {
+				onnx.close();
+			}
+		}
+	}
+
+	private void run(String name, KfoodDetector detector, List<PreparedImage> images) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			detector.detect(images.get(i % images.size()));
+		}
+
+		// 순차 실행 지연 시간
+		long[] latencies = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			detector.detect(images.get(i % images.size()));
+			latencies[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(latencies);
+
+		// 동시 실행 처리량
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < ITERATIONS; i++) {
+				PreparedImage image = images.get(i % images.size());
+				futures.add(executor.submit(() -> detector.detect(image)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("[%s] p50=%.1fms p95=%.1fms p99=%.1fms throughput(%d threads)=%.2f img/s%n",
+				name,
+				latencies[ITERATIONS / 2] / 1e6,
+				latencies[(int) (ITERATIONS * 0.95)] / 1e6,
+				latencies[Math.min(ITERATIONS - 1, (int) (ITERATIONS * 0.99))] / 1e6,
+				CONCURRENCY,
+				ITERATIONS / seconds);
+	}
+
+	private List<PreparedImage> loadImages(Path dir) throws Exception {
+		List<PreparedImage> images = new ArrayList<>();
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : files.filter(path -> path.toString().matches("(?i).*\\.(jpe?g|png)")).toList()) {
+				images.add(PreparedImage.builder()
+						.body(new ByteArrayResource(Files.readAllBytes(file)))
+						.contentType(file.toString().toLowerCase().endsWith("png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG)
+						.filename(file.getFileName().toString())
+						.build());
+			}
+		}
+		if (images.isEmpty()) {
+			throw new IllegalStateException("벤치마크용 이미지가 없습니다: " + dir);
+		}
+		return images;
+	}
+}
@@ -0,0 +1,196 @@
+package com.rus.rus.application.kfood;
+
+import com.rus.rus.controller.dto.res.KfoodDetectionResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * K-Food 이미지 전처리 검증
+ * - 사분면마다 색이 다른 이미지에 EXIF Orientation(2~8)을 붙여, 회전/반전 후 각 모서리의 색이 표시 방향과 맞는지 확인합니다.
+ * - 디코딩 서브샘플링과 단계적 축소 후에도 원본 크기와 배율이 맞는지, 좌표 복원이 왕복되는지 확인합니다.
+ */
+class KfoodImagePreprocessorTest {
+
+	// 저장된 이미지의 사분면 색: 좌상 R, 우상 G, 좌하 B, 우하 W
+	private static final Color[] QUADRANTS = { Color.RED, Color.GREEN, Color.BLUE, Color.WHITE };
+
+	private final KfoodImagePreprocessor preprocessor = new KfoodImagePreprocessor(true, 640, 0.9f, 1, 4);
+
+	@AfterEach
+	void tearDown() {
+		preprocessor.shutdown();
+	}
+
+	/**
+	 * 표시 방향 기준 모서리(좌상, 우상, 좌하, 우하)에 와야 하는 저장 이미지의 사분면 색입니다.
+	 */
+	@ParameterizedTest(name = "orientation {0}")
+	@CsvSource({
+			"1, RGBW",
+			"2, GRWB", // 좌우 반전
+			"3, WBGR", // 180도 회전
+			"4, BWRG", // 상하 반전
+			"5, RBGW", // 좌상-우하 대각선 기준 반전
+			"6, BRWG", // 시계 방향 90도 회전
+			"7, WGBR", // 우상-좌하 대각선 기준 반전
+			"8, GWRB" // 반시계 방향 90도 회전
+	})
+	void appliesExifOrientation(int orientation, String corners) throws IOException {
+		PreparedImage prepared = preprocessor.prepare(upload(1600, 800, orientation));
+		BufferedImage image = decode(prepared);
+
+		boolean swapAxes = orientation >= 5;
+		assertThat(image.getWidth()).isEqualTo(swapAxes ? 320 : 640);
+		assertThat(image.getHeight()).isEqualTo(swapAxes ? 640 : 320);
+		assertThat(prepared.getOriginalWidth()).isEqualTo(swapAxes ? 800 : 1600);
+		assertThat(prepared.getOriginalHeight()).isEqualTo(swapAxes ? 1600 : 800);
+		assertThat(prepared.getScaleX()).isEqualTo(2.5);
+		assertThat(prepared.getScaleY()).isEqualTo(2.5);
+
+		int w = image.getWidth();
+		int h = image.getHeight();
+		assertThat(colorAt(image, w / 10, h / 10)).as("좌상").isEqualTo(corners.charAt(0));
+		assertThat(colorAt(image, w * 9 / 10, h / 10)).as("우상").isEqualTo(corners.charAt(1));
+		assertThat(colorAt(image, w / 10, h * 9 / 10)).as("좌하").isEqualTo(corners.charAt(2));
+		assertThat(colorAt(image, w * 9 / 10, h * 9 / 10)).as("우하").isEqualTo(corners.charAt(3));
+	}
+
+	@Test
+	void subsamplesLargeImageAndScalesInSteps() throws IOException {
+		// 긴 변 4000: 디코딩 시 1/3로 서브샘플링(1333)한 뒤 절반씩(666 → 640) 줄입니다.
+		PreparedImage prepared = preprocessor.prepare(upload(4000, 2000, 1));
+		BufferedImage image = decode(prepared);
+
+		assertThat(image.getWidth()).isEqualTo(640);
+		assertThat(image.getHeight()).isEqualTo(320);
+		// 배율은 서브샘플링된 크기가 아니라 원본 크기 기준입니다.
+		assertThat(prepared.getOriginalWidth()).isEqualTo(4000);
+		assertThat(prepared.getOriginalHeight()).isEqualTo(2000);
+		assertThat(prepared.getScaleX()).isEqualTo(6.25);
+		assertThat(prepared.getScaleY()).isEqualTo(6.25);
+		assertThat(prepared.getPerceptualHash()).isNotNull();
+		assertThat(colorAt(image, 64, 32)).isEqualTo('R');
+		assertThat(colorAt(image, 576, 288)).isEqualTo('W');
+	}
+
+	@Test
+	void passesThroughSmallUprightImage() throws IOException {
+		MockMultipartFile file = upload(320, 160, 1);
+
+		PreparedImage prepared = preprocessor.prepare(file);
+
+		assertThat(prepared.isResized()).isFalse();
+		assertThat(prepared.getBody()).isNotInstanceOf(ByteArrayResource.class);
+		assertThat(prepared.getBody().getContentAsByteArray()).isEqualTo(file.getBytes());
+	}
+
+	@Test
+	void restoresOriginalCoordinatesRoundTrip() throws IOException {
+		PreparedImage prepared = preprocessor.prepare(upload(1600, 800, 6));
+		// 전처리 이미지(320x640) 기준 박스와 이미지 밖으로 나간 박스
+		List<Double> box = List.of(32.0, 64.0, 160.0, 320.0);
+		KfoodDetectionResponseDto result = KfoodDetectionResponseDto.builder()
+				.detectedFoodLabels(List.of("kimchi"))
+				.analysisResults(List.of(
+						Map.of("label", "kimchi", "bounding_box", box),
+						Map.of("label", "rice", "bounding_box", List.of(300.0, 600.0, 400.0, 700.0))))
+				.build();
+
+		KfoodDetectionResponseDto restored = preprocessor.restoreOriginalCoordinates(result, prepared);
+
+		assertThat(restored.getAnalysisResults().get(0).get("bounding_box")).isEqualTo(List.of(80.0, 160.0, 400.0, 800.0));
+		// 원본 좌표를 다시 배율로 나누면 전처리 이미지 좌표로 돌아옵니다.
+		@SuppressWarnings("unchecked")
+		List<Double> restoredBox = (List<Double>) restored.getAnalysisResults().get(0).get("bounding_box");
+		for (int i = 0; i < 4; i++) {
+			double scale = i % 2 == 0 ? prepared.getScaleX() : prepared.getScaleY();
+			assertThat(restoredBox.get(i) / scale).isCloseTo(box.get(i), within(1e-9));
+		}
+		// 원본 이미지(800x1600) 밖의 좌표는 경계로 자릅니다.
+		assertThat(restored.getAnalysisResults().get(1).get("bounding_box")).isEqualTo(List.of(750.0, 1500.0, 800.0, 1600.0));
+		// 박스가 그려진 이미지는 전처리 크기 그대로이므로 그 크기를 함께 알려줍니다.
+		assertThat(restored.getImageWidth()).isEqualTo(320);
+		assertThat(restored.getImageHeight()).isEqualTo(640);
+		// 캐시에서 공유될 수 있는 원본 결과는 수정하지 않습니다.
+		assertThat(result.getAnalysisResults().get(0).get("bounding_box")).isSameAs(box);
+	}
+
+	private static BufferedImage decode(PreparedImage prepared) throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(prepared.getBody().getContentAsByteArray()));
+	}
+
+	/**
+	 * 가장 가까운 사분면 색의 이름(R, G, B, W)을 반환합니다.
+	 */
+	private static char colorAt(BufferedImage image, int x, int y) {
+		Color actual = new Color(image.getRGB(x, y));
+		char[] names = { 'R', 'G', 'B', 'W' };
+		char closest = '?';
+		int best = Integer.MAX_VALUE;
+		for (int i = 0; i < QUADRANTS.length; i++) {
+			int dr = actual.getRed() - QUADRANTS[i].getRed();
+			int dg = actual.getGreen() - QUADRANTS[i].getGreen();
+			int db = actual.getBlue() - QUADRANTS[i].getBlue();
+			int distance = dr * dr + dg * dg + db * db;
+			if (distance < best) {
+				best = distance;
+				closest = names[i];
+			}
+		}
+		return closest;
+	}
+
+	private static MockMultipartFile upload(int width, int height, int orientation) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		try {
+			for (int i = 0; i < QUADRANTS.length; i++) {
+				g.setColor(QUADRANTS[i]);
+				g.fillRect((i % 2) * width / 2, (i / 2) * height / 2, width / 2, height / 2);
+			}
+		} finally {
+			g.dispose();
+		}
+		ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpeg", jpeg);
+		byte[] bytes = orientation == 1 ? jpeg.toByteArray() : withExifOrientation(jpeg.toByteArray(), orientation);
+		return new MockMultipartFile("file", "food.jpg", "image/jpeg", bytes);
+	}
+
+	/**
+	 * JFIF(APP0) 세그먼트 뒤에 Orientation 태그 하나만 담은 APP1(Exif) 세그먼트를 넣습니다. (빅 엔디언 TIFF)
+	 */
+	private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+		byte[] exif = {
+				(byte) 0xFF, (byte) 0xE1, 0, 34,
+				'E', 'x', 'i', 'f', 0, 0,
+				'M', 'M', 0, 42, 0, 0, 0, 8,
+				0, 1,
+				0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+				0, 0, 0, 0
+		};
+		int insertAt = 4 + ((jpeg[4] & 0xFF) << 8 | (jpeg[5] & 0xFF));
+		ByteArrayOutputStream out = new ByteArrayOutputStream(jpeg.length + exif.length);
+		out.write(jpeg, 0, insertAt);
+		out.write(exif, 0, exif.length);
+		out.write(jpeg, insertAt, jpeg.length - insertAt);
+		return out.toByteArray();
+	}
+}
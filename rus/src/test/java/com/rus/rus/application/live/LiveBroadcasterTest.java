@@ -0,0 +1,185 @@
+package com.rus.rus.application.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.ChallengeParticipantCounter;
+import com.rus.rus.application.event.ChallengeCompleted;
+import com.rus.rus.application.event.LuxChanged;
+import com.rus.rus.controller.LiveController;
+import com.rus.rus.domain.ChallengeUser;
+import com.rus.rus.domain.Title;
+import com.rus.rus.domain.UserProfile;
+import com.rus.rus.domain.UserSetting;
+import com.rus.rus.infra.repository.ChallengeUserJdbcRepository;
+import com.rus.rus.infra.repository.ChallengeUserRepository;
+import com.rus.rus.infra.repository.UserProfileRepository;
+import com.rus.rus.infra.repository.UserSettingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 실시간 푸시 검증
+ * - 구독 직후 스냅샷을 받고, 한 tick 동안의 여러 변경이 변경분 프레임 하나로 합쳐져
+ *   모든 구독자에게 한 번만 직렬화된 같은 프레임으로 전달되는지 확인합니다.
+ * - 전송이 실패하거나 밀린 구독은 tick을 막지 않고 종료되는지 확인합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:live;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LiveBroadcasterTest {
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private UserProfileRepository userProfileRepository;
+
+	@Autowired
+	private UserSettingRepository userSettingRepository;
+
+	@Autowired
+	private ChallengeUserRepository challengeUserRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private ChallengeParticipantCounter challengeParticipantCounter;
+
+	private final ObjectMapper objectMapper = spy(new ObjectMapper());
+	private LiveBroadcaster broadcaster;
+	private MockMvc mockMvc;
+	private final List<UserProfile> profiles = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		challengeParticipantCounter = new ChallengeParticipantCounter(new ChallengeUserJdbcRepository(jdbcTemplate));
+		// 전송을 호출한 스레드에서 바로 실행하여 tick 직후 응답 내용을 확인합니다.
+		broadcaster = broadcaster(Runnable::run, 16);
+		mockMvc = MockMvcBuilders.standaloneSetup(new LiveController(broadcaster)).build();
+
+		Title title = Title.builder().value("새싹").build();
+		em.persist(title);
+		for (int lux : new int[] { 300, 200, 100, 50 }) {
+			UserProfile profile = UserProfile.builder().uid(UUID.randomUUID().toString()).name("lux-" + lux).build();
+			profile.setLux(lux);
+			em.persist(profile);
+			em.persist(UserSetting.builder().userProfile(profile).title(title).lumiImage(1).build());
+			em.persist(ChallengeUser.builder().userProfile(profile).datetime(LocalDateTime.now()).build());
+			profiles.add(profile);
+		}
+		em.flush();
+	}
+
+	@Test
+	void sendsSnapshotThenCoalescedDeltasSharedByAllSubscribers() throws Exception {
+		MockHttpServletResponse first = subscribe();
+		MockHttpServletResponse second = subscribe();
+
+		assertThat(first.getContentAsString())
+				.startsWith("event:snapshot\ndata:")
+				.contains("\"name\":\"lux-300\"", "\"name\":\"lux-100\"", "\"participant\":0")
+				.doesNotContain("lux-50");
+		assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+
+		// 한 tick 동안의 변경 3건: 4위가 1위로, 3위는 lux만 증가, 챌린지 완료 1명
+		UserProfile last = profiles.get(3);
+		last.setLux(1000);
+		profiles.get(2).setLux(150);
+		ChallengeUser challengeUser = challengeUserRepository.findById(profiles.get(0).getUid()).orElseThrow();
+		challengeUser.setCheck(true);
+		em.flush();
+		// 서비스를 거치지 않은 변경이므로 카운터를 DB 집계로 보정합니다.
+		challengeParticipantCounter.reconcile();
+		LocalDateTime now = LocalDateTime.now();
+		broadcaster.onEvents(List.of(new LuxChanged(last.getUid(), 950, now),
+				new LuxChanged(profiles.get(2).getUid(), 50, now),
+				new ChallengeCompleted(profiles.get(0).getUid(), now)));
+
+		clearInvocations(objectMapper);
+		broadcaster.tick();
+		broadcaster.tick();
+
+		// 변경분 프레임 2개(ranking, challenge)와 갱신된 스냅샷 1개만 직렬화합니다. (구독자 수와 무관)
+		verify(objectMapper, times(3)).writeValueAsString(any());
+		for (MockHttpServletResponse response : List.of(first, second)) {
+			String deltas = response.getContentAsString().substring(response.getContentAsString().indexOf("event:ranking"));
+			assertThat(deltas.split("event:ranking", -1)).hasSize(2);
+			assertThat(deltas)
+					.contains("\"version\":1", "\"size\":3", "\"rank\":1", "\"name\":\"lux-50\"", "\"lux\":1000",
+							"\"rank\":2", "\"rank\":3", "event:challenge\ndata:{\"participant\":1}");
+		}
+		assertThat(first.getContentAsString()).isEqualTo(second.getContentAsString());
+
+		// 새 구독자는 갱신된 스냅샷을 받습니다.
+		assertThat(subscribe().getContentAsString()).contains("\"version\":1", "\"participant\":1");
+	}
+
+	@Test
+	void dropsSubscriberWhoseSendFails() {
+		SseEmitter emitter = broadcaster.subscribe();
+		assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+
+		// 이미 끝난 연결로 보내면 실패하므로 구독을 종료합니다.
+		emitter.complete();
+		broadcaster.tick();
+
+		assertThat(broadcaster.subscriberCount()).isZero();
+	}
+
+	@Test
+	void dropsSlowSubscriberWithoutBlockingTick() {
+		// 전송 작업을 실행하지 않아 구독자가 프레임을 받지 못하고 밀리는 상황을 만듭니다.
+		List<Runnable> sends = new ArrayList<>();
+		LiveBroadcaster slow = broadcaster(sends::add, 2);
+		slow.subscribe();
+
+		// 스냅샷 1개 + heartbeat 1개까지는 대기열에 둡니다.
+		slow.tick();
+		assertThat(slow.subscriberCount()).isEqualTo(1);
+
+		profiles.get(3).setLux(1000);
+		em.flush();
+		slow.onEvents(List.of(new LuxChanged(profiles.get(3).getUid(), 950, LocalDateTime.now())));
+		slow.tick();
+
+		assertThat(slow.subscriberCount()).isZero();
+		assertThat(sends).hasSize(2);
+	}
+
+	private LiveBroadcaster broadcaster(Executor sender, int maxPendingFrames) {
+		return new LiveBroadcaster(userProfileRepository, userSettingRepository, challengeParticipantCounter,
+				objectMapper, sender, 3, 10, 60_000, 15_000, 60_000, maxPendingFrames);
+	}
+
+	private MockHttpServletResponse subscribe() throws Exception {
+		return mockMvc.perform(get("/live/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn()
+				.getResponse();
+	}
+}
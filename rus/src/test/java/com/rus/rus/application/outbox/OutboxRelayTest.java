@@ -0,0 +1,189 @@
+package com.rus.rus.application.outbox;
+
+import com.rus.rus.application.event.LuxChanged;
+import com.rus.rus.application.event.ProfileChanged;
+import com.rus.rus.application.event.RoutineCompleted;
+import com.rus.rus.infra.repository.OutboxJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 트랜잭션 아웃박스 검증
+ * - 커밋된 변경의 이벤트만 기록되어 사용자별로 묶여 전달되는지, 소비자가 실패하면 남았다가 다시 전달되는지,
+ *   다른 릴레이가 잠근 행은 건너뛰는지(SKIP LOCKED) 확인합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+		"outbox.relay.batch-size=3",
+		// 스케줄 실행이 테스트의 릴레이 호출과 겹치지 않도록 합니다.
+		"outbox.relay.interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ OutboxWriter.class, OutboxRelay.class, OutboxJdbcRepository.class, JacksonAutoConfiguration.class,
+		OutboxRelayTest.Config.class })
+// 커밋된 이벤트만 기록되는지 확인해야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		RecordingConsumer recordingConsumer() {
+			return new RecordingConsumer();
+		}
+	}
+
+	static class RecordingConsumer implements OutboxConsumer {
+
+		final List<List<OutboxMessage>> batches = new CopyOnWriteArrayList<>();
+		volatile boolean failing;
+
+		@Override
+		public void onMessages(List<OutboxMessage> messages) {
+			if (failing) {
+				throw new IllegalStateException("소비자 장애");
+			}
+			batches.add(messages);
+		}
+	}
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private OutboxJdbcRepository outboxJdbcRepository;
+
+	@Autowired
+	private RecordingConsumer consumer;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private TransactionTemplate tx;
+
+	@BeforeEach
+	void setUp() {
+		tx = new TransactionTemplate(transactionManager);
+		jdbcTemplate.update("DELETE FROM outbox_event");
+		consumer.batches.clear();
+		consumer.failing = false;
+	}
+
+	@Test
+	void relaysCommittedEventsCoalescedPerUser() {
+		LocalDateTime now = LocalDateTime.now();
+		tx.executeWithoutResult(status -> {
+			eventPublisher.publishEvent(new RoutineCompleted("a", List.of(1, 2), now));
+			eventPublisher.publishEvent(new LuxChanged("a", 10, now));
+			eventPublisher.publishEvent(new ProfileChanged("b", now));
+		});
+		tx.executeWithoutResult(status -> {
+			eventPublisher.publishEvent(new LuxChanged("c", 5, now));
+			status.setRollbackOnly();
+		});
+
+		double events = meterRegistry.counter("outbox.relay.events").count();
+		double messagesSent = meterRegistry.counter("outbox.relay.messages").count();
+		outboxRelay.relay();
+
+		assertThat(consumer.batches).singleElement().satisfies(messages -> {
+			assertThat(messages).extracting(OutboxMessage::uid).containsExactly("a", "b");
+			assertThat(messages.get(0).events()).containsExactly(
+					new RoutineCompleted("a", List.of(1, 2), now), new LuxChanged("a", 10, now));
+		});
+		assertThat(count()).isZero();
+		assertThat(meterRegistry.counter("outbox.relay.events").count() - events).isEqualTo(3);
+		assertThat(meterRegistry.counter("outbox.relay.messages").count() - messagesSent).isEqualTo(2);
+	}
+
+	@Test
+	void keepsRowsWhenConsumerFailsAndDrainsBacklogInBatches() {
+		LocalDateTime now = LocalDateTime.now();
+		tx.executeWithoutResult(status -> {
+			for (int i = 0; i < 7; i++) {
+				eventPublisher.publishEvent(new LuxChanged("u" + i, i, now));
+			}
+		});
+
+		consumer.failing = true;
+		outboxRelay.relay();
+		assertThat(count()).isEqualTo(7);
+
+		consumer.failing = false;
+		outboxRelay.relay();
+		assertThat(count()).isZero();
+		assertThat(consumer.batches).extracting(List::size).containsExactly(3, 3, 1);
+	}
+
+	@Test
+	void skipsRowsLockedByAnotherRelay() throws Exception {
+		LocalDateTime now = LocalDateTime.now();
+		tx.executeWithoutResult(status -> {
+			for (int i = 0; i < 5; i++) {
+				eventPublisher.publishEvent(new LuxChanged("u" + i, i, now));
+			}
+		});
+
+		// 다른 릴레이가 앞의 3행을 잠근 채 처리 중인 상황
+		CompletableFuture<Void> locked = new CompletableFuture<>();
+		CompletableFuture<Void> release = new CompletableFuture<>();
+		CompletableFuture<Integer> other = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+			int size = outboxJdbcRepository.lockBatch(3).size();
+			locked.complete(null);
+			release.join();
+			return size;
+		}));
+		locked.get(5, TimeUnit.SECONDS);
+
+		outboxRelay.relay();
+		release.complete(null);
+
+		assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo(3);
+		assertThat(consumer.batches).singleElement()
+				.satisfies(messages -> assertThat(messages).extracting(OutboxMessage::uid).containsExactly("u3", "u4"));
+		assertThat(count()).isEqualTo(3);
+	}
+
+	private int count() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Integer.class);
+	}
+}
@@ -0,0 +1,113 @@
+package com.rus.rus.application.ratelimit;
+
+import com.rus.rus.common.RetryLaterException;
+import com.rus.rus.security.JwtUtil;
+import io.jsonwebtoken.MalformedJwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * nginx 뒤에서 비로그인 요청(K-Food 감지)을 클라이언트 IP별로 제한하는지 검증
+ * - server.forward-headers-strategy=native와 같은 설정의 RemoteIpFilter를 거친 요청으로 확인합니다.
+ * - 공개 경로에 유효한 Bearer 토큰을 보낸 로그인 사용자는 IP 대신 uid별로 제한합니다.
+ */
+class RateLimitInterceptorTest {
+
+	private static final String NGINX = "172.18.0.3";
+
+	private RateLimitInterceptor interceptor;
+	private RemoteIpFilter remoteIpFilter;
+	private JwtUtil jwtUtil;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("rate-limit.kfood.capacity", "1")
+				.withProperty("rate-limit.kfood.refill-per-minute", "1");
+		jwtUtil = mock(JwtUtil.class);
+		when(jwtUtil.getUidFromToken("token-a")).thenReturn("uid-a");
+		when(jwtUtil.getUidFromToken("token-b")).thenReturn("uid-b");
+		when(jwtUtil.getUidFromToken("forged")).thenThrow(new MalformedJwtException("invalid"));
+		interceptor = new RateLimitInterceptor(new UserRateLimiter(environment, () -> 0L),
+				new LlmTokenQuota(1000, Clock.systemDefaultZone()), jwtUtil);
+
+		// Spring Boot가 native 전략에서 RemoteIpValve에 적용하는 헤더 설정과 같습니다. (내부 프록시는 Tomcat 기본값인 사설망)
+		MockFilterConfig config = new MockFilterConfig();
+		config.addInitParameter("remoteIpHeader", "X-Forwarded-For");
+		config.addInitParameter("protocolHeader", "X-Forwarded-Proto");
+		remoteIpFilter = new RemoteIpFilter();
+		remoteIpFilter.init(config);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void limitsEachForwardedClientSeparately() {
+		assertThatCode(() -> detect(NGINX, "203.0.113.1")).doesNotThrowAnyException();
+		assertThatThrownBy(() -> detect(NGINX, "203.0.113.1")).isInstanceOf(RetryLaterException.class);
+
+		// 같은 nginx를 거쳐 온 다른 클라이언트는 별도 버킷을 사용합니다.
+		assertThatCode(() -> detect(NGINX, "203.0.113.2")).doesNotThrowAnyException();
+		// 클라이언트가 보낸 X-Forwarded-For 앞부분은 nginx가 덧붙인 실제 주소보다 우선하지 않습니다.
+		assertThatCode(() -> detect(NGINX, "203.0.113.1, 203.0.113.3")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void ignoresForwardedHeaderFromUntrustedAddress() {
+		assertThatCode(() -> detect("198.51.100.7", "203.0.113.1")).doesNotThrowAnyException();
+		// 신뢰하지 않는 주소가 보낸 헤더는 무시하므로, 헤더를 바꿔도 같은 버킷입니다.
+		assertThatThrownBy(() -> detect("198.51.100.7", "203.0.113.2")).isInstanceOf(RetryLaterException.class);
+	}
+
+	@Test
+	void limitsLoggedInUsersBehindOneAddressSeparately() {
+		assertThatCode(() -> detect(NGINX, "203.0.113.1", "token-a")).doesNotThrowAnyException();
+		assertThatThrownBy(() -> detect(NGINX, "203.0.113.1", "token-a")).isInstanceOf(RetryLaterException.class);
+
+		// 같은 공인 IP 뒤의 다른 로그인 사용자는 자기 버킷을 사용합니다.
+		assertThatCode(() -> detect(NGINX, "203.0.113.1", "token-b")).doesNotThrowAnyException();
+		// 토큰 없는 요청은 IP 버킷을 사용하므로 로그인 사용자의 소진과 무관합니다.
+		assertThatCode(() -> detect(NGINX, "203.0.113.1")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void fallsBackToAddressForInvalidToken() {
+		assertThatCode(() -> detect(NGINX, "203.0.113.1", "forged")).doesNotThrowAnyException();
+		// 유효하지 않은 토큰은 거절하지 않고 IP 버킷으로 제한합니다.
+		assertThatThrownBy(() -> detect(NGINX, "203.0.113.1")).isInstanceOf(RetryLaterException.class);
+	}
+
+	private void detect(String remoteAddr, String forwardedFor) throws Exception {
+		detect(remoteAddr, forwardedFor, null);
+	}
+
+	private void detect(String remoteAddr, String forwardedFor, String token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/kfood/detect");
+		request.setRemoteAddr(remoteAddr);
+		request.addHeader("X-Forwarded-For", forwardedFor);
+		if (token != null) {
+			request.addHeader("Authorization", "Bearer " + token);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		remoteIpFilter.doFilter(request, response,
+				(req, res) -> interceptor.preHandle((HttpServletRequest) req, response, new Object()));
+	}
+}
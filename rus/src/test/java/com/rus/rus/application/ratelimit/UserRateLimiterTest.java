@@ -0,0 +1,84 @@
+package com.rus.rus.application.ratelimit;
+
+import com.rus.rus.common.RetryLaterException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 사용자별 토큰 버킷과 하루 LLM 토큰 한도 검증
+ */
+class UserRateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private UserRateLimiter limiter() {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("rate-limit.chat.capacity", "2")
+				.withProperty("rate-limit.chat.refill-per-minute", "6");
+		return new UserRateLimiter(environment, now::get);
+	}
+
+	@Test
+	void rejectsWhenBucketIsEmptyAndRefillsLazily() {
+		UserRateLimiter limiter = limiter();
+
+		limiter.acquire(RateLimitGroup.CHAT, "a");
+		limiter.acquire(RateLimitGroup.CHAT, "a");
+		assertThatThrownBy(() -> limiter.acquire(RateLimitGroup.CHAT, "a"))
+				.isInstanceOfSatisfying(RetryLaterException.class,
+						e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(10));
+
+		// 다른 사용자와 다른 그룹은 따로 셉니다.
+		limiter.acquire(RateLimitGroup.CHAT, "b");
+		limiter.acquire(RateLimitGroup.KFOOD, "a");
+
+		// 분당 6개 충전이므로 10초 뒤에 1개를 다시 사용할 수 있습니다.
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		limiter.acquire(RateLimitGroup.CHAT, "a");
+		assertThatThrownBy(() -> limiter.acquire(RateLimitGroup.CHAT, "a"))
+				.isInstanceOf(RetryLaterException.class);
+	}
+
+	@Test
+	void evictsBucketsThatRefilledToCapacity() {
+		UserRateLimiter limiter = limiter();
+		limiter.acquire(RateLimitGroup.CHAT, "a");
+		limiter.acquire(RateLimitGroup.CHAT, "b");
+		limiter.acquire(RateLimitGroup.CHAT, "b");
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		limiter.evictIdle();
+
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsLlmCallsAfterDailyTokensAreUsed() {
+		Clock clock = Clock.fixed(Instant.parse("2026-01-01T15:00:00Z"), ZoneId.of("UTC"));
+		LlmTokenQuota quota = new LlmTokenQuota(1000, clock);
+
+		quota.record("a", 600);
+		quota.check("a");
+		quota.record("a", 600);
+
+		assertThat(quota.used("a")).isEqualTo(1200);
+		assertThatThrownBy(() -> quota.check("a"))
+				.isInstanceOfSatisfying(RetryLaterException.class,
+						e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(9 * 60 * 60));
+		quota.check("b");
+
+		// 날짜가 바뀌면 다시 0부터 셉니다.
+		LlmTokenQuota nextDay = new LlmTokenQuota(1000, Clock.offset(clock, java.time.Duration.ofDays(1)));
+		nextDay.record("a", 1);
+		assertThat(nextDay.used("a")).isEqualTo(1);
+	}
+}
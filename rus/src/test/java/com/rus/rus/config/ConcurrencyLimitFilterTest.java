@@ -0,0 +1,65 @@
+package com.rus.rus.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.concurrency.ConcurrencyGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 처리 한도 필터 검증
+ * - AI 그룹 한도가 찼을 때 AI 요청은 503 + Retry-After로 바로 거절되고, DB 요청과 헬스 체크는 영향을 받지 않는지 확인합니다.
+ */
+class ConcurrencyLimitFilterTest {
+
+	@Test
+	void shedsOnlyTheSaturatedGroup() throws Exception {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("concurrency-limit.ai.initial-limit", "1")
+				.withProperty("concurrency-limit.ai.min-limit", "1");
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(environment, new ObjectMapper());
+		CompletableFuture<Void> release = new CompletableFuture<>();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<MockHttpServletResponse> slow = executor.submit(() -> {
+				MockHttpServletResponse response = new MockHttpServletResponse();
+				filter.doFilter(new MockHttpServletRequest("POST", "/v1/openai/message"), response,
+						(req, res) -> release.join());
+				return response;
+			});
+			while (filter.limiter(ConcurrencyGroup.AI).getInFlight() == 0) {
+				Thread.sleep(10);
+			}
+
+			MockHttpServletResponse rejected = call(filter, "/v1/vertexai/message");
+			MockHttpServletResponse db = call(filter, "/routine/personal/abc");
+			MockHttpServletResponse health = call(filter, "/actuator/health");
+			release.complete(null);
+
+			assertThat(rejected.getStatus()).isEqualTo(503);
+			assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+			assertThat(db.getStatus()).isEqualTo(200);
+			assertThat(health.getStatus()).isEqualTo(200);
+			assertThat(slow.get().getStatus()).isEqualTo(200);
+			assertThat(filter.limiter(ConcurrencyGroup.AI).getInFlight()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static MockHttpServletResponse call(ConcurrencyLimitFilter filter, String path) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", path), response, (req, res) -> {
+		});
+		return response;
+	}
+}
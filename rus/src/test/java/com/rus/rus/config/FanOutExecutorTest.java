@@ -0,0 +1,103 @@
+package com.rus.rus.config;
+
+import com.rus.rus.common.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FanOutExecutor의 동시 실행, 실패 시 취소, 마감 시간, DB 허가 수 제한 동작 확인
+ */
+class FanOutExecutorTest {
+
+	private final FanOutExecutor fanOutExecutor = new FanOutExecutor(2);
+
+	@AfterEach
+	void tearDown() {
+		fanOutExecutor.shutdown();
+	}
+
+	@Test
+	void forkedTasksRunConcurrently() throws Exception {
+		long start = System.nanoTime();
+		try (FanOutExecutor.Scope scope = fanOutExecutor.open(Duration.ofSeconds(5))) {
+			Future<String> first = scope.fork(() -> sleepAndReturn("a"));
+			Future<String> second = scope.fork(() -> sleepAndReturn("b"));
+			scope.join();
+
+			assertThat(first.resultNow() + second.resultNow()).isEqualTo("ab");
+		}
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(350));
+	}
+
+	@Test
+	void failureCancelsSiblingsAndPropagates() throws Exception {
+		AtomicBoolean siblingInterrupted = new AtomicBoolean();
+		CountDownLatch siblingStarted = new CountDownLatch(1);
+
+		try (FanOutExecutor.Scope scope = fanOutExecutor.open(Duration.ofSeconds(5))) {
+			scope.fork(() -> {
+				siblingStarted.countDown();
+				try {
+					Thread.sleep(5_000);
+				} catch (InterruptedException e) {
+					siblingInterrupted.set(true);
+				}
+				return null;
+			});
+			scope.fork(() -> {
+				siblingStarted.await();
+				throw new ApiException(HttpStatus.NOT_FOUND, "not found");
+			});
+
+			assertThatThrownBy(scope::join).isInstanceOf(ApiException.class).hasMessage("not found");
+		}
+		TimeUnit.MILLISECONDS.sleep(100);
+		assertThat(siblingInterrupted).isTrue();
+	}
+
+	@Test
+	void deadlineExceededFailsWithGatewayTimeout() {
+		try (FanOutExecutor.Scope scope = fanOutExecutor.open(Duration.ofMillis(100))) {
+			scope.fork(() -> sleepAndReturn("slow"));
+
+			assertThatThrownBy(scope::join)
+					.isInstanceOfSatisfying(ApiException.class,
+							e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+		}
+	}
+
+	@Test
+	void dbReadsAreBoundedByPermits() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+
+		try (FanOutExecutor.Scope scope = fanOutExecutor.open(Duration.ofSeconds(5))) {
+			for (int i = 0; i < 6; i++) {
+				scope.fork(() -> scope.dbRead(() -> {
+					peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+					Thread.sleep(50);
+					running.decrementAndGet();
+					return null;
+				}));
+			}
+			scope.join();
+		}
+		assertThat(peak.get()).isEqualTo(2);
+	}
+
+	private String sleepAndReturn(String value) throws InterruptedException {
+		Thread.sleep(200);
+		return value;
+	}
+}
@@ -0,0 +1,211 @@
+package com.rus.rus.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rus.rus.application.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.mock.web.MockPart;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotency-Key 필터 검증
+ * - 같은 키의 재시도는 서비스 로직(필터 체인)을 다시 실행하지 않고 처음 응답을 재생하는지,
+ *   같은 키의 동시 요청은 한 번만 실행되는지, 너무 큰 본문은 읽지 않고 413으로 거절하는지 확인합니다.
+ * - 저장하기에 너무 큰 응답도 재시도에서 다시 실행하지 않는지 확인합니다.
+ * - 멀티파트 업로드는 파트 내용까지 비교하여, 같은 키로 다른 파일을 보내면 422로 거절하는지 확인합니다.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+		"spring.datasource.url=jdbc:h2:mem:idempotency;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdempotencyService.class)
+// 요청마다 커밋된 상태를 다른 스레드에서 읽어야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyFilterTest {
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	private final AtomicInteger executions = new AtomicInteger();
+
+	@Test
+	void replaysStoredResponseWithoutRunningChain() throws Exception {
+		IdempotencyFilter filter = filter();
+		String key = UUID.randomUUID().toString();
+
+		MockHttpServletResponse first = call(filter, key, "{\"id\":1}", created());
+		MockHttpServletResponse second = call(filter, key, "{\"id\":1}", created());
+
+		assertThat(executions).hasValue(1);
+		assertThat(first.getStatus()).isEqualTo(201);
+		assertThat(second.getStatus()).isEqualTo(201);
+		assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+		assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void rejectsSameKeyWithDifferentBody() throws Exception {
+		IdempotencyFilter filter = filter();
+		String key = UUID.randomUUID().toString();
+
+		call(filter, key, "{\"id\":1}", created());
+		MockHttpServletResponse response = call(filter, key, "{\"id\":2}", created());
+
+		assertThat(executions).hasValue(1);
+		assertThat(response.getStatus()).isEqualTo(422);
+	}
+
+	@Test
+	void runsConcurrentRequestsWithSameKeyOnce() throws Exception {
+		IdempotencyFilter filter = filter();
+		String key = UUID.randomUUID().toString();
+		CompletableFuture<Void> release = new CompletableFuture<>();
+		FilterChain slow = (request, response) -> {
+			release.join();
+			created().doFilter(request, response);
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<MockHttpServletResponse> a = executor.submit(() -> call(filter, key, "{}", slow));
+			Future<MockHttpServletResponse> b = executor.submit(() -> call(filter, key, "{}", slow));
+			Thread.sleep(200);
+			release.complete(null);
+
+			assertThat(a.get().getStatus()).isEqualTo(201);
+			assertThat(b.get().getStatus()).isEqualTo(201);
+			assertThat(executions).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void doesNotStoreServerErrors() throws Exception {
+		IdempotencyFilter filter = filter();
+		String key = UUID.randomUUID().toString();
+		FilterChain failing = (request, response) -> {
+			executions.incrementAndGet();
+			((HttpServletResponse) response).setStatus(500);
+		};
+
+		call(filter, key, "{}", failing);
+		MockHttpServletResponse retry = call(filter, key, "{}", created());
+
+		assertThat(executions).hasValue(2);
+		assertThat(retry.getStatus()).isEqualTo(201);
+	}
+
+	@Test
+	void doesNotRunAgainWhenResponseWasTooLargeToStore() throws Exception {
+		IdempotencyFilter filter = new IdempotencyFilter(idempotencyService, new ObjectMapper(), 5000, 8, 1024);
+		String key = UUID.randomUUID().toString();
+
+		MockHttpServletResponse first = call(filter, key, "{}", created());
+		MockHttpServletResponse retry = call(filter, key, "{}", created());
+
+		assertThat(first.getStatus()).isEqualTo(201);
+		assertThat(first.getContentAsString()).isEqualTo("{\"execution\":1}");
+		// 응답 본문은 재생할 수 없지만, 변경은 다시 실행하지 않고 409로 알립니다.
+		assertThat(retry.getStatus()).isEqualTo(409);
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void comparesMultipartPartsByContent() throws Exception {
+		IdempotencyFilter filter = filter();
+		String key = UUID.randomUUID().toString();
+
+		MockHttpServletResponse first = upload(filter, key, new byte[] { 1, 2, 3 });
+		MockHttpServletResponse sameFile = upload(filter, key, new byte[] { 1, 2, 3 });
+		MockHttpServletResponse otherFile = upload(filter, key, new byte[] { 1, 2, 4 });
+
+		assertThat(first.getStatus()).isEqualTo(201);
+		assertThat(sameFile.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(otherFile.getStatus()).isEqualTo(422);
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void rejectsOversizedBodyWithoutRunningChain() throws Exception {
+		IdempotencyFilter filter = filter();
+
+		MockHttpServletResponse response = call(filter, UUID.randomUUID().toString(), "x".repeat(1025), created());
+
+		assertThat(response.getStatus()).isEqualTo(413);
+		assertThat(executions).hasValue(0);
+
+		// Content-Length가 없는 요청(chunked)도 한도까지만 읽고 거절합니다.
+		MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/auth/signup") {
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+		};
+		chunked.addHeader(IdempotencyFilter.HEADER, UUID.randomUUID().toString());
+		chunked.setContentType("application/json");
+		chunked.setContent("x".repeat(4096).getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse chunkedResponse = new MockHttpServletResponse();
+		filter.doFilter(chunked, chunkedResponse, created());
+
+		assertThat(chunkedResponse.getStatus()).isEqualTo(413);
+		assertThat(executions).hasValue(0);
+	}
+
+	private IdempotencyFilter filter() {
+		return new IdempotencyFilter(idempotencyService, new ObjectMapper(), 5000, 65536, 1024);
+	}
+
+	private FilterChain created() {
+		return (request, response) -> {
+			int n = executions.incrementAndGet();
+			HttpServletResponse httpResponse = (HttpServletResponse) response;
+			httpResponse.setStatus(201);
+			httpResponse.setContentType("application/json");
+			httpResponse.getOutputStream().write(("{\"execution\":" + n + "}").getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private MockHttpServletResponse upload(IdempotencyFilter filter, String key, byte[] image) throws Exception {
+		MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+		request.setRequestURI("/kfood/jobs");
+		request.setContentType("multipart/form-data; boundary=test");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		MockPart part = new MockPart("file", "food.jpg", image);
+		request.addPart(part);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, created());
+		return response;
+	}
+
+	private static MockHttpServletResponse call(IdempotencyFilter filter, String key, String body, FilterChain chain)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/shop/purchase");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
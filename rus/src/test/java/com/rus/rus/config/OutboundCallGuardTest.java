@@ -0,0 +1,91 @@
+package com.rus.rus.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 트랜잭션(DB 커넥션) 안에서 외부 HTTP를 호출하면 실패하는지 확인합니다.
+ */
+class OutboundCallGuardTest {
+
+	private HttpServer upstream;
+	private WebClient webClient;
+	private TransactionTemplate transactionTemplate;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		upstream.createContext("/ping", exchange -> {
+			byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		upstream.start();
+
+		WebClient.Builder builder = WebClient.builder()
+				.baseUrl("http://127.0.0.1:" + upstream.getAddress().getPort());
+		new OutboundCallGuard(true).customize(builder);
+		webClient = builder.build();
+
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:outbound-guard;DB_CLOSE_DELAY=-1");
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@AfterEach
+	void tearDown() {
+		upstream.stop(0);
+	}
+
+	@Test
+	void failsWhenCallingOutInsideTransaction() {
+		assertThatThrownBy(() -> transactionTemplate.execute(status -> {
+			jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+			return ping();
+		}))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("/ping");
+	}
+
+	@Test
+	void allowsCallAfterTransactionReleasedConnection() {
+		Integer value = transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+
+		assertThat(value).isEqualTo(1);
+		assertThat(ping()).isEqualTo("pong");
+	}
+
+	@Test
+	void checkRejectsSdkCallInsideTransaction() {
+		OutboundCallGuard guard = new OutboundCallGuard(true);
+
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> guard.check("Vertex AI")))
+				.isInstanceOf(IllegalStateException.class);
+		guard.check("Vertex AI");
+	}
+
+	private String ping() {
+		return webClient.get()
+				.uri("/ping")
+				.retrieve()
+				.bodyToMono(String.class)
+				.block();
+	}
+}
@@ -0,0 +1,109 @@
+package com.rus.rus.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 AI 호출 500건을 동시에 처리할 때 플랫폼 스레드 풀과 가상 스레드의 처리량 비교
+ * - 요청 처리 스레드: Tomcat 기본 최대 스레드 수(200)의 고정 풀 vs 요청당 가상 스레드
+ * - 각 요청은 서비스 코드와 같이 WebClient.block()으로 500ms 걸리는 로컬 스텁을 호출합니다.
+ * - 가상 스레드의 처리량이 고정 풀보다 충분히(1.25배 이상) 높은지 확인합니다.
+ */
+class VirtualThreadLoadTest {
+
+	private static final int CONCURRENT_CALLS = 500;
+	private static final int TOMCAT_MAX_THREADS = 200;
+	private static final long UPSTREAM_DELAY_MILLIS = 500;
+
+	private HttpServer slowUpstream;
+	private ConnectionProvider connectionProvider;
+	private WebClient webClient;
+
+	@BeforeEach
+	void setUp() {
+		try {
+			slowUpstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		slowUpstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		slowUpstream.createContext("/generate", exchange -> {
+			try {
+				Thread.sleep(UPSTREAM_DELAY_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "{\"text\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		slowUpstream.start();
+
+		connectionProvider = HttpClientConfig.createConnectionProvider(CONCURRENT_CALLS, Duration.ofSeconds(45));
+		webClient = WebClient.builder()
+				.baseUrl("http://127.0.0.1:" + slowUpstream.getAddress().getPort())
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		slowUpstream.stop(0);
+		connectionProvider.dispose();
+	}
+
+	@Test
+	void virtualThreadsSustainMoreConcurrentSlowCallsThanPlatformPool() throws Exception {
+		// 커넥션 생성 비용이 한쪽에만 포함되지 않도록 풀을 미리 채웁니다.
+		run(Executors.newVirtualThreadPerTaskExecutor());
+
+		double platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+		double virtual = run(Executors.newVirtualThreadPerTaskExecutor());
+
+		System.out.printf("[virtual-threads] %d calls x %dms: platform(%d)=%.0f req/s, virtual=%.0f req/s%n",
+				CONCURRENT_CALLS, UPSTREAM_DELAY_MILLIS, TOMCAT_MAX_THREADS, platform, virtual);
+		// 고정 풀은 500건을 200개씩 3번에 나눠 처리하므로 이론상 가상 스레드가 3배 빠르지만,
+		// 로컬 스텁과 클라이언트 이벤트 루프의 처리 비용이 함께 측정되므로 1.25배 이상만 확인합니다.
+		assertThat(virtual).isGreaterThan(platform * 1.25);
+	}
+
+	private double run(ExecutorService executor) throws Exception {
+		long start = System.nanoTime();
+		try {
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < CONCURRENT_CALLS; i++) {
+				futures.add(executor.submit(() -> webClient.get()
+						.uri("/generate")
+						.retrieve()
+						.bodyToMono(String.class)
+						.block()));
+			}
+			for (Future<String> future : futures) {
+				assertThat(future.get()).contains("ok");
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return CONCURRENT_CALLS / ((System.nanoTime() - start) / 1e9);
+	}
+}
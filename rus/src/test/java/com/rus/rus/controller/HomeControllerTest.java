@@ -0,0 +1,127 @@
+package com.rus.rus.controller;
+
+import com.rus.rus.application.AttendanceService;
+import com.rus.rus.application.HomeService;
+import com.rus.rus.application.RoutineService;
+import com.rus.rus.application.UserService;
+import com.rus.rus.common.GlobalExceptionHandler;
+import com.rus.rus.config.FanOutExecutor;
+import com.rus.rus.controller.dto.res.AttendanceResponseDto;
+import com.rus.rus.controller.dto.res.ChallengeStatusResponseDto;
+import com.rus.rus.controller.dto.res.PersonalRoutineResponseDto;
+import com.rus.rus.controller.dto.res.RecommendRoutineResponseDto;
+import com.rus.rus.controller.dto.res.StreakResponseDto;
+import com.rus.rus.controller.dto.res.UserSettingResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 홈 화면 집계 API 검증
+ * - 기본으로 모든 항목을 반환하고, fields로 고른 항목만 조회·반환하는지 확인합니다.
+ * - 알 수 없는 항목은 400, 다른 사용자의 uid는 403으로 거절하는지 확인합니다.
+ */
+class HomeControllerTest {
+
+	private final UUID uid = UUID.randomUUID();
+	private final RoutineService routineService = mock(RoutineService.class);
+	private final AttendanceService attendanceService = mock(AttendanceService.class);
+	private final UserService userService = mock(UserService.class);
+	private final FanOutExecutor fanOutExecutor = new FanOutExecutor(2);
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		HomeService homeService = new HomeService(routineService, attendanceService, userService, fanOutExecutor);
+		mockMvc = MockMvcBuilders.standaloneSetup(new HomeController(homeService))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+				.build();
+
+		User principal = new User(uid.toString(), "", List.of());
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+		String userId = uid.toString();
+		when(routineService.getPersonalRoutines(userId)).thenReturn(new PersonalRoutineResponseDto(List.of()));
+		when(routineService.getRecommendRoutines(userId)).thenReturn(new RecommendRoutineResponseDto(List.of()));
+		when(routineService.getStreak(userId)).thenReturn(StreakResponseDto.builder().currentStreak(3).build());
+		when(attendanceService.getAttendanceStatus(uid)).thenReturn(AttendanceResponseDto.builder().mon(true).build());
+		when(routineService.getChallengeStatus(userId))
+				.thenReturn(ChallengeStatusResponseDto.builder().participants(7).isTarget(true).build());
+		when(userService.getUserSettingById(uid)).thenReturn(UserSettingResponseDto.builder().lumiImage(2).build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		fanOutExecutor.shutdown();
+	}
+
+	@Test
+	void returnsAllSectionsByDefault() throws Exception {
+		mockMvc.perform(get("/home/{uid}", uid))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.personal.routines").isArray())
+				.andExpect(jsonPath("$.recommend.routines").isArray())
+				.andExpect(jsonPath("$.streak.currentStreak").value(3))
+				.andExpect(jsonPath("$.attendance.mon").value(true))
+				.andExpect(jsonPath("$.challenge.participants").value(7))
+				.andExpect(jsonPath("$.settings.lumi_image").value(2));
+	}
+
+	@Test
+	void returnsAndQueriesOnlySelectedSections() throws Exception {
+		mockMvc.perform(get("/home/{uid}", uid).param("fields", "streak, settings"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.streak.currentStreak").value(3))
+				.andExpect(jsonPath("$.settings.lumi_image").value(2))
+				.andExpect(jsonPath("$.personal").doesNotExist())
+				.andExpect(jsonPath("$.recommend").doesNotExist())
+				.andExpect(jsonPath("$.attendance").doesNotExist())
+				.andExpect(jsonPath("$.challenge").doesNotExist());
+
+		verify(routineService).getStreak(uid.toString());
+		verify(routineService, never()).getPersonalRoutines(anyString());
+		verify(routineService, never()).getRecommendRoutines(anyString());
+		verify(routineService, never()).getChallengeStatus(anyString());
+		verifyNoInteractions(attendanceService);
+	}
+
+	@Test
+	void rejectsUnknownField() throws Exception {
+		mockMvc.perform(get("/home/{uid}", uid).param("fields", "streak,unknown"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value(containsString("unknown")));
+
+		verifyNoInteractions(routineService, attendanceService, userService);
+	}
+
+	@Test
+	void rejectsOtherUsersUid() throws Exception {
+		mockMvc.perform(get("/home/{uid}", UUID.randomUUID()))
+				.andExpect(status().isForbidden());
+
+		verifyNoInteractions(routineService, attendanceService, userService);
+	}
+}
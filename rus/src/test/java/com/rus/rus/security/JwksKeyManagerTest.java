@@ -0,0 +1,188 @@
+package com.rus.rus.security;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JwksKeyManager 키 갱신 규칙 검증
+ * - Supabase JWKS 엔드포인트 대신 응답 키 목록을 바꿀 수 있는 로컬 스텁을 사용합니다.
+ * - 스텁 호출 횟수로 갱신 요청이 실제로 나갔는지 확인합니다.
+ */
+class JwksKeyManagerTest {
+
+	private static final Duration NO_THROTTLE = Duration.ZERO;
+	private static final Duration LONG_THROTTLE = Duration.ofHours(1);
+
+	private static RSAPublicKey oldKey;
+	private static RSAPublicKey newKey;
+
+	@TempDir
+	Path tempDir;
+
+	private HttpServer stub;
+	private final AtomicInteger stubCalls = new AtomicInteger();
+	private volatile int stubStatus = 200;
+	private volatile Map<String, RSAPublicKey> servedKeys = Map.of();
+
+	@BeforeAll
+	static void generateKeys() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		oldKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+		newKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+	}
+
+	@BeforeEach
+	void startStub() throws IOException {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/auth/v1/.well-known/jwks.json", this::handle);
+		stub.start();
+	}
+
+	@AfterEach
+	void stopStub() {
+		stub.stop(0);
+	}
+
+	@Test
+	void scheduledRefreshPicksUpRotatedKeys() {
+		servedKeys = Map.of("old", oldKey);
+		JwksKeyManager manager = new JwksKeyManager(jwksUrl(), "", LONG_THROTTLE);
+		manager.prefetch();
+		assertThat(manager.getKey("old")).isEqualTo(oldKey);
+
+		servedKeys = Map.of("new", newKey);
+		manager.scheduledRefresh();
+
+		assertThat(manager.getKey("new")).isEqualTo(newKey);
+		// 교체되어 빠진 키는 더 이상 사용할 수 없습니다.
+		assertThatThrownBy(() -> manager.getKey("old"))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("kid=old");
+		assertThat(stubCalls).hasValue(2);
+	}
+
+	@Test
+	void refreshesImmediatelyForUnknownKid() {
+		servedKeys = Map.of("old", oldKey);
+		JwksKeyManager manager = new JwksKeyManager(jwksUrl(), "", NO_THROTTLE);
+		manager.prefetch();
+
+		servedKeys = Map.of("old", oldKey, "new", newKey);
+
+		assertThat(manager.getKey("new")).isEqualTo(newKey);
+		assertThat(stubCalls).hasValue(2);
+		// 이미 받아 둔 키는 다시 요청하지 않고 바로 반환합니다.
+		assertThat(manager.getKey("old")).isEqualTo(oldKey);
+		assertThat(stubCalls).hasValue(2);
+	}
+
+	@Test
+	void throttlesRefreshWithinMinimumInterval() {
+		servedKeys = Map.of("old", oldKey);
+		JwksKeyManager manager = new JwksKeyManager(jwksUrl(), "", LONG_THROTTLE);
+		manager.prefetch();
+
+		servedKeys = Map.of("old", oldKey, "new", newKey);
+
+		// 위조된 kid가 반복되어도 최소 간격 안에서는 JWKS 엔드포인트를 다시 호출하지 않습니다.
+		for (int i = 0; i < 5; i++) {
+			assertThatThrownBy(() -> manager.getKey("new")).isInstanceOf(IllegalStateException.class);
+		}
+		assertThat(stubCalls).hasValue(1);
+	}
+
+	@Test
+	void keepsExistingKeysWhenRefreshFails() {
+		servedKeys = Map.of("old", oldKey);
+		JwksKeyManager manager = new JwksKeyManager(jwksUrl(), "", NO_THROTTLE);
+		manager.prefetch();
+
+		stubStatus = 500;
+		manager.scheduledRefresh();
+
+		assertThat(manager.getKey("old")).isEqualTo(oldKey);
+		assertThat(stubCalls).hasValue(2);
+	}
+
+	@Test
+	void fallsBackToLocalFileWhenUrlFails() throws IOException {
+		stubStatus = 500;
+		Path localFile = tempDir.resolve("jwks.json");
+		Files.writeString(localFile, jwks(Map.of("local", oldKey)));
+		JwksKeyManager manager = new JwksKeyManager(jwksUrl(), localFile.toString(), NO_THROTTLE);
+
+		manager.prefetch();
+
+		assertThat(manager.getKey("local")).isEqualTo(oldKey);
+		assertThat(stubCalls).hasValue(1);
+	}
+
+	@Test
+	void usesLocalFileWhenUrlIsNotConfigured() throws IOException {
+		Path localFile = tempDir.resolve("jwks.json");
+		Files.writeString(localFile, jwks(Map.of("local", oldKey)));
+		JwksKeyManager manager = new JwksKeyManager("", localFile.toString(), NO_THROTTLE);
+
+		manager.prefetch();
+
+		assertThat(manager.getKey("local")).isEqualTo(oldKey);
+		assertThat(stubCalls).hasValue(0);
+	}
+
+	private String jwksUrl() {
+		return "http://127.0.0.1:" + stub.getAddress().getPort() + "/auth/v1/.well-known/jwks.json";
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		stubCalls.incrementAndGet();
+		int status = stubStatus;
+		byte[] body = (status == 200 ? jwks(servedKeys) : "{\"error\":\"unavailable\"}")
+				.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static String jwks(Map<String, RSAPublicKey> keys) {
+		return keys.entrySet().stream()
+				.map(entry -> "{\"kty\":\"RSA\",\"kid\":\"" + entry.getKey() + "\",\"alg\":\"RS256\",\"use\":\"sig\","
+						+ "\"n\":\"" + base64Url(entry.getValue().getModulus()) + "\","
+						+ "\"e\":\"" + base64Url(entry.getValue().getPublicExponent()) + "\"}")
+				.collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+	}
+
+	private static String base64Url(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		if (bytes[0] == 0) {
+			bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+}
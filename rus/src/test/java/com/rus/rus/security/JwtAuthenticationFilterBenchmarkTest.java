@@ -0,0 +1,129 @@
+package com.rus.rus.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JwtAuthenticationFilter의 요청당 비용 측정
+ * - 로컬 JWKS 파일과 RS256 토큰으로 검증 캐시 사용/미사용 시의 요청당 평균 시간을 비교합니다.
+ * - 캐시 만료/제거 규칙은 JwtUtilTest에서 검증합니다.
+ */
+class JwtAuthenticationFilterBenchmarkTest {
+
+	private static final String UID = "4f1c2b7e-0000-4000-8000-000000000001";
+	private static final int ITERATIONS = 300;
+
+	@TempDir
+	Path tempDir;
+
+	private JwksKeyManager jwksKeyManager;
+	private String token;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+
+		token = Jwts.builder()
+				.setHeaderParam("kid", "test-key")
+				.setSubject(UID)
+				.setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+				.signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+				.compact();
+
+		// 네트워크 없이 로컬 JWKS 파일에서 키를 읽습니다.
+		Path jwksFile = tempDir.resolve("jwks.json");
+		Files.writeString(jwksFile, jwks((RSAPublicKey) keyPair.getPublic()));
+		jwksKeyManager = new JwksKeyManager("", jwksFile.toString(), Duration.ofSeconds(30));
+		jwksKeyManager.prefetch();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void filterCostPerRequestWithAndWithoutVerifiedTokenCache() throws Exception {
+		double uncached = measure(new JwtAuthenticationFilter(new JwtUtil(jwksKeyManager, 0)));
+		double cached = measure(new JwtAuthenticationFilter(new JwtUtil(jwksKeyManager, 10_000)));
+
+		// 캐시 적중 시에는 RS256 서명 검증을 건너뛰므로 요청당 비용이 줄어야 합니다.
+		assertThat(cached).isLessThan(uncached);
+	}
+
+	@Test
+	void publicPathsSkipTokenVerification() throws Exception {
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtUtil(jwksKeyManager, 10_000));
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/ranking");
+		request.addHeader("Authorization", "Bearer " + token);
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	/**
+	 * 워밍업 후 인증이 필요한 경로로 ITERATIONS번 필터를 실행하여 요청당 평균 시간(마이크로초)을 반환합니다.
+	 */
+	private double measure(JwtAuthenticationFilter filter) throws Exception {
+		for (int i = 0; i < 30; i++) {
+			runOnce(filter);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			runOnce(filter);
+		}
+		return (System.nanoTime() - start) / 1e3 / ITERATIONS;
+	}
+
+	private void runOnce(JwtAuthenticationFilter filter) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/profile/" + UID);
+		request.addHeader("Authorization", "Bearer " + token);
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertThat(((UserDetails) authentication.getPrincipal()).getUsername()).isEqualTo(UID);
+	}
+
+	private String jwks(RSAPublicKey publicKey) {
+		return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"test-key\",\"alg\":\"RS256\",\"use\":\"sig\","
+				+ "\"n\":\"" + base64Url(publicKey.getModulus()) + "\","
+				+ "\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+	}
+
+	private String base64Url(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		if (bytes[0] == 0) {
+			bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+}
@@ -0,0 +1,114 @@
+package com.rus.rus.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Clock;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtUtil 검증 캐시 규칙 검증
+ * - 서명 검증 횟수는 JwksKeyManager.getKey 호출 횟수로 확인합니다.
+ * - 시간은 Clock을 고정하여 토큰 만료 시점 전후를 재현합니다.
+ */
+class JwtUtilTest {
+
+	// jjwt는 exp를 초 단위로 기록하므로 기준 시각도 초 단위로 맞춥니다.
+	private static final long NOW = 1_800_000_000_000L;
+	private static final long EXPIRES_AT = NOW + 60_000;
+
+	private static KeyPair keyPair;
+
+	private JwksKeyManager jwksKeyManager;
+	private Clock clock;
+
+	@BeforeAll
+	static void generateKey() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		keyPair = generator.generateKeyPair();
+	}
+
+	@BeforeEach
+	void setUp() {
+		jwksKeyManager = mock(JwksKeyManager.class);
+		when(jwksKeyManager.getKey("test-key")).thenReturn(keyPair.getPublic());
+		clock = mock(Clock.class);
+		when(clock.millis()).thenReturn(NOW);
+	}
+
+	@Test
+	void cachedEntryExpiresAtTokenExp() {
+		JwtUtil jwtUtil = new JwtUtil(jwksKeyManager, 10, clock);
+		String token = token("uid-a");
+
+		assertThat(jwtUtil.getUidFromToken(token)).isEqualTo("uid-a");
+		when(clock.millis()).thenReturn(EXPIRES_AT - 1);
+		assertThat(jwtUtil.getUidFromToken(token)).isEqualTo("uid-a");
+		// exp 직전까지는 캐시에서 반환하므로 서명을 다시 검증하지 않습니다.
+		verify(jwksKeyManager, times(1)).getKey(any());
+
+		when(clock.millis()).thenReturn(EXPIRES_AT);
+		assertThat(jwtUtil.getUidFromToken(token)).isEqualTo("uid-a");
+		// exp 시점부터는 캐시 항목을 버리고 다시 검증합니다.
+		verify(jwksKeyManager, times(2)).getKey(any());
+	}
+
+	@Test
+	void rejectsExpiredTokenEvenIfCached() {
+		JwtUtil jwtUtil = new JwtUtil(jwksKeyManager, 10, clock);
+		String token = token("uid-a");
+		assertThat(jwtUtil.getUidFromToken(token)).isEqualTo("uid-a");
+
+		when(clock.millis()).thenReturn(EXPIRES_AT + 1_000);
+
+		assertThatThrownBy(() -> jwtUtil.getUidFromToken(token)).isInstanceOf(ExpiredJwtException.class);
+		assertThat(jwtUtil.validateToken(token)).isFalse();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntryAtCapacity() {
+		JwtUtil jwtUtil = new JwtUtil(jwksKeyManager, 2, clock);
+		String tokenA = token("uid-a");
+		String tokenB = token("uid-b");
+		String tokenC = token("uid-c");
+
+		jwtUtil.getUidFromToken(tokenA);
+		jwtUtil.getUidFromToken(tokenB);
+		// A를 다시 사용하여 B가 가장 오래 사용하지 않은 항목이 됩니다.
+		jwtUtil.getUidFromToken(tokenA);
+		verify(jwksKeyManager, times(2)).getKey(any());
+
+		jwtUtil.getUidFromToken(tokenC);
+		verify(jwksKeyManager, times(3)).getKey(any());
+
+		// A는 캐시에 남아 있고, 용량을 넘겨 밀려난 B는 다시 검증합니다.
+		assertThat(jwtUtil.getUidFromToken(tokenA)).isEqualTo("uid-a");
+		verify(jwksKeyManager, times(3)).getKey(any());
+		assertThat(jwtUtil.getUidFromToken(tokenB)).isEqualTo("uid-b");
+		verify(jwksKeyManager, times(4)).getKey(any());
+	}
+
+	private static String token(String uid) {
+		return Jwts.builder()
+				.setHeaderParam("kid", "test-key")
+				.setSubject(uid)
+				.setExpiration(new Date(EXPIRES_AT))
+				.signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+				.compact();
+	}
+}